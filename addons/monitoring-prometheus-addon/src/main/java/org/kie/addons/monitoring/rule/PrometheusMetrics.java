@@ -49,10 +49,16 @@ public class PrometheusMetrics {
             .buckets(RULE_TIME_BUCKETS)
             .register();
 
+    private static final PrometheusNetworkProfilerCollector networkProfilerCollector = new PrometheusNetworkProfilerCollector().register();
+
     public static Histogram getDroolsEvaluationTimeHistogram() {
         return droolsEvaluationTimeHistogram;
     }
 
+    public static PrometheusNetworkProfilerCollector getNetworkProfilerCollector() {
+        return networkProfilerCollector;
+    }
+
 
 
 }
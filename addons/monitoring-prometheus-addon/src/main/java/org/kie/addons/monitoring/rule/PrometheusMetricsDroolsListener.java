@@ -16,12 +16,17 @@
 package org.kie.addons.monitoring.rule;
 
 import static org.kie.addons.monitoring.rule.PrometheusMetrics.getDroolsEvaluationTimeHistogram;
+import static org.kie.addons.monitoring.rule.PrometheusMetrics.getNetworkProfilerCollector;
 
+import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.event.rule.impl.AfterActivationFiredEventImpl;
 import org.drools.core.event.rule.impl.BeforeActivationFiredEventImpl;
 import org.kie.api.event.rule.AfterMatchFiredEvent;
 import org.kie.api.event.rule.BeforeMatchFiredEvent;
 import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.event.rule.MatchCreatedEvent;
+import org.kie.api.runtime.KieRuntime;
+import org.kie.api.runtime.KieSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +40,11 @@ public class PrometheusMetricsDroolsListener extends DefaultAgendaEventListener
     }
 
 
+    @Override
+    public void matchCreated(MatchCreatedEvent event) {
+        trackNetworkProfiler(event.getKieRuntime());
+    }
+
     @Override
     public void beforeMatchFired(BeforeMatchFiredEvent event) {
         long nanoTime = System.nanoTime();
@@ -59,6 +69,13 @@ public class PrometheusMetricsDroolsListener extends DefaultAgendaEventListener
     }
 
 
+    // sessions created with network profiling enabled expose their node counters when metrics are scraped
+    private void trackNetworkProfiler(KieRuntime runtime) {
+        if (runtime instanceof InternalWorkingMemory && ((InternalWorkingMemory) runtime).getNetworkProfiler() != null) {
+            getNetworkProfilerCollector().track(identifier, (KieSession) runtime);
+        }
+    }
+
     public BeforeActivationFiredEventImpl getBeforeImpl(BeforeMatchFiredEvent e) {
         return (BeforeActivationFiredEventImpl)e;
     }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.addons.monitoring.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.phreak.NetworkProfiler;
+import org.drools.core.phreak.NetworkProfiler.NodeProfile;
+import org.kie.api.runtime.KieSession;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+
+/**
+ * Exposes the per node counters of the sessions created with the "drools.networkProfiling" option.
+ * The counters are read from each session's {@link NetworkProfiler} when they are scraped,
+ * so nothing is recorded through listeners while the rules are evaluated.
+ * Sessions are tracked by {@link PrometheusMetricsDroolsListener} and only weakly referenced,
+ * their counters are no longer exposed once they are garbage collected.
+ */
+public class PrometheusNetworkProfilerCollector extends Collector {
+
+    private static final List<String> LABEL_NAMES = Arrays.asList("identifier", "session", "node_id", "node", "rule_names");
+
+    private final Map<KieSession, String> sessions = new WeakHashMap<>();
+
+    public synchronized void track(String identifier, KieSession session) {
+        if (((InternalWorkingMemory) session).getNetworkProfiler() == null) {
+            throw new IllegalStateException("Network profiling is not enabled, set drools.networkProfiling=true in the kie base configuration");
+        }
+        sessions.putIfAbsent(session, identifier);
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        CounterMetricFamily evaluations = new CounterMetricFamily("drl_node_evaluations", "Drools Node Evaluations", LABEL_NAMES);
+        CounterMetricFamily tuplesIn = new CounterMetricFamily("drl_node_tuples_in", "Drools Node Incoming Tuples", LABEL_NAMES);
+        CounterMetricFamily tuplesOut = new CounterMetricFamily("drl_node_tuples_out", "Drools Node Outgoing Tuples", LABEL_NAMES);
+        CounterMetricFamily time = new CounterMetricFamily("drl_node_evaluation_nanosecond", "Drools Node Evaluation Time", LABEL_NAMES);
+
+        List<Map.Entry<KieSession, String>> tracked;
+        synchronized (this) {
+            tracked = new ArrayList<>(sessions.entrySet());
+        }
+        for (Map.Entry<KieSession, String> entry : tracked) {
+            String sessionId = String.valueOf(entry.getKey().getIdentifier());
+            for (NodeProfile profile : ((InternalWorkingMemory) entry.getKey()).getNetworkProfiler().getProfiles()) {
+                List<String> labels = Arrays.asList(entry.getValue(),
+                                                    sessionId,
+                                                    String.valueOf(profile.getNodeId()),
+                                                    profile.getNodeDescription(),
+                                                    String.join(",", profile.getRuleNames()));
+                evaluations.addMetric(labels, profile.getEvaluations());
+                tuplesIn.addMetric(labels, profile.getTuplesIn());
+                tuplesOut.addMetric(labels, profile.getTuplesOut());
+                time.addMetric(labels, profile.getNanos());
+            }
+        }
+        return Arrays.asList(evaluations, tuplesIn, tuplesOut, time);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.addons.monitoring.rule;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+import org.kie.addons.monitoring.rest.MetricsResource;
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.utils.KieHelper;
+
+import io.prometheus.client.exporter.common.TextFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrometheusNetworkProfilerCollectorTest {
+
+    private static final String DRL =
+            "rule R when\n" +
+            "    $s : String( length > 2 )\n" +
+            "    Integer( intValue == $s.length() )\n" +
+            "then\n" +
+            "end\n";
+
+    @Test
+    public void testScrapeProfiledSession() throws IOException {
+        KieSession ksession = newKieSession(true);
+        ksession.addEventListener(new PrometheusMetricsDroolsListener("profiled-rules"));
+
+        ksession.insert("a");
+        ksession.insert("abc");
+        ksession.insert("abcd");
+        ksession.insert(3);
+        ksession.insert(4);
+        assertThat(ksession.fireAllRules()).isEqualTo(2);
+
+        String session = "session=\"" + ksession.getIdentifier() + "\"";
+        String metrics = scrape();
+        assertThat(metrics).contains("drl_node_evaluations{identifier=\"profiled-rules\"," + session);
+        assertThat(metrics).contains("drl_node_tuples_in{identifier=\"profiled-rules\"," + session);
+        assertThat(metrics).contains("drl_node_tuples_out{identifier=\"profiled-rules\"," + session);
+        assertThat(metrics).contains("drl_node_evaluation_nanosecond{identifier=\"profiled-rules\"," + session);
+        assertThat(metrics).contains("rule_names=\"R\"");
+
+        ksession.dispose();
+    }
+
+    @Test
+    public void testSessionWithoutProfilingIsNotScraped() throws IOException {
+        KieSession ksession = newKieSession(false);
+        ksession.addEventListener(new PrometheusMetricsDroolsListener("unprofiled-rules"));
+
+        ksession.insert("abc");
+        ksession.insert(3);
+        assertThat(ksession.fireAllRules()).isEqualTo(1);
+
+        assertThat(scrape()).doesNotContain("drl_node_evaluations{identifier=\"unprofiled-rules\"");
+
+        ksession.dispose();
+    }
+
+    private KieSession newKieSession(boolean profiling) {
+        KieBaseConfiguration kbconf = KieServices.Factory.get().newKieBaseConfiguration();
+        kbconf.setProperty("drools.networkProfiling", String.valueOf(profiling));
+        KieBase kbase = new KieHelper().addContent(DRL, ResourceType.DRL).build(kbconf);
+        return kbase.newKieSession();
+    }
+
+    private String scrape() throws IOException {
+        StringWriter writer = new StringWriter();
+        TextFormat.write004(writer, MetricsResource.prometheusRegistry.metricFamilySamples());
+        return writer.toString();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.infinispan;
+
+import java.util.Optional;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.protostream.MessageMarshaller;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceArchive;
+import org.kie.kogito.process.impl.marshalling.DeflatePayloadCompressor;
+import org.kie.kogito.process.impl.marshalling.PayloadCompression;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
+
+/**
+ * Archive of finished process instances kept compressed in a remote cache of their own, one cache per process.
+ * The archive cache is created from its own template, so that it can be configured as a cold store, e.g. kept
+ * in a file store with no entries held in memory.
+ *
+ * @param <T> type of the process variables
+ */
+public class CacheProcessInstanceArchive<T> implements ProcessInstanceArchive<T> {
+
+    private final Process<T> process;
+    private final RemoteCache<String, byte[]> cache;
+    private final ProcessInstanceMarshaller marshaller;
+
+    public CacheProcessInstanceArchive(Process<T> process, RemoteCacheManager cacheManager, String templateName, String proto, MessageMarshaller<?>... marshallers) {
+        this.process = process;
+        this.cache = cacheManager.administration().getOrCreateCache(process.id() + "_archive_store", templateName == null || templateName.trim().isEmpty() ? null : templateName);
+        this.marshaller = new ProcessInstanceMarshaller(new ProtoStreamObjectMarshallingStrategy(proto, marshallers));
+        this.marshaller.setCompression(new PayloadCompression(new DeflatePayloadCompressor(), 0));
+    }
+
+    @Override
+    public void archive(ProcessInstance<T> instance) {
+        cache.put(instance.id(), marshaller.marhsallProcessInstance(instance));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Optional<? extends ProcessInstance<T>> findById(String id) {
+        byte[] data = cache.get(id);
+        if (data == null) {
+            return Optional.empty();
+        }
+        return Optional.of((ProcessInstance<T>) marshaller.unmarshallProcessInstance(data, process));
+    }
+}
@@ -15,51 +15,243 @@
 
 package org.kie.kogito.infinispan;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.Search;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryCreated;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryExpired;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryModified;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryRemoved;
+import org.infinispan.client.hotrod.annotation.ClientCacheFailover;
+import org.infinispan.client.hotrod.annotation.ClientListener;
+import org.infinispan.client.hotrod.event.ClientCacheEntryCreatedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryExpiredEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryModifiedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryRemovedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheFailoverEvent;
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.marshall.MarshallerUtil;
+import org.infinispan.protostream.FileDescriptorSource;
 import org.infinispan.protostream.MessageMarshaller;
+import org.infinispan.protostream.SerializationContext;
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.remote.client.ProtobufMetadataManagerConstants;
+import org.kie.kogito.Model;
+import org.kie.kogito.infinispan.WriteBehindBuffer.PendingWrite;
+import org.kie.kogito.infinispan.marshallers.UserTaskMessageMarshaller;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.BaseTaskInfo;
+import org.kie.kogito.process.impl.UserTaskIndex;
+import org.kie.kogito.process.impl.marshalling.PayloadCompression;
 import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
+import org.kie.kogito.process.impl.marshalling.TaskInfoMarshaller;
+import org.kie.kogito.process.workitem.TaskInfo;
+import org.kie.kogito.process.workitem.TaskQuery;
+import org.kie.kogito.services.execution.ProcessExecutors;
 
 @SuppressWarnings({"rawtypes"})
-public class CacheProcessInstances implements MutableProcessInstances {
+public class CacheProcessInstances implements MutableProcessInstances, Closeable {
         
     private final RemoteCache<String, byte[]> cache;
+    // secondary index of correlation keys to process instance ids
+    private final RemoteCache<String, String> correlationCache;
+    // active user tasks of process instances keyed by process instance id and task id
+    private final RemoteCache<String, Object> taskCache;
+    // true when tasks are stored as protobuf messages that can be queried on the server
+    private final boolean queryableTasks;
     private ProcessInstanceMarshaller marshaller;
+    private TaskInfoMarshaller taskMarshaller = new TaskInfoMarshaller();
+    
+    // optional cache of decoded process instances, null when disabled
+    private final NearCache nearCache;
+    // optional buffer of writes not yet flushed to the remote store, null when writes are synchronous
+    private WriteBehindBuffer writeBehind;
     
     private org.kie.kogito.process.Process<?> process;
     
+    private Executor executor = ProcessExecutors.defaultExecutor();
+    
     public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName, String proto, MessageMarshaller<?>...marshallers) {
+        this(process, cacheManager, templateName, null, proto, marshallers);
+    }
+    
+    public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName, NearCache nearCache, String proto, MessageMarshaller<?>...marshallers) {
         this.process = process;    
         this.cache = cacheManager.administration().getOrCreateCache(process.id() + "_store", ignoreNullOrEmpty(templateName));
+        this.correlationCache = cacheManager.administration().getOrCreateCache(process.id() + "_correlation_store", ignoreNullOrEmpty(templateName));
+        this.taskCache = cacheManager.administration().getOrCreateCache(process.id() + "_task_store", ignoreNullOrEmpty(templateName));
+        this.queryableTasks = registerTaskSchema(cacheManager);
         
         this.marshaller = new ProcessInstanceMarshaller(new ProtoStreamObjectMarshallingStrategy(proto, marshallers));
+        
+        this.nearCache = nearCache;
+        if (nearCache != null) {
+            this.cache.addClientListener(new NearCacheInvalidationListener(nearCache));
+        }
+    }
+    
+    /**
+     * Switches to write-behind mode: updates are buffered, coalesced per process instance and flushed
+     * to the remote store in bulk. Updates not yet flushed are lost if the JVM crashes.
+     * @param flushInterval milliseconds between flushes
+     * @param flushThreshold number of pending writes triggering a flush
+     */
+    public CacheProcessInstances withWriteBehind(long flushInterval, int flushThreshold) {
+        this.writeBehind = new WriteBehindBuffer(process.id(), flushInterval, flushThreshold, this::write);
+        return this;
+    }
+    
+    /**
+     * Sets executor that unmarshalls process instances read asynchronously, by default the process executor.
+     */
+    public CacheProcessInstances withExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+    
+    /**
+     * Compresses process instances before they are written, process instances already stored
+     * uncompressed remain readable.
+     */
+    public CacheProcessInstances withCompression(PayloadCompression compression) {
+        this.marshaller.setCompression(compression);
+        return this;
     }
 
     
     @Override
     public Optional<? extends ProcessInstance> findById(String id) {
-        byte[] data = cache.get(id);
+        ProcessInstance cached = fromNearCache(id);
+        if (cached != null) {
+            return (Optional<? extends ProcessInstance>) Optional.of(cached);
+        }
+        byte[] data = read(id);
         if (data == null) {
             return Optional.empty();
         }
         
-        return (Optional<? extends ProcessInstance>) Optional.of(marshaller.unmarshallProcessInstance(data, process));
+        return (Optional<? extends ProcessInstance>) Optional.of(unmarshall(data));
     }
 
+    @Override
+    public Collection<? extends ProcessInstance> findByIds(Collection ids) {
+        flush();
+        return (Collection<? extends ProcessInstance>) cache.getAll(new HashSet<String>(ids))
+                .values()
+                .parallelStream()
+                .map(this::unmarshall)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public Optional<? extends ProcessInstance> findByCorrelationKey(String correlationKey) {
+        if (correlationKey == null) {
+            return Optional.empty();
+        }
+        String id = correlationCache.get(correlationKey);
+        if (id == null) {
+            return Optional.empty();
+        }
+        return findById(id);
+    }
+    
+    @Override
+    public boolean correlate(String correlationKey, String id) {
+        String correlated = correlationCache.putIfAbsent(correlationKey, id);
+        return correlated == null || correlated.equals(id);
+    }
+    
+    /**
+     * Reads given variables of the process instance without unmarshalling the whole process instance.
+     */
+    public Optional<Map<String, Object>> findVariables(String id, Collection<String> names) {
+        byte[] data = read(id);
+        if (data == null) {
+            return Optional.empty();
+        }
+        return Optional.of(marshaller.readVariables(data, names));
+    }
+
+    @Override
+    public List<TaskInfo> findTasks(TaskQuery query) {
+        // only task summaries are read, process instances are not unmarshalled
+        flush();
+        if (!queryableTasks) {
+            List<TaskInfo> tasks = taskCache.values()
+                    .stream()
+                    .flatMap(data -> taskMarshaller.unmarshallTasks((byte[]) data).stream())
+                    .collect(Collectors.toList());
+            return UserTaskIndex.filter(tasks, query);
+        }
+        // query is evaluated by the server, only the requested page of matching tasks is transferred
+        Map<String, Object> parameters = new HashMap<>();
+        List<String> conditions = new ArrayList<>();
+        if (query.getName() != null) {
+            conditions.add("t.name = :name");
+            parameters.put("name", query.getName());
+        }
+        if (query.getPhase() != null) {
+            conditions.add("t.phase = :phase");
+            parameters.put("phase", query.getPhase());
+        }
+        if (query.isUnassigned()) {
+            conditions.add("t.actualOwner is null and t.potentialUsers is null and t.potentialGroups is null");
+        } else if (query.getUser() != null) {
+            // same rules as TaskQuery.matches
+            parameters.put("user", query.getUser());
+            conditions.add("(t.actualOwner is null or t.actualOwner = :user)");
+            conditions.add("not (t.excludedUsers = :user)");
+            StringBuilder potentialOwners = new StringBuilder("(t.potentialUsers = :user");
+            if (!query.getGroups().isEmpty()) {
+                List<String> groups = new ArrayList<>();
+                for (String group : query.getGroups()) {
+                    String parameter = "group" + groups.size();
+                    groups.add(":" + parameter);
+                    parameters.put(parameter, group);
+                }
+                potentialOwners.append(" or t.potentialGroups in (").append(String.join(", ", groups)).append(")");
+            }
+            conditions.add(potentialOwners.append(")").toString());
+        }
+        StringBuilder ickle = new StringBuilder("from ").append(UserTaskMessageMarshaller.TYPE_NAME).append(" t");
+        if (!conditions.isEmpty()) {
+            ickle.append(" where ").append(String.join(" and ", conditions));
+        }
+        ickle.append(" order by t.processInstanceId, t.id");
+        
+        Query tasksQuery = Search.getQueryFactory(taskCache).create(ickle.toString());
+        tasksQuery.setParameters(parameters);
+        tasksQuery.startOffset(query.getOffset());
+        tasksQuery.maxResults(query.getLimit());
+        return tasksQuery.list();
+    }
     
     @Override
     public Collection<? extends ProcessInstance> values() {
+        flush();
         return (Collection<? extends ProcessInstance>) cache.values()
                 .parallelStream()
-                .map(data -> marshaller.unmarshallProcessInstance(data, process))
+                .map(this::unmarshall)
                 .collect(Collectors.toList());
     }
 
@@ -67,24 +259,289 @@ public class CacheProcessInstances implements MutableProcessInstances {
     @Override
     public void update(String id, ProcessInstance instance) {
         if (isActive(instance)) {
+            // tasks must be collected before marshalling as it disconnects the process instance
+            List<TaskInfo> tasks = instance.tasks();
+            org.kie.api.runtime.process.ProcessInstance legacyProcessInstance = ((AbstractProcessInstance<?>) instance).internalGetProcessInstance();
             byte[] data = marshaller.marhsallProcessInstance(instance);
             
-            cache.put(instance.id(), data);
+            PendingWrite pendingWrite = pendingWrite(instance, data, tasks);
+            if (writeBehind != null) {
+                writeBehind.add(instance.id(), pendingWrite);
+            } else {
+                write(Collections.singletonMap(instance.id(), pendingWrite));
+            }
+            ((AbstractProcessInstance<?>) instance).internalSetStoredTasks(tasks);
             
-            ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(() -> {
-                byte[] reloaded = cache.get(id);
-                if (reloaded != null) {
-                    return ((AbstractProcessInstance<?>)marshaller.unmarshallProcessInstance(reloaded, process, (AbstractProcessInstance<?>) instance)).internalGetProcessInstance();                    
-                }
-                
-                return null;
-            });
+            reloadOnAccess(id, instance);
+            toNearCache(id, data, legacyProcessInstance);
+        } else if (nearCache != null) {
+            nearCache.invalidate(id);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void updateAll(Collection instances) {
+        // active process instances are written with single bulk operation
+        Map<String, PendingWrite> writes = new HashMap<>();
+        Map<String, org.kie.api.runtime.process.ProcessInstance> legacyProcessInstances = new HashMap<>();
+        for (ProcessInstance instance : (Collection<ProcessInstance>) instances) {
+            if (!isActive(instance)) {
+                update(instance.id(), instance);
+                continue;
+            }
+            List<TaskInfo> tasks = instance.tasks();
+            legacyProcessInstances.put(instance.id(), ((AbstractProcessInstance<?>) instance).internalGetProcessInstance());
+            writes.put(instance.id(), pendingWrite(instance, marshaller.marhsallProcessInstance(instance), tasks));
+            ((AbstractProcessInstance<?>) instance).internalSetStoredTasks(tasks);
+        }
+        if (writes.isEmpty()) {
+            return;
         }
+        if (writeBehind != null) {
+            writes.forEach(writeBehind::add);
+        } else {
+            write(writes);
+        }
+        for (ProcessInstance instance : (Collection<ProcessInstance>) instances) {
+            if (writes.containsKey(instance.id())) {
+                reloadOnAccess(instance.id(), instance);
+                toNearCache(instance.id(), writes.get(instance.id()).getData(), legacyProcessInstances.get(instance.id()));
+            }
+        }
+    }
+
+    @Override
+    public CompletionStage findByIdAsync(String id) {
+        ProcessInstance cached = fromNearCache(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(Optional.of(cached));
+        }
+        PendingWrite pendingWrite = writeBehind == null ? null : writeBehind.get(id);
+        if (pendingWrite != null) {
+            return CompletableFuture.completedFuture(Optional.of(unmarshall(pendingWrite.getData())));
+        }
+        // unmarshalling runs on the process executor, not on the thread completing the remote read
+        return cache.getAsync(id).thenApplyAsync(data -> {
+            if (data == null) {
+                return Optional.empty();
+            }
+            
+            return Optional.of(unmarshall(data));
+        }, executor);
     }
 
     @Override
     public void remove(String id) {
+        // task entries are keyed by ids of the tasks, those are only known to the process instance
+        Optional<? extends ProcessInstance> found = findById(id);
+        if (found.isPresent()) {
+            remove(found.get());
+        } else {
+            delete(id, Collections.emptyList());
+        }
+    }
+
+    @Override
+    public void remove(ProcessInstance instance) {
+        delete(instance.id(), ((AbstractProcessInstance<?>) instance).internalGetStoredTasks());
+        if (instance.correlationKey() != null) {
+            correlationCache.remove(instance.correlationKey(), instance.id());
+        }
+    }
+    
+    protected void delete(String id, List<TaskInfo> storedTasks) {
+        if (nearCache != null) {
+            nearCache.invalidate(id);
+        }
+        Set<String> removedTasks = new HashSet<>();
+        storedTasks.forEach(task -> removedTasks.add(taskKey(task)));
+        if (writeBehind != null) {
+            PendingWrite discarded = writeBehind.discard(id);
+            if (discarded != null) {
+                // tasks already flushed might have been removed by the discarded write only
+                removedTasks.addAll(discarded.getRemovedTasks());
+            }
+        }
         cache.remove(id);
+        removeTasks(removedTasks).join();
+    }
+
+    protected void reloadOnAccess(String id, ProcessInstance instance) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(() -> {
+            NearCache.Entry entry = nearCache == null ? null : nearCache.get(id);
+            org.kie.api.runtime.process.ProcessInstance cached = entry == null ? null : entry.take();
+            if (cached != null) {
+                ((AbstractProcessInstance<?>) instance).internalSetProcessInstance(cached);
+                return cached;
+            }
+            byte[] reloaded = entry == null ? read(id) : entry.getData();
+            if (reloaded != null) {
+                return ((AbstractProcessInstance<?>)marshaller.unmarshallProcessInstance(reloaded, process, (AbstractProcessInstance<?>) instance)).internalGetProcessInstance();                    
+            }
+            
+            return null;
+        });
+    }
+
+    /**
+     * Returns near cache of this store, to expose its hit ratio and eviction metrics.
+     * @return near cache or null when it is not enabled
+     */
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    /**
+     * Returns write-behind buffer of this store, to expose its pending and coalesced writes metrics.
+     * @return write-behind buffer or null when writes are synchronous
+     */
+    public WriteBehindBuffer getWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Writes all buffered updates to the remote store, does nothing when writes are synchronous.
+     */
+    public void flush() {
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (writeBehind != null) {
+            writeBehind.close();
+        }
+    }
+
+    protected byte[] read(String id) {
+        PendingWrite pendingWrite = writeBehind == null ? null : writeBehind.get(id);
+        if (pendingWrite != null) {
+            return pendingWrite.getData();
+        }
+        return cache.get(id);
+    }
+
+    protected ProcessInstance unmarshall(byte[] data) {
+        AbstractProcessInstance<?> instance = (AbstractProcessInstance<?>) marshaller.unmarshallProcessInstance(data, process);
+        instance.internalSetStoredTasks(instance.tasks());
+        return instance;
+    }
+
+    /*
+     * only tasks that changed since the process instance was stored are written
+     */
+    protected PendingWrite pendingWrite(ProcessInstance instance, byte[] data, List<TaskInfo> tasks) {
+        List<TaskInfo> storedTasks = ((AbstractProcessInstance<?>) instance).internalGetStoredTasks();
+        Map<String, Object> changedTasks = new HashMap<>();
+        Set<String> removedTasks = new HashSet<>();
+        for (TaskInfo task : tasks) {
+            if (!storedTasks.contains(task)) {
+                changedTasks.put(taskKey(task), queryableTasks ? task : taskMarshaller.marshallTasks(Collections.singletonList(task)));
+            }
+        }
+        for (TaskInfo task : storedTasks) {
+            if (tasks.stream().noneMatch(t -> t.getId().equals(task.getId()))) {
+                removedTasks.add(taskKey(task));
+            }
+        }
+        return new PendingWrite(data, instance.correlationKey(), changedTasks, removedTasks);
+    }
+
+    protected void write(Map<String, PendingWrite> writes) {
+        Map<String, byte[]> data = new HashMap<>();
+        Map<String, Object> changedTasks = new HashMap<>();
+        Set<String> removedTasks = new HashSet<>();
+        for (Map.Entry<String, PendingWrite> entry : writes.entrySet()) {
+            data.put(entry.getKey(), entry.getValue().getData());
+            changedTasks.putAll(entry.getValue().getChangedTasks());
+            removedTasks.addAll(entry.getValue().getRemovedTasks());
+            if (nearCache != null) {
+                nearCache.writing(entry.getKey());
+            }
+        }
+        try {
+            if (data.size() == 1) {
+                Map.Entry<String, byte[]> entry = data.entrySet().iterator().next();
+                cache.put(entry.getKey(), entry.getValue());
+            } else {
+                cache.putAll(data);
+            }
+        } catch (RuntimeException e) {
+            if (nearCache != null) {
+                // no remote events will be received for the failed writes
+                data.keySet().forEach(nearCache::writeFailed);
+            }
+            throw e;
+        }
+        if (!changedTasks.isEmpty()) {
+            taskCache.putAll(changedTasks);
+        }
+        removeTasks(removedTasks).join();
+    }
+
+    /*
+     * removals are sent together and completed at once instead of waiting for each of them
+     */
+    protected CompletableFuture<Void> removeTasks(Set<String> keys) {
+        return CompletableFuture.allOf(keys.stream().map(taskCache::removeAsync).toArray(CompletableFuture[]::new));
+    }
+
+    protected static String taskKey(TaskInfo task) {
+        return task.getProcessInstanceId() + "/" + task.getId();
+    }
+
+    /*
+     * tasks can only be queried on the server when the client marshals them as protobuf messages
+     */
+    protected static boolean registerTaskSchema(RemoteCacheManager cacheManager) {
+        SerializationContext context;
+        try {
+            context = MarshallerUtil.getSerializationContext(cacheManager);
+        } catch (HotRodClientException e) {
+            return false;
+        }
+        synchronized (context) {
+            if (!context.canMarshall(BaseTaskInfo.class)) {
+                try {
+                    FileDescriptorSource schema = FileDescriptorSource.fromResources(CacheProcessInstances.class.getClassLoader(), UserTaskMessageMarshaller.PROTO_FILE);
+                    context.registerProtoFiles(schema);
+                    context.registerMarshaller(new UserTaskMessageMarshaller());
+                    RemoteCache<String, String> metadataCache = cacheManager.getCache(ProtobufMetadataManagerConstants.PROTOBUF_METADATA_CACHE_NAME);
+                    metadataCache.put(UserTaskMessageMarshaller.PROTO_FILE, new String(schema.getFileDescriptors().get(UserTaskMessageMarshaller.PROTO_FILE)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return true;
+    }
+
+    protected ProcessInstance fromNearCache(String id) {
+        if (nearCache == null) {
+            return null;
+        }
+        NearCache.Entry entry = nearCache.get(id);
+        if (entry == null) {
+            return null;
+        }
+        org.kie.api.runtime.process.ProcessInstance cached = entry.take();
+        if (cached == null) {
+            // decoded process instance is used by another caller, the cached data saves the remote read
+            return unmarshall(entry.getData());
+        }
+        AbstractProcessInstance<?> instance = (AbstractProcessInstance<?>) process.createInstance((Model) process.createModel());
+        instance.internalSetProcessInstance(cached);
+        instance.internalSetStoredTasks(instance.tasks());
+        return instance;
+    }
+
+    protected void toNearCache(String id, byte[] data, org.kie.api.runtime.process.ProcessInstance legacyProcessInstance) {
+        if (nearCache != null && legacyProcessInstance != null) {
+            nearCache.put(id, data, legacyProcessInstance);
+        }
     }
 
     protected String ignoreNullOrEmpty(String value) {
@@ -94,4 +551,43 @@ public class CacheProcessInstances implements MutableProcessInstances {
         
         return value;
     }
+
+    /**
+     * Invalidates near cache entries of process instances modified or removed by other nodes.
+     */
+    @ClientListener
+    public static class NearCacheInvalidationListener {
+
+        private final NearCache nearCache;
+
+        public NearCacheInvalidationListener(NearCache nearCache) {
+            this.nearCache = nearCache;
+        }
+
+        @ClientCacheEntryCreated
+        public void created(ClientCacheEntryCreatedEvent<String> event) {
+            nearCache.written(event.getKey());
+        }
+
+        @ClientCacheEntryModified
+        public void modified(ClientCacheEntryModifiedEvent<String> event) {
+            nearCache.written(event.getKey());
+        }
+
+        @ClientCacheEntryRemoved
+        public void removed(ClientCacheEntryRemovedEvent<String> event) {
+            nearCache.invalidate(event.getKey());
+        }
+
+        @ClientCacheEntryExpired
+        public void expired(ClientCacheEntryExpiredEvent<String> event) {
+            nearCache.invalidate(event.getKey());
+        }
+
+        @ClientCacheFailover
+        public void failover(ClientCacheFailoverEvent event) {
+            // events might have been missed while failing over
+            nearCache.clear();
+        }
+    }
 }
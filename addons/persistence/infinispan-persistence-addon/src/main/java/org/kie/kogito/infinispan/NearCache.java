@@ -0,0 +1,231 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.infinispan;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.kie.api.runtime.process.ProcessInstance;
+
+/**
+ * Bounded cache of process instances kept in front of the remote store, so that process instances
+ * hit repeatedly are not fetched and unmarshalled on every access.
+ * <p>
+ * Each entry holds the marshalled process instance and, until it is taken, the decoded one. The decoded
+ * process instance is handed out to a single caller, so it is never shared by concurrent callers, the
+ * following reads unmarshall their own copy of the cached data without fetching it again. Entries stay in
+ * the cache when they are read and are replaced once the process instance has been stored again.
+ * Entries expire after the configured time to live and the least recently used ones are evicted when the
+ * cache is full. Modifications made by other nodes invalidate entries through remote cache events,
+ * events of writes made by this node are recognized and ignored.
+ */
+public class NearCache {
+
+    private final int maxSize;
+    private final long timeToLive;
+
+    private final LinkedHashMap<String, Entry> entries;
+    // writes of this node whose remote events are still to be received
+    private final ConcurrentMap<String, AtomicInteger> pendingWrites = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param maxSize maximum number of process instances kept in the cache
+     * @param timeToLive milliseconds after which an entry expires, 0 to never expire entries
+     */
+    public NearCache(int maxSize, long timeToLive) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Near cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > NearCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached process instance, the entry is kept in the cache.
+     * @return cached entry or null if there is none or it expired
+     */
+    public Entry get(String id) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(id);
+            if (entry != null && entry.isExpired()) {
+                entries.remove(id);
+                evictions.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    public void put(String id, byte[] data, ProcessInstance processInstance) {
+        Entry entry = new Entry(data, processInstance, timeToLive > 0 ? System.currentTimeMillis() + timeToLive : Long.MAX_VALUE);
+        synchronized (entries) {
+            entries.put(id, entry);
+            if (timeToLive > 0) {
+                evictExpired();
+            }
+        }
+    }
+
+    public void invalidate(String id) {
+        synchronized (entries) {
+            if (entries.remove(id) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            invalidations.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Records that this node is about to write given process instance to the remote store.
+     */
+    public void writing(String id) {
+        pendingWrites.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Records that the write of given process instance failed, so no remote event is to be received for it.
+     */
+    public void writeFailed(String id) {
+        AtomicInteger pending = pendingWrites.get(id);
+        if (pending != null && pending.getAndUpdate(count -> count > 0 ? count - 1 : 0) == 1) {
+            pendingWrites.remove(id, pending);
+        }
+    }
+
+    /**
+     * Handles remote event of a write of given process instance, the entry is invalidated unless the
+     * write was made by this node.
+     */
+    public void written(String id) {
+        AtomicInteger pending = pendingWrites.get(id);
+        if (pending != null && pending.getAndUpdate(count -> count > 0 ? count - 1 : 0) > 0) {
+            if (pending.get() == 0) {
+                pendingWrites.remove(id, pending);
+            }
+            return;
+        }
+        invalidate(id);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    private void evictExpired() {
+        // entries are in access order, expired ones are found at the beginning
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!entry.isExpired()) {
+                break;
+            }
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    public static class Entry {
+
+        private final byte[] data;
+        private final AtomicReference<ProcessInstance> processInstance;
+        private final long expiresAt;
+
+        Entry(byte[] data, ProcessInstance processInstance, long expiresAt) {
+            this.data = data;
+            this.processInstance = new AtomicReference<>(processInstance);
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * @return marshalled process instance
+         */
+        public byte[] getData() {
+            return data;
+        }
+
+        /**
+         * Takes the decoded process instance, only the first caller gets it.
+         * @return decoded process instance or null if it was already taken
+         */
+        public ProcessInstance take() {
+            return processInstance.getAndSet(null);
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
@@ -72,7 +72,9 @@ public class ProtoStreamObjectMarshallingStrategy implements ObjectMarshallingSt
     @Override
     public Object unmarshal(String dataType, Context context, ObjectInputStream is, byte[] object, ClassLoader classloader) throws IOException, ClassNotFoundException {
         
-        return ProtobufUtil.fromByteArray(serializationContext, object, serializationContext.getMarshaller(dataType).getJavaClass());
+        // types are resolved once, registered marshallers do not change after the strategy is created
+        Class<?> javaClass = typeToClassMapping.computeIfAbsent(dataType, type -> serializationContext.getMarshaller(type).getJavaClass());
+        return ProtobufUtil.fromByteArray(serializationContext, object, javaClass);
     }
 
     @Override
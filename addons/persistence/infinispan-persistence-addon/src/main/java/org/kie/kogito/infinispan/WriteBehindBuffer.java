@@ -0,0 +1,214 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.infinispan;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Buffers writes of process instances and flushes them to the remote store in bulk, either periodically
+ * or once the number of pending writes reaches the threshold. Consecutive writes of the same process
+ * instance are coalesced so that only its latest state is written.
+ * <p>
+ * Writes are acknowledged before they reach the remote store, writes buffered when the JVM crashes are
+ * lost - at most those of the last flush interval. Pending writes are flushed on close and on JVM shutdown.
+ * A failed flush keeps the writes buffered and retries them on the next flush.
+ */
+public class WriteBehindBuffer implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    private final ConcurrentHashMap<String, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final Consumer<Map<String, PendingWrite>> writer;
+    private final int flushThreshold;
+    private final ScheduledExecutorService flusher;
+    private final Thread shutdownHook;
+
+    private final LongAdder coalescedWrites = new LongAdder();
+    private final LongAdder flushedWrites = new LongAdder();
+
+    /**
+     * @param name name of the buffer, used to name its flushing thread
+     * @param flushInterval milliseconds between flushes
+     * @param flushThreshold number of pending writes triggering a flush
+     * @param writer writes given pending writes to the remote store
+     */
+    public WriteBehindBuffer(String name, long flushInterval, int flushThreshold, Consumer<Map<String, PendingWrite>> writer) {
+        this.writer = writer;
+        this.flushThreshold = flushThreshold;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "kogito-write-behind-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        this.shutdownHook = new Thread(this::flushQuietly);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Buffers write of given process instance replacing its pending write if any.
+     * @return true if the write replaced pending write of the process instance
+     */
+    public boolean add(String id, PendingWrite write) {
+        PendingWrite[] replaced = new PendingWrite[1];
+        pending.compute(id, (key, previous) -> {
+            replaced[0] = previous;
+            return previous == null ? write : write.after(previous);
+        });
+        boolean coalesced = replaced[0] != null;
+        if (coalesced) {
+            coalescedWrites.increment();
+        } else if (pending.size() >= flushThreshold) {
+            flusher.execute(this::flushQuietly);
+        }
+        return coalesced;
+    }
+
+    /**
+     * Returns pending write of given process instance.
+     * @return pending write or null if process instance has no write waiting to be flushed
+     */
+    public PendingWrite get(String id) {
+        return pending.get(id);
+    }
+
+    /**
+     * Discards pending write of given process instance, waits for a flush in progress so that
+     * the discarded write is not written afterwards.
+     * @return discarded write or null if process instance has no write waiting to be flushed
+     */
+    public synchronized PendingWrite discard(String id) {
+        return pending.remove(id);
+    }
+
+    /**
+     * Writes all pending writes to the remote store.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, PendingWrite> writes = new HashMap<>(pending);
+        writer.accept(writes);
+        // writes buffered in the meantime replaced the flushed ones and stay pending
+        writes.forEach((id, write) -> pending.remove(id, write));
+        flushedWrites.add(writes.size());
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // JVM is shutting down, hook flushes the pending writes
+            return;
+        }
+        flush();
+    }
+
+    public int getPendingWrites() {
+        return pending.size();
+    }
+
+    /**
+     * Number of writes replaced by a later write of the same process instance before being flushed.
+     */
+    public long getCoalescedWrites() {
+        return coalescedWrites.sum();
+    }
+
+    public long getFlushedWrites() {
+        return flushedWrites.sum();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warn("Unable to flush {} pending writes of process instances, will retry", pending.size(), e);
+        }
+    }
+
+    /**
+     * Latest state of a process instance waiting to be written, together with the changes
+     * of its task entries.
+     */
+    public static class PendingWrite {
+
+        private final byte[] data;
+        private final String correlationKey;
+        private final Map<String, Object> changedTasks;
+        private final Set<String> removedTasks;
+
+        public PendingWrite(byte[] data, String correlationKey, Map<String, Object> changedTasks, Set<String> removedTasks) {
+            this.data = data;
+            this.correlationKey = correlationKey;
+            this.changedTasks = changedTasks;
+            this.removedTasks = removedTasks;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        public String getCorrelationKey() {
+            return correlationKey;
+        }
+
+        /**
+         * @return task entries to be stored, keyed by their task store keys
+         */
+        public Map<String, Object> getChangedTasks() {
+            return changedTasks;
+        }
+
+        /**
+         * @return task store keys of the task entries to be removed
+         */
+        public Set<String> getRemovedTasks() {
+            return removedTasks;
+        }
+
+        /**
+         * Combines this write with the earlier pending write of the same process instance it replaces,
+         * task entries changed or removed by the earlier write keep their changes unless this write
+         * changes them again.
+         */
+        public PendingWrite after(PendingWrite previous) {
+            Map<String, Object> changed = new HashMap<>(previous.changedTasks);
+            changed.keySet().removeAll(removedTasks);
+            changed.putAll(changedTasks);
+            Set<String> removed = new HashSet<>(previous.removedTasks);
+            removed.removeAll(changedTasks.keySet());
+            removed.addAll(removedTasks);
+            return new PendingWrite(data, correlationKey, changed, removed);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.infinispan.marshallers;
+
+import java.io.IOException;
+import java.util.HashSet;
+
+import org.infinispan.protostream.MessageMarshaller;
+import org.kie.kogito.process.impl.BaseTaskInfo;
+
+/**
+ * Marshals task summaries as <code>kogito.persistence.UserTask</code> messages defined by
+ * {@link #PROTO_FILE}, so that they can be queried on the server.
+ */
+public class UserTaskMessageMarshaller implements MessageMarshaller<BaseTaskInfo> {
+
+    public static final String PROTO_FILE = "kogito-user-tasks.proto";
+    public static final String TYPE_NAME = "kogito.persistence.UserTask";
+
+    @Override
+    public Class<? extends BaseTaskInfo> getJavaClass() {
+        return BaseTaskInfo.class;
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public BaseTaskInfo readFrom(ProtoStreamReader reader) throws IOException {
+        return new BaseTaskInfo(reader.readString("processInstanceId"),
+                                reader.readString("id"),
+                                reader.readString("name"),
+                                reader.readString("phase"),
+                                reader.readString("actualOwner"),
+                                reader.readCollection("potentialUsers", new HashSet<>(), String.class),
+                                reader.readCollection("potentialGroups", new HashSet<>(), String.class),
+                                reader.readCollection("excludedUsers", new HashSet<>(), String.class));
+    }
+
+    @Override
+    public void writeTo(ProtoStreamWriter writer, BaseTaskInfo task) throws IOException {
+        writer.writeString("processInstanceId", task.getProcessInstanceId());
+        writer.writeString("id", task.getId());
+        writer.writeString("name", task.getName());
+        writer.writeString("phase", task.getPhase());
+        writer.writeString("actualOwner", task.getActualOwner());
+        writer.writeCollection("potentialUsers", task.getPotentialUsers(), String.class);
+        writer.writeCollection("potentialGroups", task.getPotentialGroups(), String.class);
+        writer.writeCollection("excludedUsers", task.getExcludedUsers(), String.class);
+    }
+}
@@ -20,8 +20,12 @@ import java.util.List;
 
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.protostream.MessageMarshaller;
+import org.kie.kogito.infinispan.CacheProcessInstanceArchive;
 import org.kie.kogito.infinispan.CacheProcessInstances;
+import org.kie.kogito.infinispan.NearCache;
+import org.kie.kogito.process.impl.marshalling.PayloadCompression;
 import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstanceArchive;
 import org.kie.kogito.process.ProcessInstancesFactory;
 
 /**
@@ -38,7 +42,32 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
     
     public CacheProcessInstances createProcessInstances(Process<?> process) {
         List<?> marshallers = marshallers();
-        return new CacheProcessInstances(process, cacheManager, template(), proto(), marshallers.toArray(new MessageMarshaller<?>[marshallers.size()]));
+        int nearCacheSize = nearCacheSize();
+        NearCache nearCache = nearCacheSize > 0 ? new NearCache(nearCacheSize, nearCacheTtl() * 1000L) : null;
+        CacheProcessInstances instances = new CacheProcessInstances(process, cacheManager, template(), nearCache, proto(), marshallers.toArray(new MessageMarshaller<?>[marshallers.size()]));
+        long writeBehindInterval = writeBehindInterval();
+        if (writeBehindInterval > 0) {
+            instances.withWriteBehind(writeBehindInterval, writeBehindThreshold());
+        }
+        int compressionThreshold = compressionThreshold();
+        if (compressionThreshold > 0) {
+            instances.withCompression(PayloadCompression.of(compressor(), compressionThreshold));
+        }
+        return instances;
+    }
+    
+    /**
+     * Archives finished process instances in a remote cache created from {@link #archiveTemplate()}
+     * instead of keeping them in the store of active process instances.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public ProcessInstanceArchive<?> createArchive(Process<?> process) {
+        if (!archive()) {
+            return null;
+        }
+        List<?> marshallers = marshallers();
+        return new CacheProcessInstanceArchive(process, cacheManager, archiveTemplate(), proto(), marshallers.toArray(new MessageMarshaller<?>[marshallers.size()]));
     }
     
     public String proto() {
@@ -52,4 +81,68 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
     public String template() {
         return null;
     }
+    
+    /**
+     * Maximum number of decoded process instances kept in the near cache of each process, 0 disables the near cache.
+     * Configured with <code>kogito.persistence.near-cache.size</code>.
+     */
+    public int nearCacheSize() {
+        return 0;
+    }
+    
+    /**
+     * Time to live, in seconds, of process instances kept in the near cache.
+     * Configured with <code>kogito.persistence.near-cache.ttl</code>.
+     */
+    public long nearCacheTtl() {
+        return 60;
+    }
+    
+    /**
+     * Milliseconds between flushes of buffered updates, 0 writes every update synchronously.
+     * Configured with <code>kogito.persistence.write-behind.interval</code>.
+     */
+    public long writeBehindInterval() {
+        return 0;
+    }
+    
+    /**
+     * Number of buffered updates triggering a flush before the interval elapses.
+     * Configured with <code>kogito.persistence.write-behind.threshold</code>.
+     */
+    public int writeBehindThreshold() {
+        return 1000;
+    }
+    
+    /**
+     * Whether finished process instances are archived, they are only removed by default.
+     * Configured with <code>kogito.persistence.archive</code>.
+     */
+    public boolean archive() {
+        return false;
+    }
+    
+    /**
+     * Name of the server template of the archive caches, by default the template of the process instance caches.
+     * Configured with <code>kogito.persistence.archive.template</code>.
+     */
+    public String archiveTemplate() {
+        return template();
+    }
+    
+    /**
+     * Minimum size in bytes of marshalled process instances to compress, 0 disables compression.
+     * Configured with <code>kogito.persistence.compression.threshold</code>.
+     */
+    public int compressionThreshold() {
+        return 0;
+    }
+    
+    /**
+     * Name of the compressor applied to marshalled process instances.
+     * Configured with <code>kogito.persistence.compression</code>.
+     */
+    public String compressor() {
+        return "deflate";
+    }
 }
@@ -17,16 +17,23 @@ package org.kie.kogito.infinispan;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ABORTED;
 import static org.kie.api.runtime.process.ProcessInstance.STATE_ACTIVE;
 import static org.kie.api.runtime.process.ProcessInstance.STATE_COMPLETED;
 import static org.kie.api.runtime.process.ProcessInstance.STATE_ERROR;
 
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.drools.core.io.impl.ClassPathResource;
@@ -41,13 +48,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.kie.api.definition.process.Node;
 import org.kie.api.runtime.process.ProcessContext;
+import org.kie.api.runtime.process.WorkItemNotFoundException;
 import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
 import org.kie.kogito.process.ProcessError;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.marshalling.DeflatePayloadCompressor;
+import org.kie.kogito.process.workitem.TaskInfo;
+import org.kie.kogito.process.workitem.TaskQuery;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
@@ -55,18 +67,46 @@ import org.mockito.stubbing.Answer;
 public class MockCacheProcessInstancesTest {
     
     private final ConcurrentHashMap<Object, Object> mockCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, Object> taskStore = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, Object> archiveStore = new ConcurrentHashMap<>();
+    private RemoteCache<Object, Object> processCache;
+    private RemoteCache<Object, Object> taskCache;
     private RemoteCacheManager cacheManager;
     
-    @SuppressWarnings("unchecked")
     @BeforeEach
     public void setup() {
         mockCache.clear();
+        taskStore.clear();
+        archiveStore.clear();
         cacheManager = mock(RemoteCacheManager.class);
         RemoteCacheManagerAdmin admin = mock(RemoteCacheManagerAdmin.class);
-        RemoteCache<Object, Object> cache = mock(RemoteCache.class);
         
         when(cacheManager.administration()).thenReturn(admin);
-        when(admin.getOrCreateCache(any(), (String)any())).thenReturn(cache);
+        // process instances are kept in mockCache, secondary stores get their own maps
+        when(admin.getOrCreateCache(any(), (String)any())).then(new Answer<Object>() {
+
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                String name = invocation.getArgument(0, String.class);
+                if (name.endsWith("_task_store")) {
+                    taskCache = mockRemoteCache(taskStore);
+                    return taskCache;
+                }
+                if (name.endsWith("_correlation_store")) {
+                    return mockRemoteCache(new ConcurrentHashMap<>());
+                }
+                if (name.endsWith("_archive_store")) {
+                    return mockRemoteCache(archiveStore);
+                }
+                processCache = mockRemoteCache(mockCache);
+                return processCache;
+            }
+        });
+    }
+    
+    @SuppressWarnings("unchecked")
+    private RemoteCache<Object, Object> mockRemoteCache(ConcurrentHashMap<Object, Object> data) {
+        RemoteCache<Object, Object> cache = mock(RemoteCache.class);
         
         when(cache.put(any(), any())).then(new Answer<Object>() {
 
@@ -74,7 +114,26 @@ public class MockCacheProcessInstancesTest {
             public Object answer(InvocationOnMock invocation) throws Throwable {
                 Object key = invocation.getArgument(0, Object.class);
                 Object value = invocation.getArgument(1, Object.class);
-                return mockCache.put(key, value);
+                return data.put(key, value);
+            }
+        });
+        
+        doAnswer(new Answer<Object>() {
+
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                data.putAll(invocation.getArgument(0, Map.class));
+                return null;
+            }
+        }).when(cache).putAll(any());
+        
+        when(cache.putIfAbsent(any(), any())).then(new Answer<Object>() {
+
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Object key = invocation.getArgument(0, Object.class);
+                Object value = invocation.getArgument(1, Object.class);
+                return data.putIfAbsent(key, value);
             }
         });
         
@@ -84,11 +143,83 @@ public class MockCacheProcessInstancesTest {
             public Object answer(InvocationOnMock invocation) throws Throwable {
                 Object key = invocation.getArgument(0, Object.class);               
                 
-                return mockCache.get(key);
+                return data.get(key);
             }
         });
-    }
+        
+        when(cache.getAsync(any())).then(new Answer<Object>() {
+
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Object key = invocation.getArgument(0, Object.class);
+                
+                return CompletableFuture.completedFuture(data.get(key));
+            }
+        });
+        
+        when(cache.getAll(any())).then(new Answer<Object>() {
+
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Map<Object, Object> found = new HashMap<>();
+                for (Object key : invocation.getArgument(0, Set.class)) {
+                    if (data.containsKey(key)) {
+                        found.put(key, data.get(key));
+                    }
+                }
+                return found;
+            }
+        });
+        
+        when(cache.remove(any())).then(new Answer<Object>() {
+
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Object key = invocation.getArgument(0, Object.class);               
+                
+                return data.remove(key);
+            }
+        });
+        
+        when(cache.remove(any(), any())).then(new Answer<Object>() {
+
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Object key = invocation.getArgument(0, Object.class);
+                Object value = invocation.getArgument(1, Object.class);
+                
+                return data.remove(key, value);
+            }
+        });
+        
+        when(cache.removeAsync(any())).then(new Answer<Object>() {
+
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Object key = invocation.getArgument(0, Object.class);               
+                
+                return CompletableFuture.completedFuture(data.remove(key));
+            }
+        });
+        
+        when(cache.putAllAsync(any())).then(new Answer<Object>() {
+
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                data.putAll(invocation.getArgument(0, Map.class));
+                return CompletableFuture.completedFuture(null);
+            }
+        });
+        
+        when(cache.values()).then(new Answer<Object>() {
 
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                return data.values();
+            }
+        });
+        return cache;
+    }
     
     @Test
     public void testBasicFlow() {
@@ -106,10 +237,181 @@ public class MockCacheProcessInstancesTest {
         WorkItem workItem = processInstance.workItems().get(0);
         assertThat(workItem).isNotNull();
         assertThat(workItem.getParameters().get("ActorId")).isEqualTo("john");
+        
+        WorkItem loadedWorkItem = process.instances().findById(processInstance.id()).get().workItem(workItem.getId());
+        assertThat(loadedWorkItem.getId()).isEqualTo(workItem.getId());
+        assertThatThrownBy(() -> processInstance.workItem("not-existing")).isInstanceOf(WorkItemNotFoundException.class);
+        
         processInstance.completeWorkItem(workItem.getId(), null);
         assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
     }
     
+    @Test
+    public void testFindByCorrelationKey() {
+        
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+                                     
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("ORDER-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+
+        processInstance.start();
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+        assertThat(processInstance.correlationKey()).isEqualTo("ORDER-1");
+        
+        Optional<? extends ProcessInstance<BpmnVariables>> loaded = process.instances().findByCorrelationKey("ORDER-1");
+        assertThat(loaded).isPresent();
+        assertThat(loaded.get().id()).isEqualTo(processInstance.id());
+        assertThat(loaded.get().correlationKey()).isEqualTo("ORDER-1");
+        
+        assertThat(process.instances().findByCorrelationKey("ORDER-2")).isNotPresent();
+        assertThatThrownBy(() -> process.createInstance("ORDER-1", BpmnVariables.create())).isInstanceOf(ProcessInstanceDuplicatedException.class);
+        
+        // correlation key is released once the process instance is removed
+        processInstance.completeWorkItem(processInstance.workItems().get(0).getId(), null);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().findByCorrelationKey("ORDER-1")).isNotPresent();
+        
+        ProcessInstance<BpmnVariables> next = process.createInstance("ORDER-1", BpmnVariables.create());
+        next.start();
+        assertThat(process.instances().findByCorrelationKey("ORDER-1").get().id()).isEqualTo(next.id());
+    }
+    
+    @Test
+    public void testFindTasks() {
+        
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+        
+        ProcessInstance<BpmnVariables> first = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        first.start();
+        ProcessInstance<BpmnVariables> second = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        second.start();
+        
+        List<TaskInfo> tasks = process.instances().findTasks(TaskQuery.all().withName("Hello"));
+        assertThat(tasks).hasSize(2);
+        assertThat(tasks).extracting(TaskInfo::getProcessInstanceId).containsExactlyInAnyOrder(first.id(), second.id());
+        
+        assertThat(process.instances().findTasks(TaskQuery.all().page(1, 10))).hasSize(1);
+        assertThat(process.instances().findTasks(TaskQuery.all().withName("Goodbye"))).isEmpty();
+        assertThat(process.instances().findTasks(TaskQuery.forUser("john", Collections.emptyList()))).hasSize(2);
+        assertThat(process.instances().findTasks(TaskQuery.forUser("mary", Collections.emptyList()))).isEmpty();
+        // tasks with potential owners are not listed without user
+        assertThat(process.instances().findTasks(TaskQuery.unassigned())).isEmpty();
+        
+        // one entry per task, written only when the tasks of the process instance change
+        assertThat(taskStore).hasSize(2);
+        verify(taskCache, times(2)).putAll(any());
+        ProcessInstance<BpmnVariables> loaded = process.instances().findById(second.id()).get();
+        loaded.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+        verify(taskCache, times(2)).putAll(any());
+        
+        first.completeWorkItem(first.workItems().get(0).getId(), null);
+        assertThat(first.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().findTasks(TaskQuery.all())).extracting(TaskInfo::getProcessInstanceId).containsExactly(second.id());
+        assertThat(taskStore).hasSize(1);
+    }
+    
+    @Test
+    public void testExecuteInBulk() {
+        
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+        
+        ProcessInstance<BpmnVariables> first = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        first.start();
+        ProcessInstance<BpmnVariables> second = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        second.start();
+        ProcessInstance<BpmnVariables> third = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        third.start();
+        verify(processCache, never()).putAll(any());
+        
+        Map<String, Consumer<ProcessInstance<BpmnVariables>>> actions = new HashMap<>();
+        actions.put(first.id(), pi -> pi.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "first"))));
+        actions.put(second.id(), pi -> pi.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "second"))));
+        actions.put(third.id(), pi -> pi.completeWorkItem(pi.workItems().get(0).getId(), null));
+        assertThat(process.executeInBulk(actions)).hasSize(3);
+        
+        // process instances still active are written at once, the completed one is removed
+        verify(processCache, times(1)).putAll(any());
+        assertThat(mockCache).containsOnlyKeys(first.id(), second.id());
+        CacheProcessInstances instances = (CacheProcessInstances) process.instances();
+        assertThat(instances.findVariables(first.id(), Collections.singletonList("test")).get()).containsEntry("test", "first");
+        assertThat(instances.findVariables(second.id(), Collections.singletonList("test")).get()).containsEntry("test", "second");
+        assertThat(process.instances().findTasks(TaskQuery.all())).extracting(TaskInfo::getProcessInstanceId).containsExactlyInAnyOrder(first.id(), second.id());
+        
+        actions.put("not-existing", pi -> {});
+        assertThatThrownBy(() -> process.executeInBulk(actions)).isInstanceOf(ProcessInstanceNotFoundException.class);
+    }
+    
+    @Test
+    public void testExecuteInBulkWithFailure() {
+        
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+        
+        AtomicInteger running = new AtomicInteger();
+        Map<String, Consumer<ProcessInstance<BpmnVariables>>> actions = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ProcessInstance<BpmnVariables> pi = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+            pi.start();
+            ids.add(pi.id());
+            actions.put(pi.id(), bulk -> {
+                running.incrementAndGet();
+                try {
+                    Thread.sleep(50);
+                    bulk.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+        }
+        actions.put(ids.get(4), bulk -> {
+            throw new IllegalStateException("failed in the middle");
+        });
+        
+        assertThatThrownBy(() -> process.executeInBulk(actions)).isInstanceOf(IllegalStateException.class).hasMessage("failed in the middle");
+        
+        // all other actions are done before the bulk is aborted and nothing is written
+        assertThat(running.get()).isZero();
+        verify(processCache, never()).putAll(any());
+        CacheProcessInstances instances = (CacheProcessInstances) process.instances();
+        for (String id : ids) {
+            assertThat(instances.findVariables(id, Collections.singletonList("test")).get()).containsEntry("test", "test");
+        }
+    }
+    
+    @Test
+    public void testFindByIdAsync() throws Exception {
+        
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+        AtomicInteger unmarshalled = new AtomicInteger();
+        ((CacheProcessInstances) process.instances()).withExecutor(command -> {
+            unmarshalled.incrementAndGet();
+            command.run();
+        });
+        
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        
+        Optional<? extends ProcessInstance<BpmnVariables>> loaded = process.instances().findByIdAsync(processInstance.id()).toCompletableFuture().get();
+        assertThat(loaded).isPresent();
+        assertThat(loaded.get().id()).isEqualTo(processInstance.id());
+        assertThat(loaded.get().workItems()).hasSize(1);
+        // read completed by the remote cache is unmarshalled on the given executor
+        assertThat(unmarshalled.get()).isEqualTo(1);
+        
+        assertThat(process.instances().findByIdAsync("not-existing").toCompletableFuture().get()).isNotPresent();
+    }
+    
     @Test
     public void testProcessInstanceNotFound() {
         
@@ -129,6 +431,198 @@ public class MockCacheProcessInstancesTest {
         assertThat(loaded).isNotPresent();
     }
     
+    @Test
+    public void testNearCache() {
+        
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager, 10));
+        process.configure();
+        NearCache nearCache = ((CacheProcessInstances) process.instances()).getNearCache();
+        assertThat(nearCache).isNotNull();
+                                     
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+        assertThat(nearCache.size()).isEqualTo(1);
+        
+        // decoded process instance is taken from the near cache instead of being unmarshalled
+        ProcessInstance<BpmnVariables> loaded = process.instances().findById(processInstance.id()).get();
+        assertThat(nearCache.getHits()).isEqualTo(1);
+        assertThat(nearCache.size()).isEqualTo(1);
+        
+        // reading again unmarshalls the cached data, the entry stays in the near cache
+        ProcessInstance<BpmnVariables> readAgain = process.instances().findById(processInstance.id()).get();
+        assertThat(readAgain).isNotSameAs(loaded);
+        assertThat(readAgain.workItems()).hasSize(1);
+        assertThat(nearCache.getHits()).isEqualTo(2);
+        assertThat(nearCache.size()).isEqualTo(1);
+        
+        WorkItem workItem = loaded.workItems().get(0);
+        assertThat(workItem.getParameters().get("ActorId")).isEqualTo("john");
+        loaded.completeWorkItem(workItem.getId(), null);
+        assertThat(loaded.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(nearCache.size()).isZero();
+        
+        ProcessInstance<BpmnVariables> other = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        other.start();
+        assertThat(nearCache.size()).isEqualTo(1);
+        // event of the write made by this node keeps the entry, write of another node invalidates it
+        nearCache.written(other.id());
+        assertThat(nearCache.size()).isEqualTo(1);
+        nearCache.written(other.id());
+        assertThat(nearCache.size()).isZero();
+        assertThat(nearCache.getInvalidations()).isEqualTo(2);
+        
+        assertThat(process.instances().findById(other.id())).isPresent();
+        assertThat(nearCache.getHits()).isEqualTo(2);
+        assertThat(nearCache.getMisses()).isEqualTo(1);
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testNearCacheFailedWrite() {
+        
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager, 10));
+        process.configure();
+        CacheProcessInstances instances = (CacheProcessInstances) process.instances();
+        NearCache nearCache = instances.getNearCache();
+        
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        assertThat(nearCache.size()).isEqualTo(1);
+        
+        doThrow(new RuntimeException("unavailable")).when(processCache).put(any(), any());
+        assertThatThrownBy(() -> instances.update(processInstance.id(), processInstance)).hasMessage("unavailable");
+        
+        // only the event of the successful write is recognized, the next one invalidates the entry
+        nearCache.written(processInstance.id());
+        assertThat(nearCache.size()).isEqualTo(1);
+        nearCache.written(processInstance.id());
+        assertThat(nearCache.size()).isZero();
+    }
+    
+    @Test
+    public void testWriteBehind() {
+        
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager, 0, 60000));
+        process.configure();
+        CacheProcessInstances instances = (CacheProcessInstances) process.instances();
+        WriteBehindBuffer writeBehind = instances.getWriteBehind();
+        assertThat(writeBehind).isNotNull();
+        
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+        // update is buffered but visible to readers
+        assertThat(process.instances().findById(processInstance.id())).isNotPresent();
+        assertThat(writeBehind.getPendingWrites()).isEqualTo(1);
+        assertThat(process.instances().findById(processInstance.id())).isPresent();
+        
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "latest")));
+        assertThat(writeBehind.getPendingWrites()).isEqualTo(1);
+        assertThat(writeBehind.getCoalescedWrites()).isEqualTo(2);
+        assertThat(process.instances().findById(processInstance.id())).isNotPresent();
+        
+        instances.flush();
+        assertThat(writeBehind.getPendingWrites()).isZero();
+        assertThat(writeBehind.getFlushedWrites()).isEqualTo(1);
+        assertThat(mockCache).containsKey(processInstance.id());
+        assertThat(instances.findVariables(processInstance.id(), Collections.singletonList("test")).get()).containsEntry("test", "latest");
+        
+        WorkItem workItem = processInstance.workItems().get(0);
+        processInstance.completeWorkItem(workItem.getId(), null);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(writeBehind.getPendingWrites()).isZero();
+        assertThat(process.instances().findById(processInstance.id())).isNotPresent();
+        assertThat(taskStore).isEmpty();
+        // task entries are removed together asynchronously, not one remote call after the other
+        verify(taskCache, never()).remove(any());
+        
+        instances.close();
+    }
+    
+    @Test
+    public void testCompression() {
+        
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        CacheProcessInstancesFactory factory = new CacheProcessInstancesFactory(cacheManager);
+        factory.compressionThreshold = 1024;
+        process.setProcessInstancesFactory(factory);
+        process.configure();
+        
+        StringBuilder document = new StringBuilder();
+        while (document.length() < 8192) {
+            document.append("{\"customer\":\"john\",\"status\":\"pending\"}");
+        }
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("s", document.toString())));
+        processInstance.start();
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+        
+        byte[] stored = (byte[]) mockCache.get(processInstance.id());
+        assertThat(stored[0]).isEqualTo(DeflatePayloadCompressor.FORMAT);
+        assertThat(stored.length).isLessThan(document.length());
+        
+        ProcessInstance<BpmnVariables> loaded = process.instances().findById(processInstance.id()).get();
+        assertThat(loaded.variables().toMap()).containsEntry("s", document.toString());
+        
+        WorkItem workItem = loaded.workItems().get(0);
+        loaded.completeWorkItem(workItem.getId(), null);
+        assertThat(loaded.status()).isEqualTo(STATE_COMPLETED);
+    }
+    
+    @Test
+    public void testArchive() {
+        
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        CacheProcessInstancesFactory factory = new CacheProcessInstancesFactory(cacheManager);
+        factory.archive = true;
+        process.setProcessInstancesFactory(factory);
+        process.configure();
+        assertThat(process.archive()).isPresent();
+        
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("s", "archived")));
+        processInstance.start();
+        assertThat(process.archive().get().findById(processInstance.id())).isNotPresent();
+        
+        WorkItem workItem = processInstance.workItems().get(0);
+        processInstance.completeWorkItem(workItem.getId(), null);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().findById(processInstance.id())).isNotPresent();
+        
+        assertThat(archiveStore).containsKey(processInstance.id());
+        
+        Optional<? extends ProcessInstance<BpmnVariables>> archived = process.archive().get().findById(processInstance.id());
+        assertThat(archived).isPresent();
+        assertThat(archived.get().status()).isEqualTo(STATE_COMPLETED);
+        assertThat(archived.get().variables().toMap()).containsEntry("s", "archived");
+    }
+    
+    @Test
+    public void testArchiveAborted() {
+        
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        CacheProcessInstancesFactory factory = new CacheProcessInstancesFactory(cacheManager);
+        factory.archive = true;
+        process.setProcessInstancesFactory(factory);
+        process.configure();
+        
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("s", "archived")));
+        processInstance.start();
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+        
+        processInstance.abort();
+        assertThat(processInstance.status()).isEqualTo(STATE_ABORTED);
+        assertThat(process.instances().findById(processInstance.id())).isNotPresent();
+        
+        Optional<? extends ProcessInstance<BpmnVariables>> archived = process.archive().get().findById(processInstance.id());
+        assertThat(archived).isPresent();
+        assertThat(archived.get().status()).isEqualTo(STATE_ABORTED);
+        assertThat(archived.get().variables().toMap()).containsEntry("s", "archived");
+    }
+    
     @Test
     public void testBasicFlowWithErrorAndRetry() {
         
@@ -192,8 +686,43 @@ public class MockCacheProcessInstancesTest {
     
     private class CacheProcessInstancesFactory extends KogitoProcessInstancesFactory {
         
+        private final int nearCacheSize;
+        private final long writeBehindInterval;
+        private int compressionThreshold;
+        private boolean archive;
+        
         CacheProcessInstancesFactory(RemoteCacheManager cacheManager) {
+            this(cacheManager, 0);
+        }
+        
+        CacheProcessInstancesFactory(RemoteCacheManager cacheManager, int nearCacheSize) {
+            this(cacheManager, nearCacheSize, 0);
+        }
+        
+        CacheProcessInstancesFactory(RemoteCacheManager cacheManager, int nearCacheSize, long writeBehindInterval) {
             super(cacheManager);
+            this.nearCacheSize = nearCacheSize;
+            this.writeBehindInterval = writeBehindInterval;
+        }
+        
+        @Override
+        public int nearCacheSize() {
+            return nearCacheSize;
+        }
+        
+        @Override
+        public long writeBehindInterval() {
+            return writeBehindInterval;
+        }
+        
+        @Override
+        public int compressionThreshold() {
+            return compressionThreshold;
+        }
+
+        @Override
+        public boolean archive() {
+            return archive;
         }
 
         @Override
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.infinispan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.marshalling.PayloadCompression;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the cost of compressing and decompressing a marshalled user task process instance carrying a
+ * JSON document variable of given size, the compressed size is logged when the benchmark is set up.
+ * The document is a list of orders with distinct ids, timestamps, amounts and free text, generated from
+ * a fixed seed, so that its compression ratio is not inflated by repeated values.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadCompressionBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayloadCompressionBenchmark.class);
+
+    private static final String[] WORDS = {"deliver", "before", "noon", "fragile", "leave", "parcel", "at", "the", "door",
+            "call", "customer", "on", "arrival", "gift", "wrap", "invoice", "separately", "back", "entrance", "weekend"};
+    private static final String[] COUNTRIES = {"US", "DE", "FR", "IT", "ES", "GB", "BR", "JP", "IN", "CZ"};
+
+    @Param({"1024", "65536"})
+    private int documentSize;
+
+    private PayloadCompression compression;
+    private byte[] payload;
+    private byte[] compressedPayload;
+
+    @Setup
+    public void setUp() {
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.configure();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("s", document(documentSize))));
+        processInstance.start();
+
+        payload = new ProcessInstanceMarshaller().marhsallProcessInstance(processInstance);
+        compression = PayloadCompression.of("deflate", 0);
+        compressedPayload = compression.compress(payload);
+        logger.info("Marshalled process instance of {} bytes compressed to {} bytes", payload.length, compressedPayload.length);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return compression.compress(payload);
+    }
+
+    @Benchmark
+    public long decompress() throws IOException {
+        long read = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream in = PayloadCompression.open(compressedPayload)) {
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                read += count;
+            }
+        }
+        return read;
+    }
+
+    private static String document(int size) {
+        Random random = new Random(42);
+        long timestamp = 1571443200000L;
+        StringBuilder document = new StringBuilder("[");
+        while (document.length() < size) {
+            timestamp += random.nextInt(3600000);
+            document.append("{\"id\":\"").append(new UUID(random.nextLong(), random.nextLong()))
+                    .append("\",\"created\":").append(timestamp)
+                    .append(",\"customer\":{\"id\":").append(random.nextInt(1000000))
+                    .append(",\"email\":\"").append(Long.toString(random.nextLong() & Long.MAX_VALUE, 36)).append("@example.com")
+                    .append("\",\"country\":\"").append(COUNTRIES[random.nextInt(COUNTRIES.length)])
+                    .append("\",\"zip\":\"").append(10000 + random.nextInt(90000)).append("\"}")
+                    .append(",\"items\":[");
+            int items = 1 + random.nextInt(4);
+            for (int i = 0; i < items; i++) {
+                document.append(i == 0 ? "" : ",")
+                        .append("{\"sku\":\"").append(Integer.toString(random.nextInt(Integer.MAX_VALUE), 36).toUpperCase())
+                        .append("\",\"quantity\":").append(1 + random.nextInt(10))
+                        .append(",\"price\":").append(random.nextInt(100000) / 100.0).append("}");
+            }
+            document.append("],\"note\":\"");
+            int words = random.nextInt(8);
+            for (int i = 0; i < words; i++) {
+                document.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            document.append("\"},");
+        }
+        return document.append("{}]").toString();
+    }
+}
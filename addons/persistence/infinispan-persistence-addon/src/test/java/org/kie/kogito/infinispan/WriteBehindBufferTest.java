@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.infinispan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.infinispan.WriteBehindBuffer.PendingWrite;
+
+public class WriteBehindBufferTest {
+
+    @Test
+    public void testWriteBufferedDuringFlushStaysPending() throws Exception {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Map<String, PendingWrite>> flushed = new CopyOnWriteArrayList<>();
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", 60000, 100, writes -> {
+            flushing.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flushed.add(writes);
+        });
+
+        buffer.add("1", write("first"));
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(buffer::flush);
+        assertThat(flushing.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // update buffered while the slow flush is writing the previous state
+        assertThat(buffer.add("1", write("second"))).isTrue();
+        release.countDown();
+        flush.get(10, TimeUnit.SECONDS);
+
+        assertThat(flushed).hasSize(1);
+        assertThat(new String(flushed.get(0).get("1").getData())).isEqualTo("first");
+        assertThat(buffer.getPendingWrites()).isEqualTo(1);
+        assertThat(new String(buffer.get("1").getData())).isEqualTo("second");
+
+        buffer.flush();
+        assertThat(flushed).hasSize(2);
+        assertThat(new String(flushed.get(1).get("1").getData())).isEqualTo("second");
+        assertThat(buffer.getPendingWrites()).isZero();
+
+        buffer.close();
+    }
+
+    private PendingWrite write(String data) {
+        return new PendingWrite(data.getBytes(), null, Collections.emptyMap(), Collections.emptySet());
+    }
+}
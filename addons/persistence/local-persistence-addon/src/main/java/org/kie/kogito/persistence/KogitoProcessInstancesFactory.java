@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.persistence;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+import org.kie.api.marshalling.ObjectMarshallingStrategy;
+import org.kie.kogito.persistence.local.LogProcessInstanceArchive;
+import org.kie.kogito.persistence.local.LogProcessInstances;
+import org.kie.kogito.process.impl.marshalling.PayloadCompression;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstanceArchive;
+import org.kie.kogito.process.ProcessInstancesFactory;
+
+/**
+ * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
+ *
+ */
+public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
+
+    public static final String PATH_PROPERTY = "kogito.persistence.local.path";
+    public static final String DEFAULT_PATH = "kogito-store";
+
+    protected String path;
+
+    public KogitoProcessInstancesFactory(String path) {
+        this.path = path;
+    }
+
+    public LogProcessInstances createProcessInstances(Process<?> process) {
+        List<ObjectMarshallingStrategy> strategies = strategies();
+        LogProcessInstances instances = new LogProcessInstances(process, Paths.get(path()), strategies.toArray(new ObjectMarshallingStrategy[strategies.size()]));
+        int compressionThreshold = compressionThreshold();
+        if (compressionThreshold > 0) {
+            instances.withCompression(PayloadCompression.of(compressor(), compressionThreshold));
+        }
+        return instances;
+    }
+
+    /**
+     * Archives finished process instances in compressed segment files under {@link #archivePath()}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public ProcessInstanceArchive<?> createArchive(Process<?> process) {
+        String archivePath = archivePath();
+        if (archivePath == null || archivePath.trim().isEmpty()) {
+            return null;
+        }
+        List<ObjectMarshallingStrategy> strategies = strategies();
+        return new LogProcessInstanceArchive(process, Paths.get(archivePath), strategies.toArray(new ObjectMarshallingStrategy[strategies.size()]));
+    }
+
+    public String path() {
+        if (path == null || path.trim().isEmpty()) {
+            return System.getProperty(PATH_PROPERTY, DEFAULT_PATH);
+        }
+        return path;
+    }
+
+    public List<ObjectMarshallingStrategy> strategies() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Directory of the archive of finished process instances, finished process instances are not archived when not set.
+     * Configured with <code>kogito.persistence.archive.path</code>.
+     */
+    public String archivePath() {
+        return null;
+    }
+
+    /**
+     * Minimum size in bytes of marshalled process instances to compress, 0 disables compression.
+     * Configured with <code>kogito.persistence.compression.threshold</code>.
+     */
+    public int compressionThreshold() {
+        return 0;
+    }
+
+    /**
+     * Name of the compressor applied to marshalled process instances.
+     * Configured with <code>kogito.persistence.compression</code>.
+     */
+    public String compressor() {
+        return "deflate";
+    }
+}
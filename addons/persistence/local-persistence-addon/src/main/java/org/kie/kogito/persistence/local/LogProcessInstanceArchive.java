@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.local;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.marshalling.ObjectMarshallingStrategy;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceArchive;
+import org.kie.kogito.process.impl.marshalling.DeflatePayloadCompressor;
+import org.kie.kogito.process.impl.marshalling.PayloadCompression;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Archive of finished process instances kept in compressed segment files of an embedded {@link LogStore},
+ * one store per process. Archived process instances are collected and written in batches, once the batch
+ * is full or periodically, archived process instances not yet written are lost if the JVM crashes -
+ * at most those of the last flush interval. Pending process instances are written on close and on
+ * JVM shutdown.
+ *
+ * @param <T> type of the process variables
+ */
+public class LogProcessInstanceArchive<T> implements ProcessInstanceArchive<T>, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogProcessInstanceArchive.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+    private final Process<T> process;
+    private final LogStore store;
+    private final ProcessInstanceMarshaller marshaller;
+    private final int batchSize;
+
+    // archived process instances not yet written to the store
+    private final Map<String, byte[]> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher;
+    private final Thread shutdownHook;
+
+    public LogProcessInstanceArchive(Process<T> process, Path directory, ObjectMarshallingStrategy... strategies) {
+        // archived process instances are never deleted, there is nothing to compact
+        this(process, new LogStore(directory.resolve(process.id()), LogStore.DEFAULT_SEGMENT_SIZE, true, 0), DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL, strategies);
+    }
+
+    /**
+     * @param process process of the archived process instances
+     * @param store store of the archived process instances
+     * @param batchSize number of archived process instances written at once
+     * @param flushInterval milliseconds after which archived process instances are written even if the batch is not full
+     * @param strategies marshalling strategies of the process variables
+     */
+    public LogProcessInstanceArchive(Process<T> process, LogStore store, int batchSize, long flushInterval, ObjectMarshallingStrategy... strategies) {
+        this.process = process;
+        this.store = store;
+        this.batchSize = batchSize;
+        this.marshaller = new ProcessInstanceMarshaller(strategies);
+        this.marshaller.setCompression(new PayloadCompression(new DeflatePayloadCompressor(), 0));
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "kogito-archive-" + process.id());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        this.shutdownHook = new Thread(this::flushQuietly);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public void archive(ProcessInstance<T> instance) {
+        pending.put(instance.id(), marshaller.marhsallProcessInstance(instance));
+        if (pending.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Optional<? extends ProcessInstance<T>> findById(String id) {
+        byte[] data = pending.get(id);
+        if (data == null) {
+            data = store.get(id);
+        }
+        if (data == null) {
+            return Optional.empty();
+        }
+        return Optional.of((ProcessInstance<T>) marshaller.unmarshallProcessInstance(data, process));
+    }
+
+    public boolean contains(String id) {
+        return pending.containsKey(id) || store.contains(id);
+    }
+
+    public int size() {
+        synchronized (flushLock) {
+            return store.size() + pending.size();
+        }
+    }
+
+    /**
+     * Writes archived process instances pending in the current batch.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Map<String, byte[]> batch = new HashMap<>(pending);
+            store.write(batch, Collections.emptyList());
+            batch.forEach(pending::remove);
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // JVM is shutting down, hook writes the pending process instances
+            return;
+        }
+        flush();
+        store.close();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warn("Unable to write {} archived process instances, will retry", pending.size(), e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.persistence.local;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.kie.api.marshalling.ObjectMarshallingStrategy;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.UserTaskIndex;
+import org.kie.kogito.process.impl.marshalling.PayloadCompression;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
+import org.kie.kogito.process.impl.marshalling.TaskInfoMarshaller;
+import org.kie.kogito.process.workitem.TaskInfo;
+import org.kie.kogito.process.workitem.TaskQuery;
+
+/**
+ * Process instances stored in an embedded {@link LogStore}, one store per process. Next to the
+ * marshalled process instances the store keeps correlation keys and task summaries of active
+ * process instances under their own key prefixes, and all records of an update are written at once.
+ * Correlation keys are claimed when process instances are created, before they are stored.
+ */
+@SuppressWarnings({"rawtypes"})
+public class LogProcessInstances implements MutableProcessInstances, Closeable {
+
+    private static final String INSTANCE_PREFIX = "i:";
+    private static final String CORRELATION_PREFIX = "c:";
+    private static final String TASK_PREFIX = "t:";
+
+    private final LogStore store;
+    private ProcessInstanceMarshaller marshaller;
+    private TaskInfoMarshaller taskMarshaller = new TaskInfoMarshaller();
+
+    private org.kie.kogito.process.Process<?> process;
+
+    public LogProcessInstances(Process<?> process, Path directory, ObjectMarshallingStrategy... strategies) {
+        this(process, new LogStore(directory.resolve(process.id())), strategies);
+    }
+
+    public LogProcessInstances(Process<?> process, LogStore store, ObjectMarshallingStrategy... strategies) {
+        this.process = process;
+        this.store = store;
+        this.marshaller = new ProcessInstanceMarshaller(strategies);
+    }
+
+    /**
+     * Compresses process instances before they are written, process instances already stored
+     * uncompressed remain readable.
+     */
+    public LogProcessInstances withCompression(PayloadCompression compression) {
+        this.marshaller.setCompression(compression);
+        return this;
+    }
+
+    @Override
+    public Optional<? extends ProcessInstance> findById(String id) {
+        byte[] data = store.get(INSTANCE_PREFIX + id);
+        if (data == null) {
+            return Optional.empty();
+        }
+
+        return (Optional<? extends ProcessInstance>) Optional.of(marshaller.unmarshallProcessInstance(data, process));
+    }
+
+    @Override
+    public Optional<? extends ProcessInstance> findByCorrelationKey(String correlationKey) {
+        if (correlationKey == null) {
+            return Optional.empty();
+        }
+        byte[] id = store.get(CORRELATION_PREFIX + correlationKey);
+        if (id == null) {
+            return Optional.empty();
+        }
+        return findById(new String(id, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean correlate(String correlationKey, String id) {
+        byte[] correlated = store.putIfAbsent(CORRELATION_PREFIX + correlationKey, id.getBytes(StandardCharsets.UTF_8));
+        return correlated == null || id.equals(new String(correlated, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public List<TaskInfo> findTasks(TaskQuery query) {
+        // only task summaries are read, process instances are not unmarshalled
+        List<TaskInfo> tasks = keys(TASK_PREFIX)
+                .parallelStream()
+                .map(store::get)
+                .filter(Objects::nonNull)
+                .flatMap(data -> taskMarshaller.unmarshallTasks(data).stream())
+                .collect(Collectors.toList());
+        return UserTaskIndex.filter(tasks, query);
+    }
+
+    @Override
+    public Collection<? extends ProcessInstance> values() {
+        return (Collection<? extends ProcessInstance>) keys(INSTANCE_PREFIX)
+                .parallelStream()
+                .map(store::get)
+                .filter(Objects::nonNull)
+                .map(data -> marshaller.unmarshallProcessInstance(data, process))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void update(String id, ProcessInstance instance) {
+        if (isActive(instance)) {
+            // tasks must be collected before marshalling as it disconnects the process instance
+            List<TaskInfo> tasks = instance.tasks();
+            byte[] data = marshaller.marhsallProcessInstance(instance);
+
+            Map<String, byte[]> puts = new HashMap<>();
+            puts.put(INSTANCE_PREFIX + instance.id(), data);
+            if (tasks.isEmpty()) {
+                store.write(puts, Collections.singletonList(TASK_PREFIX + instance.id()));
+            } else {
+                puts.put(TASK_PREFIX + instance.id(), taskMarshaller.marshallTasks(tasks));
+                store.write(puts, Collections.emptyList());
+            }
+
+            reloadOnAccess(id, instance);
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        // the correlation key is only known to the process instance
+        Optional<? extends ProcessInstance> found = findById(id);
+        if (found.isPresent()) {
+            remove(found.get());
+        } else {
+            store.write(Collections.emptyMap(), Arrays.asList(INSTANCE_PREFIX + id, TASK_PREFIX + id));
+        }
+    }
+
+    @Override
+    public void remove(ProcessInstance instance) {
+        List<String> deletes = new ArrayList<>(Arrays.asList(INSTANCE_PREFIX + instance.id(), TASK_PREFIX + instance.id()));
+        if (instance.correlationKey() != null) {
+            byte[] correlated = store.get(CORRELATION_PREFIX + instance.correlationKey());
+            if (correlated != null && instance.id().equals(new String(correlated, StandardCharsets.UTF_8))) {
+                deletes.add(CORRELATION_PREFIX + instance.correlationKey());
+            }
+        }
+        store.write(Collections.emptyMap(), deletes);
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    protected void reloadOnAccess(String id, ProcessInstance instance) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(() -> {
+            byte[] reloaded = store.get(INSTANCE_PREFIX + id);
+            if (reloaded != null) {
+                return ((AbstractProcessInstance<?>) marshaller.unmarshallProcessInstance(reloaded, process, (AbstractProcessInstance<?>) instance)).internalGetProcessInstance();
+            }
+
+            return null;
+        });
+    }
+
+    private List<String> keys(String prefix) {
+        return store.keys().stream()
+                .filter(key -> key.startsWith(prefix))
+                .collect(Collectors.toList());
+    }
+}
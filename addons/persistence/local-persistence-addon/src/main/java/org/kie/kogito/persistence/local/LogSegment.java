@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.persistence.local;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Single file of a {@link LogStore}. Records are only appended to the active segment, once the segment
+ * is sealed it is memory mapped and read through the mapping.
+ * <p>
+ * Each record is laid out as <code>length (int) | crc32 (int) | type (byte) | key length (short) | key | value</code>
+ * where length and checksum cover everything that follows them.
+ */
+class LogSegment {
+
+    static final String PREFIX = "segment-";
+    static final String SUFFIX = ".log";
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    static final int HEADER_SIZE = 8;
+
+    final long id;
+    final Path path;
+    // bytes of records still referenced by the index of the store
+    final AtomicLong liveBytes = new AtomicLong();
+    // bytes of delete records, they must be kept as long as older segments exist
+    final AtomicLong tombstoneBytes = new AtomicLong();
+
+    private final FileChannel channel;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long size;
+    private volatile MappedByteBuffer mapped;
+    private boolean closed;
+
+    private LogSegment(long id, Path path) throws IOException {
+        this.id = id;
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.size = channel.size();
+    }
+
+    static LogSegment open(Path directory, long id) throws IOException {
+        return new LogSegment(id, directory.resolve(fileName(id)));
+    }
+
+    static String fileName(long id) {
+        return String.format("%s%020d%s", PREFIX, id, SUFFIX);
+    }
+
+    static Long parseId(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static ByteBuffer encode(byte type, String key, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Key is too long: " + key);
+        }
+        int valueLength = value == null ? 0 : value.length;
+        ByteBuffer body = ByteBuffer.allocate(3 + keyBytes.length + valueLength);
+        body.put(type).putShort((short) keyBytes.length).put(keyBytes);
+        if (value != null) {
+            body.put(value);
+        }
+        return encode(body.array());
+    }
+
+    static ByteBuffer encode(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + body.length);
+        record.putInt(body.length).putInt((int) crc.getValue()).put(body);
+        record.flip();
+        return record;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Appends given record at the end of the segment, callers must serialize appends.
+     * @return offset of the record within the segment
+     */
+    long append(ByteBuffer record) throws IOException {
+        long offset = size;
+        long position = offset;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        size = position;
+        return offset;
+    }
+
+    /**
+     * Reads value of the record at given location.
+     * @return value of the record or null when the segment has been closed in the meantime
+     */
+    byte[] readValue(RecordLocation location) throws IOException {
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                return null;
+            }
+            ByteBuffer record;
+            MappedByteBuffer content = mapped;
+            if (content != null) {
+                record = content.duplicate();
+                record.position((int) location.offset).limit((int) location.offset + location.length);
+                record = record.slice();
+            } else {
+                record = ByteBuffer.allocate(location.length);
+                if (!readFully(record, location.offset)) {
+                    throw new EOFException("Unexpected end of segment " + path);
+                }
+                record.flip();
+            }
+            record.position(HEADER_SIZE + 1);
+            short keyLength = record.getShort();
+            record.position(record.position() + keyLength);
+            byte[] value = new byte[record.remaining()];
+            record.get(value);
+            return value;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads all records of the segment in order, stopping at the first record that is truncated or
+     * does not match its checksum.
+     * @return length of the valid part of the segment
+     */
+    long scan(RecordConsumer consumer) throws IOException {
+        long valid = 0;
+        long length = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        while (valid + HEADER_SIZE <= length) {
+            header.clear();
+            if (!readFully(header, valid)) {
+                break;
+            }
+            header.flip();
+            int bodyLength = header.getInt();
+            int checksum = header.getInt();
+            if (bodyLength < 3 || valid + HEADER_SIZE + bodyLength > length) {
+                break;
+            }
+            byte[] body = new byte[bodyLength];
+            if (!readFully(ByteBuffer.wrap(body), valid + HEADER_SIZE)) {
+                break;
+            }
+            crc.reset();
+            crc.update(body, 0, bodyLength);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            short keyLength = (short) (((body[1] & 0xFF) << 8) | (body[2] & 0xFF));
+            if (keyLength < 0 || 3 + keyLength > bodyLength) {
+                break;
+            }
+            String key = new String(body, 3, keyLength, StandardCharsets.UTF_8);
+            consumer.accept(body[0], key, body, new RecordLocation(id, valid, HEADER_SIZE + bodyLength));
+            valid += HEADER_SIZE + bodyLength;
+        }
+        return valid;
+    }
+
+    private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return false;
+            }
+            position += read;
+        }
+        return true;
+    }
+
+    void truncate(long length) throws IOException {
+        channel.truncate(length);
+        channel.force(true);
+        size = length;
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Maps the segment into memory once no more records are appended to it.
+     */
+    void seal() throws IOException {
+        if (size > 0) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (!closed) {
+                closed = true;
+                mapped = null;
+                channel.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    @FunctionalInterface
+    interface RecordConsumer {
+
+        void accept(byte type, String key, byte[] body, RecordLocation location) throws IOException;
+    }
+}
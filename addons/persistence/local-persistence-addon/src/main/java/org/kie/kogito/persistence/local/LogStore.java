@@ -0,0 +1,446 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.persistence.local;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded key value store kept as an append-only log of segment files in a single directory.
+ * <p>
+ * The latest location of every key is kept in an in-memory index that is rebuilt by replaying the
+ * segments when the store is opened, a truncated or corrupted tail left by a crash is cut off at the
+ * last valid record. Writes are appended to the active segment and, when the store is synchronous,
+ * are forced to the disk before returning. Writers arriving while the disk is being forced wait for
+ * the next force that then covers all of them, so concurrent writes share a single fsync.
+ * <p>
+ * Segments that no longer hold enough live records are compacted in the background by copying their
+ * live records to the active segment and deleting them. Delete records count as live while older
+ * segments exist and are dropped once their segment is the oldest one.
+ */
+public class LogStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogStore.class);
+
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    public static final long DEFAULT_COMPACTION_INTERVAL = 60;
+    // sealed segments with smaller ratio of live records are compacted
+    private static final double COMPACTION_THRESHOLD = 0.5;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean sync;
+
+    private final ConcurrentMap<String, RecordLocation> index = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+
+    // guards appends, the active segment and the index updates so that they follow the log order
+    private final Object writeLock = new Object();
+    private LogSegment activeSegment;
+    private long appended;
+
+    private final Object syncLock = new Object();
+    private long durable;
+    private boolean syncing;
+
+    private final Object compactionLock = new Object();
+    private final ScheduledExecutorService compactor;
+    private volatile boolean closed;
+
+    public LogStore(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, true, DEFAULT_COMPACTION_INTERVAL);
+    }
+
+    /**
+     * Opens the store in given directory, recovering records of existing segments.
+     * @param directory directory of the segment files, created if it does not exist
+     * @param segmentSize size after which new segment is started
+     * @param sync whether writes are forced to the disk before returning
+     * @param compactionInterval seconds between background compactions, 0 disables background compaction
+     */
+    public LogStore(Path directory, long segmentSize, boolean sync, long compactionInterval) {
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between 1 and " + Integer.MAX_VALUE + " bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            closeSegments();
+            throw new UncheckedIOException("Unable to open log store in " + directory, e);
+        }
+        if (compactionInterval > 0) {
+            compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "kogito-log-compactor-" + directory.getFileName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactor.scheduleWithFixedDelay(this::compactQuietly, compactionInterval, compactionInterval, TimeUnit.SECONDS);
+        } else {
+            compactor = null;
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public byte[] get(String key) {
+        while (true) {
+            RecordLocation location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            LogSegment segment = segments.get(location.segmentId);
+            if (segment != null) {
+                try {
+                    byte[] value = segment.readValue(location);
+                    if (value != null) {
+                        return value;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to read " + key + " from log store " + directory, e);
+                }
+            }
+            // the segment was compacted in the meantime, the record has been moved
+            if (location.equals(index.get(key))) {
+                throw new IllegalStateException("Record of " + key + " is missing in log store " + directory);
+            }
+        }
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(new HashSet<>(index.keySet()));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public void put(String key, byte[] value) {
+        write(Collections.singletonMap(key, value), Collections.emptyList());
+    }
+
+    public void delete(String key) {
+        write(Collections.emptyMap(), Collections.singletonList(key));
+    }
+
+    /**
+     * Stores the value unless the key is already stored, the check and the write are done at once
+     * with respect to other writes of the store.
+     * @param key key of the value
+     * @param value value to store
+     * @return value already stored under the key or null if given value has been stored
+     */
+    public byte[] putIfAbsent(String key, byte[] value) {
+        long position;
+        synchronized (writeLock) {
+            ensureOpen();
+            if (index.containsKey(key)) {
+                return get(key);
+            }
+            try {
+                RecordLocation location = append(LogSegment.encode(LogSegment.PUT, key, value));
+                activeSegment.liveBytes.addAndGet(location.length);
+                index.put(key, location);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write to log store " + directory, e);
+            }
+            position = appended;
+        }
+        if (sync) {
+            awaitDurable(position);
+        }
+        return null;
+    }
+
+    /**
+     * Appends given records at once so that they share the same force to the disk. Deletes of keys
+     * that are not stored are ignored.
+     * @param puts values to store keyed by their keys
+     * @param deletes keys to delete
+     */
+    public void write(Map<String, byte[]> puts, Collection<String> deletes) {
+        long position;
+        synchronized (writeLock) {
+            ensureOpen();
+            try {
+                for (Map.Entry<String, byte[]> entry : puts.entrySet()) {
+                    RecordLocation location = append(LogSegment.encode(LogSegment.PUT, entry.getKey(), entry.getValue()));
+                    activeSegment.liveBytes.addAndGet(location.length);
+                    release(index.put(entry.getKey(), location));
+                }
+                for (String key : deletes) {
+                    if (index.containsKey(key)) {
+                        RecordLocation location = append(LogSegment.encode(LogSegment.DELETE, key, null));
+                        activeSegment.tombstoneBytes.addAndGet(location.length);
+                        release(index.remove(key));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write to log store " + directory, e);
+            }
+            position = appended;
+        }
+        if (sync) {
+            awaitDurable(position);
+        }
+    }
+
+    /**
+     * Compacts sealed segments whose live records fall under the compaction threshold.
+     */
+    public void compact() {
+        synchronized (compactionLock) {
+            LogSegment active;
+            synchronized (writeLock) {
+                ensureOpen();
+                active = activeSegment;
+            }
+            for (LogSegment segment : new ArrayList<>(segments.headMap(active.id).values())) {
+                // tombstones would only be copied as they are while older segments exist
+                long retained = segment.liveBytes.get() + (segments.firstKey() < segment.id ? segment.tombstoneBytes.get() : 0);
+                if (retained < segment.size() * COMPACTION_THRESHOLD) {
+                    try {
+                        compact(segment);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Unable to compact segment " + segment.path, e);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                activeSegment.force();
+            } catch (IOException e) {
+                logger.warn("Unable to force active segment of log store {}", directory, e);
+            }
+            closeSegments();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Long> ids;
+        try (Stream<Path> files = Files.list(directory)) {
+            ids = files.map(LogSegment::parseId)
+                    .filter(id -> id != null)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (Long id : ids) {
+            LogSegment segment = LogSegment.open(directory, id);
+            segments.put(id, segment);
+            long valid = segment.scan((type, key, body, location) -> {
+                if (type == LogSegment.PUT) {
+                    segment.liveBytes.addAndGet(location.length);
+                    release(index.put(key, location));
+                } else {
+                    segment.tombstoneBytes.addAndGet(location.length);
+                    release(index.remove(key));
+                }
+            });
+            if (valid < segment.size()) {
+                logger.warn("Segment {} has a truncated or corrupted tail after {} bytes, records after it are discarded", segment.path, valid);
+                segment.truncate(valid);
+            }
+            appended += valid;
+        }
+        if (segments.isEmpty()) {
+            LogSegment segment = LogSegment.open(directory, 1);
+            segments.put(segment.id, segment);
+        }
+        activeSegment = segments.lastEntry().getValue();
+        for (LogSegment segment : segments.headMap(activeSegment.id).values()) {
+            segment.seal();
+        }
+        durable = appended;
+        logger.debug("Recovered {} records from {} segments of log store {}", index.size(), segments.size(), directory);
+    }
+
+    private RecordLocation append(ByteBuffer record) throws IOException {
+        int length = record.remaining();
+        if (activeSegment.size() > 0 && activeSegment.size() + length > segmentSize) {
+            roll();
+        }
+        long offset = activeSegment.append(record);
+        appended += length;
+        return new RecordLocation(activeSegment.id, offset, length);
+    }
+
+    private void roll() throws IOException {
+        // everything appended so far is durable once the segment is forced
+        activeSegment.force();
+        activeSegment.seal();
+        synchronized (syncLock) {
+            durable = Math.max(durable, appended);
+            syncLock.notifyAll();
+        }
+        LogSegment segment = LogSegment.open(directory, activeSegment.id + 1);
+        segments.put(segment.id, segment);
+        activeSegment = segment;
+    }
+
+    private void release(RecordLocation location) {
+        if (location != null) {
+            LogSegment segment = segments.get(location.segmentId);
+            if (segment != null) {
+                segment.liveBytes.addAndGet(-location.length);
+            }
+        }
+    }
+
+    private void awaitDurable(long position) {
+        while (true) {
+            synchronized (syncLock) {
+                if (durable >= position) {
+                    return;
+                }
+                if (syncing) {
+                    try {
+                        syncLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for log store " + directory + " to be forced", e);
+                    }
+                    continue;
+                }
+                syncing = true;
+            }
+            // this writer forces the disk on behalf of all writers that appended before it
+            long target = -1;
+            try {
+                LogSegment segment;
+                synchronized (writeLock) {
+                    target = appended;
+                    segment = activeSegment;
+                }
+                try {
+                    segment.force();
+                } catch (ClosedChannelException e) {
+                    // segment was rolled and forced before it got closed
+                }
+            } catch (IOException e) {
+                target = -1;
+                throw new UncheckedIOException("Unable to force log store " + directory, e);
+            } finally {
+                synchronized (syncLock) {
+                    syncing = false;
+                    durable = Math.max(durable, target);
+                    syncLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void compact(LogSegment segment) throws IOException {
+        // tombstones must be kept while older segments may still hold the deleted records
+        boolean keepTombstones = segments.firstKey() < segment.id;
+        AtomicInteger moved = new AtomicInteger();
+        segment.scan((type, key, body, location) -> {
+            synchronized (writeLock) {
+                ensureOpen();
+                if (type == LogSegment.PUT && location.equals(index.get(key))) {
+                    RecordLocation copy = append(LogSegment.encode(body));
+                    activeSegment.liveBytes.addAndGet(copy.length);
+                    index.put(key, copy);
+                    segment.liveBytes.addAndGet(-location.length);
+                    moved.incrementAndGet();
+                } else if (type == LogSegment.DELETE && keepTombstones && !index.containsKey(key)) {
+                    RecordLocation copy = append(LogSegment.encode(body));
+                    activeSegment.tombstoneBytes.addAndGet(copy.length);
+                }
+            }
+        });
+        long position;
+        synchronized (writeLock) {
+            position = appended;
+        }
+        // copies must be durable before the segment is removed
+        awaitDurable(position);
+        segments.remove(segment.id);
+        segment.delete();
+        logger.debug("Compacted segment {} of log store {}, {} records moved", segment.id, directory, moved.get());
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            if (!closed) {
+                logger.warn("Compaction of log store {} failed", directory, e);
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Log store " + directory + " is closed");
+        }
+    }
+
+    private void closeSegments() {
+        for (LogSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                logger.warn("Unable to close segment {}", segment.path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.persistence.local;
+
+/**
+ * Position of a record within the segments of a {@link LogStore}.
+ */
+final class RecordLocation {
+
+    final long segmentId;
+    final long offset;
+    final int length;
+
+    RecordLocation(long segmentId, long offset, int length) {
+        this.segmentId = segmentId;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RecordLocation)) {
+            return false;
+        }
+        RecordLocation other = (RecordLocation) obj;
+        return segmentId == other.segmentId && offset == other.offset && length == other.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(segmentId) * 31 + Long.hashCode(offset);
+    }
+
+    @Override
+    public String toString() {
+        return "RecordLocation [segmentId=" + segmentId + ", offset=" + offset + ", length=" + length + "]";
+    }
+}
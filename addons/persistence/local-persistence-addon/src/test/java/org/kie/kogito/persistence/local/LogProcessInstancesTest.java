@@ -0,0 +1,286 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.persistence.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ABORTED;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ACTIVE;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_COMPLETED;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.process.WorkItemNotFoundException;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.workitem.TaskInfo;
+import org.kie.kogito.process.workitem.TaskQuery;
+
+public class LogProcessInstancesTest {
+
+    private Path directory;
+    private LogProcessInstancesFactory factory;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("log-process-instances");
+        factory = new LogProcessInstancesFactory(directory.toString());
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        factory.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testBasicFlow() {
+
+        BpmnProcess process = createProcess();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+
+        processInstance.start();
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+
+        WorkItem workItem = processInstance.workItems().get(0);
+        assertThat(workItem).isNotNull();
+        assertThat(workItem.getParameters().get("ActorId")).isEqualTo("john");
+
+        WorkItem loadedWorkItem = process.instances().findById(processInstance.id()).get().workItem(workItem.getId());
+        assertThat(loadedWorkItem.getId()).isEqualTo(workItem.getId());
+        assertThatThrownBy(() -> processInstance.workItem("not-existing")).isInstanceOf(WorkItemNotFoundException.class);
+
+        processInstance.completeWorkItem(workItem.getId(), null);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().findById(processInstance.id())).isNotPresent();
+    }
+
+    @Test
+    public void testProcessInstancesRecoveredAfterRestart() {
+
+        BpmnProcess process = createProcess();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("ORDER-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+
+        // simulates restart of the service
+        factory.close();
+        factory = new LogProcessInstancesFactory(directory.toString());
+        process = createProcess();
+
+        assertThat(process.instances().values()).hasSize(1);
+        Optional<? extends ProcessInstance<BpmnVariables>> loaded = process.instances().findByCorrelationKey("ORDER-1");
+        assertThat(loaded).isPresent();
+        assertThat(loaded.get().id()).isEqualTo(processInstance.id());
+
+        ProcessInstance<BpmnVariables> recovered = loaded.get();
+        recovered.completeWorkItem(recovered.workItems().get(0).getId(), null);
+        assertThat(recovered.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().values()).isEmpty();
+    }
+
+    @Test
+    public void testFindByCorrelationKey() {
+
+        BpmnProcess process = createProcess();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("ORDER-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+
+        processInstance.start();
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+
+        Optional<? extends ProcessInstance<BpmnVariables>> loaded = process.instances().findByCorrelationKey("ORDER-1");
+        assertThat(loaded).isPresent();
+        assertThat(loaded.get().id()).isEqualTo(processInstance.id());
+
+        assertThat(process.instances().findByCorrelationKey("ORDER-2")).isNotPresent();
+        assertThatThrownBy(() -> process.createInstance("ORDER-1", BpmnVariables.create())).isInstanceOf(ProcessInstanceDuplicatedException.class);
+    }
+
+    @Test
+    public void testCorrelationKeyClaimedBeforeProcessInstanceIsStored() {
+
+        BpmnProcess process = createProcess();
+
+        ProcessInstance<BpmnVariables> first = process.createInstance("ORDER-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        assertThatThrownBy(() -> process.createInstance("ORDER-1", BpmnVariables.create())).isInstanceOf(ProcessInstanceDuplicatedException.class);
+
+        first.start();
+        assertThat(first.status()).isEqualTo(STATE_ACTIVE);
+        assertThat(process.instances().findByCorrelationKey("ORDER-1").get().id()).isEqualTo(first.id());
+    }
+
+    @Test
+    public void testCorrelationKeyRemovedWithProcessInstance() {
+
+        BpmnProcess process = createProcess();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("ORDER-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        processInstance.completeWorkItem(processInstance.workItems().get(0).getId(), null);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().findByCorrelationKey("ORDER-1")).isNotPresent();
+
+        // no record of the completed process instance is left in the store
+        factory.close();
+        try (LogStore store = new LogStore(directory.resolve(process.id()))) {
+            assertThat(store.keys()).isEmpty();
+        }
+        factory = new LogProcessInstancesFactory(directory.toString());
+        process = createProcess();
+
+        ProcessInstance<BpmnVariables> next = process.createInstance("ORDER-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        next.start();
+        assertThat(process.instances().findByCorrelationKey("ORDER-1").get().id()).isEqualTo(next.id());
+    }
+
+    @Test
+    public void testFindTasks() {
+
+        BpmnProcess process = createProcess();
+
+        ProcessInstance<BpmnVariables> first = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        first.start();
+        ProcessInstance<BpmnVariables> second = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        second.start();
+
+        List<TaskInfo> tasks = process.instances().findTasks(TaskQuery.all().withName("Hello"));
+        assertThat(tasks).extracting(TaskInfo::getProcessInstanceId).containsExactlyInAnyOrder(first.id(), second.id());
+
+        first.completeWorkItem(first.workItems().get(0).getId(), null);
+        assertThat(first.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().findTasks(TaskQuery.all())).extracting(TaskInfo::getProcessInstanceId).containsExactly(second.id());
+    }
+
+    @Test
+    public void testArchiveFinishedProcessInstances() {
+
+        factory.archivePath = directory.resolve("archive").toString();
+        BpmnProcess process = createProcess();
+        assertThat(process.archive()).isPresent();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("s", "archived")));
+        processInstance.start();
+        assertThat(process.archive().get().findById(processInstance.id())).isNotPresent();
+
+        processInstance.completeWorkItem(processInstance.workItems().get(0).getId(), null);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().findById(processInstance.id())).isNotPresent();
+
+        Optional<? extends ProcessInstance<BpmnVariables>> archived = process.archive().get().findById(processInstance.id());
+        assertThat(archived).isPresent();
+        assertThat(archived.get().status()).isEqualTo(STATE_COMPLETED);
+        assertThat(archived.get().variables().toMap()).containsEntry("s", "archived");
+
+        // archived process instances are written to the disk and recovered after restart
+        factory.close();
+        factory = new LogProcessInstancesFactory(directory.toString());
+        factory.archivePath = directory.resolve("archive").toString();
+        process = createProcess();
+
+        assertThat(process.instances().values()).isEmpty();
+        archived = process.archive().get().findById(processInstance.id());
+        assertThat(archived).isPresent();
+        assertThat(archived.get().status()).isEqualTo(STATE_COMPLETED);
+    }
+
+    @Test
+    public void testArchiveAbortedProcessInstances() {
+
+        factory.archivePath = directory.resolve("archive").toString();
+        BpmnProcess process = createProcess();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("ORDER-1", BpmnVariables.create(Collections.singletonMap("s", "archived")));
+        processInstance.start();
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+
+        processInstance.abort();
+        assertThat(processInstance.status()).isEqualTo(STATE_ABORTED);
+        assertThat(process.instances().findById(processInstance.id())).isNotPresent();
+        assertThat(process.instances().findByCorrelationKey("ORDER-1")).isNotPresent();
+
+        Optional<? extends ProcessInstance<BpmnVariables>> archived = process.archive().get().findById(processInstance.id());
+        assertThat(archived).isPresent();
+        assertThat(archived.get().status()).isEqualTo(STATE_ABORTED);
+        assertThat(archived.get().variables().toMap()).containsEntry("s", "archived");
+    }
+
+    private BpmnProcess createProcess() {
+        BpmnProcess process = (BpmnProcess) BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(factory);
+        process.configure();
+        return process;
+    }
+
+    private static class LogProcessInstancesFactory extends KogitoProcessInstancesFactory {
+
+        private LogProcessInstances instances;
+        private LogProcessInstanceArchive<?> archive;
+        private String archivePath;
+
+        LogProcessInstancesFactory(String path) {
+            super(path);
+        }
+
+        @Override
+        public String archivePath() {
+            return archivePath;
+        }
+
+        @Override
+        public LogProcessInstanceArchive<?> createArchive(org.kie.kogito.process.Process<?> process) {
+            archive = (LogProcessInstanceArchive<?>) super.createArchive(process);
+            return archive;
+        }
+
+        @Override
+        public LogProcessInstances createProcessInstances(org.kie.kogito.process.Process<?> process) {
+            instances = super.createProcessInstances(process);
+            return instances;
+        }
+
+        void close() {
+            if (instances != null) {
+                instances.close();
+            }
+            if (archive != null) {
+                archive.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.persistence.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LogStoreTest {
+
+    private Path directory;
+    private LogStore store;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("log-store");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testPutGetDelete() {
+        store = new LogStore(directory, 1024, true, 0);
+
+        store.put("one", bytes("first"));
+        store.put("two", bytes("second"));
+        store.put("one", bytes("updated"));
+        assertThat(string(store.get("one"))).isEqualTo("updated");
+        assertThat(string(store.get("two"))).isEqualTo("second");
+        assertThat(store.keys()).containsExactlyInAnyOrder("one", "two");
+
+        store.delete("two");
+        assertThat(store.get("two")).isNull();
+        assertThat(store.contains("two")).isFalse();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPutIfAbsent() {
+        store = new LogStore(directory, 1024, true, 0);
+
+        assertThat(store.putIfAbsent("one", bytes("first"))).isNull();
+        assertThat(string(store.putIfAbsent("one", bytes("second")))).isEqualTo("first");
+        assertThat(string(store.get("one"))).isEqualTo("first");
+
+        store.delete("one");
+        assertThat(store.putIfAbsent("one", bytes("third"))).isNull();
+        assertThat(string(store.get("one"))).isEqualTo("third");
+    }
+
+    @Test
+    public void testRecoverAfterReopen() {
+        store = new LogStore(directory, 256, true, 0);
+        for (int i = 0; i < 100; i++) {
+            store.put("key" + (i % 10), bytes("value" + i));
+        }
+        store.delete("key0");
+        store.close();
+
+        store = new LogStore(directory, 256, true, 0);
+        assertThat(store.size()).isEqualTo(9);
+        assertThat(store.get("key0")).isNull();
+        assertThat(string(store.get("key9"))).isEqualTo("value99");
+    }
+
+    @Test
+    public void testRecoverTruncatedTail() throws IOException {
+        store = new LogStore(directory, 1024, true, 0);
+        store.put("one", bytes("first"));
+        store.put("two", bytes("second"));
+        store.close();
+
+        Path segment = lastSegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // simulate crash in the middle of writing the last record
+            channel.truncate(channel.size() - 3);
+        }
+
+        store = new LogStore(directory, 1024, true, 0);
+        assertThat(string(store.get("one"))).isEqualTo("first");
+        assertThat(store.contains("two")).isFalse();
+
+        store.put("three", bytes("third"));
+        store.close();
+        store = new LogStore(directory, 1024, true, 0);
+        assertThat(store.keys()).containsExactlyInAnyOrder("one", "three");
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        store = new LogStore(directory, 256, true, 0);
+        for (int i = 0; i < 200; i++) {
+            store.put("key" + (i % 5), bytes("value" + i));
+        }
+        store.delete("key4");
+        long segmentsBefore = segmentCount();
+
+        store.compact();
+
+        assertThat(segmentCount()).isLessThan(segmentsBefore);
+        assertThat(store.size()).isEqualTo(4);
+        assertThat(string(store.get("key0"))).isEqualTo("value195");
+        assertThat(store.get("key4")).isNull();
+
+        store.close();
+        store = new LogStore(directory, 256, true, 0);
+        assertThat(store.keys()).containsExactlyInAnyOrder("key0", "key1", "key2", "key3");
+        assertThat(string(store.get("key3"))).isEqualTo("value198");
+    }
+
+    @Test
+    public void testCompactionKeepsSegmentsOfTombstones() throws IOException {
+        store = new LogStore(directory, 256, true, 0);
+        // fills the first segment with records that stay live
+        for (int i = 0; i < 9; i++) {
+            store.put("live" + i, bytes("value" + i + "...."));
+        }
+        byte[] large = new byte[100];
+        for (int i = 0; i < 50; i++) {
+            store.put("tmp" + i, large);
+            store.delete("tmp" + i);
+        }
+
+        store.compact();
+        List<Path> compacted = segments();
+
+        // segments holding only tombstones still needed by the first segment are not rewritten again
+        store.compact();
+        assertThat(segments()).isEqualTo(compacted);
+
+        store.close();
+        store = new LogStore(directory, 256, true, 0);
+        assertThat(store.size()).isEqualTo(9);
+        assertThat(store.contains("tmp0")).isFalse();
+        assertThat(string(store.get("live8"))).isEqualTo("value8....");
+    }
+
+    @Test
+    public void testConcurrentWriters() throws Exception {
+        store = new LogStore(directory, 4096, true, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        store.put("key-" + thread + "-" + i, bytes("value-" + thread + "-" + i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(store.size()).isEqualTo(800);
+
+        store.close();
+        store = new LogStore(directory, 4096, true, 0);
+        assertThat(store.size()).isEqualTo(800);
+        assertThat(string(store.get("key-7-99"))).isEqualTo("value-7-99");
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted(Comparator.reverseOrder()).findFirst().get();
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -15,12 +15,44 @@
 
 package org.kie.kogito.process;
 
+import java.util.Collection;
+
 public interface MutableProcessInstances<T> extends ProcessInstances<T> {
     
     void update(String id, ProcessInstance<T> instance);
     
     void remove(String id);
     
+    /**
+     * Stores given process instances, implementations backed by remote stores should write
+     * them in bulk. The default implementation updates the process instances one by one.
+     * @param instances process instances to be stored
+     */
+    default void updateAll(Collection<ProcessInstance<T>> instances) {
+        for (ProcessInstance<T> instance : instances) {
+            update(instance.id(), instance);
+        }
+    }
+    
+    /**
+     * Removes given process instance together with the data indexed for it, e.g. its correlation key
+     * is released so that it can be used by another process instance. The default implementation
+     * removes the process instance by its id.
+     * @param instance process instance to be removed
+     */
+    default void remove(ProcessInstance<T> instance) {
+        remove(instance.id());
+    }
+    
+    /**
+     * Associates the correlation key with the process instance unless it is already associated with
+     * another process instance. Implementations must perform the check and the association atomically.
+     * @param correlationKey correlation key to be associated
+     * @param id identifier of the process instance
+     * @return true if the correlation key is now associated with the process instance, false if it is used by another one
+     */
+    boolean correlate(String correlationKey, String id);
+    
     default boolean isActive(ProcessInstance<T> instance) {
         return instance.status() == ProcessInstance.STATE_ACTIVE || instance.status() == ProcessInstance.STATE_ERROR;        
     }
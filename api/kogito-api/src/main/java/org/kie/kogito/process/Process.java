@@ -15,15 +15,41 @@
 
 package org.kie.kogito.process;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
 import org.kie.kogito.Model;
 
 public interface Process<T> {
 
     ProcessInstance<T> createInstance(T workingMemory);
 
+    ProcessInstance<T> createInstance(String correlationKey, T workingMemory);
+
     ProcessInstances<T> instances();
+    
+    /**
+     * Returns archive of finished process instances of this process.
+     * @return archive or empty if finished process instances are not archived
+     */
+    default Optional<ProcessInstanceArchive<T>> archive() {
+        return Optional.empty();
+    }
 
     <S> void send(Signal<S> sig);
+
+    /**
+     * Executes given actions on the process instances identified by the keys of the map.
+     * All process instances are loaded at once and the actions are executed in parallel
+     * partitions, all within the current unit of work so they are persisted and their
+     * events are published together.
+     * @param actions actions to be executed keyed by process instance id
+     * @return process instances the actions were executed on
+     * @throws ProcessInstanceNotFoundException in case any of the process instances does not exist
+     */
+    Collection<? extends ProcessInstance<T>> executeInBulk(Map<String, Consumer<ProcessInstance<T>>> actions);
     
     T createModel();
 
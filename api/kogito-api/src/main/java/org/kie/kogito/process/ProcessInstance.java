@@ -21,6 +21,7 @@ import java.util.Optional;
 
 import org.kie.api.runtime.process.WorkItemNotFoundException;
 import org.kie.kogito.process.workitem.Policy;
+import org.kie.kogito.process.workitem.TaskInfo;
 import org.kie.kogito.process.workitem.Transition;
 
 
@@ -115,12 +116,26 @@ public interface ProcessInstance<T> {
      */
     List<WorkItem> workItems(Policy<?>... policies);
     
+    /**
+     * Returns summaries of currently active user tasks, including their assignments,
+     * as used by task queries across process instances.
+     * @return list of active user tasks
+     */
+    List<TaskInfo> tasks();
+    
     /**
      * Returns identifier of this process instance
      * @return id of the process instance
      */
     String id();
     
+    /**
+     * Returns correlation key of this process instance that allows to find it
+     * based on business information instead of its identifier.
+     * @return correlation key of the process instance or null if not correlated
+     */
+    String correlationKey();
+    
     /**
      * Returns process error in case process instance is in error state.
      * @return returns process error
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process;
+
+import java.util.Optional;
+
+/**
+ * Cold store of finished process instances. Process instances that completed or were aborted are
+ * archived before they are removed from the active process instances, so that the active store only
+ * holds active process instances while finished ones can still be looked up.
+ *
+ * @param <T> type of the process variables
+ */
+public interface ProcessInstanceArchive<T> {
+
+    /**
+     * Archives given finished process instance.
+     * @param instance process instance that completed or was aborted
+     */
+    void archive(ProcessInstance<T> instance);
+
+    /**
+     * Looks up archived process instance, the returned process instance is read only.
+     * @param id identifier of the process instance
+     * @return archived process instance or empty if there is no such process instance in the archive
+     */
+    Optional<? extends ProcessInstance<T>> findById(String id);
+}
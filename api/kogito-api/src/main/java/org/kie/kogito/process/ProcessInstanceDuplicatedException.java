@@ -0,0 +1,33 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process;
+
+public class ProcessInstanceDuplicatedException extends RuntimeException {
+
+    private static final long serialVersionUID = -2516296470460381738L;
+
+    private String correlationKey;
+    
+    public ProcessInstanceDuplicatedException(String correlationKey) {
+        super("Process instance with correlation key " + correlationKey + " already exists");
+        this.correlationKey = correlationKey;
+    }
+
+    public String getCorrelationKey() {
+        return correlationKey;
+    }
+
+}
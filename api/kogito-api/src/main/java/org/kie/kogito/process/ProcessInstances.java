@@ -15,8 +15,16 @@
 
 package org.kie.kogito.process;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+
+import org.kie.kogito.process.workitem.TaskInfo;
+import org.kie.kogito.process.workitem.TaskQuery;
 
 public interface ProcessInstances<T> {
 
@@ -24,4 +32,65 @@ public interface ProcessInstances<T> {
 
     Collection<? extends ProcessInstance<T>> values();
 
+    /**
+     * Non blocking variant of {@link #findById(String)}, implementations backed by remote
+     * stores should use asynchronous client API so that the calling thread is not blocked
+     * while the process instance is loaded. The default implementation loads synchronously.
+     * @param id identifier of the process instance
+     * @return stage completed with found process instance
+     */
+    default CompletionStage<Optional<? extends ProcessInstance<T>>> findByIdAsync(String id) {
+        return CompletableFuture.completedFuture(findById(id));
+    }
+
+    /**
+     * Returns process instances identified by given ids. Ids that do not
+     * correspond to any process instance are ignored. Implementations backed by
+     * remote stores should load all instances at once instead of one by one.
+     * @param ids identifiers of the process instances to load
+     * @return found process instances
+     */
+    default Collection<? extends ProcessInstance<T>> findByIds(Collection<String> ids) {
+        List<ProcessInstance<T>> found = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    /**
+     * Returns active process instance that is correlated with given correlation key.
+     * Implementations are expected to maintain an index of correlation keys so the
+     * lookup does not require to scan all instances, the default implementation
+     * is only meant as a fallback.
+     * @param correlationKey correlation key of the process instance
+     * @return process instance correlated with given key if found
+     */
+    default Optional<? extends ProcessInstance<T>> findByCorrelationKey(String correlationKey) {
+        if (correlationKey == null) {
+            return Optional.empty();
+        }
+        return values().stream().filter(pi -> correlationKey.equals(pi.correlationKey())).findFirst();
+    }
+
+    /**
+     * Returns user tasks of all active process instances that match given query,
+     * ordered by process instance id and task id. Implementations are expected to maintain
+     * an index of tasks so the query does not need to load process instances, the default
+     * implementation is only meant as a fallback.
+     * @param query task query
+     * @return matching tasks, restricted to the page defined by the query
+     */
+    default List<TaskInfo> findTasks(TaskQuery query) {
+        return values().stream()
+                .flatMap(pi -> pi.tasks().stream())
+                .filter(query::matches)
+                .sorted((t1, t2) -> {
+                    int result = t1.getProcessInstanceId().compareTo(t2.getProcessInstanceId());
+                    return result != 0 ? result : t1.getId().compareTo(t2.getId());
+                })
+                .skip(query.getOffset())
+                .limit(query.getLimit())
+                .collect(Collectors.toList());
+    }
 }
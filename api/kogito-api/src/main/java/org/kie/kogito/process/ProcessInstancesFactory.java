@@ -19,4 +19,12 @@ package org.kie.kogito.process;
 public interface ProcessInstancesFactory {
 
     MutableProcessInstances<?> createProcessInstances(Process<?> process);
+    
+    /**
+     * Creates archive of finished process instances of given process.
+     * @return archive or null if finished process instances are not archived
+     */
+    default ProcessInstanceArchive<?> createArchive(Process<?> process) {
+        return null;
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process.workitem;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import org.kie.api.runtime.process.WorkItem;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.api.runtime.process.WorkItemManager;
+
+/**
+ * Work item handler that executes its work items without blocking the process execution.
+ * Instead of completing the work item through the <code>WorkItemManager</code>, the handler returns
+ * a completion stage of the work item results. The work item manager starts the execution once the process
+ * instance has been stored in its waiting state and completes the work item, in a new unit of work,
+ * when the returned stage completes. If the stage completes exceptionally, or does not complete
+ * within the timeout, the process instance is put in error.
+ */
+public interface AsyncWorkItemHandler extends WorkItemHandler {
+
+    /**
+     * The given work item should be executed without blocking the calling thread.
+     * @param workItem the work item that should be executed
+     * @return completion stage of the results of the work item
+     */
+    CompletionStage<Map<String, Object>> executeWorkItemAsync(WorkItem workItem);
+
+    /**
+     * Maximum number of work items of this handler that can be executing at the same time,
+     * the work items over the limit wait for a running one to complete
+     * @return maximum number of concurrent executions, by default unbounded
+     */
+    default int getMaxConcurrency() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Time after which an execution that did not complete is considered failed
+     * @return timeout in milliseconds, 0 (default) means no timeout
+     */
+    default long getTimeout() {
+        return 0;
+    }
+
+    /**
+     * Executes the work item synchronously, waiting for the completion stage, used
+     * by work item managers that do not support asynchronous execution.
+     */
+    @Override
+    default void executeWorkItem(WorkItem workItem, WorkItemManager manager) {
+        Map<String, Object> results = executeWorkItemAsync(workItem).toCompletableFuture().join();
+        manager.completeWorkItem(workItem.getId(), results);
+    }
+
+    /**
+     * Pending executions of aborted work items are cancelled by the work item manager,
+     * by default there is nothing else to do.
+     */
+    @Override
+    default void abortWorkItem(WorkItem workItem, WorkItemManager manager) {
+
+    }
+}
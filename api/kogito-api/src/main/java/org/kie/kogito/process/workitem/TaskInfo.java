@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process.workitem;
+
+import java.util.Set;
+
+/**
+ * Light weight summary of an active user task that is kept in the task index
+ * of process instances so that inbox queries can be answered without loading
+ * complete process instances.
+ */
+public interface TaskInfo {
+
+    /**
+     * Identifier of the process instance the task belongs to
+     * @return process instance id
+     */
+    String getProcessInstanceId();
+
+    /**
+     * Identifier of the task (work item)
+     * @return task id
+     */
+    String getId();
+
+    /**
+     * Name of the task
+     * @return task name
+     */
+    String getName();
+
+    /**
+     * Current life cycle phase of the task
+     * @return phase id
+     */
+    String getPhase();
+
+    /**
+     * Actual owner of the task, might be null if not yet claimed
+     * @return actual owner
+     */
+    String getActualOwner();
+
+    /**
+     * Users that can work on the task
+     * @return potential users
+     */
+    Set<String> getPotentialUsers();
+
+    /**
+     * Groups that can work on the task
+     * @return potential groups
+     */
+    Set<String> getPotentialGroups();
+
+    /**
+     * Users explicitly excluded from working on the task
+     * @return excluded users
+     */
+    Set<String> getExcludedUsers();
+}
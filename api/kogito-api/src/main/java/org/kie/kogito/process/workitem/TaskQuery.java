@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process.workitem;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Query over user tasks of all active process instances of given process.
+ * All criteria are optional, query created by {@link #all()} does not apply
+ * any authorization filtering.
+ */
+public class TaskQuery {
+
+    private String user;
+    private Set<String> groups = Collections.emptySet();
+    private boolean unassigned;
+    private String name;
+    private String phase;
+    private int offset = 0;
+    private int limit = Integer.MAX_VALUE;
+
+    private TaskQuery() {
+    }
+
+    /**
+     * Creates query that matches all tasks
+     * @return new query
+     */
+    public static TaskQuery all() {
+        return new TaskQuery();
+    }
+
+    /**
+     * Creates query that matches tasks without actual owner, potential users and potential groups,
+     * these are the tasks anyone is allowed to work on
+     * @return new query
+     */
+    public static TaskQuery unassigned() {
+        TaskQuery query = new TaskQuery();
+        query.unassigned = true;
+        return query;
+    }
+
+    /**
+     * Creates query that matches tasks given user is allowed to work on - tasks the user
+     * is not excluded from and the user or one of its groups is potential owner of, that are
+     * either not yet claimed or claimed by the user
+     * @param user user to query tasks for
+     * @param groups groups the user belongs to
+     * @return new query
+     */
+    public static TaskQuery forUser(String user, Collection<String> groups) {
+        TaskQuery query = new TaskQuery();
+        query.user = user;
+        if (groups != null) {
+            query.groups = new HashSet<>(groups);
+        }
+        return query;
+    }
+
+    public TaskQuery withName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public TaskQuery withPhase(String phase) {
+        this.phase = phase;
+        return this;
+    }
+
+    /**
+     * Restricts the result to given page
+     * @param offset number of matching tasks to skip
+     * @param limit maximum number of tasks to return
+     * @return this query
+     */
+    public TaskQuery page(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        this.offset = offset;
+        this.limit = limit;
+        return this;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public Set<String> getGroups() {
+        return groups;
+    }
+
+    public boolean isUnassigned() {
+        return unassigned;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Checks if given task matches all criteria of this query, paging is not considered
+     * @param task task to be checked
+     * @return true if task matches the query otherwise false
+     */
+    public boolean matches(TaskInfo task) {
+        if (name != null && !name.equals(task.getName())) {
+            return false;
+        }
+        if (phase != null && !phase.equals(task.getPhase())) {
+            return false;
+        }
+        if (unassigned) {
+            return task.getActualOwner() == null && task.getPotentialUsers().isEmpty() && task.getPotentialGroups().isEmpty();
+        }
+        if (user == null) {
+            return true;
+        }
+        // same rules as enforced when the user works on the task
+        if (task.getActualOwner() != null && !task.getActualOwner().equals(user)) {
+            return false;
+        }
+        if (task.getExcludedUsers().contains(user)) {
+            return false;
+        }
+        return task.getPotentialUsers().contains(user) || task.getPotentialGroups().stream().anyMatch(groups::contains);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskQuery [user=" + user + ", groups=" + groups + ", unassigned=" + unassigned + ", name=" + name + ", phase=" + phase + ", offset=" + offset + ", limit=" + limit + "]";
+    }
+}
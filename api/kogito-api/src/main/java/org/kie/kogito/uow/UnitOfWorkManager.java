@@ -16,6 +16,8 @@
 
 package org.kie.kogito.uow;
 
+import java.util.function.Supplier;
+
 import org.kie.kogito.event.EventManager;
 
 /**
@@ -42,6 +44,22 @@ public interface UnitOfWorkManager {
      */
     UnitOfWork newUnitOfWork();
     
+    /**
+     * Executes given work with given unit of work being the current one for this 
+     * execution context (usually thread). Allows work that is executed on other threads
+     * to be collected by already started unit of work. 
+     * 
+     * The default implementation executes the work as is, leaving it to the unit of work
+     * current for the execution context.
+     * 
+     * @param unit unit of work that should collect the work
+     * @param work actual work to be executed
+     * @return result of the work
+     */
+    default <T> T executeWithin(UnitOfWork unit, Supplier<T> work) {
+        return work.get();
+    }
+    
     /**
      * Returns instance of the event manager configured for this unit of work manager
      * @return event manager instance
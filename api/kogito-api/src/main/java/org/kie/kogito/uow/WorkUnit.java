@@ -24,6 +24,20 @@ import java.util.function.Consumer;
  */
 public interface WorkUnit<T> {
 
+    /**
+     * Priority of the work units that must be performed before the others
+     */
+    int HIGH_PRIORITY = 1;
+    /**
+     * Priority of the work units that do not define one, e.g. process instance updates
+     */
+    int DEFAULT_PRIORITY = 10;
+    /**
+     * Priority of the work units that must be performed once the others are done,
+     * e.g. when they depend on the process instance being already stored
+     */
+    int LOW_PRIORITY = 100;
+
     /**
      * Returns data attached to the work unit
      * @return actual data of the work unit
@@ -42,6 +56,15 @@ public interface WorkUnit<T> {
         
     }
     
+    /**
+     * Priority of the work unit, unit of works that collect the work perform it
+     * in ascending priority order and, for the same priority, in the order it was intercepted
+     * @return priority of the work unit, by default {@link #DEFAULT_PRIORITY}
+     */
+    default int priority() {
+        return DEFAULT_PRIORITY;
+    }
+    
     /**
      * Creates new WorkUnit that has only action invoked upon completion of the unit of work
      * @param data data associated with the work
@@ -91,4 +114,38 @@ public interface WorkUnit<T> {
             }
         };
     }
+    
+    /**
+     * Creates new WorkUnit that has both action invoked upon completion of the unit of work
+     * and compensation invoked in case of unit of work cancellation, performed with the given priority.
+     * @param data data associated with the work
+     * @param action work to be executed on given data
+     * @param compensation revert action to be performed upon cancellation
+     * @param priority priority of the work unit, see {@link #priority()}
+     * @return WorkUnit populated with data, action, compensation and priority
+     */
+    public static <S> WorkUnit<S> create(S data, Consumer<S> action, Consumer<S> compensation, int priority) {
+        return new WorkUnit<S>() {
+
+            @Override
+            public S data() {                
+                return data;
+            }
+
+            @Override
+            public void perform() {
+                action.accept(data());
+            }
+            
+            @Override
+            public void abort() {
+                compensation.accept(data());
+            }
+            
+            @Override
+            public int priority() {
+                return priority;
+            }
+        };
+    }
 }
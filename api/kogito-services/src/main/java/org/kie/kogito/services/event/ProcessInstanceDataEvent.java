@@ -18,10 +18,10 @@ package org.kie.kogito.services.event;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
-import java.util.UUID;
 
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.services.event.impl.ProcessInstanceEventBody;
+import org.kie.kogito.services.id.IdGenerators;
 
 public class ProcessInstanceDataEvent implements DataEvent<ProcessInstanceEventBody> {
 
@@ -41,7 +41,7 @@ public class ProcessInstanceDataEvent implements DataEvent<ProcessInstanceEventB
 
     public ProcessInstanceDataEvent(String source, Map<String, String> metaData, ProcessInstanceEventBody body) {
         this.specversion = "0.3";
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerators.generate();
         this.source = source;
         this.type = "ProcessInstanceEvent";
         this.time = ZonedDateTime.now().format(DateTimeFormatter.ISO_ZONED_DATE_TIME);
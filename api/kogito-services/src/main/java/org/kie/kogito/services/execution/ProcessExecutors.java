@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.services.execution;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides executor used to run process execution off the request threads. Virtual threads
+ * are used when the runtime supports them, otherwise a bounded pool of platform threads is
+ * created with the size given by <code>kogito.execution.threads</code> system property.
+ */
+public class ProcessExecutors {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessExecutors.class);
+
+    public static final String THREADS_PROPERTY = "kogito.execution.threads";
+
+    private static volatile ExecutorService defaultExecutor;
+
+    private ProcessExecutors() {
+    }
+
+    public static ExecutorService defaultExecutor() {
+        if (defaultExecutor == null) {
+            synchronized (ProcessExecutors.class) {
+                if (defaultExecutor == null) {
+                    defaultExecutor = create();
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    protected static ExecutorService create() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            logger.debug("Using virtual threads for process execution");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            // virtual threads not available, fall back to platform threads
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Unable to create virtual thread executor, falling back to platform threads", e);
+        }
+        int threads = Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors() * 4);
+        logger.debug("Using {} platform threads for process execution", threads);
+        return Executors.newFixedThreadPool(threads, new ProcessThreadFactory());
+    }
+
+    private static class ProcessThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "kogito-process-executor-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
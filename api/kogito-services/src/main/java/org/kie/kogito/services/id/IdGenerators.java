@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.services.id;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+import org.kie.kogito.id.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the id generator used for process instances, node instances, work items and events.
+ * The generator is selected with <code>kogito.id.generator</code> system property that accepts
+ * <code>time-ordered</code> (default), <code>random</code> or a fully qualified class name of
+ * an {@link IdGenerator} implementation. When the property is not set, the first generator
+ * registered as a service is used if any.
+ */
+public class IdGenerators {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdGenerators.class);
+
+    public static final String GENERATOR_PROPERTY = "kogito.id.generator";
+
+    private static volatile IdGenerator defaultGenerator;
+
+    private IdGenerators() {
+    }
+
+    public static IdGenerator defaultGenerator() {
+        if (defaultGenerator == null) {
+            synchronized (IdGenerators.class) {
+                if (defaultGenerator == null) {
+                    defaultGenerator = create();
+                }
+            }
+        }
+        return defaultGenerator;
+    }
+
+    public static void setDefaultGenerator(IdGenerator generator) {
+        defaultGenerator = generator;
+    }
+
+    public static String generate() {
+        return defaultGenerator().generate();
+    }
+
+    protected static IdGenerator create() {
+        String generator = System.getProperty(GENERATOR_PROPERTY);
+        if (generator == null) {
+            Iterator<IdGenerator> services = ServiceLoader.load(IdGenerator.class).iterator();
+            if (services.hasNext()) {
+                IdGenerator service = services.next();
+                logger.debug("Using {} id generator registered as a service", service.getClass().getName());
+                return service;
+            }
+            return new TimeOrderedIdGenerator();
+        }
+        switch (generator) {
+            case "time-ordered":
+                return new TimeOrderedIdGenerator();
+            case "random":
+                return new RandomIdGenerator();
+            default:
+                ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+                if (classLoader == null) {
+                    classLoader = IdGenerators.class.getClassLoader();
+                }
+                try {
+                    return (IdGenerator) Class.forName(generator, true, classLoader).getConstructor().newInstance();
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    throw new IllegalArgumentException("Unable to create id generator " + generator, e);
+                }
+        }
+    }
+}
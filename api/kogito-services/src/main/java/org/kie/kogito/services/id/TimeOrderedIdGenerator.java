@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.services.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.kie.kogito.id.IdGenerator;
+
+/**
+ * Generates time ordered UUIDs laid out as version 7 UUIDs: the 48 most significant bits hold
+ * the unix time in milliseconds and the remaining 74 bits, apart from version and variant, are
+ * random. Random bits are taken from the thread local random so that threads do not contend,
+ * and identifiers created close in time stay close in store indexes.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+
+    @Override
+    public String generate() {
+        return generateUUID().toString();
+    }
+
+    public UUID generateUUID() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (System.currentTimeMillis() << 16) | VERSION | (random.nextInt() & 0x0FFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | VARIANT;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
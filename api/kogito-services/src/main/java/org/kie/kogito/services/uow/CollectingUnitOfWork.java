@@ -16,7 +16,10 @@
 
 package org.kie.kogito.services.uow;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.kie.kogito.event.EventBatch;
@@ -55,7 +58,10 @@ public class CollectingUnitOfWork implements UnitOfWork {
     public void end() {
         checkStarted();
         EventBatch batch = eventManager.newBatch();
-        for (WorkUnit<?> work : collectedWork) {
+        List<WorkUnit<?>> sortedWork = new ArrayList<>(collectedWork);
+        // stable sort, work units of the same priority keep the order they were intercepted
+        sortedWork.sort(Comparator.comparingInt(WorkUnit::priority));
+        for (WorkUnit<?> work : sortedWork) {
             batch.append(work.data());
             work.perform();
         }
@@ -73,7 +79,7 @@ public class CollectingUnitOfWork implements UnitOfWork {
     }
 
     @Override
-    public void intercept(WorkUnit work) {
+    public synchronized void intercept(WorkUnit work) {
         checkStarted();
         if (work == null) {
             throw new NullPointerException("Work must be non null");
@@ -16,6 +16,8 @@
 
 package org.kie.kogito.services.uow;
 
+import java.util.function.Supplier;
+
 import org.kie.kogito.event.EventManager;
 import org.kie.kogito.services.event.impl.BaseEventManager;
 import org.kie.kogito.uow.UnitOfWork;
@@ -64,6 +66,17 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
         return new ManagedUnitOfWork(factory.create(eventManager), this::associate, this::dissociate, this::dissociate);
     }
     
+    @Override
+    public <T> T executeWithin(UnitOfWork unit, Supplier<T> work) {
+        UnitOfWork previous = currentUnitOfWork.get();
+        associate(unit);
+        try {
+            return work.get();
+        } finally {
+            currentUnitOfWork.set(previous);
+        }
+    }
+    
     protected void associate(UnitOfWork unit) {
         currentUnitOfWork.set(unit);
     }
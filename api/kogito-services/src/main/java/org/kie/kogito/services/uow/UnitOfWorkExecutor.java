@@ -15,6 +15,9 @@
 
 package org.kie.kogito.services.uow;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import org.kie.kogito.process.ProcessInstanceExecutionException;
@@ -48,4 +51,12 @@ public class UnitOfWorkExecutor {
         }
         
     }
+    
+    /**
+     * Executes given supplier in new unit of work on the given executor, the unit of work is
+     * bound to the executor thread for the whole execution.
+     */
+    public static <T> CompletionStage<T> executeInUnitOfWorkAsync(UnitOfWorkManager uowManager, Supplier<T> supplier, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> executeInUnitOfWork(uowManager, supplier), executor);
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.kogito.services.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+
+public class ProcessExecutorsTest {
+
+    @Test
+    public void testDefaultExecutorIsShared() {
+        ExecutorService executor = ProcessExecutors.defaultExecutor();
+        assertThat(executor).isNotNull().isSameAs(ProcessExecutors.defaultExecutor());
+    }
+
+    @Test
+    public void testExecutionOffCallingThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        Thread executing = CompletableFuture.supplyAsync(Thread::currentThread, ProcessExecutors.defaultExecutor()).get();
+
+        assertThat(executing).isNotSameAs(caller);
+        if (!isVirtual(executing)) {
+            // platform threads are used when the runtime has no virtual threads
+            assertThat(executing.getName()).startsWith("kogito-process-executor-");
+            assertThat(executing.isDaemon()).isTrue();
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        try {
+            Method isVirtual = Thread.class.getMethod("isVirtual");
+            return (Boolean) isVirtual.invoke(thread);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
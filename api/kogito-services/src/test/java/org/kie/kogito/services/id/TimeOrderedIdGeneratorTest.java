@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.services.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class TimeOrderedIdGeneratorTest {
+
+    private TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @Test
+    public void testVersionAndVariant() {
+        UUID uuid = UUID.fromString(generator.generate());
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    public void testTimestampPrefix() {
+        long before = System.currentTimeMillis();
+        UUID uuid = generator.generateUUID();
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, after);
+    }
+
+    @Test
+    public void testOrderedAcrossMilliseconds() throws Exception {
+        String first = generator.generate();
+        Thread.sleep(2);
+        String second = generator.generate();
+
+        assertThat(first).isLessThan(second);
+    }
+
+    @Test
+    public void testUnique() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 100000; i++) {
+            ids.add(generator.generate());
+        }
+        assertThat(ids).hasSize(100000);
+    }
+}
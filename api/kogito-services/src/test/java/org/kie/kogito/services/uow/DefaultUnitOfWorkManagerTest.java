@@ -18,10 +18,14 @@ package org.kie.kogito.services.uow;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.services.execution.ProcessExecutors;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.WorkUnit;
@@ -61,6 +65,23 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter.get()).isEqualTo(1);        
     }
     
+    @Test
+    public void testUnitOfWorkPerformsByPriority() {
+        
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        
+        final List<String> performed = new ArrayList<>();
+        
+        unit.start();
+        unit.intercept(WorkUnit.create("low", performed::add, d -> {}, WorkUnit.LOW_PRIORITY));
+        unit.intercept(WorkUnit.create("first", performed::add));
+        unit.intercept(WorkUnit.create("high", performed::add, d -> {}, WorkUnit.HIGH_PRIORITY));
+        unit.intercept(WorkUnit.create("second", performed::add));
+        unit.end();
+        
+        assertThat(performed).containsExactly("high", "first", "second", "low");
+    }
+    
     @Test
     public void testUnitOfWorkStartAbort() {
         
@@ -78,6 +99,44 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter.get()).isEqualTo(0);        
     }
     
+    @Test
+    public void testUnitOfWorkExecuteWithinOnOtherThread() throws Exception {
+        
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        
+        final AtomicInteger counter = new AtomicInteger(0);
+        
+        unit.start();
+        UnitOfWork current = unitOfWorkManager.currentUnitOfWork();
+        CompletableFuture.runAsync(() -> unitOfWorkManager.executeWithin(current, () -> {
+            unitOfWorkManager.currentUnitOfWork().intercept(new BaseWorkUnit(counter, (d) -> ((AtomicInteger) d).incrementAndGet()));
+            return null;
+        })).get();
+        assertThat(counter.get()).isEqualTo(0);
+        
+        unit.end();        
+        assertThat(counter.get()).isEqualTo(1);
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(PassThroughUnitOfWork.class);
+    }
+    
+    @Test
+    public void testExecuteInUnitOfWorkAsync() throws Exception {
+        
+        final AtomicInteger counter = new AtomicInteger(0);
+        Thread caller = Thread.currentThread();
+        
+        Thread executing = UnitOfWorkExecutor.executeInUnitOfWorkAsync(unitOfWorkManager, () -> {
+            unitOfWorkManager.currentUnitOfWork().intercept(new BaseWorkUnit(counter, (d) -> ((AtomicInteger) d).incrementAndGet()));
+            // work is collected by the unit of work bound to the executing thread
+            assertThat(counter.get()).isEqualTo(0);
+            return Thread.currentThread();
+        }, ProcessExecutors.defaultExecutor()).toCompletableFuture().get();
+        
+        assertThat(executing).isNotSameAs(caller);
+        assertThat(counter.get()).isEqualTo(1);
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(PassThroughUnitOfWork.class);
+    }
+    
     @Test
     public void testUnitOfWorkStartOnFinishedUnit() {
         
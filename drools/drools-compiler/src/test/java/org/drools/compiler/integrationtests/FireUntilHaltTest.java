@@ -17,13 +17,23 @@
 package org.drools.compiler.integrationtests;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.drools.compiler.Cheese;
 import org.drools.compiler.CommonTestMethodBase;
 import org.drools.compiler.Person;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.phreak.LockFreePropagationList;
 import org.junit.jupiter.api.Test;
 import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
 import org.kie.api.io.ResourceType;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.rule.EntryPoint;
@@ -32,6 +42,7 @@ import org.kie.internal.utils.KieHelper;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FireUntilHaltTest extends CommonTestMethodBase {
 
@@ -80,6 +91,63 @@ public class FireUntilHaltTest extends CommonTestMethodBase {
         kSession.dispose();
     }
 
+    @Test
+    public void testFireUntilHaltWithLockFreePropagationList() throws Exception {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "global java.util.List list;" +
+                "rule R when\n" +
+                "    $p : Person( age >= 18 )\n" +
+                "then\n" +
+                "    list.add($p.getName());" +
+                "end";
+
+        final KieBaseConfiguration conf = KieServices.Factory.get().newKieBaseConfiguration();
+        conf.setProperty("drools.lockFreePropagationList", "true");
+        final KieSession kSession = new KieHelper().addContent(drl, ResourceType.DRL).build(conf).newKieSession();
+        assertTrue(((InternalWorkingMemory) kSession).getPropagationList() instanceof LockFreePropagationList);
+
+        final List<String> list = Collections.synchronizedList(new ArrayList<>());
+        kSession.setGlobal("list", list);
+
+        final Thread engine = new Thread(kSession::fireUntilHalt);
+        engine.start();
+
+        // several threads insert concurrently while the engine is firing
+        final int producers = 4;
+        final int factsPerProducer = 250;
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < producers; i++) {
+                final int producer = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < factsPerProducer; j++) {
+                        kSession.insert(new Person(producer + "-" + j, j % 2 == 0 ? 18 : 17));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final int expected = producers * factsPerProducer / 2;
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (list.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertEquals(expected, list.size());
+        assertEquals(expected, new HashSet<>(list).size());
+
+        kSession.halt();
+        engine.join(5000);
+        assertFalse(engine.isAlive(), "Engine should have stopped on halt");
+        kSession.dispose();
+    }
+
     @Test
     public void testFireAllWhenFiringUntilHalt() throws InterruptedException {
         final KieBase kbase = getKnowledgeBase();
@@ -16,12 +16,24 @@
 
 package org.drools.compiler.integrationtests;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.drools.compiler.CommonTestMethodBase;
 import org.drools.compiler.Person;
 import org.drools.compiler.integrationtests.facts.AnEnum;
 import org.drools.compiler.integrationtests.facts.FactWithEnum;
+import org.drools.core.base.ClassObjectType;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.AlphaNode;
+import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.ObjectSink;
+import org.drools.core.reteoo.ObjectSource;
+import org.drools.core.rule.constraint.MvelConstraint;
 import org.junit.jupiter.api.Test;
 import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
 import org.kie.api.io.ResourceType;
 import org.kie.api.runtime.KieSession;
 import org.kie.internal.conf.ConstraintJittingThresholdOption;
@@ -121,4 +133,61 @@ public class JittingTest extends CommonTestMethodBase {
         kieSession.insert(new FactWithEnum(AnEnum.FIRST));
         assertThat(kieSession.fireAllRules()).isEqualTo(1);
     }
+
+    @Test
+    public void testEagerConstraintJitting() {
+        final String drl = "package com.sample\n" +
+                "import org.drools.compiler.Person\n" +
+                "rule R1 when\n" +
+                "  $p : Person( age > 30, name.length > 3 )\n" +
+                "  Person( age < $p.age, this != $p )\n" +
+                "then\n" +
+                "end\n";
+
+        final KieBaseConfiguration kbconf = KieServices.Factory.get().newKieBaseConfiguration();
+        kbconf.setProperty( "drools.eagerConstraintJitting", "true" );
+        final KieBase kbase = loadKnowledgeBaseFromString( kbconf, drl );
+
+        // evaluators are prepared when the rules are added, so the first evaluation starts the jitting
+        final List<MvelConstraint> constraints = alphaConstraints( kbase );
+        assertEquals( 2, constraints.size() );
+        final KieSession first = kbase.newKieSession();
+        first.insert( new Person( "mark", 37 ) );
+        first.dispose();
+        assertThat( constraints ).allMatch( MvelConstraint::isJitted );
+
+        // without the option the first evaluation is interpreted
+        final KieBase lazyKbase = loadKnowledgeBaseFromString( drl );
+        final KieSession lazy = lazyKbase.newKieSession();
+        lazy.insert( new Person( "mark", 37 ) );
+        lazy.dispose();
+        assertThat( alphaConstraints( lazyKbase ) ).noneMatch( MvelConstraint::isJitted );
+
+        // the constraints are jitted in background from the first evaluation, so they must keep
+        // giving the same results while switching from the mvel evaluator to the jitted one
+        for (int i = 0; i < 10; i++) {
+            final KieSession ksession = kbase.newKieSession();
+            ksession.insert(new Person("mark", 37));
+            ksession.insert(new Person("mario", 38));
+            ksession.insert(new Person("edson", 29));
+            assertEquals(3, ksession.fireAllRules());
+            ksession.dispose();
+        }
+    }
+
+    private static List<MvelConstraint> alphaConstraints(final KieBase kbase) {
+        final EntryPointNode epn = ((InternalKnowledgeBase) kbase).getRete().getEntryPointNodes().values().iterator().next();
+        final List<MvelConstraint> constraints = new ArrayList<>();
+        collectAlphaConstraints( epn.getObjectTypeNodes().get( new ClassObjectType( Person.class ) ), constraints );
+        return constraints;
+    }
+
+    private static void collectAlphaConstraints(final ObjectSource source, final List<MvelConstraint> constraints) {
+        for (final ObjectSink sink : source.getObjectSinkPropagator().getSinks()) {
+            if (sink instanceof AlphaNode) {
+                constraints.add( (MvelConstraint) ((AlphaNode) sink).getConstraint() );
+                collectAlphaConstraints( (AlphaNode) sink, constraints );
+            }
+        }
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.List;
+
+import org.drools.compiler.Cheese;
+import org.drools.compiler.CommonTestMethodBase;
+import org.drools.compiler.Person;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.phreak.NetworkProfiler;
+import org.drools.core.phreak.NetworkProfiler.NodeProfile;
+import org.drools.core.reteoo.NodeTypeEnums;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieSession;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NetworkProfilingTest extends CommonTestMethodBase {
+
+    private static final String DRL =
+            "package org.drools.compiler\n" +
+            "rule R when\n" +
+            "    $p : Person( age > 18 )\n" +
+            "    Cheese( type == $p.likes )\n" +
+            "then\n" +
+            "end\n";
+
+    @Test
+    public void testProfilingDisabledByDefault() {
+        KieSession ksession = loadKnowledgeBaseFromString( DRL ).newKieSession();
+        assertNull( ((InternalWorkingMemory) ksession).getNetworkProfiler() );
+        ksession.dispose();
+    }
+
+    @Test
+    public void testProfileJoinAndAlphaNodes() {
+        KieBaseConfiguration kbconf = KieServices.Factory.get().newKieBaseConfiguration();
+        kbconf.setProperty( "drools.networkProfiling", "true" );
+        KieBase kbase = loadKnowledgeBaseFromString( kbconf, DRL );
+        KieSession ksession = kbase.newKieSession();
+
+        NetworkProfiler profiler = ((InternalWorkingMemory) ksession).getNetworkProfiler();
+        assertNotNull( profiler );
+
+        for ( int i = 0; i < 10; i++ ) {
+            Person person = new Person( "p" + i, 10 + i * 2 );
+            person.setLikes( "stilton" );
+            ksession.insert( person );
+        }
+        ksession.insert( new Cheese( "stilton", 10 ) );
+        ksession.insert( new Cheese( "brie", 10 ) );
+        assertEquals( 5, ksession.fireAllRules() );
+
+        List<NodeProfile> profiles = profiler.getProfiles();
+
+        NodeProfile alpha = findProfile( profiles, NodeTypeEnums.AlphaNode );
+        assertEquals( 10, alpha.getEvaluations() );
+        assertEquals( 5, alpha.getTuplesOut() );
+
+        NodeProfile join = findProfile( profiles, NodeTypeEnums.JoinNode );
+        assertTrue( join.getEvaluations() > 0 );
+        assertEquals( 5, join.getTuplesOut() );
+        assertEquals( "[R]", join.getRuleNames().toString() );
+
+        NodeProfile terminal = findProfile( profiles, NodeTypeEnums.RuleTerminalNode );
+        assertEquals( 5, terminal.getTuplesIn() );
+
+        assertTrue( profiler.dump().contains( "JoinNode" ) );
+
+        ksession.dispose();
+    }
+
+    private NodeProfile findProfile( List<NodeProfile> profiles, short nodeType ) {
+        return profiles.stream().filter( p -> p.getNodeType() == nodeType ).findFirst()
+                .orElseThrow( () -> new AssertionError( "No profile for node type " + nodeType ) );
+    }
+}
@@ -37,7 +37,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.drools.compiler.util.debug.DebugList;
 import org.drools.core.ClockType;
 import org.drools.core.base.ClassObjectType;
+import org.drools.core.common.CompositeDefaultAgenda;
 import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.RuleBasePartitionId;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.impl.KnowledgeBaseFactory;
 import org.drools.core.impl.StatefulKnowledgeSessionImpl;
@@ -90,6 +92,42 @@ public class ParallelEvaluationTest {
         assertEquals(10, list.size());
     }
 
+    @Test
+    public void testPartitionMetrics() {
+        StringBuilder sb = new StringBuilder( 400 );
+        sb.append( "global java.util.List list;\n" );
+        for (int i = 0; i < 10; i++) {
+            sb.append( getRule( i, "" ) );
+        }
+
+        KieSession ksession = new KieHelper().addContent( sb.toString(), ResourceType.DRL )
+                                             .build( MultithreadEvaluationOption.YES )
+                                             .newKieSession();
+
+        CompositeDefaultAgenda agenda = (CompositeDefaultAgenda) ( (InternalWorkingMemory) ksession ).getAgenda();
+
+        List<Integer> list = new DebugList<Integer>();
+        ksession.setGlobal( "list", list );
+
+        for (int i = 0; i < 10; i++) {
+            ksession.insert( i );
+            ksession.insert( "" + i );
+        }
+
+        ksession.fireAllRules();
+
+        assertEquals(10, list.size());
+
+        long fired = 0;
+        for (int i = 0; i < RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER; i++) {
+            CompositeDefaultAgenda.PartitionMetrics metrics = agenda.getPartitionMetrics( i );
+            assertTrue( metrics.getEvaluations() > 0 );
+            assertThat( agenda.getPartitionUtilisation( i ) ).isBetween( 0.0, 1.0 );
+            fired += metrics.getFireCount();
+        }
+        assertEquals(10, fired);
+    }
+
     @Test
     public void testWithInsertions() {
         StringBuilder sb = new StringBuilder( 4000 );
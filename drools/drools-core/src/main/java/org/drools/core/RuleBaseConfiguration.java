@@ -105,6 +105,9 @@ import org.slf4j.LoggerFactory;
  * drools.declarativeAgendaEnabled =  &lt;true|false&gt; 
  * drools.permgenThreshold = &lt;1...n&gt;
  * drools.jittingThreshold = &lt;1...n&gt;
+ * drools.lockFreePropagationList = &lt;true|false&gt;
+ * drools.networkProfiling = &lt;true|false&gt;
+ * drools.eagerConstraintJitting = &lt;true|false&gt;
  * </pre>
  */
 public class RuleBaseConfiguration
@@ -155,6 +158,17 @@ public class RuleBaseConfiguration
     private boolean multithread;
     private int     maxThreads;
 
+    // if "true", sessions use a lock-free queue for the propagations
+    // coming from other threads while the engine is firing until halt
+    private boolean lockFreePropagationList;
+
+    // if "true", sessions record evaluation counts, tuples and time of each node of the network
+    private boolean networkProfiling;
+
+    // if "true", the mvel constraints are compiled when the rules are added to the kbase
+    // and start jitting at their first evaluation
+    private boolean eagerConstraintJitting;
+
     // this property activates MBean monitoring and management
     private boolean mbeansEnabled;
 
@@ -204,6 +218,9 @@ public class RuleBaseConfiguration
         out.writeBoolean(classLoaderCacheEnabled);
         out.writeBoolean(phreakEnabled);
         out.writeBoolean(declarativeAgenda);
+        out.writeBoolean(lockFreePropagationList);
+        out.writeBoolean(networkProfiling);
+        out.writeBoolean(eagerConstraintJitting);
         out.writeObject(componentFactory);
     }
 
@@ -235,6 +252,9 @@ public class RuleBaseConfiguration
         classLoaderCacheEnabled = in.readBoolean();
         phreakEnabled = in.readBoolean();
         declarativeAgenda = in.readBoolean();
+        lockFreePropagationList = in.readBoolean();
+        networkProfiling = in.readBoolean();
+        eagerConstraintJitting = in.readBoolean();
         componentFactory = (KieComponentFactory) in.readObject();
     }
 
@@ -315,6 +335,12 @@ public class RuleBaseConfiguration
             setRuleBaseUpdateHandler( StringUtils.isEmpty( value ) ? "" : value);
         } else if ( name.equals( "drools.advancedProcessRuleIntegration" ) ) {
             setAdvancedProcessRuleIntegration( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
+        } else if ( name.equals( "drools.lockFreePropagationList" ) ) {
+            setLockFreePropagationList( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
+        } else if ( name.equals( "drools.networkProfiling" ) ) {
+            setNetworkProfiling( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
+        } else if ( name.equals( "drools.eagerConstraintJitting" ) ) {
+            setEagerConstraintJitting( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
         } else if ( name.equals( MultithreadEvaluationOption.PROPERTY_NAME ) ) {
             setMultithreadEvaluation( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
         } else if ( name.equals( MaxThreadsOption.PROPERTY_NAME ) ) {
@@ -366,6 +392,12 @@ public class RuleBaseConfiguration
             return getRuleBaseUpdateHandler();
         } else if ( name.equals( "drools.advancedProcessRuleIntegration" ) ) {
             return Boolean.toString(isAdvancedProcessRuleIntegration());
+        } else if ( name.equals( "drools.lockFreePropagationList" ) ) {
+            return Boolean.toString(isLockFreePropagationList());
+        } else if ( name.equals( "drools.networkProfiling" ) ) {
+            return Boolean.toString(isNetworkProfiling());
+        } else if ( name.equals( "drools.eagerConstraintJitting" ) ) {
+            return Boolean.toString(isEagerConstraintJitting());
         } else if ( name.equals( MultithreadEvaluationOption.PROPERTY_NAME ) ) {
             return Boolean.toString( isMultithreadEvaluation() );
         } else if ( name.equals( MaxThreadsOption.PROPERTY_NAME ) ) {
@@ -453,6 +485,15 @@ public class RuleBaseConfiguration
         setMaxThreads( Integer.parseInt( this.chainedProperties.getProperty( MaxThreadsOption.PROPERTY_NAME,
                                                                              "3" ) ) );
 
+        setLockFreePropagationList( Boolean.valueOf( this.chainedProperties.getProperty( "drools.lockFreePropagationList",
+                                                                                         "false" ) ) );
+
+        setNetworkProfiling( Boolean.valueOf( this.chainedProperties.getProperty( "drools.networkProfiling",
+                                                                                  "false" ) ) );
+
+        setEagerConstraintJitting( Boolean.valueOf( this.chainedProperties.getProperty( "drools.eagerConstraintJitting",
+                                                                                        "false" ) ) );
+
         setEventProcessingMode( EventProcessingOption.determineEventProcessingMode( this.chainedProperties.getProperty( EventProcessingOption.PROPERTY_NAME,
                                                                                                                         "cloud" ) ) );
 
@@ -788,6 +829,55 @@ public class RuleBaseConfiguration
     public void setAdvancedProcessRuleIntegration(boolean advancedProcessRuleIntegration) {
         this.advancedProcessRuleIntegration = advancedProcessRuleIntegration;
     }
+
+    /**
+     * Defines if the sessions should enqueue the propagations coming from other
+     * threads in a lock-free queue ("true"), instead of a synchronized one ("false").
+     * This reduces the contention between the producers and the engine thread
+     * when inserting from many threads into a session running fireUntilHalt.
+     *
+     * @param lockFreePropagationList Default is false.
+     */
+    public void setLockFreePropagationList(boolean lockFreePropagationList) {
+        checkCanChange();
+        this.lockFreePropagationList = lockFreePropagationList;
+    }
+
+    public boolean isLockFreePropagationList() {
+        return lockFreePropagationList;
+    }
+
+    /**
+     * Enables the profiling of the network evaluation, so that each session keeps, for every node,
+     * the number of evaluations, the tuples in and out and the time spent evaluating it.
+     * The collected data is available through the session's NetworkProfiler.
+     *
+     * @param networkProfiling Default is false.
+     */
+    public void setNetworkProfiling(boolean networkProfiling) {
+        checkCanChange();
+        this.networkProfiling = networkProfiling;
+    }
+
+    public boolean isNetworkProfiling() {
+        return networkProfiling;
+    }
+
+    /**
+     * Compiles the mvel constraints of the rules, in parallel, when they are added to the kbase instead of
+     * at their first evaluation, and lets the first evaluation, rather than the one reaching the
+     * jitting threshold, start jitting them.
+     *
+     * @param eagerConstraintJitting Default is false.
+     */
+    public void setEagerConstraintJitting(boolean eagerConstraintJitting) {
+        checkCanChange();
+        this.eagerConstraintJitting = eagerConstraintJitting;
+    }
+
+    public boolean isEagerConstraintJitting() {
+        return eagerConstraintJitting;
+    }
     
     public void addActivationListener(String name, ActivationListenerFactory factory) {
         if ( this.activationListeners == null ) {
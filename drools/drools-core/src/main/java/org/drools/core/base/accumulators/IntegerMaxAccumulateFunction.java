@@ -35,16 +35,17 @@ public class IntegerMaxAccumulateFunction extends AbstractAccumulateFunction<Int
     }
 
     protected static class MaxData implements Externalizable {
-        public Integer max = null;
+        // all accumulated values, so the max can be restored when it gets reversed
+        public final LongMultiset values = new LongMultiset();
 
         public MaxData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            max = (Integer) in.readObject();
+            values.readFrom(in);
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(max);
+            values.writeTo(out);
         }
 
         @Override
@@ -58,27 +59,30 @@ public class IntegerMaxAccumulateFunction extends AbstractAccumulateFunction<Int
     }
 
     public void init(MaxData data) {
-        data.max = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            Integer number = (Integer)value;
-            data.max = data.max == null || data.max < number ? number : data.max;
+            data.values.add(((Integer) value).intValue());
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
+        if (value != null) {
+            data.values.remove(((Integer) value).intValue());
+        }
     }
 
     public Object getResult(MaxData data) {
-        return data.max;
+        // boxed only when the result is read
+        return data.values.isEmpty() ? null : Integer.valueOf((int) data.values.max());
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
@@ -35,16 +35,17 @@ public class IntegerMinAccumulateFunction extends AbstractAccumulateFunction<Int
     }
 
     protected static class MaxData implements Externalizable {
-        public Integer min = null;
+        // all accumulated values, so the min can be restored when it gets reversed
+        public final LongMultiset values = new LongMultiset();
 
         public MaxData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            min = (Integer) in.readObject();
+            values.readFrom(in);
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(min);
+            values.writeTo(out);
         }
 
         @Override
@@ -58,27 +59,30 @@ public class IntegerMinAccumulateFunction extends AbstractAccumulateFunction<Int
     }
 
     public void init(MaxData data) {
-        data.min = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            Integer number = (Integer)value;
-            data.min = data.min == null || data.min > number ? number : data.min;
+            data.values.add(((Integer) value).intValue());
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
+        if (value != null) {
+            data.values.remove(((Integer) value).intValue());
+        }
     }
 
     public Object getResult(MaxData data) {
-        return data.min;
+        // boxed only when the result is read
+        return data.values.isEmpty() ? null : Integer.valueOf((int) data.values.min());
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
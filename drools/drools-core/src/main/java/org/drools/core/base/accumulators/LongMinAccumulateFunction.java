@@ -35,16 +35,17 @@ public class LongMinAccumulateFunction extends AbstractAccumulateFunction<LongMi
     }
 
     protected static class MaxData implements Externalizable {
-        public Long min = null;
+        // all accumulated values, so the min can be restored when it gets reversed
+        public final LongMultiset values = new LongMultiset();
 
         public MaxData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            min = (Long) in.readObject();
+            values.readFrom(in);
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(min);
+            values.writeTo(out);
         }
 
         @Override
@@ -58,27 +59,30 @@ public class LongMinAccumulateFunction extends AbstractAccumulateFunction<LongMi
     }
 
     public void init(MaxData data) {
-        data.min = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            Long number = (Long)value;
-            data.min = data.min == null || data.min > number ? number : data.min;
+            data.values.add(((Long) value).longValue());
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
+        if (value != null) {
+            data.values.remove(((Long) value).longValue());
+        }
     }
 
     public Object getResult(MaxData data) {
-        return data.min;
+        // boxed only when the result is read
+        return data.values.isEmpty() ? null : Long.valueOf(data.values.min());
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
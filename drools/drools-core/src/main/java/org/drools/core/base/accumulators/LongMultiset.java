@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A bag of primitive long values keeping the number of occurrences of each distinct value
+ * in an open addressing hash table, used by the int and long min and max accumulate functions.
+ * Values are not boxed, add and remove are O(1) and the extremes are tracked on add. They are
+ * only recomputed, scanning the distinct values, once the last occurrence of an extreme is removed.
+ */
+public class LongMultiset implements Serializable {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    // number of occurrences of the value in the same slot, 0 marks a free slot
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private long min;
+    private long max;
+    private boolean extremesValid = true;
+
+    public void add(long value) {
+        int slot = slot(value);
+        if (counts[slot] != 0) {
+            counts[slot]++;
+            return;
+        }
+        keys[slot] = value;
+        counts[slot] = 1;
+        if (++size == 1) {
+            min = value;
+            max = value;
+            extremesValid = true;
+        } else if (extremesValid) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        if (size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Removes one occurrence of the given value, values that are not present are ignored
+     */
+    public void remove(long value) {
+        int slot = slot(value);
+        if (counts[slot] == 0 || --counts[slot] > 0) {
+            return;
+        }
+        delete(slot);
+        size--;
+        if (value == min || value == max) {
+            extremesValid = false;
+        }
+    }
+
+    /**
+     * @return the smallest value, undefined when the multiset is empty
+     */
+    public long min() {
+        validateExtremes();
+        return min;
+    }
+
+    /**
+     * @return the greatest value, undefined when the multiset is empty
+     */
+    public long max() {
+        validateExtremes();
+        return max;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        size = 0;
+        extremesValid = true;
+    }
+
+    public void writeTo(ObjectOutput out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0) {
+                out.writeLong(keys[i]);
+                out.writeInt(counts[i]);
+            }
+        }
+    }
+
+    public void readFrom(ObjectInput in) throws IOException {
+        clear();
+        int distinct = in.readInt();
+        for (int i = 0; i < distinct; i++) {
+            long value = in.readLong();
+            int count = in.readInt();
+            add(value);
+            counts[slot(value)] = count;
+        }
+    }
+
+    private void validateExtremes() {
+        if (extremesValid || size == 0) {
+            return;
+        }
+        boolean first = true;
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] != 0) {
+                if (first) {
+                    min = keys[i];
+                    max = keys[i];
+                    first = false;
+                } else {
+                    min = Math.min(min, keys[i]);
+                    max = Math.max(max, keys[i]);
+                }
+            }
+        }
+        extremesValid = true;
+    }
+
+    /*
+     * slot holding the value or the free slot where it should be added
+     */
+    private int slot(long value) {
+        int mask = keys.length - 1;
+        int slot = hash(value) & mask;
+        while (counts[slot] != 0 && keys[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /*
+     * backward shift deletion, entries following the freed slot are moved back so that
+     * lookups do not stop at the freed slot
+     */
+    private void delete(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int i = (slot + 1) & mask;
+        while (counts[i] != 0) {
+            int home = hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                counts[hole] = counts[i];
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+        counts[hole] = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
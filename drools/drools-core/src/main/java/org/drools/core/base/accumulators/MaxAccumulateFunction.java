@@ -36,15 +36,19 @@ public class MaxAccumulateFunction extends AbstractAccumulateFunction<MaxAccumul
 
     protected static class MaxData implements Externalizable {
         public Comparable max = null;
+        // all accumulated values, so the max can be restored when it gets reversed
+        public final SortedMultiset<Comparable> values = new SortedMultiset<>();
 
         public MaxData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
             max = (Comparable) in.readObject();
+            values.readFrom(in);
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
             out.writeObject(max);
+            values.writeTo(out);
         }
 
         @Override
@@ -59,19 +63,23 @@ public class MaxAccumulateFunction extends AbstractAccumulateFunction<MaxAccumul
 
     public void init(MaxData data) {
         data.max = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            data.max = data.max == null || data.max.compareTo( value ) < 0 ?
-                       (Comparable) value :
-                       data.max;
+            data.values.add((Comparable) value);
+            data.max = data.values.last();
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
+        if (value != null) {
+            data.values.remove(value);
+            data.max = data.values.last();
+        }
     }
 
     public Object getResult(MaxData data) {
@@ -79,7 +87,7 @@ public class MaxAccumulateFunction extends AbstractAccumulateFunction<MaxAccumul
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
@@ -36,15 +36,19 @@ public class MinAccumulateFunction extends AbstractAccumulateFunction<MinAccumul
 
     protected static class MinData implements Externalizable {
         public Comparable min = null;
-        
+        // all accumulated values, so the min can be restored when it gets reversed
+        public final SortedMultiset<Comparable> values = new SortedMultiset<>();
+
         public MinData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
             min = (Comparable) in.readObject();
+            values.readFrom(in);
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
             out.writeObject(min);
+            values.writeTo(out);
         }
 
         @Override
@@ -59,19 +63,23 @@ public class MinAccumulateFunction extends AbstractAccumulateFunction<MinAccumul
 
     public void init(MinData data) {
         data.min = null;
+        data.values.clear();
     }
 
     public void accumulate(MinData data,
                            Object value) {
         if (value != null) {
-            data.min = data.min == null || data.min.compareTo( value ) > 0 ?
-                       (Comparable) value :
-                       data.min;
+            data.values.add((Comparable) value);
+            data.min = data.values.first();
         }
     }
 
     public void reverse(MinData data,
                         Object value) {
+        if (value != null) {
+            data.values.remove(value);
+            data.min = data.values.first();
+        }
     }
 
     public Object getResult(MinData data) {
@@ -79,7 +87,7 @@ public class MinAccumulateFunction extends AbstractAccumulateFunction<MinAccumul
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
@@ -36,15 +36,19 @@ public class NumericMaxAccumulateFunction extends AbstractAccumulateFunction<Num
 
     protected static class MaxData implements Externalizable {
         public Number max = null;
+        // all accumulated values, so the max can be restored when it gets reversed
+        public final SortedMultiset<Number> values = new SortedMultiset<>(SortedMultiset.NUMERIC_ORDER);
 
         public MaxData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
             max = (Number) in.readObject();
+            values.readFrom(in);
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
             out.writeObject(max);
+            values.writeTo(out);
         }
 
         @Override
@@ -59,18 +63,23 @@ public class NumericMaxAccumulateFunction extends AbstractAccumulateFunction<Num
 
     public void init(MaxData data) {
         data.max = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            Number number = (Number)value;
-            data.max = data.max == null || data.max.doubleValue() < number.doubleValue() ? number : data.max;
+            data.values.add((Number) value);
+            data.max = data.values.last();
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
+        if (value != null) {
+            data.values.remove(value);
+            data.max = data.values.last();
+        }
     }
 
     public Object getResult(MaxData data) {
@@ -78,7 +87,7 @@ public class NumericMaxAccumulateFunction extends AbstractAccumulateFunction<Num
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
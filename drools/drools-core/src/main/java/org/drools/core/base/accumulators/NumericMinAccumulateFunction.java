@@ -36,15 +36,19 @@ public class NumericMinAccumulateFunction extends AbstractAccumulateFunction<Num
 
     protected static class MaxData implements Externalizable {
         public Number min = null;
+        // all accumulated values, so the min can be restored when it gets reversed
+        public final SortedMultiset<Number> values = new SortedMultiset<>(SortedMultiset.NUMERIC_ORDER);
 
         public MaxData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            min = (Double) in.readObject();
+            min = (Number) in.readObject();
+            values.readFrom(in);
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
             out.writeObject(min);
+            values.writeTo(out);
         }
 
         @Override
@@ -59,18 +63,23 @@ public class NumericMinAccumulateFunction extends AbstractAccumulateFunction<Num
 
     public void init(MaxData data) {
         data.min = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            Number number = (Number)value;
-            data.min = data.min == null || data.min.doubleValue() > number.doubleValue() ? number : data.min;
+            data.values.add((Number) value);
+            data.min = data.values.first();
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
+        if (value != null) {
+            data.values.remove(value);
+            data.min = data.values.first();
+        }
     }
 
     public Object getResult(MaxData data) {
@@ -78,7 +87,7 @@ public class NumericMinAccumulateFunction extends AbstractAccumulateFunction<Num
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A sorted bag of values keeping the number of occurrences of each distinct value.
+ * It allows min and max accumulate functions to support reverse without rescanning
+ * all the accumulated values: add, remove and lookup of the extremes are O(log n).
+ * The int and long functions use the primitive {@link LongMultiset} instead.
+ * The min and max contexts serialize their multiset, so contexts serialized before these
+ * functions supported reverse can't be read back.
+ */
+public class SortedMultiset<T> implements Serializable {
+
+    public static final Comparator<Number> NUMERIC_ORDER = (Comparator<Number> & Serializable) (n1, n2) -> Double.compare(n1.doubleValue(), n2.doubleValue());
+
+    private final TreeMap<T, int[]> counts;
+
+    public SortedMultiset() {
+        this.counts = new TreeMap<>();
+    }
+
+    public SortedMultiset(Comparator<? super T> comparator) {
+        this.counts = new TreeMap<>(comparator);
+    }
+
+    public void add(T value) {
+        int[] count = counts.get(value);
+        if (count == null) {
+            counts.put(value, new int[] { 1 });
+        } else {
+            count[0]++;
+        }
+    }
+
+    /**
+     * Removes one occurrence of the given value, values that are not present are ignored
+     */
+    public void remove(Object value) {
+        int[] count = counts.get(value);
+        if (count != null && --count[0] == 0) {
+            counts.remove(value);
+        }
+    }
+
+    public T first() {
+        return counts.isEmpty() ? null : counts.firstKey();
+    }
+
+    public T last() {
+        return counts.isEmpty() ? null : counts.lastKey();
+    }
+
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+
+    public void clear() {
+        counts.clear();
+    }
+
+    public void writeTo(ObjectOutput out) throws IOException {
+        out.writeInt(counts.size());
+        for (Map.Entry<T, int[]> entry : counts.entrySet()) {
+            out.writeObject(entry.getKey());
+            out.writeInt(entry.getValue()[0]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void readFrom(ObjectInput in) throws IOException, ClassNotFoundException {
+        counts.clear();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            T value = (T) in.readObject();
+            counts.put(value, new int[] { in.readInt() });
+        }
+    }
+}
@@ -20,11 +20,14 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.drools.core.impl.InternalKnowledgeBase;
@@ -61,11 +64,17 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
 
     private final DefaultAgenda[] agendas = new DefaultAgenda[RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER];
 
+    private final PartitionMetrics[] partitionMetrics = new PartitionMetrics[RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER];
+
+    private volatile long parallelFireNanos;
+
     private final DefaultAgenda.ExecutionStateMachine executionStateMachine = new DefaultAgenda.ExecutionStateMachine();
 
     private PropagationList propagationList;
 
-    public CompositeDefaultAgenda() { }
+    public CompositeDefaultAgenda() {
+        initPartitionMetrics();
+    }
 
     public CompositeDefaultAgenda(InternalKnowledgeBase kBase) {
         this( kBase, true );
@@ -75,6 +84,13 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
         for ( int i = 0; i < agendas.length; i++ ) {
             agendas[i] = new PartitionedDefaultAgenda(kBase, initMain, executionStateMachine, i);
         }
+        initPartitionMetrics();
+    }
+
+    private void initPartitionMetrics() {
+        for ( int i = 0; i < partitionMetrics.length; i++ ) {
+            partitionMetrics[i] = new PartitionMetrics();
+        }
     }
 
     @Override
@@ -145,19 +161,105 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
     }
 
     private int parallelFire( AgendaFilter agendaFilter, int fireLimit ) {
+        long start = System.nanoTime();
+
+        // partitions are claimed one at a time, starting from the most expensive ones, by both the executor's threads
+        // and the current one, so a hot partition doesn't leave the other threads waiting on a fixed assignment
+        int[] partitions = partitionsByEstimatedCost();
+        AtomicInteger nextPartition = new AtomicInteger();
+        Supplier<Integer> worker = () -> {
+            int fired = 0;
+            for ( int i = nextPartition.getAndIncrement(); i < partitions.length; i = nextPartition.getAndIncrement() ) {
+                fired += fireOnPartition( partitions[i], agendaFilter, fireLimit );
+            }
+            return fired;
+        };
+
         CompletableFuture<Integer>[] results = new CompletableFuture[agendas.length-1];
         for (int i = 0; i < results.length; i++) {
-            final int j = i;
-            results[j] = supplyAsync( () -> agendas[j].internalFireAllRules( agendaFilter, fireLimit, false ), EXECUTOR );
+            results[i] = supplyAsync( worker, EXECUTOR );
         }
 
-        int result = agendas[agendas.length-1].internalFireAllRules( agendaFilter, fireLimit, false );
+        int result = worker.get();
         for (int i = 0; i < results.length; i++) {
             result += results[i].join();
         }
+
+        parallelFireNanos += System.nanoTime() - start;
+        return result;
+    }
+
+    private int fireOnPartition( int partition, AgendaFilter agendaFilter, int fireLimit ) {
+        long start = System.nanoTime();
+        int fired = agendas[partition].internalFireAllRules( agendaFilter, fireLimit, false );
+        partitionMetrics[partition].record( System.nanoTime() - start, fired );
+        return fired;
+    }
+
+    private int[] partitionsByEstimatedCost() {
+        Integer[] partitions = new Integer[agendas.length];
+        for ( int i = 0; i < partitions.length; i++ ) {
+            partitions[i] = i;
+        }
+        Arrays.sort( partitions, ( p1, p2 ) -> Long.compare( partitionMetrics[p2].getEstimatedCostNanos(), partitionMetrics[p1].getEstimatedCostNanos() ) );
+        int[] result = new int[partitions.length];
+        for ( int i = 0; i < result.length; i++ ) {
+            result[i] = partitions[i];
+        }
         return result;
     }
 
+    public PartitionMetrics getPartitionMetrics( int partitionNr ) {
+        return partitionMetrics[partitionNr];
+    }
+
+    /**
+     * Returns the fraction of the time spent by this agenda firing rules in parallel during which the
+     * given partition has been busy evaluating and firing its rules.
+     */
+    public double getPartitionUtilisation( int partitionNr ) {
+        long total = parallelFireNanos;
+        return total == 0 ? 0.0 : (double) partitionMetrics[partitionNr].getBusyNanos() / total;
+    }
+
+    public static class PartitionMetrics {
+
+        private volatile long evaluations;
+        private volatile long fireCount;
+        private volatile long busyNanos;
+        private volatile long estimatedCostNanos;
+
+        // a partition is fired by a single thread at a time, so the plain read-modify-write of the volatile fields is safe
+        void record( long nanos, int fired ) {
+            evaluations++;
+            fireCount += fired;
+            busyNanos += nanos;
+            // exponentially weighted moving average, so the ordering of the partitions follows recent costs
+            estimatedCostNanos = estimatedCostNanos == 0 ? nanos : ( 3 * estimatedCostNanos + nanos ) / 4;
+        }
+
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        public long getFireCount() {
+            return fireCount;
+        }
+
+        public long getBusyNanos() {
+            return busyNanos;
+        }
+
+        public long getEstimatedCostNanos() {
+            return estimatedCostNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "PartitionMetrics{evaluations=" + evaluations + ", fireCount=" + fireCount + ", busyNanos=" + busyNanos + "}";
+        }
+    }
+
     @Override
     public RuleAgendaItem createRuleAgendaItem( int salience, PathMemory rs, TerminalNode rtn ) {
         return getPartitionedAgendaForNode(rtn).createRuleAgendaItem( salience, rs, rtn );
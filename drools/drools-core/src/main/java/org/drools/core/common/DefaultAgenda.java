@@ -35,6 +35,7 @@ import org.drools.core.concurrent.SequentialRuleEvaluator;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.phreak.ExecutableEntry;
+import org.drools.core.phreak.LockFreePropagationList;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
@@ -260,8 +261,11 @@ public class DefaultAgenda
     }
 
     private PropagationList createPropagationList() {
-        return workingMemory.getSessionConfiguration().hasForceEagerActivationFilter() ?
-               new SynchronizedBypassPropagationList( workingMemory ) :
+        if ( workingMemory.getSessionConfiguration().hasForceEagerActivationFilter() ) {
+            return new SynchronizedBypassPropagationList( workingMemory );
+        }
+        return workingMemory.getKnowledgeBase().getConfiguration().isLockFreePropagationList() ?
+               new LockFreePropagationList( workingMemory ) :
                new SynchronizedPropagationList( workingMemory );
     }
 
@@ -26,6 +26,7 @@ import org.drools.core.WorkingMemory;
 import org.drools.core.WorkingMemoryEntryPoint;
 import org.drools.core.event.AgendaEventSupport;
 import org.drools.core.event.RuleRuntimeEventSupport;
+import org.drools.core.phreak.NetworkProfiler;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.reteoo.EntryPointNode;
@@ -205,6 +206,13 @@ public interface InternalWorkingMemory
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns the profiler of the network evaluation, or null when the profiling is not enabled
+     */
+    default NetworkProfiler getNetworkProfiler() {
+        return null;
+    }
+
     default void onSuspend() { }
     default void onResume() { }
 }
@@ -84,6 +84,7 @@ import org.drools.core.rule.InvalidPatternException;
 import org.drools.core.rule.JavaDialectRuntimeData;
 import org.drools.core.rule.TypeDeclaration;
 import org.drools.core.rule.WindowDeclaration;
+import org.drools.core.rule.constraint.EagerConstraintCompiler;
 import org.drools.core.ruleunit.RuleUnitDescriptionRegistry;
 import org.drools.core.spi.FactHandleFactory;
 import org.drools.core.util.TripleStore;
@@ -937,6 +938,16 @@ public class KnowledgeBaseImpl
         if (config.isMultithreadEvaluation() && !hasMultiplePartitions()) {
             disableMultithreadEvaluation("The rete network cannot be partitioned: disabling multithread evaluation");
         }
+
+        if (config.isEagerConstraintJitting()) {
+            List<RuleImpl> addedRules = new ArrayList<>();
+            for (InternalKnowledgePackage newPkg : clonedPkgs) {
+                for (Rule rule : newPkg.getRules()) {
+                    addedRules.add( (RuleImpl) rule );
+                }
+            }
+            EagerConstraintCompiler.prepare( this, addedRules );
+        }
     }
 
     public void processAllTypesDeclaration( Collection<InternalKnowledgePackage> pkgs ) {
@@ -1503,6 +1514,9 @@ public class KnowledgeBaseImpl
             for (RuleImpl rule : rules) {
                 internalAddRule( rule );
             }
+            if (config.isEagerConstraintJitting()) {
+                EagerConstraintCompiler.prepare( this, rules );
+            }
         });
     }
 
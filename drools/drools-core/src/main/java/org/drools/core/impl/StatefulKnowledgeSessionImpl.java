@@ -83,6 +83,7 @@ import org.drools.core.marshalling.impl.MarshallerReaderContext;
 import org.drools.core.marshalling.impl.MarshallerWriteContext;
 import org.drools.core.marshalling.impl.PersisterHelper;
 import org.drools.core.marshalling.impl.ProtobufMessages;
+import org.drools.core.phreak.NetworkProfiler;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
@@ -217,6 +218,8 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
 
     private boolean sequential;
 
+    private NetworkProfiler networkProfiler;
+
     private WorkItemManager workItemManager;
 
     private TimerService timerService;
@@ -398,6 +401,7 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
 
         RuleBaseConfiguration conf = kBase.getConfiguration();
         this.sequential = conf.isSequential();
+        this.networkProfiler = conf.isNetworkProfiling() ? new NetworkProfiler() : null;
 
         initDefaultEntryPoint();
         updateEntryPointsCache();
@@ -1083,6 +1087,10 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
 
         this.agenda.reset();
 
+        if (this.networkProfiler != null) {
+            this.networkProfiler.reset();
+        }
+
         this.globalResolver.clear();
         this.kieBaseEventListeners.clear();
         this.handleFactory.clear( 0, 0 );
@@ -1267,6 +1275,11 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         return this.environment;
     }
 
+    @Override
+    public NetworkProfiler getNetworkProfiler() {
+        return networkProfiler;
+    }
+
     public InternalAgenda getAgenda() {
         return this.agenda;
     }
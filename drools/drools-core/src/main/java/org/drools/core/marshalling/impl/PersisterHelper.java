@@ -16,9 +16,7 @@
 
 package org.drools.core.marshalling.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.security.InvalidKeyException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
@@ -51,10 +49,15 @@ import org.kie.api.marshalling.ObjectMarshallingStrategy.Context;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.ByteString.Output;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.Message;
 
 public class PersisterHelper {
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
     public static WorkingMemoryAction readWorkingMemoryAction(MarshallerReaderContext context) throws IOException,
                                                                                               ClassNotFoundException {
         int type = context.readShort();
@@ -220,11 +223,20 @@ public class PersisterHelper {
 
         writeRuntimeDefinedClasses( context, _header );
 
-        byte[] buff = payload.toByteArray();
-        sign( _header, buff );
-        _header.setPayload( ByteString.copyFrom( buff ) );
-
-        context.stream.write( _header.build().toByteArray() );
+        CodedOutputStream output = CodedOutputStream.newInstance( context.stream, STREAM_BUFFER_SIZE );
+        if ( new KeyStoreHelper().isSigned() ) {
+            // the signature has to be computed on the whole payload
+            byte[] buff = payload.toByteArray();
+            sign( _header, buff );
+            _header.setPayload( ByteString.copyFrom( buff ) );
+            _header.build().writeTo( output );
+        } else {
+            // an embedded message has the same wire format of the bytes payload field, so the session is encoded
+            // straight into the stream through a bounded buffer instead of being copied in memory up to 3 times
+            _header.build().writeTo( output );
+            output.writeMessage( ProtobufMessages.Header.PAYLOAD_FIELD_NUMBER, payload );
+        }
+        output.flush();
     }
 
     public static void writeRuntimeDefinedClasses( MarshallerWriteContext context,
@@ -289,7 +301,7 @@ public class PersisterHelper {
     private static ProtobufMessages.Header loadStrategiesCheckSignature(MarshallerReaderContext context, ProtobufMessages.Header _header) throws ClassNotFoundException, IOException {
         loadStrategiesIndex( context, _header );
 
-        byte[] sessionbuff = _header.getPayload().toByteArray();
+        byte[] sessionbuff = _header.hasSignature() ? _header.getPayload().toByteArray() : null;
 
         // should we check version as well here?
         checkSignature( _header, sessionbuff );
@@ -298,28 +310,14 @@ public class PersisterHelper {
     }
 
     public static ProtobufMessages.Header readFromStreamWithHeaderPreloaded( MarshallerReaderContext context, ExtensionRegistry registry ) throws IOException, ClassNotFoundException {
-        // we preload the stream into a byte[] to overcome a message size limit
-        // imposed by protobuf as per https://issues.jboss.org/browse/DROOLS-25
-        byte[] preloaded = preload(context.stream);
-        ProtobufMessages.Header _header = ProtobufMessages.Header.parseFrom( preloaded, registry );
+        // the size limit imposed by protobuf is lifted as per https://issues.jboss.org/browse/DROOLS-25,
+        // so that the stream can be parsed through a bounded buffer without preloading it into a byte[]
+        CodedInputStream input = CodedInputStream.newInstance( context.stream, STREAM_BUFFER_SIZE );
+        input.setSizeLimit( Integer.MAX_VALUE );
+        ProtobufMessages.Header _header = ProtobufMessages.Header.parseFrom( input, registry );
 
         return loadStrategiesCheckSignature(context, _header);
     }
-    
-    /* Method that preloads the source stream into a byte array to bypass the message size limitations in Protobuf unmarshalling.
-       (Protobuf does not enforce a message size limit when unmarshalling from a byte array)
-    */
-    private static byte[] preload(InputStream stream) throws IOException {
-        byte[] buf = new byte[4096];
-        ByteArrayOutputStream preloaded = new ByteArrayOutputStream();
-
-        int read;
-        while((read = stream.read(buf)) != -1) {
-            preloaded.write(buf, 0, read);
-        }
-
-        return preloaded.toByteArray();
-    }
 
 	private static void loadStrategiesIndex(MarshallerReaderContext context,
                                             ProtobufMessages.Header _header) throws IOException, ClassNotFoundException {
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.drools.core.common.InternalWorkingMemory;
+
+/**
+ * A multi producer, single consumer propagation list that doesn't require any lock to enqueue
+ * a propagation. Producers push their entries on a stack with a CAS, while the engine thread
+ * detaches the whole stack at once and reverses it, so the entries are still executed in the
+ * order in which they have been added. The engine thread waiting on rest is parked and unparked
+ * instead of using wait/notify on the list's monitor.
+ */
+public class LockFreePropagationList extends SynchronizedPropagationList {
+
+    private final AtomicReference<PropagationEntry> top = new AtomicReference<>();
+
+    private volatile boolean hasEntriesDeferringExpiration = false;
+
+    private volatile Thread waitingThread;
+    private volatile boolean wakeUpRequested = false;
+
+    public LockFreePropagationList(InternalWorkingMemory workingMemory) {
+        super(workingMemory);
+    }
+
+    @Override
+    void internalAddEntry( PropagationEntry entry ) {
+        PropagationEntry current;
+        do {
+            current = top.get();
+            entry.setNext( current );
+        } while ( !top.compareAndSet( current, entry ) );
+
+        if ( entry.defersExpiration() ) {
+            // set after the push, so a concurrent takeAll can only leave a stale true, never a wrong false
+            hasEntriesDeferringExpiration = true;
+        }
+        if ( current == null ) {
+            notifyWaitOnRest();
+        }
+    }
+
+    @Override
+    public boolean hasEntriesDeferringExpiration() {
+        return hasEntriesDeferringExpiration;
+    }
+
+    @Override
+    public PropagationEntry takeAll() {
+        hasEntriesDeferringExpiration = false;
+        PropagationEntry current = top.getAndSet( null );
+        PropagationEntry reversed = null;
+        while ( current != null ) {
+            PropagationEntry next = current.getNext();
+            current.setNext( reversed );
+            reversed = current;
+            current = next;
+        }
+        return reversed;
+    }
+
+    @Override
+    public void reset() {
+        top.set( null );
+        disposed = false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    @Override
+    public void waitOnRest() {
+        workingMemory.onSuspend();
+        waitingThread = Thread.currentThread();
+        try {
+            while ( !wakeUpRequested && top.get() == null ) {
+                LockSupport.park( this );
+                if ( Thread.interrupted() ) {
+                    break;
+                }
+            }
+        } finally {
+            waitingThread = null;
+            wakeUpRequested = false;
+        }
+    }
+
+    @Override
+    public void notifyWaitOnRest() {
+        wakeUpRequested = true;
+        Thread waiting = waitingThread;
+        if ( waiting != null ) {
+            LockSupport.unpark( waiting );
+        }
+        workingMemory.onResume();
+    }
+
+    @Override
+    public Iterator<PropagationEntry> iterator() {
+        List<PropagationEntry> entries = new ArrayList<>();
+        for ( PropagationEntry entry = top.get(); entry != null; entry = entry.getNext() ) {
+            entries.add( entry );
+        }
+        Collections.reverse( entries );
+        return entries.iterator();
+    }
+}
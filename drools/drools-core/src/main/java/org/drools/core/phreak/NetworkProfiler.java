@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.drools.core.common.BaseNode;
+import org.drools.core.common.NetworkNode;
+import org.drools.core.common.TupleSets;
+import org.drools.core.spi.Tuple;
+import org.kie.api.definition.rule.Rule;
+
+/**
+ * Keeps, for each node of the network evaluated by a session, how many times it has been evaluated,
+ * how many tuples went in and out of it and the time spent evaluating it.
+ * The counters are plain fields updated by the thread evaluating the node, so reading them while the
+ * session is running gives a best effort snapshot.
+ */
+public class NetworkProfiler {
+
+    private volatile NodeProfile[] profiles = new NodeProfile[64];
+
+    public NodeProfile getProfile(NetworkNode node) {
+        NodeProfile[] current = profiles;
+        int id = node.getId();
+        NodeProfile profile = id < current.length ? current[id] : null;
+        return profile != null ? profile : createProfile( node );
+    }
+
+    private synchronized NodeProfile createProfile(NetworkNode node) {
+        int id = node.getId();
+        if ( id >= profiles.length ) {
+            profiles = Arrays.copyOf( profiles, Math.max( id + 1, profiles.length * 2 ) );
+        }
+        NodeProfile profile = profiles[id];
+        if ( profile == null ) {
+            profile = new NodeProfile( node );
+            profiles[id] = profile;
+        }
+        return profile;
+    }
+
+    public void recordNode(NetworkNode node, int tuplesIn, TupleSets<?> trgTuples, long nanos) {
+        getProfile( node ).record( tuplesIn, trgTuples != null ? countTuples( trgTuples ) : 0, nanos );
+    }
+
+    public void recordAlpha(NetworkNode node, boolean matched, long nanos) {
+        getProfile( node ).record( 1, matched ? 1 : 0, nanos );
+    }
+
+    /**
+     * Returns the profiles of the evaluated nodes, the most expensive first
+     */
+    public List<NodeProfile> getProfiles() {
+        List<NodeProfile> result = new ArrayList<>();
+        for ( NodeProfile profile : profiles ) {
+            if ( profile != null ) {
+                result.add( profile );
+            }
+        }
+        result.sort( Comparator.comparingLong( NodeProfile::getNanos ).reversed() );
+        return result;
+    }
+
+    public synchronized void reset() {
+        profiles = new NodeProfile[profiles.length];
+    }
+
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append( String.format( "%-60s %12s %12s %12s %14s  %s%n", "node", "evaluations", "tuples in", "tuples out", "time (ms)", "rules" ) );
+        for ( NodeProfile profile : getProfiles() ) {
+            sb.append( String.format( "%-60s %12d %12d %12d %14.3f  %s%n",
+                                      profile.getNodeDescription(), profile.getEvaluations(), profile.getTuplesIn(),
+                                      profile.getTuplesOut(), profile.getNanos() / 1_000_000.0, profile.getRuleNames() ) );
+        }
+        return sb.toString();
+    }
+
+    public static int countTuples(TupleSets<?> tupleSets) {
+        return countTuples( tupleSets.getInsertFirst() ) +
+               countTuples( tupleSets.getUpdateFirst() ) +
+               countTuples( tupleSets.getDeleteFirst() ) +
+               countTuples( tupleSets.getNormalizedDeleteFirst() );
+    }
+
+    private static int countTuples(Tuple tuple) {
+        int count = 0;
+        for ( ; tuple != null; tuple = tuple.getStagedNext() ) {
+            count++;
+        }
+        return count;
+    }
+
+    public static class NodeProfile {
+
+        private final NetworkNode node;
+
+        private long evaluations;
+        private long tuplesIn;
+        private long tuplesOut;
+        private long nanos;
+
+        NodeProfile(NetworkNode node) {
+            this.node = node;
+        }
+
+        void record(int in, int out, long elapsed) {
+            evaluations++;
+            tuplesIn += in;
+            tuplesOut += out;
+            nanos += elapsed;
+        }
+
+        public int getNodeId() {
+            return node.getId();
+        }
+
+        public short getNodeType() {
+            return node.getType();
+        }
+
+        public String getNodeDescription() {
+            return node.toString();
+        }
+
+        public List<String> getRuleNames() {
+            List<String> names = new ArrayList<>();
+            if ( node instanceof BaseNode ) {
+                for ( Rule rule : ( (BaseNode) node ).getAssociatedRules() ) {
+                    names.add( rule.getName() );
+                }
+            }
+            return names;
+        }
+
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        public long getTuplesIn() {
+            return tuplesIn;
+        }
+
+        public long getTuplesOut() {
+            return tuplesOut;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return "NodeProfile[" + getNodeDescription() + ", evaluations=" + evaluations + ", tuplesIn=" + tuplesIn +
+                   ", tuplesOut=" + tuplesOut + ", nanos=" + nanos + "]";
+        }
+    }
+}
@@ -251,6 +251,7 @@ public class RuleNetworkEvaluator {
         TupleSets<LeftTuple> srcTuples;
         SegmentMemory smem = smems[smemIndex];
         TupleSets<LeftTuple> stagedLeftTuples = null;
+        NetworkProfiler profiler = agenda.getWorkingMemory().getNetworkProfiler();
         while (true) {
             srcTuples = trgTuples; // previous target, is now the source
             if (log.isTraceEnabled()) {
@@ -315,6 +316,9 @@ public class RuleNetworkEvaluator {
                 }
             }
 
+            int tuplesIn = profiler != null ? NetworkProfiler.countTuples( srcTuples ) : 0;
+            long start = profiler != null ? System.nanoTime() : 0L;
+
             boolean terminalNode = true;
             switch (node.getType()) {
                 case NodeTypeEnums.RuleTerminalNode:
@@ -330,6 +334,9 @@ public class RuleNetworkEvaluator {
                     terminalNode = false;
             }
             if (terminalNode) {
+                if (profiler != null) {
+                    profiler.recordNode( node, tuplesIn, null, System.nanoTime() - start );
+                }
                 break;
             }
 
@@ -337,6 +344,9 @@ public class RuleNetworkEvaluator {
             LeftTupleSinkNode sink = ((LeftTupleSource) node).getSinkPropagator().getFirstLeftTupleSink();
 
             trgTuples = evalNode( pmem, node, bit, nodeMem, smems, smemIndex, agenda, stack, processRian, executor, srcTuples, smem, stagedLeftTuples, sink );
+            if (profiler != null) {
+                profiler.recordNode( node, tuplesIn, trgTuples, System.nanoTime() - start );
+            }
             if ( trgTuples == null ) {
                 break; // Queries exists and has been placed StackEntry, and there are no current trgTuples to process
             }
@@ -30,7 +30,7 @@ public class SynchronizedPropagationList implements PropagationList {
     protected volatile PropagationEntry head;
     protected volatile PropagationEntry tail;
 
-    private volatile boolean disposed = false;
+    protected volatile boolean disposed = false;
 
     private volatile boolean hasEntriesDeferringExpiration = false;
 
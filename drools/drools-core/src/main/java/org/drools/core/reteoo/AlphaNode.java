@@ -25,6 +25,7 @@ import org.drools.core.base.evaluators.IsAEvaluatorDefinition;
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.common.RuleBasePartitionId;
+import org.drools.core.phreak.NetworkProfiler;
 import org.drools.core.reteoo.builder.BuildContext;
 import org.drools.core.rule.constraint.EvaluatorConstraint;
 import org.drools.core.rule.constraint.MvelConstraint;
@@ -136,8 +137,7 @@ public class AlphaNode extends ObjectSource
     public void assertObject(final InternalFactHandle factHandle,
                              final PropagationContext context,
                              final InternalWorkingMemory workingMemory) {
-        if (this.constraint.isAllowed(factHandle,
-                workingMemory)) {
+        if (isAllowed(factHandle, workingMemory)) {
 
             this.sink.propagateAssertObject(factHandle,
                     context,
@@ -151,7 +151,7 @@ public class AlphaNode extends ObjectSource
                              final InternalWorkingMemory workingMemory) {
         if (context.getModificationMask().intersects(inferredMask)) {
 
-            if (this.constraint.isAllowed(factHandle, workingMemory)) {
+            if (isAllowed(factHandle, workingMemory)) {
                 this.sink.propagateModifyObject(factHandle,
                         modifyPreviousTuples,
                         context,
@@ -162,6 +162,18 @@ public class AlphaNode extends ObjectSource
         }
     }
 
+    private boolean isAllowed(final InternalFactHandle factHandle,
+                              final InternalWorkingMemory workingMemory) {
+        NetworkProfiler profiler = workingMemory.getNetworkProfiler();
+        if (profiler == null) {
+            return this.constraint.isAllowed(factHandle, workingMemory);
+        }
+        long start = System.nanoTime();
+        boolean allowed = this.constraint.isAllowed(factHandle, workingMemory);
+        profiler.recordAlpha(this, allowed, System.nanoTime() - start);
+        return allowed;
+    }
+
     public void byPassModifyToBetaNode(final InternalFactHandle factHandle,
                                        final ModifyPreviousTuples modifyPreviousTuples,
                                        final PropagationContext context,
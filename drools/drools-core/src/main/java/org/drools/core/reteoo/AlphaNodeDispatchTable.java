@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.reteoo;
+
+import org.drools.core.base.ValueType;
+import org.drools.core.reteoo.CompositeObjectSinkAdapter.FieldIndex;
+import org.drools.core.reteoo.CompositeObjectSinkAdapter.HashKey;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.util.Iterator;
+import org.drools.core.util.ObjectHashMap;
+import org.drools.core.util.ObjectHashMap.ObjectEntry;
+
+/**
+ * Open addressing table dispatching a fact to the hashed AlphaNode matching the value of one of its fields.
+ * Differently from the lookup in the hashedSinkMap it reads the field as a primitive, when possible, and
+ * doesn't need to allocate a HashKey for each propagated fact. It is an immutable snapshot of the hashed sinks
+ * of a FieldIndex and then has to be rebuilt every time those sinks change.
+ */
+final class AlphaNodeDispatchTable {
+
+    private static final AlphaNodeDispatchTable UNSUPPORTED = new AlphaNodeDispatchTable( null, (byte) 0, 0 );
+
+    private final InternalReadAccessor extractor;
+    private final byte type;
+
+    private final long[] longKeys;
+    private final double[] doubleKeys;
+    private final Object[] objectKeys;
+    private final AlphaNode[] sinks;
+    private final int mask;
+
+    private AlphaNode trueSink;
+    private AlphaNode falseSink;
+
+    private AlphaNodeDispatchTable( InternalReadAccessor extractor, byte type, int size ) {
+        this.extractor = extractor;
+        this.type = type;
+        int capacity = tableSizeFor( size );
+        this.mask = capacity - 1;
+        this.longKeys = type == HashKey.LONG ? new long[capacity] : null;
+        this.doubleKeys = type == HashKey.DOUBLE ? new double[capacity] : null;
+        this.objectKeys = type == HashKey.OBJECT ? new Object[capacity] : null;
+        this.sinks = type == HashKey.BOOL || extractor == null ? null : new AlphaNode[capacity];
+    }
+
+    static AlphaNodeDispatchTable build( FieldIndex fieldIndex, ObjectHashMap hashedSinkMap ) {
+        InternalReadAccessor extractor = fieldIndex.getFieldExtractor();
+        byte type = lookupType( extractor.getValueType() );
+
+        int size = 0;
+        Iterator it = hashedSinkMap.newIterator();
+        for ( ObjectEntry entry = (ObjectEntry) it.next(); entry != null; entry = (ObjectEntry) it.next() ) {
+            HashKey hashKey = (HashKey) entry.getKey();
+            if ( hashKey.getIndex() == fieldIndex.getIndex() ) {
+                // null values are never hashed, and keys of a different type (e.g. chars compared with a number)
+                // need the conversions performed by HashKey.equals, so they can only be found through the hashedSinkMap
+                if ( hashKey.isNull() || hashKey.getType() != type ) {
+                    return UNSUPPORTED;
+                }
+                size++;
+            }
+        }
+
+        AlphaNodeDispatchTable table = new AlphaNodeDispatchTable( extractor, type, size );
+        it = hashedSinkMap.newIterator();
+        for ( ObjectEntry entry = (ObjectEntry) it.next(); entry != null; entry = (ObjectEntry) it.next() ) {
+            HashKey hashKey = (HashKey) entry.getKey();
+            if ( hashKey.getIndex() == fieldIndex.getIndex() ) {
+                table.put( hashKey, (AlphaNode) entry.getValue() );
+            }
+        }
+        return table;
+    }
+
+    private static byte lookupType( ValueType vtype ) {
+        // mirrors the way HashKey.setValue reads the value of the propagated fact
+        if ( vtype.isBoolean() ) {
+            return HashKey.BOOL;
+        }
+        if ( vtype.isIntegerNumber() || vtype.isChar() ) {
+            return HashKey.LONG;
+        }
+        if ( vtype.isFloatNumber() ) {
+            return HashKey.DOUBLE;
+        }
+        return HashKey.OBJECT;
+    }
+
+    private static int tableSizeFor( int size ) {
+        // keep the load factor under 0.5 so the probe sequences stay short
+        int capacity = 4;
+        while ( capacity < size * 2 ) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int spread( int h ) {
+        return h ^ (h >>> 16);
+    }
+
+    boolean isSupported() {
+        return this != UNSUPPORTED;
+    }
+
+    private void put( HashKey hashKey, AlphaNode sink ) {
+        switch ( type ) {
+            case HashKey.BOOL:
+                if ( hashKey.getBooleanValue() ) {
+                    trueSink = sink;
+                } else {
+                    falseSink = sink;
+                }
+                return;
+            case HashKey.LONG: {
+                long key = hashKey.getLongValue();
+                int i = spread( Long.hashCode( key ) ) & mask;
+                while ( sinks[i] != null ) {
+                    i = (i + 1) & mask;
+                }
+                longKeys[i] = key;
+                sinks[i] = sink;
+                return;
+            }
+            case HashKey.DOUBLE: {
+                double key = hashKey.getDoubleValue();
+                int i = spread( Double.hashCode( key ) ) & mask;
+                while ( sinks[i] != null ) {
+                    i = (i + 1) & mask;
+                }
+                doubleKeys[i] = key;
+                sinks[i] = sink;
+                return;
+            }
+            default: {
+                Object key = hashKey.getObjectValue();
+                int i = spread( key.hashCode() ) & mask;
+                while ( sinks[i] != null ) {
+                    i = (i + 1) & mask;
+                }
+                objectKeys[i] = key;
+                sinks[i] = sink;
+            }
+        }
+    }
+
+    AlphaNode get( Object object ) {
+        if ( extractor.isNullValue( null, object ) ) {
+            return null;
+        }
+        switch ( type ) {
+            case HashKey.BOOL:
+                return extractor.getBooleanValue( null, object ) ? trueSink : falseSink;
+            case HashKey.LONG: {
+                long value = extractor.getLongValue( null, object );
+                for ( int i = spread( Long.hashCode( value ) ) & mask; sinks[i] != null; i = (i + 1) & mask ) {
+                    if ( longKeys[i] == value ) {
+                        return sinks[i];
+                    }
+                }
+                return null;
+            }
+            case HashKey.DOUBLE: {
+                double value = extractor.getDoubleValue( null, object );
+                for ( int i = spread( Double.hashCode( value ) ) & mask; sinks[i] != null; i = (i + 1) & mask ) {
+                    if ( doubleKeys[i] == value ) {
+                        return sinks[i];
+                    }
+                }
+                return null;
+            }
+            default: {
+                Object value = extractor.getValue( null, object );
+                if ( value == null ) {
+                    return null;
+                }
+                for ( int i = spread( value.hashCode() ) & mask; sinks[i] != null; i = (i + 1) & mask ) {
+                    if ( value.equals( objectKeys[i] ) ) {
+                        return sinks[i];
+                    }
+                }
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.reteoo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.core.base.ValueType;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.rule.IndexableConstraint;
+import org.drools.core.spi.AlphaNodeFieldConstraint;
+import org.drools.core.spi.FieldValue;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.spi.PropagationContext;
+import org.drools.core.util.index.IndexUtil.ConstraintType;
+
+/**
+ * Index of the AlphaNodes comparing the same numeric field with a literal through &lt;, &lt;=, &gt; or &gt;=.
+ * The nodes testing the same field are kept sorted by the literal they compare with, so when a fact is
+ * asserted it is enough to walk them in order until the first one that doesn't match, without evaluating
+ * any of their constraints. All the other sinks are propagated as usual.
+ */
+final class AlphaRangeIndex {
+
+    static final AlphaRangeIndex NONE = new AlphaRangeIndex( new FieldRanges[0], new ObjectSink[0] );
+
+    private final FieldRanges[] fieldRanges;
+    private final ObjectSink[] unindexedSinks;
+
+    private AlphaRangeIndex( FieldRanges[] fieldRanges, ObjectSink[] unindexedSinks ) {
+        this.fieldRanges = fieldRanges;
+        this.unindexedSinks = unindexedSinks;
+    }
+
+    static AlphaRangeIndex build( ObjectSinkNodeList sinks, int threshold ) {
+        if ( sinks == null || threshold == 0 ) {
+            return NONE;
+        }
+
+        Map<Integer, List<AlphaNode>> candidates = new LinkedHashMap<>();
+        for ( ObjectSinkNode sink = sinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
+            if ( sink.getType() == NodeTypeEnums.AlphaNode && isRangeIndexable( (AlphaNode) sink ) ) {
+                int index = getConstraint( (AlphaNode) sink ).getFieldExtractor().getIndex();
+                candidates.computeIfAbsent( index, i -> new ArrayList<>() ).add( (AlphaNode) sink );
+            }
+        }
+        candidates.values().removeIf( nodes -> nodes.size() < threshold );
+        if ( candidates.isEmpty() ) {
+            return NONE;
+        }
+
+        List<FieldRanges> fieldRanges = new ArrayList<>();
+        List<ObjectSink> unindexed = new ArrayList<>();
+        for ( List<AlphaNode> nodes : candidates.values() ) {
+            fieldRanges.add( new FieldRanges( nodes ) );
+        }
+        for ( ObjectSinkNode sink = sinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
+            if ( sink.getType() != NodeTypeEnums.AlphaNode ||
+                    !candidates.containsKey( getIndex( (AlphaNode) sink ) ) || !isRangeIndexable( (AlphaNode) sink ) ) {
+                unindexed.add( sink );
+            }
+        }
+        return new AlphaRangeIndex( fieldRanges.toArray( new FieldRanges[fieldRanges.size()] ),
+                                    unindexed.toArray( new ObjectSink[unindexed.size()] ) );
+    }
+
+    private static int getIndex( AlphaNode alphaNode ) {
+        AlphaNodeFieldConstraint constraint = alphaNode.getConstraint();
+        return constraint instanceof IndexableConstraint && ((IndexableConstraint) constraint).getFieldExtractor() != null ?
+               ((IndexableConstraint) constraint).getFieldExtractor().getIndex() :
+               -1;
+    }
+
+    private static IndexableConstraint getConstraint( AlphaNode alphaNode ) {
+        return (IndexableConstraint) alphaNode.getConstraint();
+    }
+
+    static boolean isRangeIndexable( AlphaNode alphaNode ) {
+        AlphaNodeFieldConstraint constraint = alphaNode.getConstraint();
+        if ( !(constraint instanceof IndexableConstraint) ) {
+            return false;
+        }
+        IndexableConstraint indexableConstraint = (IndexableConstraint) constraint;
+        ConstraintType constraintType = indexableConstraint.getConstraintType();
+        FieldValue field = indexableConstraint.getField();
+        InternalReadAccessor extractor = indexableConstraint.getFieldExtractor();
+        if ( !constraintType.isComparison() || indexableConstraint.isUnification() ||
+                field == null || field.isNull() || extractor == null || extractor.getIndex() < 0 ) {
+            return false;
+        }
+        ValueType vtype = extractor.getValueType();
+        return ( vtype.isIntegerNumber() || vtype.isFloatNumber() ) &&
+               ( field.isIntegerNumberField() || field.isFloatNumberField() );
+    }
+
+    boolean isEmpty() {
+        return fieldRanges.length == 0;
+    }
+
+    ObjectSink[] getUnindexedSinks() {
+        return unindexedSinks;
+    }
+
+    /**
+     * Propagates the fact to the indexed nodes whose constraint is satisfied by it. Returns false if
+     * the value of one of the indexed fields is null, so the caller has to propagate it to those nodes
+     * one by one and let them evaluate their constraints as usual.
+     */
+    boolean propagateAssertObject( InternalFactHandle factHandle, PropagationContext context, InternalWorkingMemory workingMemory ) {
+        Object object = factHandle.getObject();
+        for ( FieldRanges ranges : fieldRanges ) {
+            if ( ranges.extractor.isNullValue( null, object ) ) {
+                return false;
+            }
+        }
+        for ( FieldRanges ranges : fieldRanges ) {
+            ranges.propagateAssertObject( object, factHandle, context, workingMemory );
+        }
+        return true;
+    }
+
+    AlphaNode[] getIndexedNodes() {
+        List<AlphaNode> nodes = new ArrayList<>();
+        for ( FieldRanges ranges : fieldRanges ) {
+            ranges.collectNodes( nodes );
+        }
+        return nodes.toArray( new AlphaNode[nodes.size()] );
+    }
+
+    private static final class FieldRanges {
+
+        private final InternalReadAccessor extractor;
+        private final boolean integerComparison;
+
+        // nodes testing field > literal or field >= literal, sorted by ascending literal
+        private final Bound[] lowerBounds;
+        // nodes testing field < literal or field <= literal, sorted by descending literal
+        private final Bound[] upperBounds;
+
+        private FieldRanges( List<AlphaNode> nodes ) {
+            this.extractor = getConstraint( nodes.get( 0 ) ).getFieldExtractor();
+            boolean integers = extractor.getValueType().isIntegerNumber();
+            List<Bound> lower = new ArrayList<>();
+            List<Bound> upper = new ArrayList<>();
+            for ( AlphaNode node : nodes ) {
+                IndexableConstraint constraint = getConstraint( node );
+                integers &= constraint.getField().isIntegerNumberField();
+                ConstraintType type = constraint.getConstraintType();
+                Bound bound = new Bound( node, constraint.getField(), type == ConstraintType.GREATER_OR_EQUAL || type == ConstraintType.LESS_OR_EQUAL );
+                if ( type.isAscending() ) {
+                    lower.add( bound );
+                } else {
+                    upper.add( bound );
+                }
+            }
+            final boolean byLong = integers;
+            this.integerComparison = byLong;
+            // List.sort is stable, so nodes with the same literal keep the order in which they were added
+            lower.sort( ( b1, b2 ) -> byLong ? Long.compare( b1.longValue, b2.longValue ) : Double.compare( b1.doubleValue, b2.doubleValue ) );
+            upper.sort( ( b1, b2 ) -> byLong ? Long.compare( b2.longValue, b1.longValue ) : Double.compare( b2.doubleValue, b1.doubleValue ) );
+            this.lowerBounds = lower.toArray( new Bound[lower.size()] );
+            this.upperBounds = upper.toArray( new Bound[upper.size()] );
+        }
+
+        private void propagateAssertObject( Object object, InternalFactHandle factHandle, PropagationContext context, InternalWorkingMemory workingMemory ) {
+            if ( integerComparison ) {
+                long value = extractor.getLongValue( null, object );
+                for ( Bound bound : lowerBounds ) {
+                    if ( bound.longValue > value ) {
+                        break;
+                    }
+                    if ( bound.longValue < value || bound.inclusive ) {
+                        bound.propagate( factHandle, context, workingMemory );
+                    }
+                }
+                for ( Bound bound : upperBounds ) {
+                    if ( bound.longValue < value ) {
+                        break;
+                    }
+                    if ( bound.longValue > value || bound.inclusive ) {
+                        bound.propagate( factHandle, context, workingMemory );
+                    }
+                }
+            } else {
+                double value = extractor.getDoubleValue( null, object );
+                if ( Double.isNaN( value ) ) {
+                    // NaN doesn't satisfy any comparison
+                    return;
+                }
+                for ( Bound bound : lowerBounds ) {
+                    if ( bound.doubleValue > value ) {
+                        break;
+                    }
+                    if ( bound.doubleValue < value || bound.inclusive ) {
+                        bound.propagate( factHandle, context, workingMemory );
+                    }
+                }
+                for ( Bound bound : upperBounds ) {
+                    if ( bound.doubleValue < value ) {
+                        break;
+                    }
+                    if ( bound.doubleValue > value || bound.inclusive ) {
+                        bound.propagate( factHandle, context, workingMemory );
+                    }
+                }
+            }
+        }
+
+        private void collectNodes( List<AlphaNode> nodes ) {
+            for ( Bound bound : lowerBounds ) {
+                nodes.add( bound.node );
+            }
+            for ( Bound bound : upperBounds ) {
+                nodes.add( bound.node );
+            }
+        }
+    }
+
+    private static final class Bound {
+
+        private final AlphaNode node;
+        private final long longValue;
+        private final double doubleValue;
+        private final boolean inclusive;
+
+        private Bound( AlphaNode node, FieldValue field, boolean inclusive ) {
+            this.node = node;
+            this.longValue = field.isIntegerNumberField() ? field.getLongValue() : (long) field.getDoubleValue();
+            this.doubleValue = field.getDoubleValue();
+            this.inclusive = inclusive;
+        }
+
+        private void propagate( InternalFactHandle factHandle, PropagationContext context, InternalWorkingMemory workingMemory ) {
+            // go straight to the AlphaNode's propagator, as we know it's true and no need to retest
+            node.getObjectSinkPropagator().propagateAssertObject( factHandle, context, workingMemory );
+        }
+    }
+}
@@ -65,6 +65,8 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
 
     private Map<NetworkNode, NetworkNode> sinksMap;
 
+    private transient volatile AlphaRangeIndex rangeIndex;
+
     public CompositeObjectSinkAdapter() {
         this( 3 );
     }
@@ -108,6 +110,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
 
     public ObjectSinkPropagator addObjectSink(ObjectSink sink, int alphaNodeHashingThreshold) {
         this.sinks = null; // dirty it, so it'll rebuild on next get
+        invalidateDispatch();
         if (this.sinksMap != null) {
             this.sinksMap.put( sink, sink );
         }
@@ -170,6 +173,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
 
     public ObjectSinkPropagator removeObjectSink(final ObjectSink sink) {
         this.sinks = null; // dirty it, so it'll rebuild on next get
+        invalidateDispatch();
         if (this.sinksMap != null) {
             this.sinksMap.remove( sink );
         }
@@ -217,6 +221,35 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         return size() == 1 ? new SingleObjectSinkAdapter( getSinks()[0] ) : this;
     }
 
+    private void invalidateDispatch() {
+        this.rangeIndex = null;
+        if ( this.hashedFieldIndexes != null ) {
+            for ( FieldIndex fieldIndex = this.hashedFieldIndexes.getFirst(); fieldIndex != null; fieldIndex = fieldIndex.getNext() ) {
+                fieldIndex.setDispatchTable( null );
+            }
+        }
+    }
+
+    private AlphaNode getHashedSink(final FieldIndex fieldIndex, final Object object) {
+        AlphaNodeDispatchTable dispatchTable = fieldIndex.getDispatchTable();
+        if ( dispatchTable == null ) {
+            dispatchTable = AlphaNodeDispatchTable.build( fieldIndex, this.hashedSinkMap );
+            fieldIndex.setDispatchTable( dispatchTable );
+        }
+        return dispatchTable.isSupported() ?
+               dispatchTable.get( object ) :
+               (AlphaNode) this.hashedSinkMap.get( new HashKey( fieldIndex, object ) );
+    }
+
+    AlphaRangeIndex getRangeIndex() {
+        AlphaRangeIndex index = this.rangeIndex;
+        if ( index == null ) {
+            index = AlphaRangeIndex.build( this.otherSinks, this.alphaNodeHashingThreshold );
+            this.rangeIndex = index;
+        }
+        return index;
+    }
+
     void hashSinks(final FieldIndex fieldIndex) {
         if ( this.hashedSinkMap == null ) {
             this.hashedSinkMap = new ObjectHashMap();
@@ -374,7 +407,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                     continue;
                 }
                 // this field is hashed so set the existing hashKey and see if there is a sink for it
-                final AlphaNode sink = (AlphaNode) this.hashedSinkMap.get( new HashKey( fieldIndex, object ) );
+                final AlphaNode sink = getHashedSink( fieldIndex, object );
                 if ( sink != null ) {
                     // go straight to the AlphaNode's propagator, as we know it's true and no need to retest
                     sink.getObjectSinkPropagator().propagateAssertObject( factHandle, context, workingMemory );
@@ -393,12 +426,24 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         }
 
         if ( this.otherSinks != null ) {
-            // propagate others
-            for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
-                doPropagateAssertObject( factHandle,
-                                         context,
-                                         workingMemory,
-                                         sink );
+            // the nodes comparing the same field with a range of literals are found walking them in order,
+            // unless the field is null and then they have to evaluate their constraints as any other sink
+            final AlphaRangeIndex rangeIndex = getRangeIndex();
+            if ( !rangeIndex.isEmpty() && rangeIndex.propagateAssertObject( factHandle, context, workingMemory ) ) {
+                for ( ObjectSink sink : rangeIndex.getUnindexedSinks() ) {
+                    doPropagateAssertObject( factHandle,
+                                             context,
+                                             workingMemory,
+                                             sink );
+                }
+            } else {
+                // propagate others
+                for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
+                    doPropagateAssertObject( factHandle,
+                                             context,
+                                             workingMemory,
+                                             sink );
+                }
             }
         }
     }
@@ -419,7 +464,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                     continue;
                 }
                 // this field is hashed so set the existing hashKey and see if there is a sink for it
-                final AlphaNode sink = (AlphaNode) this.hashedSinkMap.get( new HashKey( fieldIndex, object ) );
+                final AlphaNode sink = getHashedSink( fieldIndex, object );
                 if ( sink != null ) {
                     // go straight to the AlphaNode's propagator, as we know it's true and no need to retest
                     sink.getObjectSinkPropagator().propagateModifyObject( factHandle, modifyPreviousTuples, context, workingMemory );
@@ -464,7 +509,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                     continue;
                 }
                 // this field is hashed so set the existing hashKey and see if there is a sink for it
-                final AlphaNode sink = (AlphaNode) this.hashedSinkMap.get( new HashKey( fieldIndex, object ) );
+                final AlphaNode sink = getHashedSink( fieldIndex, object );
                 if ( sink != null ) {
                     // only alpha nodes are hashable
                     sink.getObjectSinkPropagator().byPassModifyToBetaNode( factHandle, modifyPreviousTuples, context, workingMemory );
@@ -614,10 +659,10 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         Externalizable {
         private static final long serialVersionUID = 510l;
 
-        private static final byte OBJECT           = 1;
-        private static final byte LONG             = 2;
-        private static final byte DOUBLE           = 3;
-        private static final byte BOOL             = 4;
+        static final byte         OBJECT           = 1;
+        static final byte         LONG             = 2;
+        static final byte         DOUBLE           = 3;
+        static final byte         BOOL             = 4;
 
         private int               index;
 
@@ -675,6 +720,14 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             return this.index;
         }
 
+        byte getType() {
+            return this.type;
+        }
+
+        boolean isNull() {
+            return this.isNull;
+        }
+
         public void setValue(final int index,
                              final Object value,
                              final InternalReadAccessor extractor) {
@@ -899,6 +952,8 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
 
         private boolean              hashed;
 
+        private transient volatile AlphaNodeDispatchTable dispatchTable;
+
         private FieldIndex           previous;
         private FieldIndex           next;
 
@@ -950,6 +1005,14 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             this.hashed = hashed;
         }
 
+        AlphaNodeDispatchTable getDispatchTable() {
+            return this.dispatchTable;
+        }
+
+        void setDispatchTable(final AlphaNodeDispatchTable dispatchTable) {
+            this.dispatchTable = dispatchTable;
+        }
+
         public void increaseCounter() {
             this.count++;
         }
@@ -119,13 +119,22 @@ public class SlidingLengthWindow
                             final PropagationContext pctx,
                             final InternalWorkingMemory workingMemory) {
         SlidingLengthWindowContext window = (SlidingLengthWindowContext) context;
-        final int last = (window.pos == 0) ? window.handles.length - 1 : window.pos - 1;
-        // we start the loop on current pos because the most common scenario is to retract the
-        // right tuple referenced by the current "pos" position, causing this loop to only execute
-        // the first iteration
-        for ( int i = window.pos; i != last; i = (i + 1) % window.handles.length ) {
-            if ( window.handles[i] == handle ) {
-                window.handles[i] = null;
+        final EventFactHandle[] handles = window.handles;
+        // the most common scenarios are retracting the event referenced by the current "pos" position,
+        // which is the one being evicted by a new event, and retracting the oldest event right after "pos",
+        // so both are checked before scanning the whole window
+        if ( handles[window.pos] == handle ) {
+            handles[window.pos] = null;
+            return;
+        }
+        final int oldest = (window.pos + 1) % handles.length;
+        if ( handles[oldest] == handle ) {
+            handles[oldest] = null;
+            return;
+        }
+        for ( int i = (oldest + 1) % handles.length; i != window.pos; i = (i + 1) % handles.length ) {
+            if ( handles[i] == handle ) {
+                handles[i] = null;
                 break;
             }
         }
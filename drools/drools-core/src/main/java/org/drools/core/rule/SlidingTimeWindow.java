@@ -22,7 +22,11 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.PriorityQueue;
 
 import org.drools.core.common.EventFactHandle;
@@ -233,17 +237,23 @@ public class SlidingTimeWindow
         return "SlidingTimeWindow( size=" + size + " )";
     }
 
+    /**
+     * Keeps the events of the window ordered by their timestamp. Events usually arrive in
+     * timestamp order, so they are appended to an array based deque where adding and expiring
+     * are O(1); only events arriving out of order are kept in a priority queue.
+     */
     public static class SlidingTimeWindowContext
             implements
             Behavior.Context,
             Externalizable {
 
-        private PriorityQueue<EventFactHandle> queue;
+        private ArrayDeque<EventFactHandle>    queue;
+        private PriorityQueue<EventFactHandle> outOfOrder;
         private EventFactHandle                expiringHandle;
         private JobHandle                      jobHandle;
 
         public SlidingTimeWindowContext() {
-            this.queue = new PriorityQueue<>(16); // arbitrary size... can we improve it?
+            this.queue = new ArrayDeque<>();
         }
 
         @Override
@@ -260,13 +270,18 @@ public class SlidingTimeWindow
         @SuppressWarnings("unchecked")
         public void readExternal(ObjectInput in) throws IOException,
                                                         ClassNotFoundException {
-            this.queue = (PriorityQueue<EventFactHandle>) in.readObject();
+            this.queue = new ArrayDeque<>();
+            this.outOfOrder = null;
+            // events are re-added one by one so both the current and the former (single priority queue) format can be read
+            for (EventFactHandle handle : (Collection<EventFactHandle>) in.readObject()) {
+                add( handle );
+            }
             this.expiringHandle = (EventFactHandle) in.readObject();
         }
 
         @Override
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject( this.queue );
+            out.writeObject( new ArrayList<>( getFactHandles() ) );
             out.writeObject( this.expiringHandle );
         }
 
@@ -279,32 +294,64 @@ public class SlidingTimeWindow
         }
 
         public void add(EventFactHandle handle) {
-            queue.add( handle );
+            EventFactHandle last = queue.peekLast();
+            if ( last == null || last.compareTo( handle ) <= 0 ) {
+                queue.addLast( handle );
+            } else {
+                if ( outOfOrder == null ) {
+                    outOfOrder = new PriorityQueue<>();
+                }
+                outOfOrder.add( handle );
+            }
         }
 
         public void remove(EventFactHandle handle) {
-            queue.remove( handle );
+            if ( queue.peekFirst() == handle ) {
+                queue.pollFirst();
+            } else if ( queue.peekLast() == handle ) {
+                queue.pollLast();
+            } else if ( !queue.remove( handle ) && outOfOrder != null ) {
+                outOfOrder.remove( handle );
+            }
         }
 
         public boolean isEmpty() {
-            return queue.isEmpty();
+            return queue.isEmpty() && ( outOfOrder == null || outOfOrder.isEmpty() );
         }
 
         public EventFactHandle peek() {
-            return queue.peek( );
+            return headOfOutOfOrder() ? outOfOrder.peek() : queue.peekFirst();
         }
 
         public EventFactHandle poll() {
-            return queue.poll( );
+            return headOfOutOfOrder() ? outOfOrder.poll() : queue.pollFirst();
         }
 
         public EventFactHandle remove() {
-            return queue.remove( );
+            EventFactHandle handle = poll();
+            if ( handle == null ) {
+                throw new NoSuchElementException();
+            }
+            return handle;
+        }
+
+        private boolean headOfOutOfOrder() {
+            if ( outOfOrder == null || outOfOrder.isEmpty() ) {
+                return false;
+            }
+            EventFactHandle first = queue.peekFirst();
+            return first == null || outOfOrder.peek().compareTo( first ) < 0;
         }
 
         @Override
         public Collection<EventFactHandle> getFactHandles() {
-            return queue;
+            if ( outOfOrder == null || outOfOrder.isEmpty() ) {
+                return queue;
+            }
+            List<EventFactHandle> handles = new ArrayList<>( queue.size() + outOfOrder.size() );
+            handles.addAll( queue );
+            handles.addAll( outOfOrder );
+            return handles;
         }
     }
 
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.rule.constraint;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.drools.core.definitions.rule.impl.RuleImpl;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.AbstractTerminalNode;
+import org.drools.core.reteoo.AlphaNode;
+import org.drools.core.reteoo.BaseNode;
+import org.drools.core.reteoo.BetaNode;
+import org.drools.core.reteoo.LeftInputAdapterNode;
+import org.drools.core.reteoo.LeftTupleSource;
+import org.drools.core.reteoo.ObjectSource;
+import org.drools.core.reteoo.RightInputAdapterNode;
+import org.drools.core.spi.AlphaNodeFieldConstraint;
+import org.drools.core.spi.BetaNodeFieldConstraint;
+
+/**
+ * Walks the network of a set of rules, from their terminal nodes up to the object type nodes,
+ * and prepares in parallel the evaluators of the mvel constraints found on the way.
+ * Used when the kbase is configured with eager constraint jitting.
+ */
+public class EagerConstraintCompiler {
+
+    private final Set<BaseNode> visitedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+    // constraints are compared by identity because equal constraints of different nodes have their own evaluator
+    private final Set<MvelConstraint> constraints = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public static void prepare(InternalKnowledgeBase kBase, Collection<RuleImpl> rules) {
+        EagerConstraintCompiler compiler = new EagerConstraintCompiler();
+        for (RuleImpl rule : rules) {
+            BaseNode[] terminalNodes = kBase.getReteooBuilder().getTerminalNodes(rule);
+            if (terminalNodes == null) {
+                continue;
+            }
+            for (BaseNode terminalNode : terminalNodes) {
+                if (terminalNode instanceof AbstractTerminalNode) {
+                    compiler.collectLeft(((AbstractTerminalNode) terminalNode).getLeftTupleSource());
+                }
+            }
+        }
+        compiler.constraints.parallelStream().forEach(constraint -> constraint.prepareEvaluator(kBase));
+    }
+
+    private void collectLeft(LeftTupleSource node) {
+        while (node != null && visitedNodes.add(node)) {
+            if (node instanceof BetaNode) {
+                BetaNode betaNode = (BetaNode) node;
+                for (BetaNodeFieldConstraint constraint : betaNode.getConstraints()) {
+                    collect(constraint);
+                }
+                collectRight(betaNode.getRightInput());
+            } else if (node instanceof LeftInputAdapterNode) {
+                collectRight(((LeftInputAdapterNode) node).getObjectSource());
+            }
+            node = node.getLeftTupleSource();
+        }
+    }
+
+    private void collectRight(ObjectSource node) {
+        while (node != null && visitedNodes.add(node)) {
+            if (node instanceof AlphaNode) {
+                AlphaNodeFieldConstraint constraint = ((AlphaNode) node).getConstraint();
+                collect(constraint);
+            } else if (node instanceof RightInputAdapterNode) {
+                collectLeft(((RightInputAdapterNode) node).getLeftTupleSource());
+                return;
+            }
+            node = node.getParentObjectSource();
+        }
+    }
+
+    private void collect(Object constraint) {
+        if (constraint instanceof MvelConstraint) {
+            constraints.add((MvelConstraint) constraint);
+        }
+    }
+}
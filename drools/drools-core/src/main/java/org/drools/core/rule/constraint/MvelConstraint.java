@@ -198,6 +198,13 @@ public class MvelConstraint extends MutableTypeConstraint implements IndexableCo
         return isUnification;
     }
 
+    /**
+     * @return true once the jitting of this constraint has been started
+     */
+    public boolean isJitted() {
+        return jitted;
+    }
+
     @Override
     public void unsetUnification() {
         isUnification = false;
@@ -278,17 +285,47 @@ public class MvelConstraint extends MutableTypeConstraint implements IndexableCo
 
     protected ConditionEvaluator createMvelConditionEvaluator(InternalWorkingMemory workingMemory) {
         if (compilationUnit != null) {
-            MVELDialectRuntimeData data = getMVELDialectRuntimeData(workingMemory);
-            ExecutableStatement statement = (ExecutableStatement)compilationUnit.getCompiledExpression(data, evaluationContext);
-            ParserConfiguration configuration = statement instanceof CompiledExpression ?
-                    ((CompiledExpression)statement).getParserConfiguration() :
-                    data.getParserConfiguration();
-            return new MvelConditionEvaluator(compilationUnit, configuration, statement, declarations, operators, getAccessedClass());
+            return createCompiledConditionEvaluator(getMVELDialectRuntimeData(workingMemory));
         } else {
             return new MvelConditionEvaluator(getParserConfiguration(workingMemory), expression, declarations, operators, getAccessedClass());
         }
     }
 
+    private ConditionEvaluator createCompiledConditionEvaluator(MVELDialectRuntimeData data) {
+        ExecutableStatement statement = (ExecutableStatement)compilationUnit.getCompiledExpression(data, evaluationContext);
+        ParserConfiguration configuration = statement instanceof CompiledExpression ?
+                ((CompiledExpression)statement).getParserConfiguration() :
+                data.getParserConfiguration();
+        return new MvelConditionEvaluator(compilationUnit, configuration, statement, declarations, operators, getAccessedClass());
+    }
+
+    /**
+     * Creates the mvel evaluator of this constraint before its first evaluation and makes the first evaluation,
+     * instead of the one reaching the jitting threshold, start jitting it in background.
+     * Nothing is done when the jitting is forced at the first evaluation by a threshold of 0.
+     */
+    public void prepareEvaluator(InternalKnowledgeBase kBase) {
+        int jittingThreshold = kBase.getConfiguration().getJittingThreshold();
+        if (isUnification || jittingThreshold == 0 || conditionEvaluator != null) {
+            return;
+        }
+        MVELDialectRuntimeData data = getMVELDialectRuntimeData(kBase);
+        if (data == null) {
+            return;
+        }
+        ConditionEvaluator evaluator = compilationUnit != null ?
+                createCompiledConditionEvaluator(data) :
+                new MvelConditionEvaluator(data.getParserConfiguration(), expression, declarations, operators, getAccessedClass());
+        synchronized (this) {
+            if (conditionEvaluator == null) {
+                conditionEvaluator = evaluator;
+                if (!isDynamic) {
+                    invocationCounter.set(jittingThreshold);
+                }
+            }
+        }
+    }
+
     protected ConditionEvaluator forceJitEvaluator(InternalFactHandle handle, InternalWorkingMemory workingMemory, Tuple tuple) {
         ConditionEvaluator mvelEvaluator = createMvelConditionEvaluator(workingMemory);
         try {
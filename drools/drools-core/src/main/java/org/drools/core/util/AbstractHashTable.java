@@ -22,8 +22,10 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Objects;
 
+import org.drools.core.base.extractors.MVELClassFieldReader;
 import org.drools.core.rule.Declaration;
 import org.drools.core.rule.IndexEvaluator;
+import org.drools.core.rule.constraint.MvelConstraint.PlainIndexEvaluator;
 import org.drools.core.spi.InternalReadAccessor;
 import org.drools.core.spi.ReadAccessor;
 import org.drools.core.spi.Tuple;
@@ -302,6 +304,7 @@ public abstract class AbstractHashTable
         private Declaration             declaration;
         private IndexEvaluator          evaluator;
         private boolean                 requiresCoercion;
+        private boolean                 integerKey;
 
         public FieldIndex() {
 
@@ -315,12 +318,24 @@ public abstract class AbstractHashTable
             this.declaration = declaration;
             this.evaluator = evaluator;
             this.requiresCoercion = isCoercionRequired( extractor, declaration );
+            this.integerKey = isIntegerKey( extractor, declaration, evaluator, requiresCoercion );
         }
 
         private boolean isCoercionRequired( InternalReadAccessor extractor, Declaration declaration ) {
             return extractor.getValueType() != declaration.getExtractor().getValueType();
         }
 
+        private boolean isIntegerKey( InternalReadAccessor extractor, Declaration declaration, IndexEvaluator evaluator, boolean requiresCoercion ) {
+            // a primitive integer can't be null and, when both sides have the same type, plain equality is the same as ==
+            // mvel readers are excluded because a null safe navigation can still return null for a primitive property
+            return !requiresCoercion &&
+                   evaluator instanceof PlainIndexEvaluator &&
+                   !(extractor instanceof MVELClassFieldReader) &&
+                   !(declaration.getExtractor() instanceof MVELClassFieldReader) &&
+                   extractor.getValueType().isIntegerNumber() &&
+                   extractor.getValueType().getClassType().isPrimitive();
+        }
+
         @Override
         public void readExternal(ObjectInput in) throws IOException,
                                                 ClassNotFoundException {
@@ -328,6 +343,7 @@ public abstract class AbstractHashTable
             declaration = (Declaration) in.readObject();
             evaluator = (IndexEvaluator) in.readObject();
             requiresCoercion = isCoercionRequired( extractor, declaration );
+            integerKey = isIntegerKey( extractor, declaration, evaluator, requiresCoercion );
         }
 
         @Override
@@ -357,6 +373,20 @@ public abstract class AbstractHashTable
                    extractor.getHashCode( null, tuple.getFactHandle().getObject() );
         }
 
+        /**
+         * Returns true when both sides of this index are the same primitive integer type, so that their values
+         * can be hashed and compared as longs, see {@link LongKeyIndex}
+         */
+        public boolean isIntegerKey() {
+            return this.integerKey;
+        }
+
+        public long longValueOf(Tuple tuple, boolean left) {
+            return left ?
+                   declaration.getExtractor().getLongValue( null, tuple.getObject( declaration ) ) :
+                   extractor.getLongValue( null, tuple.getFactHandle().getObject() );
+        }
+
         public Object indexedValueOf(Tuple tuple, boolean left) {
             return left ?
                     ( requiresCoercion ?
@@ -792,6 +822,134 @@ public abstract class AbstractHashTable
         }
     }
 
+    /**
+     * An index on up to 3 fields that are all of the same primitive integer type on both sides of the join.
+     * The keys are kept unboxed in the {@link LongKeyTupleList} buckets and compared with == instead of going
+     * through the {@link IndexEvaluator}, while the hash codes are the same of the other {@link Index}es.
+     */
+    public static class LongKeyIndex
+        implements
+        Index {
+
+        private static final long serialVersionUID = 510l;
+
+        private FieldIndex[]      indexes;
+
+        private int               startResult;
+
+        public LongKeyIndex() {
+
+        }
+
+        public LongKeyIndex(final FieldIndex[] indexes,
+                            final int startResult) {
+            this.startResult = startResult;
+            this.indexes = indexes;
+        }
+
+        public static boolean isSupported(final FieldIndex[] indexes) {
+            if ( indexes.length == 0 || indexes.length > 3 ) {
+                return false;
+            }
+            for ( FieldIndex index : indexes ) {
+                if ( !index.isIntegerKey() ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            indexes = (FieldIndex[]) in.readObject();
+            startResult = in.readInt();
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( indexes );
+            out.writeInt( startResult );
+        }
+
+        @Override
+        public FieldIndex getFieldIndex(int index) {
+            if ( index < 0 || index >= indexes.length ) {
+                throw new IllegalArgumentException( "IndexUtil position " + index + " does not exist" );
+            }
+            return this.indexes[index];
+        }
+
+        @Override
+        public int hashCodeOf(Tuple tuple, boolean left) {
+            int hashCode = this.startResult;
+            for ( FieldIndex index : this.indexes ) {
+                hashCode = PRIME * hashCode + index.hashCodeOf( tuple, left );
+            }
+            return rehash( hashCode );
+        }
+
+        @Override
+        public boolean areEqual(final Object right,
+                                final Tuple tuple) {
+            for ( FieldIndex index : this.indexes ) {
+                if ( index.declaration.getExtractor().getLongValue( null, tuple.getObject( index.declaration ) ) !=
+                     index.extractor.getLongValue( null, right ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean areEqual(final TupleList list,
+                                final Tuple tuple2) {
+            long[] indexKeys = ( (LongKeyTupleList) list ).indexKeys;
+            for ( int i = 0; i < indexKeys.length; i++ ) {
+                FieldIndex index = this.indexes[i];
+                if ( indexKeys[i] != index.declaration.getExtractor().getLongValue( null, tuple2.getObject( index.declaration ) ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean areEqual(final TupleList list,
+                                final Object object2) {
+            long[] indexKeys = ( (LongKeyTupleList) list ).indexKeys;
+            for ( int i = 0; i < indexKeys.length; i++ ) {
+                if ( indexKeys[i] != this.indexes[i].extractor.getLongValue( null, object2 ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public TupleList createEntry(Tuple tuple, int hashCode, boolean left) {
+            return new LongKeyTupleList( this, tuple, hashCode, left );
+        }
+    }
+
+    public static class LongKeyTupleList extends AbstractIndexTupleList {
+        private long[] indexKeys;
+
+        public LongKeyTupleList( LongKeyIndex index, Tuple tuple, int hashCode, boolean left ) {
+            super( index, hashCode );
+            indexKeys = new long[index.indexes.length];
+            for ( int i = 0; i < indexKeys.length; i++ ) {
+                indexKeys[i] = index.indexes[i].longValueOf( tuple, left );
+            }
+        }
+
+        @Override
+        protected void copyStateInto(TupleList other) {
+            super.copyStateInto( other );
+            ( (LongKeyTupleList) other ).indexKeys = indexKeys;
+        }
+    }
+
     public void clear() {
         this.table = new Entry[Math.min( this.table.length,
                                          16 )];
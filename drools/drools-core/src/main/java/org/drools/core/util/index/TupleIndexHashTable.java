@@ -69,6 +69,13 @@ public class TupleIndexHashTable extends AbstractHashTable implements TupleMemor
             this.startResult += PRIME * this.startResult + i.getExtractor().getIndex();
         }
 
+        if ( LongKeyIndex.isSupported( index ) ) {
+            // primitive integer join keys are compared unboxed
+            this.index = new LongKeyIndex( index,
+                                           this.startResult );
+            return;
+        }
+
         switch ( index.length ) {
             case 0 :
                 throw new IllegalArgumentException( "FieldIndexHashTable cannot use an index[] of length  0" );
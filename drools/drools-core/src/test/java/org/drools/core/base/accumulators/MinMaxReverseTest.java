@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MinMaxReverseTest {
+
+    @Test
+    public void shouldRestoreMaxAfterReverse() {
+        IntegerMaxAccumulateFunction function = new IntegerMaxAccumulateFunction();
+        IntegerMaxAccumulateFunction.MaxData data = function.createContext();
+        function.init(data);
+        assertTrue(function.supportsReverse());
+
+        function.accumulate(data, 3);
+        function.accumulate(data, 7);
+        function.accumulate(data, 7);
+        function.accumulate(data, 5);
+        assertEquals(7, function.getResult(data));
+
+        // duplicated values are counted
+        function.reverse(data, 7);
+        assertEquals(7, function.getResult(data));
+        function.reverse(data, 7);
+        assertEquals(5, function.getResult(data));
+
+        function.reverse(data, 5);
+        function.reverse(data, 3);
+        assertNull(function.getResult(data));
+    }
+
+    @Test
+    public void shouldRestoreLongMinAfterReverse() throws Exception {
+        LongMinAccumulateFunction function = new LongMinAccumulateFunction();
+        LongMinAccumulateFunction.MaxData data = function.createContext();
+        function.init(data);
+        assertTrue(function.supportsReverse());
+
+        for (long value = 100; value > 0; value--) {
+            function.accumulate(data, value);
+        }
+        function.accumulate(data, 1L);
+        assertEquals(1L, function.getResult(data));
+
+        function.reverse(data, 1L);
+        assertEquals(1L, function.getResult(data));
+        function.reverse(data, 1L);
+        assertEquals(2L, function.getResult(data));
+        // values never accumulated are ignored
+        function.reverse(data, 1L);
+        assertEquals(2L, function.getResult(data));
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(baos)) {
+            out.writeObject(data);
+        }
+        LongMinAccumulateFunction.MaxData copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+            copy = (LongMinAccumulateFunction.MaxData) in.readObject();
+        }
+        for (long value = 2; value < 100; value++) {
+            function.reverse(copy, value);
+        }
+        assertEquals(100L, function.getResult(copy));
+        function.reverse(copy, 100L);
+        assertNull(function.getResult(copy));
+    }
+
+    @Test
+    public void shouldRestoreNumericMinAfterReverse() {
+        NumericMinAccumulateFunction function = new NumericMinAccumulateFunction();
+        NumericMinAccumulateFunction.MaxData data = function.createContext();
+        function.init(data);
+
+        function.accumulate(data, 2.5d);
+        function.accumulate(data, 1L);
+        function.accumulate(data, 4);
+        assertEquals(1L, function.getResult(data));
+
+        function.reverse(data, 1L);
+        assertEquals(2.5d, function.getResult(data));
+    }
+
+    @Test
+    public void shouldSerializeAccumulatedValues() throws Exception {
+        MinAccumulateFunction function = new MinAccumulateFunction();
+        MinAccumulateFunction.MinData data = function.createContext();
+        function.init(data);
+        function.accumulate(data, "b");
+        function.accumulate(data, "a");
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(baos)) {
+            out.writeObject(data);
+        }
+        MinAccumulateFunction.MinData copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+            copy = (MinAccumulateFunction.MinData) in.readObject();
+        }
+
+        assertEquals("a", function.getResult(copy));
+        function.reverse(copy, "a");
+        assertEquals("b", function.getResult(copy));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.drools.core.marshalling.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.junit.jupiter.api.Test;
+import org.kie.api.marshalling.Marshaller;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.marshalling.MarshallerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ProtobufMarshallerTest {
+
+    @Test
+    public void testRoundTripOfSessionBiggerThanStreamBuffer() throws Exception {
+        InternalKnowledgeBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        KieSession ksession = kbase.newKieSession();
+
+        Set<String> facts = new HashSet<>();
+        for ( int i = 0; i < 20000; i++ ) {
+            String fact = "fact-" + i;
+            facts.add( fact );
+            ksession.insert( fact );
+        }
+
+        Marshaller marshaller = MarshallerFactory.newMarshaller( kbase );
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        marshaller.marshall( bos, ksession );
+
+        KieSession restored = marshaller.unmarshall( new ByteArrayInputStream( bos.toByteArray() ) );
+        assertEquals( facts.size(), restored.getFactCount() );
+        assertEquals( facts, new HashSet<>( restored.getObjects() ) );
+
+        restored.dispose();
+        ksession.dispose();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class LockFreePropagationListTest {
+
+    @Test
+    public void testTakeAllPreservesInsertionOrder() {
+        LockFreePropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+        assertTrue( list.isEmpty() );
+
+        for (int i = 0; i < 5; i++) {
+            list.addEntry( new TestEntry( 0, i ) );
+        }
+        assertFalse( list.isEmpty() );
+
+        int expected = 0;
+        for (PropagationEntry entry = list.takeAll(); entry != null; entry = entry.getNext()) {
+            assertEquals( expected++, (( TestEntry ) entry).j );
+        }
+        assertEquals( 5, expected );
+        assertTrue( list.isEmpty() );
+        assertNull( list.takeAll() );
+    }
+
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        final int THREAD_NR = 4;
+        final int OBJECT_NR = 10000;
+
+        LockFreePropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+        ExecutorService executor = Executors.newFixedThreadPool( THREAD_NR );
+        CountDownLatch done = new CountDownLatch( THREAD_NR );
+        try {
+            for (int i = 0; i < THREAD_NR; i++) {
+                final int producer = i;
+                executor.submit( () -> {
+                    for (int j = 0; j < OBJECT_NR; j++) {
+                        list.addEntry( new TestEntry( producer, j ) );
+                    }
+                    done.countDown();
+                } );
+            }
+
+            int[] counters = new int[THREAD_NR];
+            int total = 0;
+            while (total < THREAD_NR * OBJECT_NR) {
+                PropagationEntry head = list.takeAll();
+                if (head == null) {
+                    list.waitOnRest();
+                    continue;
+                }
+                for (PropagationEntry entry = head; entry != null; entry = entry.getNext()) {
+                    TestEntry testEntry = ( TestEntry ) entry;
+                    // entries of the same producer must be consumed in the order they have been added
+                    assertEquals( counters[testEntry.i]++, testEntry.j );
+                    total++;
+                }
+            }
+            assertTrue( done.await( 10, TimeUnit.SECONDS ) );
+            assertTrue( list.isEmpty() );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testIterator() {
+        LockFreePropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+        list.addEntry( new TestEntry( 0, 0 ) );
+        list.addEntry( new TestEntry( 0, 1 ) );
+
+        List<Integer> values = new ArrayList<>();
+        list.iterator().forEachRemaining( e -> values.add( (( TestEntry ) e).j ) );
+        assertEquals( 0, values.get( 0 ).intValue() );
+        assertEquals( 1, values.get( 1 ).intValue() );
+    }
+
+    private static class TestEntry extends PropagationEntry.AbstractPropagationEntry {
+
+        private final int i;
+        private final int j;
+
+        private TestEntry( int i, int j ) {
+            this.i = i;
+            this.j = j;
+        }
+
+        @Override
+        public void execute( InternalWorkingMemory wm ) { }
+    }
+}
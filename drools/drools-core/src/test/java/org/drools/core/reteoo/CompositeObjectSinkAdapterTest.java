@@ -41,6 +41,7 @@ import org.drools.core.reteoo.builder.BuildContext;
 import org.drools.core.rule.MvelConstraintTestUtil;
 import org.drools.core.rule.PredicateConstraint;
 import org.drools.core.rule.constraint.MvelConstraint;
+import org.drools.core.spi.FieldValue;
 import org.drools.core.spi.InternalReadAccessor;
 import org.drools.core.spi.PropagationContext;
 import org.drools.core.test.model.Cheese;
@@ -495,6 +496,81 @@ public class CompositeObjectSinkAdapterTest {
 
     }
 
+    @Test
+    public void testHashedAlphasDispatchTable() {
+        final CompositeObjectSinkAdapter ad = new CompositeObjectSinkAdapter();
+        InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                          "type" );
+
+        final MockObjectSink stiltonSink = new MockObjectSink();
+        final MockObjectSink brieSink = new MockObjectSink();
+        final MockObjectSink cheddarSink = new MockObjectSink();
+        ad.addObjectSink( newAlphaNode( "type == \"stilton\"", new ObjectFieldImpl( "stilton" ), extractor, stiltonSink ) );
+        ad.addObjectSink( newAlphaNode( "type == \"brie\"", new ObjectFieldImpl( "brie" ), extractor, brieSink ) );
+        ad.addObjectSink( newAlphaNode( "type == \"cheddar\"", new ObjectFieldImpl( "cheddar" ), extractor, cheddarSink ) );
+        assertNotNull( ad.hashedSinkMap );
+
+        ad.propagateAssertObject( newFactHandle( new Cheese( "brie", 10 ) ), null, null );
+        ad.propagateAssertObject( newFactHandle( new Cheese( "gorgonzola", 10 ) ), null, null );
+
+        assertEquals( 0, stiltonSink.getAsserted().size() );
+        assertEquals( 1, brieSink.getAsserted().size() );
+        assertEquals( 0, cheddarSink.getAsserted().size() );
+    }
+
+    @Test
+    public void testRangeIndexedAlphas() {
+        final CompositeObjectSinkAdapter ad = new CompositeObjectSinkAdapter();
+        InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                          "price" );
+
+        final MockObjectSink gt10 = new MockObjectSink();
+        final MockObjectSink gt19 = new MockObjectSink();
+        final MockObjectSink gt20 = new MockObjectSink();
+        final MockObjectSink gt30 = new MockObjectSink();
+        final MockObjectSink lt15 = new MockObjectSink();
+        final MockObjectSink lt21 = new MockObjectSink();
+        ad.addObjectSink( newAlphaNode( "price > 30", new LongFieldImpl( 30 ), extractor, gt30 ) );
+        ad.addObjectSink( newAlphaNode( "price > 10", new LongFieldImpl( 10 ), extractor, gt10 ) );
+        ad.addObjectSink( newAlphaNode( "price > 20", new LongFieldImpl( 20 ), extractor, gt20 ) );
+        ad.addObjectSink( newAlphaNode( "price > 19", new LongFieldImpl( 19 ), extractor, gt19 ) );
+        ad.addObjectSink( newAlphaNode( "price < 15", new LongFieldImpl( 15 ), extractor, lt15 ) );
+        ad.addObjectSink( newAlphaNode( "price < 21", new LongFieldImpl( 21 ), extractor, lt21 ) );
+
+        assertEquals( 6, ad.otherSinks.size() );
+        assertEquals( 6, ad.getRangeIndex().getIndexedNodes().length );
+        assertEquals( 0, ad.getRangeIndex().getUnindexedSinks().length );
+
+        ad.propagateAssertObject( newFactHandle( new Cheese( "brie", 20 ) ), null, null );
+
+        assertEquals( 1, gt10.getAsserted().size() );
+        assertEquals( 1, gt19.getAsserted().size() );
+        assertEquals( 0, gt20.getAsserted().size() );
+        assertEquals( 0, gt30.getAsserted().size() );
+        assertEquals( 0, lt15.getAsserted().size() );
+        assertEquals( 1, lt21.getAsserted().size() );
+
+        // removing a node rebuilds the index
+        ad.removeObjectSink( ad.getRangeIndex().getIndexedNodes()[0] );
+        assertEquals( 5, ad.getRangeIndex().getIndexedNodes().length );
+    }
+
+    private AlphaNode newAlphaNode( String expression, FieldValue field, InternalReadAccessor extractor, ObjectSink sink ) {
+        final AlphaNode alphaNode = new AlphaNode( buildContext.getNextId(),
+                                                   new MvelConstraintTestUtil( expression, field, extractor ),
+                                                   new MockObjectSource( buildContext.getNextId() ),
+                                                   buildContext );
+        alphaNode.addObjectSink( sink );
+        return alphaNode;
+    }
+
+    private InternalFactHandle newFactHandle( Object object ) {
+        return new ReteooFactHandleFactory().newFactHandle( object,
+                                                            null,
+                                                            null,
+                                                            new DisconnectedWorkingMemoryEntryPoint( "DEFAULT" ) );
+    }
+
     public static class MockExtractor
         implements
         InternalReadAccessor {
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.rule;
+
+import org.drools.core.common.DisconnectedWorkingMemoryEntryPoint;
+import org.drools.core.common.EventFactHandle;
+import org.drools.core.rule.SlidingTimeWindow.SlidingTimeWindowContext;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SlidingTimeWindowContextTest {
+
+    @Test
+    public void testInOrderAndOutOfOrderEvents() {
+        SlidingTimeWindowContext context = new SlidingTimeWindowContext();
+        EventFactHandle e10 = event( 1, 10 );
+        EventFactHandle e20 = event( 2, 20 );
+        EventFactHandle e15 = event( 3, 15 );
+        EventFactHandle e5 = event( 4, 5 );
+        EventFactHandle e30 = event( 5, 30 );
+
+        context.add( e10 );
+        context.add( e20 );
+        context.add( e15 );
+        context.add( e5 );
+        context.add( e30 );
+        assertEquals( 5, context.getFactHandles().size() );
+
+        assertSame( e5, context.poll() );
+        assertSame( e10, context.poll() );
+        context.remove( e20 );
+        assertSame( e15, context.peek() );
+        assertSame( e15, context.remove() );
+        assertSame( e30, context.poll() );
+        assertTrue( context.isEmpty() );
+        assertNull( context.peek() );
+    }
+
+    private EventFactHandle event( long id, long timestamp ) {
+        return new EventFactHandle( id, "e" + id, id, timestamp, 0, new DisconnectedWorkingMemoryEntryPoint( "DEFAULT" ) );
+    }
+}
@@ -41,8 +41,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RightTupleIndexHashTableTest {
 
@@ -109,6 +111,68 @@ public class RightTupleIndexHashTableTest {
         assertNull( tuple.getNext() );
     }
 
+    @Test
+    public void testPrimitiveIntegerKey() throws Exception {
+        final InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                                "price" );
+
+        final Pattern pattern = new Pattern( 0,
+                                             new ClassObjectType( Cheese.class ) );
+
+        final Declaration declaration = new Declaration( "priceOfCheese",
+                                                         extractor,
+                                                         pattern );
+
+        final FieldIndex fieldIndex = new FieldIndex( extractor,
+                                                      declaration,
+                                                      MvelConstraint.INDEX_EVALUATOR );
+        assertTrue( fieldIndex.isIntegerKey() );
+
+        final TupleIndexHashTable map = new TupleIndexHashTable( new FieldIndex[]{fieldIndex}, false );
+        assertTrue( map.getIndex() instanceof AbstractHashTable.LongKeyIndex );
+
+        final RightTuple stiltonRightTuple = new RightTupleImpl( new DefaultFactHandle( 1,
+                                                                                     new Cheese( "stilton",
+                                                                                                 35 ) ),
+                                                             null );
+        map.add( stiltonRightTuple );
+        map.add( new RightTupleImpl( new DefaultFactHandle( 2,
+                                                            new Cheese( "cheddar",
+                                                                        10 ) ),
+                                     null ) );
+
+        assertEquals( 2,
+                      map.size() );
+        assertEquals( 2,
+                      tablePopulationSize( map ) );
+
+        final Tuple tuple = map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 3,
+                                                                                    new Cheese( "brie",
+                                                                                                35 ) ),
+                                                             null,
+                                                             true ) );
+        assertSame( stiltonRightTuple.getFactHandle(),
+                    tuple.getFactHandle() );
+        assertNull( tuple.getNext() );
+
+        assertNull( map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 4,
+                                                                            new Cheese( "brie",
+                                                                                        20 ) ),
+                                                     null,
+                                                     true ) ) );
+
+        // the string keys keep using the generic index
+        final InternalReadAccessor typeExtractor = store.getReader( Cheese.class,
+                                                                    "type" );
+        final FieldIndex typeIndex = new FieldIndex( typeExtractor,
+                                                     new Declaration( "typeOfCheese",
+                                                                      typeExtractor,
+                                                                      pattern ),
+                                                     MvelConstraint.INDEX_EVALUATOR );
+        assertFalse( typeIndex.isIntegerKey() );
+        assertFalse( new TupleIndexHashTable( new FieldIndex[]{typeIndex}, false ).getIndex() instanceof AbstractHashTable.LongKeyIndex );
+    }
+
     @Test
     public void testTwoDifferentEntries() throws Exception {
         final InternalReadAccessor extractor = store.getReader( Cheese.class,
@@ -16,11 +16,14 @@
 
 package org.drools.modelcompiler.constraints;
 
+import java.util.Arrays;
+
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.rule.Declaration;
 import org.drools.core.spi.Tuple;
 import org.drools.model.Binding;
+import org.drools.model.impl.ModelComponent;
 
 public class BindingEvaluator {
     private final Declaration[] declarations;
@@ -58,4 +61,21 @@ public class BindingEvaluator {
         Object object = tuple != null && declaration.getPattern().getOffset() < tuple.size() ? tuple.getObject(declaration.getPattern().getOffset()) : handle.getObject();
         return declaration.getValue(workingMemory, object);
     }
+
+    @Override
+    public boolean equals( Object o ) {
+        if ( this == o ) return true;
+        if ( o == null || getClass() != o.getClass() ) return false;
+
+        BindingEvaluator that = ( BindingEvaluator ) o;
+        if ( !Arrays.equals( declarations, that.declarations ) ) return false;
+        if ( binding.getClass() != that.binding.getClass() ) return false;
+        return ModelComponent.areEqualInModel( binding, that.binding );
+    }
+
+    @Override
+    public int hashCode() {
+        // the binding function is a lambda, so its hashCode isn't stable across equal bindings
+        return 31 * Arrays.hashCode( declarations ) + binding.getClass().hashCode();
+    }
 }
@@ -1,5 +1,9 @@
 package org.drools.modelcompiler.constraints;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashMap;
@@ -15,31 +19,18 @@ import org.drools.core.rule.Declaration;
 import org.drools.core.spi.Accumulator;
 import org.drools.core.spi.Tuple;
 
+/**
+ * Accumulator backed by an accumulate function of the executable model.
+ * <p>
+ * Equality is based on the function and on the accumulated expression only, so that an
+ * AccumulateNode is shared by rules accumulating the identical function over the same source,
+ * windowed or not. Rules using different functions over the same window, e.g. avg and max,
+ * do not share any accumulation state and are maintained by separate nodes.
+ */
 public abstract class LambdaAccumulator implements Accumulator {
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (o == null || getClass() != o.getClass()) {
-            return false;
-        }
-        LambdaAccumulator that = (LambdaAccumulator) o;
-        return Objects.equals(accumulateFunction, that.accumulateFunction) &&
-                Objects.equals(sourceVariables, that.sourceVariables) &&
-                Objects.equals(reverseSupport, that.reverseSupport);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(accumulateFunction, sourceVariables, reverseSupport);
-    }
-
     private final org.kie.api.runtime.rule.AccumulateFunction accumulateFunction;
     protected final List<String> sourceVariables;
-    private Map<Long, Object> reverseSupport;
-
 
     protected LambdaAccumulator(org.kie.api.runtime.rule.AccumulateFunction accumulateFunction, List<String> sourceVariables) {
         this.accumulateFunction = accumulateFunction;
@@ -54,28 +45,35 @@ public abstract class LambdaAccumulator implements Accumulator {
 
     @Override
     public Serializable createContext() {
+        LambdaAccContext context = new LambdaAccContext();
         try {
-            return accumulateFunction.createContext();
+            context.context = accumulateFunction.createContext();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
+        if (supportsReverse()) {
+            context.reverseSupport = new HashMap<>();
+        }
+        return context;
     }
 
     @Override
     public void init(Object workingMemoryContext, Object context, Tuple leftTuple, Declaration[] declarations, WorkingMemory workingMemory) throws Exception {
-        accumulateFunction.init((Serializable) context);
-        if(supportsReverse()) {
-            reverseSupport = new HashMap<>();
+        LambdaAccContext accContext = (LambdaAccContext) context;
+        accumulateFunction.init(accContext.context);
+        if (accContext.reverseSupport != null) {
+            accContext.reverseSupport.clear();
         }
     }
 
     @Override
     public void accumulate(Object workingMemoryContext, Object context, Tuple leftTuple, InternalFactHandle handle, Declaration[] declarations, Declaration[] innerDeclarations, WorkingMemory workingMemory) throws Exception {
         final Object accumulatedObject = getAccumulatedObject(declarations, innerDeclarations, handle, leftTuple, (InternalWorkingMemory) workingMemory);
-        if (supportsReverse()) {
-            reverseSupport.put(handle.getId(), accumulatedObject);
+        LambdaAccContext accContext = (LambdaAccContext) context;
+        if (accContext.reverseSupport != null) {
+            accContext.reverseSupport.put(handle.getId(), accumulatedObject);
         }
-        accumulateFunction.accumulate((Serializable) context, accumulatedObject);
+        accumulateFunction.accumulate(accContext.context, accumulatedObject);
     }
 
     protected abstract Object getAccumulatedObject( Declaration[] declarations, Declaration[] innerDeclarations, InternalFactHandle handle, Tuple tuple, InternalWorkingMemory wm );
@@ -87,18 +85,63 @@ public abstract class LambdaAccumulator implements Accumulator {
 
     @Override
     public void reverse(Object workingMemoryContext, Object context, Tuple leftTuple, InternalFactHandle handle, Declaration[] declarations, Declaration[] innerDeclarations, WorkingMemory workingMemory) throws Exception {
-        final Object accumulatedObject = reverseSupport.remove(handle.getId());
+        LambdaAccContext accContext = (LambdaAccContext) context;
+        final Object accumulatedObject = accContext.reverseSupport.remove(handle.getId());
         if(accumulatedObject == null) {
             final Object accumulatedObject2 = getAccumulatedObject(declarations, innerDeclarations, handle, leftTuple, (InternalWorkingMemory) workingMemory);
-            accumulateFunction.reverse((Serializable) context, accumulatedObject2);
+            accumulateFunction.reverse(accContext.context, accumulatedObject2);
         } else {
-            accumulateFunction.reverse((Serializable) context, accumulatedObject);
+            accumulateFunction.reverse(accContext.context, accumulatedObject);
         }
     }
 
     @Override
     public Object getResult(Object workingMemoryContext, Object context, Tuple leftTuple, Declaration[] declarations, WorkingMemory workingMemory) throws Exception {
-        return accumulateFunction.getResult((Serializable) context);
+        return accumulateFunction.getResult(((LambdaAccContext) context).context);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LambdaAccumulator that = (LambdaAccumulator) o;
+        return Objects.equals(accumulateFunction, that.accumulateFunction) &&
+                Objects.equals(sourceVariables, that.sourceVariables);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accumulateFunction, sourceVariables);
+    }
+
+    /**
+     * Per group state of the accumulation. The accumulator itself is stateless, so that the
+     * same instance, and then the same AccumulateNode, can be shared by all the rules using it.
+     */
+    public static class LambdaAccContext implements Externalizable {
+
+        public Serializable context;
+        public Map<Long, Object> reverseSupport;
+
+        public LambdaAccContext() {
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject(context);
+            out.writeObject(reverseSupport);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            context = (Serializable) in.readObject();
+            reverseSupport = (Map<Long, Object>) in.readObject();
+        }
     }
 
     public static class BindingAcc extends LambdaAccumulator {
@@ -127,6 +170,16 @@ public abstract class LambdaAccumulator implements Accumulator {
                 return binding.evaluate(handle, tuple, wm, declarations, innerDeclarations);
             }
         }
+
+        @Override
+        public boolean equals(Object o) {
+            return super.equals(o) && Objects.equals(binding, ((BindingAcc) o).binding);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + Objects.hashCode(binding);
+        }
     }
 
     public static class NotBindingAcc extends LambdaAccumulator {
@@ -159,5 +212,15 @@ public abstract class LambdaAccumulator implements Accumulator {
         protected Object getAccumulatedObject( Declaration[] declarations, Declaration[] innerDeclarations, InternalFactHandle handle, Tuple tuple, InternalWorkingMemory wm ) {
             return value;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            return super.equals(o) && Objects.equals(value, ((FixedValueAcc) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + Objects.hashCode(value);
+        }
     }
 }
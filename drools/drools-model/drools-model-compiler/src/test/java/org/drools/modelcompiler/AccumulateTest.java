@@ -24,7 +24,9 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.drools.modelcompiler.domain.Adult;
 import org.drools.modelcompiler.domain.Child;
@@ -1364,4 +1366,43 @@ public class AccumulateTest extends BaseModelTest {
         getKieSession(str);
     }
 
+    @Test
+    public void testAccumulateReverseWithMultipleGroups() {
+        String str =
+                "import " + Person.class.getCanonicalName() + ";" +
+                "global java.util.Map results;\n" +
+                "rule X when\n" +
+                "  $s : String()\n" +
+                "  accumulate ( $p: Person ( getName().startsWith($s) ); \n" +
+                "                $sum : sum($p.getAge())  \n" +
+                "              )                          \n" +
+                "then\n" +
+                "  results.put($s, $sum);\n" +
+                "end";
+
+        KieSession ksession = getKieSession( str );
+
+        Map<String, Number> results = new HashMap<>();
+        ksession.setGlobal( "results", results );
+
+        Person adam = new Person( "Adam", 10 );
+        FactHandle adamFH = ksession.insert( adam );
+        ksession.insert( new Person( "Mark", 37 ) );
+        ksession.insert( new Person( "Mario", 40 ) );
+        ksession.insert( "A" );
+        ksession.insert( "M" );
+        ksession.fireAllRules();
+
+        assertEquals( 10, results.get( "A" ).intValue() );
+        assertEquals( 77, results.get( "M" ).intValue() );
+
+        // the value to be reversed has to be the one accumulated for this group, not the one of the last initialized group
+        adam.setAge( 20 );
+        ksession.update( adamFH, adam );
+        ksession.fireAllRules();
+
+        assertEquals( 20, results.get( "A" ).intValue() );
+        assertEquals( 77, results.get( "M" ).intValue() );
+    }
+
 }
@@ -16,17 +16,21 @@
 
 package org.drools.modelcompiler;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.drools.core.base.ClassObjectType;
 import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.AccumulateNode;
 import org.drools.core.reteoo.AlphaNode;
 import org.drools.core.reteoo.BetaNode;
 import org.drools.core.reteoo.EntryPointNode;
 import org.drools.core.reteoo.ObjectTypeNode;
 import org.drools.modelcompiler.domain.Person;
 import org.drools.modelcompiler.domain.Result;
+import org.drools.modelcompiler.domain.StockTick;
 import org.junit.Test;
 import org.kie.api.runtime.KieSession;
 
@@ -140,4 +144,44 @@ public class NodeSharingTest extends BaseModelTest {
         assertEquals( 1, otn.getSinks().length );
     }
 
+    @Test
+    public void testShareIdenticalWindowAccumulateInDifferentRules() {
+        String str =
+                "import " + StockTick.class.getCanonicalName() + ";" +
+                "global java.util.Map results;\n" +
+                "rule R1 when\n" +
+                "  accumulate( StockTick( company == \"DROO\" ) over window:length( 3 ); $c : count() )\n" +
+                "then\n" +
+                "  results.put(\"R1\", $c);\n" +
+                "end\n" +
+                "rule R2 when\n" +
+                "  accumulate( StockTick( company == \"DROO\" ) over window:length( 3 ); $c : count() )\n" +
+                "then\n" +
+                "  results.put(\"R2\", $c);\n" +
+                "end\n" +
+                "rule R3 when\n" +
+                "  accumulate( StockTick( company == \"DROO\" ) over window:length( 3 ); $l : collectList() )\n" +
+                "then\n" +
+                "  results.put(\"R3\", $l.size());\n" +
+                "end";
+
+        KieSession ksession = getKieSession( CepTest.getCepKieModuleModel(), str );
+
+        // the same function over the same window is accumulated once for R1 and R2, R3 has its own accumulation
+        assertEquals( 2, ReteDumper.collectNodes( ksession ).stream().filter( AccumulateNode.class::isInstance ).count() );
+
+        Map<String, Number> results = new HashMap<>();
+        ksession.setGlobal( "results", results );
+
+        for (int i = 0; i < 5; i++) {
+            ksession.insert( new StockTick( "DROO" ) );
+        }
+        ksession.insert( new StockTick( "ACME" ) );
+        ksession.fireAllRules();
+
+        assertEquals( 3, results.get( "R1" ).intValue() );
+        assertEquals( 3, results.get( "R2" ).intValue() );
+        assertEquals( 3, results.get( "R3" ).intValue() );
+    }
+
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.modelcompiler.ExecutableModelProject;
+import org.drools.modelcompiler.KJARUtils;
+import org.drools.modelcompiler.domain.Person;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures accumulate functions on workloads dominated by modifies and retractions,
+ * where functions not supporting reverse have to rescan the whole group.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AccumulateReverseBenchmark {
+
+    @Param({"max", "min", "sum"})
+    private String function;
+
+    @Param({"1000", "10000"})
+    private int numberOfFacts;
+
+    @Param({"false", "true"})
+    private boolean useRuleModel;
+
+    private KieBase kieBase;
+    private KieSession kieSession;
+    private List<Person> persons;
+    private List<FactHandle> handles;
+
+    @Setup(Level.Trial)
+    public void setUpKieBase() {
+        KieServices ks = KieServices.get();
+        ReleaseId releaseId = ks.newReleaseId("org.kie", "accumulate-benchmark", "1.0");
+        KieFileSystem kfs = ks.newKieFileSystem();
+        kfs.writePomXML(KJARUtils.getPom(releaseId));
+        kfs.write("src/main/resources/org/drools/modelcompiler/benchmarks/accumulate.drl",
+                  "package org.drools.modelcompiler.benchmarks;\n" +
+                  "import " + Person.class.getCanonicalName() + ";\n" +
+                  "rule R when\n" +
+                  "  accumulate( Person( $a : age ); $r : " + function + "( $a ) )\n" +
+                  "then\n" +
+                  "end\n");
+        if (useRuleModel) {
+            ks.newKieBuilder(kfs).buildAll(ExecutableModelProject.class);
+        } else {
+            ks.newKieBuilder(kfs).buildAll();
+        }
+        kieBase = ks.newKieContainer(releaseId).getKieBase();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpSession() {
+        kieSession = kieBase.newKieSession();
+        persons = new ArrayList<>(numberOfFacts);
+        handles = new ArrayList<>(numberOfFacts);
+        for (int i = 0; i < numberOfFacts; i++) {
+            Person person = new Person("P" + i, i);
+            persons.add(person);
+            handles.add(kieSession.insert(person));
+        }
+        kieSession.fireAllRules();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public int modifyAndRetract() {
+        int fired = 0;
+        // lowering the current max (and raising the current min) one by one is the worst case without reverse
+        for (int i = numberOfFacts - 1; i >= 0; i--) {
+            Person person = persons.get(i);
+            person.setAge(numberOfFacts - i);
+            kieSession.update(handles.get(i), person);
+            fired += kieSession.fireAllRules();
+        }
+        for (int i = 0; i < numberOfFacts; i += 2) {
+            kieSession.delete(handles.get(i));
+            fired += kieSession.fireAllRules();
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.modelcompiler.ExecutableModelProject;
+import org.drools.modelcompiler.KJARUtils;
+import org.drools.modelcompiler.domain.Person;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserts facts into a rule base shaped like a generated decision table, where every rule tests the
+ * same field against a different literal, so that the alpha network dispatch dominates.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 10, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AlphaDispatchBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    private int rules;
+
+    // "equality" generates age == N constraints, "range" generates age > N and age < N ones
+    @Param({"equality", "range"})
+    private String constraints;
+
+    @Param({"10000"})
+    private int facts;
+
+    private KieBase kieBase;
+    private KieSession kieSession;
+    private Person[] persons;
+
+    @Setup(Level.Trial)
+    public void setUpKieBase() {
+        KieServices ks = KieServices.get();
+        ReleaseId releaseId = ks.newReleaseId("org.kie", "alpha-dispatch-benchmark", "1.0");
+        KieFileSystem kfs = ks.newKieFileSystem();
+        kfs.writePomXML(KJARUtils.getPom(releaseId));
+        kfs.write("src/main/resources/org/drools/modelcompiler/benchmarks/table.drl", generateDecisionTable());
+        ks.newKieBuilder(kfs).buildAll(ExecutableModelProject.class);
+        kieBase = ks.newKieContainer(releaseId).getKieBase();
+
+        Random random = new Random(0);
+        persons = new Person[facts];
+        for (int i = 0; i < facts; i++) {
+            persons[i] = new Person("p" + i, random.nextInt(rules));
+        }
+    }
+
+    private String generateDecisionTable() {
+        StringBuilder drl = new StringBuilder();
+        drl.append("package org.drools.modelcompiler.benchmarks;\n");
+        drl.append("import ").append(Person.class.getCanonicalName()).append(";\n");
+        for (int i = 0; i < rules; i++) {
+            String constraint = constraints.equals("equality") ? "age == " + i : (i % 2 == 0 ? "age > " + i : "age < " + i);
+            drl.append("rule R").append(i).append(" when\n")
+               .append("  Person( ").append(constraint).append(" )\n")
+               .append("then\n")
+               .append("end\n");
+        }
+        return drl.toString();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpSession() {
+        kieSession = kieBase.newKieSession();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public int insertFacts() {
+        for (Person person : persons) {
+            kieSession.insert(person);
+        }
+        return kieSession.getFactCount() > 0 ? facts : 0;
+    }
+}
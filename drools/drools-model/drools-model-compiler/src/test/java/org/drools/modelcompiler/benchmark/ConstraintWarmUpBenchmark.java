@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.modelcompiler.KJARUtils;
+import org.drools.modelcompiler.domain.Person;
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of the first requests served by a freshly created drl (not executable model)
+ * kbase, comparing the lazy compilation of its mvel constraints with the eager one done when the kbase is built.
+ * Each invocation creates a new kbase, so every measure pays the constraints warm-up.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConstraintWarmUpBenchmark {
+
+    @Param({"false", "true"})
+    private boolean eager;
+
+    @Param({"100", "1000"})
+    private int rules;
+
+    // the number of sessions evaluated after the kbase creation, each one inserting all the facts
+    @Param({"1", "30"})
+    private int requests;
+
+    @Param({"100"})
+    private int facts;
+
+    private KieContainer kieContainer;
+    private KieBase kieBase;
+    private Person[] persons;
+
+    @Setup(Level.Trial)
+    public void setUpKieContainer() {
+        KieServices ks = KieServices.get();
+        ReleaseId releaseId = ks.newReleaseId("org.kie", "constraint-warm-up-benchmark", "1.0");
+        KieFileSystem kfs = ks.newKieFileSystem();
+        kfs.writePomXML(KJARUtils.getPom(releaseId));
+        kfs.write("src/main/resources/org/drools/modelcompiler/benchmarks/rules.drl", generateRules());
+        ks.newKieBuilder(kfs).buildAll();
+        kieContainer = ks.newKieContainer(releaseId);
+
+        persons = new Person[facts];
+        for (int i = 0; i < facts; i++) {
+            persons[i] = new Person("p" + i, i % rules);
+        }
+    }
+
+    private String generateRules() {
+        StringBuilder drl = new StringBuilder();
+        drl.append("package org.drools.modelcompiler.benchmarks;\n");
+        drl.append("import ").append(Person.class.getCanonicalName()).append(";\n");
+        for (int i = 0; i < rules; i++) {
+            drl.append("rule R").append(i).append(" when\n")
+               .append("  $p : Person( age > ").append(i).append(", name.length > 1 )\n")
+               .append("  Person( age < $p.age + ").append(i).append(", this != $p )\n")
+               .append("then\n")
+               .append("end\n");
+        }
+        return drl.toString();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpKieBase() {
+        KieBaseConfiguration conf = KieServices.get().newKieBaseConfiguration();
+        conf.setProperty("drools.eagerConstraintJitting", String.valueOf(eager));
+        kieBase = kieContainer.newKieBase(conf);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        kieBase = null;
+    }
+
+    @Benchmark
+    public int firstRequests() {
+        int fired = 0;
+        for (int i = 0; i < requests; i++) {
+            KieSession kieSession = kieBase.newKieSession();
+            try {
+                for (Person person : persons) {
+                    kieSession.insert(person);
+                }
+                fired += kieSession.fireAllRules();
+            } finally {
+                kieSession.dispose();
+            }
+        }
+        return fired;
+    }
+}
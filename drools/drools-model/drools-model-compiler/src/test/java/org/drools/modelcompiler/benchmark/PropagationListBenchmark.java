@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.modelcompiler.ExecutableModelProject;
+import org.drools.modelcompiler.KJARUtils;
+import org.drools.modelcompiler.domain.Person;
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserts facts from many producer threads into a session running fireUntilHalt, measuring
+ * the time needed until all of them have been propagated and fired.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 10, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PropagationListBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int producers;
+
+    @Param({"100000"})
+    private int factsPerProducer;
+
+    @Param({"true", "false"})
+    private boolean lockFree;
+
+    private KieBase kieBase;
+    private KieSession kieSession;
+    private ExecutorService executor;
+    private CountDownLatch fired;
+
+    @Setup(Level.Trial)
+    public void setUpKieBase() {
+        KieServices ks = KieServices.get();
+        ReleaseId releaseId = ks.newReleaseId("org.kie", "propagation-list-benchmark", "1.0");
+        KieFileSystem kfs = ks.newKieFileSystem();
+        kfs.writePomXML(KJARUtils.getPom(releaseId));
+        kfs.write("src/main/resources/org/drools/modelcompiler/benchmarks/propagation.drl",
+                  "package org.drools.modelcompiler.benchmarks;\n" +
+                  "import " + Person.class.getCanonicalName() + ";\n" +
+                  "global java.util.concurrent.CountDownLatch fired;\n" +
+                  "rule R when\n" +
+                  "  $p : Person( age >= 0 )\n" +
+                  "then\n" +
+                  "  fired.countDown();\n" +
+                  "end\n");
+        ks.newKieBuilder(kfs).buildAll(ExecutableModelProject.class);
+
+        KieBaseConfiguration conf = ks.newKieBaseConfiguration();
+        conf.setProperty("drools.lockFreePropagationList", String.valueOf(lockFree));
+        kieBase = ks.newKieContainer(releaseId).newKieBase(conf);
+        executor = Executors.newFixedThreadPool(producers + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpSession() {
+        kieSession = kieBase.newKieSession();
+        fired = new CountDownLatch(producers * factsPerProducer);
+        kieSession.setGlobal("fired", fired);
+        executor.submit(kieSession::fireUntilHalt);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        kieSession.halt();
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public long insertFromProducers() throws InterruptedException {
+        for (int i = 0; i < producers; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < factsPerProducer; j++) {
+                    kieSession.insert(new Person("p" + j, j));
+                }
+            });
+        }
+        fired.await();
+        return fired.getCount();
+    }
+}
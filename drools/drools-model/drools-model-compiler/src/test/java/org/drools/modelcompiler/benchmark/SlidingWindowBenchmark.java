@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.modelcompiler.CepTest;
+import org.drools.modelcompiler.ExecutableModelProject;
+import org.drools.modelcompiler.KJARUtils;
+import org.drools.modelcompiler.domain.StockTick;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.time.SessionPseudoClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Streams events through a sliding time window large enough to hold all of them, so that
+ * the cost of keeping the window ordered and expiring it dominates.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 10, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SlidingWindowBenchmark {
+
+    @Param({"1000000"})
+    private int numberOfEvents;
+
+    // every n-th event is inserted with a timestamp in the past, 0 means all events are in order
+    @Param({"0", "100"})
+    private int outOfOrderEvery;
+
+    @Param({"time", "length"})
+    private String window;
+
+    private KieBase kieBase;
+    private KieSession kieSession;
+
+    @Setup(Level.Trial)
+    public void setUpKieBase() {
+        KieServices ks = KieServices.get();
+        ReleaseId releaseId = ks.newReleaseId("org.kie", "window-benchmark", "1.0");
+        String windowDef = window.equals("time") ? "window:time( " + numberOfEvents + "ms )" : "window:length( " + numberOfEvents + " )";
+        KieFileSystem kfs = ks.newKieFileSystem();
+        kfs.writeKModuleXML(CepTest.getCepKieModuleModel().toXML());
+        kfs.writePomXML(KJARUtils.getPom(releaseId));
+        kfs.write("src/main/resources/org/drools/modelcompiler/benchmarks/window.drl",
+                  "package org.drools.modelcompiler.benchmarks;\n" +
+                  "import " + StockTick.class.getCanonicalName() + ";\n" +
+                  "declare " + StockTick.class.getCanonicalName() + "\n" +
+                  "  @role( event )\n" +
+                  "  @timestamp( timeFieldAsLong )\n" +
+                  "end\n" +
+                  "rule R when\n" +
+                  "  accumulate( StockTick( company == \"ACME\" ) over " + windowDef + "; $c : count() )\n" +
+                  "then\n" +
+                  "end\n");
+        ks.newKieBuilder(kfs).buildAll(ExecutableModelProject.class);
+        kieBase = ks.newKieContainer(releaseId).getKieBase();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpSession() {
+        kieSession = kieBase.newKieSession();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public int insertAndExpire() {
+        SessionPseudoClock clock = kieSession.getSessionClock();
+        for (int i = 0; i < numberOfEvents; i++) {
+            StockTick tick = new StockTick("ACME");
+            if (outOfOrderEvery > 0 && i % outOfOrderEvery == 0 && i >= 10) {
+                tick.setTimeField(clock.getCurrentTime() - 10);
+            } else {
+                tick.setTimeField(clock.getCurrentTime());
+            }
+            kieSession.insert(tick);
+            clock.advanceTime(1, TimeUnit.MILLISECONDS);
+        }
+        // slide the window over all the events so they expire
+        clock.advanceTime(numberOfEvents, TimeUnit.MILLISECONDS);
+        return kieSession.fireAllRules();
+    }
+}
@@ -415,6 +415,14 @@ public abstract class AbstractNodeHandler extends BaseAbstractHandler implements
     @SuppressWarnings("unchecked")
     protected void readMultiInstanceLoopCharacteristics(org.w3c.dom.Node xmlNode, ForEachNode forEachNode, ExtensibleXmlParser parser) {
 
+        // sequential multi instances run one iteration at a time, drools:batchSize limits the parallel ones
+        String batchSize = ((Element) xmlNode).getAttribute("batchSize");
+        if (batchSize != null && !batchSize.isEmpty()) {
+            forEachNode.setBatchSize(Integer.parseInt(batchSize));
+        } else if ("true".equals(((Element) xmlNode).getAttribute("isSequential"))) {
+            forEachNode.setBatchSize(1);
+        }
+
         // sourceRef
         org.w3c.dom.Node subNode = xmlNode.getFirstChild();
         while (subNode != null) {
@@ -67,6 +67,11 @@ public class BpmnProcess extends AbstractProcess<BpmnVariables> {
         return new BpmnProcessInstance(this, variables, this.createLegacyProcessRuntime());
     }
 
+    @Override
+    public ProcessInstance<BpmnVariables> createInstance(String correlationKey, BpmnVariables variables) {
+        return new BpmnProcessInstance(this, variables, correlationKey, this.createLegacyProcessRuntime());
+    }
+
     public static List<BpmnProcess> from(Resource resource) {
         try {
             XmlProcessReader xmlReader = new XmlProcessReader(
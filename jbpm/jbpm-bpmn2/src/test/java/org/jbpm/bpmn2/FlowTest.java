@@ -1319,6 +1319,32 @@ public class FlowTest extends JbpmBpmn2TestCase {
 
     }
 
+    @Test
+    public void testMultiInstanceLoopCharacteristicsTaskSequential() throws Exception {
+        KieBase kbase = createKnowledgeBaseWithoutDumper("BPMN2-MultiInstanceLoopCharacteristicsTaskSequential.bpmn2");
+        ksession = createKnowledgeSession(kbase);
+        TestWorkItemHandler workItemHandler = new TestWorkItemHandler();
+        ksession.getWorkItemManager().registerWorkItemHandler("Human Task", workItemHandler);
+        Map<String, Object> params = new HashMap<String, Object>();
+        List<String> myList = new ArrayList<String>();
+        myList.add("First Item");
+        myList.add("Second Item");
+        myList.add("Third Item");
+        params.put("list", myList);
+        ProcessInstance processInstance = ksession.startProcess(
+                "MultiInstanceLoopCharacteristicsTask", params);
+
+        // isSequential runs a single iteration at a time, getWorkItem fails if more than one is active
+        for (String item : myList) {
+            assertProcessInstanceActive(processInstance);
+            WorkItem workItem = workItemHandler.getWorkItem();
+            assertNotNull(workItem);
+            assertEquals(item, workItem.getParameter("Item"));
+            ksession.getWorkItemManager().completeWorkItem(workItem.getId(), null);
+        }
+        assertProcessInstanceCompleted(processInstance);
+    }
+
     @Test
     public void testMultipleInOutgoingSequenceFlows() throws Exception {
         NodeLeftCountDownProcessEventListener countDownListener = new NodeLeftCountDownProcessEventListener("timer", 1);
@@ -26,6 +26,8 @@ import static org.kie.api.runtime.process.ProcessInstance.STATE_ERROR;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -439,6 +441,79 @@ public class ActivityGenerationModelTest extends JbpmBpmn2TestCase {
         assertEquals(STATE_COMPLETED, processInstance.status());
     }
     
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSequentialMultiInstanceWithMarshalling() throws Exception {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-MultiInstanceLoopCharacteristicsTaskSequential.bpmn2")).get(0);
+
+        ProcessMetaData metaData = ProcessToExecModelGenerator.INSTANCE.generate((WorkflowProcess) process.legacyProcess());
+        String content = metaData.getGeneratedClassModel().toString();
+        assertThat(content).isNotNull();
+        log(content);
+
+        Map<String, String> classData = new HashMap<>();
+        classData.put("org.drools.bpmn2.MultiInstanceLoopCharacteristicsTaskProcess", content);
+        TestWorkItemHandler workItemHandler = new TestWorkItemHandler();
+
+        Map<String, BpmnProcess> processes = createProcesses(classData, Collections.singletonMap("Human Task", workItemHandler));
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("list", new ArrayList<>(Arrays.asList("First Item", "Second Item", "Third Item")));
+        ProcessInstance<BpmnVariables> processInstance = processes.get("MultiInstanceLoopCharacteristicsTask").createInstance(BpmnVariables.create(parameters));
+
+        processInstance.start();
+        assertEquals(STATE_ACTIVE, processInstance.status());
+
+        WorkItem workItem = workItemHandler.getWorkItem();
+        assertEquals("First Item", workItem.getParameter("Item"));
+        processInstance.completeWorkItem(workItem.getId(), null);
+
+        ProcessInstanceMarshaller marshaller = new ProcessInstanceMarshaller();
+        byte[] data = marshaller.marhsallProcessInstance(processInstance);
+        processInstance = (ProcessInstance<BpmnVariables>) marshaller.unmarshallProcessInstance(data, process);
+
+        // the reloaded instance carries on over the items of the collection taken when the loop started
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("list", new ArrayList<>(Arrays.asList("Other Item")))));
+
+        workItem = workItemHandler.getWorkItem();
+        assertEquals("Second Item", workItem.getParameter("Item"));
+        processInstance.completeWorkItem(workItem.getId(), null);
+        assertEquals(STATE_ACTIVE, processInstance.status());
+
+        workItem = workItemHandler.getWorkItem();
+        assertEquals("Third Item", workItem.getParameter("Item"));
+        processInstance.completeWorkItem(workItem.getId(), null);
+        assertEquals(STATE_COMPLETED, processInstance.status());
+        assertThat(workItemHandler.getWorkItems()).isEmpty();
+    }
+
+    @Test
+    public void testUserTaskProcessReadVariablesFromMarshalledInstance() throws Exception {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+
+        ProcessMetaData metaData = ProcessToExecModelGenerator.INSTANCE.generate((WorkflowProcess) process.legacyProcess());
+        String content = metaData.getGeneratedClassModel().toString();
+        assertThat(content).isNotNull();
+        log(content);
+
+        Map<String, String> classData = new HashMap<>();
+        classData.put("org.drools.bpmn2.UserTaskProcess", content);
+        TestWorkItemHandler workItemHandler = new TestWorkItemHandler();
+
+        Map<String, BpmnProcess> processes = createProcesses(classData, Collections.singletonMap("Human Task", workItemHandler));
+        ProcessInstance<BpmnVariables> processInstance = processes.get("UserTask").createInstance(BpmnVariables.create(Collections.singletonMap("s", "test")));
+
+        processInstance.start();
+        assertEquals(STATE_ACTIVE, processInstance.status());
+
+        ProcessInstanceMarshaller marshaller = new ProcessInstanceMarshaller();
+
+        byte[] data = marshaller.marhsallProcessInstance(processInstance);
+        assertNotNull(data);
+
+        Map<String, Object> variables = marshaller.readVariables(data, Arrays.asList("s", "unknown"));
+        assertThat(variables).hasSize(1).containsEntry("s", "test");
+    }
+
     @Test
     public void testCallActivityProcess() throws Exception {
         BpmnProcess process = BpmnProcess.from(new ClassPathResource("PrefixesProcessIdCallActivity.bpmn2")).get(0);
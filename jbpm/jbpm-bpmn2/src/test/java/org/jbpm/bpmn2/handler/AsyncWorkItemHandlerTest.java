@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.bpmn2.handler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.process.WorkItem;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.CachedWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.process.workitem.AsyncWorkItemHandler;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncWorkItemHandlerTest {
+
+    private UnitOfWorkManager unitOfWorkManager;
+
+    @BeforeEach
+    public void setup() {
+        unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+    }
+
+    @Test
+    public void testWorkItemCompletedWhenStageCompletes() {
+        TestAsyncWorkItemHandler handler = new TestAsyncWorkItemHandler(Integer.MAX_VALUE, 0);
+        BpmnProcess process = createProcess(handler);
+
+        ProcessInstance<BpmnVariables> processInstance = startProcess(process, "john");
+        // the handler is invoked once the unit of work ended, leaving the instance waiting
+        assertEquals(1, handler.workItems.size());
+        assertEquals(ProcessInstance.STATE_ACTIVE, processInstance.status());
+        assertTrue(process.instances().findById(processInstance.id()).isPresent());
+
+        handler.results.get(0).complete(Collections.singletonMap("Result", "hello john"));
+
+        assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.status());
+        assertFalse(process.instances().findById(processInstance.id()).isPresent());
+    }
+
+    @Test
+    public void testConcurrencyLimitPerHandler() {
+        TestAsyncWorkItemHandler handler = new TestAsyncWorkItemHandler(1, 0);
+        BpmnProcess process = createProcess(handler);
+
+        ProcessInstance<BpmnVariables> first = startProcess(process, "john");
+        ProcessInstance<BpmnVariables> second = startProcess(process, "mary");
+        // the second execution waits for the first one to complete
+        assertEquals(1, handler.workItems.size());
+
+        handler.results.get(0).complete(Collections.singletonMap("Result", "hello john"));
+        assertEquals(ProcessInstance.STATE_COMPLETED, first.status());
+        assertEquals(2, handler.workItems.size());
+
+        handler.results.get(1).complete(Collections.singletonMap("Result", "hello mary"));
+        assertEquals(ProcessInstance.STATE_COMPLETED, second.status());
+    }
+
+    @Test
+    public void testProcessInstanceInErrorWhenStageFails() {
+        TestAsyncWorkItemHandler handler = new TestAsyncWorkItemHandler(Integer.MAX_VALUE, 0);
+        BpmnProcess process = createProcess(handler);
+
+        ProcessInstance<BpmnVariables> processInstance = startProcess(process, "john");
+        handler.results.get(0).completeExceptionally(new IllegalStateException("service unavailable"));
+
+        assertEquals(ProcessInstance.STATE_ERROR, processInstance.status());
+        assertTrue(processInstance.error().isPresent());
+    }
+
+    @Test
+    public void testProcessInstanceInErrorOnTimeout() throws Exception {
+        TestAsyncWorkItemHandler handler = new TestAsyncWorkItemHandler(Integer.MAX_VALUE, 100);
+        BpmnProcess process = createProcess(handler);
+
+        ProcessInstance<BpmnVariables> processInstance = startProcess(process, "john");
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (processInstance.status() != ProcessInstance.STATE_ERROR && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(ProcessInstance.STATE_ERROR, processInstance.status());
+    }
+
+    private BpmnProcess createProcess(AsyncWorkItemHandler handler) {
+        CachedWorkItemHandlerConfig workItemHandlerConfig = new CachedWorkItemHandlerConfig();
+        workItemHandlerConfig.register("Service Task", handler);
+        StaticProcessConfig config = new StaticProcessConfig(workItemHandlerConfig, new DefaultProcessEventListenerConfig(), unitOfWorkManager);
+
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-ServiceProcess.bpmn2")).get(0);
+        return new BpmnProcess(process.legacyProcess(), config);
+    }
+
+    private ProcessInstance<BpmnVariables> startProcess(BpmnProcess process, String name) {
+        return UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("s", name)));
+            processInstance.start();
+            return processInstance;
+        });
+    }
+
+    private static class TestAsyncWorkItemHandler implements AsyncWorkItemHandler {
+
+        private final int maxConcurrency;
+        private final long timeout;
+        private final List<WorkItem> workItems = new CopyOnWriteArrayList<>();
+        private final List<CompletableFuture<Map<String, Object>>> results = new CopyOnWriteArrayList<>();
+
+        TestAsyncWorkItemHandler(int maxConcurrency, long timeout) {
+            this.maxConcurrency = maxConcurrency;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public CompletionStage<Map<String, Object>> executeWorkItemAsync(WorkItem workItem) {
+            CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+            workItems.add(workItem);
+            results.add(result);
+            return result;
+        }
+
+        @Override
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        @Override
+        public long getTimeout() {
+            return timeout;
+        }
+    }
+}
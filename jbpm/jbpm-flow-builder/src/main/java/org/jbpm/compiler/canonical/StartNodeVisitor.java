@@ -46,7 +46,9 @@ public class StartNodeVisitor extends AbstractVisitor {
                                                            (String)nodeMetaData.get("TriggerType"), 
                                                            (String)nodeMetaData.get("MessageType"), 
                                                            (String)nodeMetaData.get("TriggerMapping"),
-                                                           String.valueOf(node.getId())).validate());
+                                                           String.valueOf(node.getId()))
+                                           .withCorrelation((String)nodeMetaData.get("customCorrelationKey"))
+                                           .validate());
         } else {
             // since there is start node without trigger then make sure it is startable
             metadata.setStartable(true);
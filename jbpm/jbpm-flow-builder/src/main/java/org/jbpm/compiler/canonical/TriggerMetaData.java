@@ -33,6 +33,8 @@ public class TriggerMetaData {
     private String modelRef;
     // reference to owner of the trigger usually node
     private String ownerId;
+    // name of the event property that holds correlation key of the process instance
+    private String correlation;
     
     public TriggerMetaData(String name, String type, String dataType, String modelRef, String ownerId) {
         super();
@@ -83,6 +85,19 @@ public class TriggerMetaData {
         this.ownerId = ownerId;
     }
     
+    public String getCorrelation() {
+        return correlation;
+    }
+    
+    public void setCorrelation(String correlation) {
+        this.correlation = correlation;
+    }
+    
+    public TriggerMetaData withCorrelation(String correlation) {
+        this.correlation = correlation;
+        return this;
+    }
+    
     public TriggerMetaData validate() {
         if (StringUtils.isEmpty(name) || 
             type == null ||
@@ -96,7 +111,7 @@ public class TriggerMetaData {
 
     @Override
     public String toString() {
-        return "TriggerMetaData [name=" + name + ", type=" + type + ", dataType=" + dataType + ", modelRef=" + modelRef + "]";
+        return "TriggerMetaData [name=" + name + ", type=" + type + ", dataType=" + dataType + ", modelRef=" + modelRef + ", correlation=" + correlation + "]";
     }
     
 }
@@ -743,7 +743,9 @@ public abstract class AbstractProtobufProcessInstanceMarshaller
         processInstance.setRootProcessId(_instance.getRootProcessId());
         processInstance.setSignalCompletion(_instance.getSignalCompletion());
         processInstance.setDeploymentId(_instance.getDeploymentId());
-        processInstance.setCorrelationKey(_instance.getCorrelationKey());
+        if (_instance.hasCorrelationKey() && !_instance.getCorrelationKey().isEmpty()) {
+            processInstance.setCorrelationKey(_instance.getCorrelationKey());
+        }
         processInstance.internalSetStartDate(new Date(_instance.getStartDate()));
         processInstance.internalSetSlaCompliance(_instance.getSlaCompliance());
         if (_instance.getSlaDueDate() > 0) {
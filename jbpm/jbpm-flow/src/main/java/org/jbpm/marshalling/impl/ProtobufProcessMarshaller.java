@@ -48,8 +48,8 @@ import org.kie.api.marshalling.ObjectMarshallingStrategy;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.api.runtime.process.WorkItem;
 
-import com.google.protobuf.ByteString;
 import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.UnsafeByteOperations;
 
 public class ProtobufProcessMarshaller
         implements
@@ -268,9 +268,10 @@ public class ProtobufProcessMarshaller
         if(value != null){
             ObjectMarshallingStrategy strategy = context.objectMarshallingStrategyStore.getStrategyObject( value );
             Integer index = context.getStrategyIndex( strategy );
+            // the marshalled value is a new array owned by the variable, so it is wrapped instead of copied
             builder.setStrategyIndex( index )
                    .setDataType(strategy.getType(value.getClass()))
-                   .setValue( ByteString.copyFrom( strategy.marshal( context.strategyContext.get( strategy ),
+                   .setValue( UnsafeByteOperations.unsafeWrap( strategy.marshal( context.strategyContext.get( strategy ),
                                                                      context,
                                                                      value ) ) );
         }
@@ -287,7 +288,7 @@ public class ProtobufProcessMarshaller
                 Integer index = context.getStrategyIndex( strategy );
                 builder.setStrategyIndex( index )
                     .setDataType(strategy.getType(variable.getClass()))
-                   .setValue( ByteString.copyFrom( strategy.marshal( context.strategyContext.get( strategy ),
+                   .setValue( UnsafeByteOperations.unsafeWrap( strategy.marshal( context.strategyContext.get( strategy ),
                                                                      context,
                                                                      variable ) ) );
 
@@ -309,7 +310,7 @@ public class ProtobufProcessMarshaller
                 ObjectMarshallingStrategy strategy = context.objectMarshallingStrategyStore.getStrategyObject( variables.get(key) );
                 Integer index = context.getStrategyIndex( strategy );
                 builder.setStrategyIndex( index )
-                   .setValue( ByteString.copyFrom( strategy.marshal( context.strategyContext.get( strategy ),
+                   .setValue( UnsafeByteOperations.unsafeWrap( strategy.marshal( context.strategyContext.get( strategy ),
                                                                      context,
                                                                      variables.get(key) ) ) );
 
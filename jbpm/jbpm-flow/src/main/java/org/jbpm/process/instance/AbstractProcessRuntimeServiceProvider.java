@@ -52,7 +52,7 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
                 compositeSignalManager);
         this.eventSupport = new ProcessEventSupport(this.unitOfWorkManager);
         this.timerService = timerService;
-        this.workItemManager = new LightWorkItemManager(processInstanceManager, signalManager, eventSupport);
+        this.workItemManager = new LightWorkItemManager(processInstanceManager, signalManager, eventSupport, unitOfWorkManager);
 
         for (String workItem : workItemHandlerProvider.names()) {
             workItemManager.registerWorkItemHandler(
@@ -15,16 +15,24 @@
 
 package org.jbpm.process.instance;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.drools.core.WorkItemHandlerNotFoundException;
 import org.drools.core.event.ProcessEventSupport;
@@ -34,14 +42,23 @@ import org.drools.core.process.instance.impl.WorkItemImpl;
 import org.jbpm.process.instance.impl.workitem.Abort;
 import org.jbpm.process.instance.impl.workitem.Active;
 import org.jbpm.process.instance.impl.workitem.Complete;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.api.runtime.process.WorkItemHandler;
 import org.kie.api.runtime.process.WorkItemNotFoundException;
 import org.kie.internal.runtime.Closeable;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.workitem.AsyncWorkItemHandler;
 import org.kie.kogito.process.workitem.NotAuthorizedException;
 import org.kie.kogito.process.workitem.Policy;
 import org.kie.kogito.process.workitem.Transition;
+import org.kie.kogito.services.id.IdGenerators;
+import org.kie.kogito.services.uow.PassThroughUnitOfWork;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 import org.kie.kogito.signal.SignalManager;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
 
 public class LightWorkItemManager implements WorkItemManager {
  
@@ -51,18 +68,33 @@ public class LightWorkItemManager implements WorkItemManager {
     private final ProcessInstanceManager processInstanceManager;
     private final SignalManager signalManager;
     private final ProcessEventSupport eventSupport;
+    private final UnitOfWorkManager unitOfWorkManager;
+    
+    // executions of asynchronous work item handlers, by work item id, that did not complete yet
+    private Map<String, AsyncExecution> asyncExecutions = new ConcurrentHashMap<String, AsyncExecution>();
+    private Map<String, AsyncExecutionLimiter> asyncExecutionLimiters = new ConcurrentHashMap<String, AsyncExecutionLimiter>();
     
     private Complete completePhase = new Complete();
     private Abort abortPhase = new Abort();
 
     public LightWorkItemManager(ProcessInstanceManager processInstanceManager, SignalManager signalManager, ProcessEventSupport eventSupport) {
+        this(processInstanceManager, signalManager, eventSupport, null);
+    }
+
+    /**
+     * Creates work item manager that executes {@link AsyncWorkItemHandler}s without blocking the process execution,
+     * completing their work items in new units of work of the given manager. Without unit of work manager
+     * asynchronous handlers are executed synchronously.
+     */
+    public LightWorkItemManager(ProcessInstanceManager processInstanceManager, SignalManager signalManager, ProcessEventSupport eventSupport, UnitOfWorkManager unitOfWorkManager) {
         this.processInstanceManager = processInstanceManager;
         this.signalManager = signalManager;
         this.eventSupport = eventSupport;
+        this.unitOfWorkManager = unitOfWorkManager;
     }
 
     public void internalExecuteWorkItem(WorkItem workItem) {
-        ((WorkItemImpl) workItem).setId(UUID.randomUUID().toString());
+        ((WorkItemImpl) workItem).setId(IdGenerators.generate());
         internalAddWorkItem(workItem);
         WorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
         if (handler != null) {
@@ -70,13 +102,43 @@ public class LightWorkItemManager implements WorkItemManager {
             Transition<?> transition = new TransitionToActive();
             eventSupport.fireBeforeWorkItemTransition(processInstance, workItem, transition, null);
             
-            handler.executeWorkItem(workItem, this);
+            if (isAsync(handler)) {
+                executeWorkItemAsync((AsyncWorkItemHandler) handler, workItem, processInstance);
+            } else {
+                handler.executeWorkItem(workItem, this);
+            }
             
             eventSupport.fireAfterWorkItemTransition(processInstance, workItem, transition, null);
         } else throw new WorkItemHandlerNotFoundException( "Could not find work item handler for " + workItem.getName(),
                                                     workItem.getName() );
     }    
 
+    private boolean isAsync(WorkItemHandler handler) {
+        // without a unit of work in progress the process instance is not stored at its end,
+        // so asynchronous handlers are executed synchronously
+        return handler instanceof AsyncWorkItemHandler && 
+                unitOfWorkManager != null && 
+                !(unitOfWorkManager.currentUnitOfWork() instanceof PassThroughUnitOfWork);
+    }
+
+    private void executeWorkItemAsync(AsyncWorkItemHandler handler, WorkItem workItem, ProcessInstance processInstance) {
+        AsyncExecution execution = new AsyncExecution(handler, workItem, processInstance);
+        asyncExecutions.put(workItem.getId(), execution);
+        // the execution starts only when the process instance has been stored waiting for the work item,
+        // so that its completion, done in another unit of work, finds it
+        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(execution,
+                                                                        AsyncExecution::start,
+                                                                        e -> asyncExecutions.remove(workItem.getId()),
+                                                                        WorkUnit.LOW_PRIORITY));
+    }
+
+    private void cancelAsyncExecution(String workItemId) {
+        AsyncExecution execution = asyncExecutions.remove(workItemId);
+        if (execution != null) {
+            execution.cancel();
+        }
+    }
+
     public void internalAddWorkItem(WorkItem workItem) {
         workItems.put(workItem.getId(), workItem);  
     }
@@ -85,6 +147,7 @@ public class LightWorkItemManager implements WorkItemManager {
         WorkItemImpl workItem = (WorkItemImpl) workItems.get(id);
         // work item may have been aborted
         if (workItem != null) {
+            cancelAsyncExecution(id);
             workItem.setCompleteDate(new Date());
             WorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
             if (handler != null) {
@@ -128,7 +191,10 @@ public class LightWorkItemManager implements WorkItemManager {
     private void retryWorkItem(WorkItem workItem) {
         if (workItem != null) {
             WorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
-            if (handler != null) {
+            if (isAsync(handler)) {
+                cancelAsyncExecution(workItem.getId());
+                executeWorkItemAsync((AsyncWorkItemHandler) handler, workItem, processInstanceManager.getProcessInstance(workItem.getProcessInstanceId()));
+            } else if (handler != null) {
                 handler.executeWorkItem(workItem, this);
             } else throw new WorkItemHandlerNotFoundException( "Could not find work item handler for " + workItem.getName(),
                                                         workItem.getName() );
@@ -211,6 +277,7 @@ public class LightWorkItemManager implements WorkItemManager {
             ProcessInstance processInstance = processInstanceManager.getProcessInstance(workItem.getProcessInstanceId());
             Transition<?> transition = new TransitionToAbort(Arrays.asList(policies));
             eventSupport.fireBeforeWorkItemTransition(processInstance, workItem, transition, null);
+            cancelAsyncExecution(id);
             workItem.setState(WorkItem.ABORTED);
             abortPhase.apply(workItem, transition);
             
@@ -231,6 +298,9 @@ public class LightWorkItemManager implements WorkItemManager {
 
     public void clear() {
         this.workItems.clear();
+        for (String workItemId : asyncExecutions.keySet()) {
+            cancelAsyncExecution(workItemId);
+        }
     }
     
     public void signalEvent(String type, Object event) { 
@@ -243,6 +313,9 @@ public class LightWorkItemManager implements WorkItemManager {
 
     @Override
     public void dispose() {
+        for (String workItemId : asyncExecutions.keySet()) {
+            cancelAsyncExecution(workItemId);
+        }
         if (workItemHandlers != null) {
             for (Map.Entry<String, WorkItemHandler> handlerEntry : workItemHandlers.entrySet()) {
                 if (handlerEntry.getValue() instanceof Closeable) {
@@ -262,6 +335,169 @@ public class LightWorkItemManager implements WorkItemManager {
         
     }
     
+    private void completeAsyncExecution(AsyncExecution execution, Map<String, Object> results, Throwable error) {
+        String workItemId = execution.workItem.getId();
+        if (asyncExecutions.remove(workItemId) != execution) {
+            // aborted or retried in the meantime
+            return;
+        }
+        UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+            org.kie.kogito.process.ProcessInstance<?> instance = execution.kogitoProcessInstance();
+            if (instance != null) {
+                // reload the process instance, it has been stored and detached since the work item was executed
+                Optional<? extends org.kie.kogito.process.ProcessInstance<?>> stored = instance.process().instances().findById(instance.id());
+                stored.ifPresent(pi -> {
+                    if (error == null) {
+                        pi.completeWorkItem(workItemId, results);
+                    } else {
+                        workItems.remove(workItemId);
+                        ((AbstractProcessInstance<?>) pi).failWorkItem(workItemId, error);
+                    }
+                });
+            } else if (error == null) {
+                completeWorkItem(workItemId, results);
+            } else {
+                workItems.remove(workItemId);
+                WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) execution.processInstance;
+                WorkItemNodeInstance nodeInstance = processInstance.getWorkItemNodeInstance(workItemId);
+                if (nodeInstance != null) {
+                    processInstance.internalRemoveWorkItemNodeInstance(workItemId);
+                    processInstance.setErrorState(nodeInstance, error instanceof Exception ? (Exception) error : new RuntimeException(error));
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Execution of a work item by an {@link AsyncWorkItemHandler}, started when the unit of work that
+     * executed the work item ends and completed in a new one when the handler's completion stage finishes.
+     */
+    private class AsyncExecution {
+
+        private final AsyncWorkItemHandler handler;
+        private final WorkItem workItem;
+        private final ProcessInstance processInstance;
+        private final CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        private AsyncExecutionLimiter limiter;
+        private boolean running;
+
+        AsyncExecution(AsyncWorkItemHandler handler, WorkItem workItem, ProcessInstance processInstance) {
+            this.handler = handler;
+            this.workItem = workItem;
+            this.processInstance = processInstance;
+        }
+
+        org.kie.kogito.process.ProcessInstance<?> kogitoProcessInstance() {
+            if (processInstance instanceof org.jbpm.process.instance.ProcessInstance) {
+                return (org.kie.kogito.process.ProcessInstance<?>) ((org.jbpm.process.instance.ProcessInstance) processInstance).getMetaData().get("KogitoProcessInstance");
+            }
+            return null;
+        }
+
+        void start() {
+            limiter = asyncExecutionLimiters.computeIfAbsent(workItem.getName(), name -> new AsyncExecutionLimiter(handler.getMaxConcurrency()));
+            result.whenComplete((results, error) -> {
+                if (leaveLimiter()) {
+                    limiter.release();
+                }
+                completeAsyncExecution(this, results, error);
+            });
+            limiter.submit(this::execute);
+        }
+
+        private synchronized boolean enterLimiter() {
+            if (result.isDone()) {
+                return false;
+            }
+            running = true;
+            return true;
+        }
+
+        private synchronized boolean leaveLimiter() {
+            boolean wasRunning = running;
+            running = false;
+            return wasRunning;
+        }
+
+        private void execute() {
+            if (!enterLimiter()) {
+                // cancelled while waiting for the concurrency limit, give the slot to the next one
+                limiter.release();
+                return;
+            }
+            try {
+                handler.executeWorkItemAsync(workItem).whenComplete((results, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(results);
+                    }
+                });
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            long timeout = handler.getTimeout();
+            if (timeout > 0 && !result.isDone()) {
+                ScheduledFuture<?> timeoutTask = TimeoutSchedulerHolder.scheduler.schedule(
+                        () -> result.completeExceptionally(new TimeoutException("Work item " + workItem.getId() + " (" + workItem.getName() + ") did not complete within " + timeout + " ms")),
+                        timeout, TimeUnit.MILLISECONDS);
+                result.whenComplete((results, error) -> timeoutTask.cancel(false));
+            }
+        }
+
+        void cancel() {
+            result.cancel(false);
+        }
+    }
+
+    /**
+     * Limits the number of running executions of the same handler, the ones over the limit
+     * wait in submission order for a running one to complete.
+     */
+    private static class AsyncExecutionLimiter {
+
+        private final int maxConcurrency;
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+
+        AsyncExecutionLimiter(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        void submit(Runnable execution) {
+            synchronized (this) {
+                if (running >= maxConcurrency) {
+                    waiting.add(execution);
+                    return;
+                }
+                running++;
+            }
+            execution.run();
+        }
+
+        void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                    return;
+                }
+            }
+            next.run();
+        }
+    }
+
+    private static class TimeoutSchedulerHolder {
+        private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "async-work-item-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
     private class TransitionToActive implements Transition<Void> {
 
         @Override
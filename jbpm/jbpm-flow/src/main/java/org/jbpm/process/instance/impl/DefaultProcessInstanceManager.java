@@ -20,12 +20,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.jbpm.process.instance.ProcessInstanceManager;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.internal.process.CorrelationKey;
+import org.kie.kogito.services.id.IdGenerators;
 
 public class DefaultProcessInstanceManager implements ProcessInstanceManager {
 
@@ -34,7 +34,7 @@ public class DefaultProcessInstanceManager implements ProcessInstanceManager {
 
 
     public void addProcessInstance(ProcessInstance processInstance, CorrelationKey correlationKey) {
-        ((org.jbpm.process.instance.ProcessInstance) processInstance).setId(UUID.randomUUID().toString());
+        ((org.jbpm.process.instance.ProcessInstance) processInstance).setId(IdGenerators.generate());
         internalAddProcessInstance(processInstance);
 
         if (correlationKey != null) {
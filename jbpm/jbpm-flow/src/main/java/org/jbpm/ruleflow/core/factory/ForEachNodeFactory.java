@@ -69,6 +69,11 @@ public class ForEachNodeFactory extends RuleFlowNodeContainerFactory {
         return this;
     }
 
+    public ForEachNodeFactory batchSize(int batchSize) {
+        getForEachNode().setBatchSize(batchSize);
+        return this;
+    }
+
     public ForEachNodeFactory linkIncomingConnections(long nodeId) {
     	this.linkedIncomingNodeId = nodeId;
         return this;
@@ -39,6 +39,8 @@ import org.jbpm.workflow.core.impl.ExtendedNodeImpl;
 public class ForEachNode extends CompositeContextNode {
     
     private static final long serialVersionUID = 510l;
+
+    public static final String BATCH_SIZE = "MIBatchSize";
     
     private String variableName;
     private String outputVariableName;
@@ -234,6 +236,21 @@ public class ForEachNode extends CompositeContextNode {
         this.outputCollectionExpression = collectionExpression;
     }
 
+    /**
+     * Maximum number of iterations running at once, the iterations over the next items
+     * are triggered as the running ones complete. Kept as meta data so that it is part of the
+     * generated process definition.
+     * @return batch size, 0 when all the iterations are triggered at once
+     */
+    public int getBatchSize() {
+        Object batchSize = getMetaData().get(BATCH_SIZE);
+        return batchSize instanceof Integer ? (Integer) batchSize : 0;
+    }
+
+    public void setBatchSize(int batchSize) {
+        setMetaData(BATCH_SIZE, batchSize);
+    }
+
     public boolean isWaitForCompletion() {
         return waitForCompletion;
     }
@@ -22,9 +22,9 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -61,6 +61,7 @@ import org.jbpm.workflow.instance.node.EventNodeInstance;
 import org.jbpm.workflow.instance.node.EventNodeInstanceInterface;
 import org.jbpm.workflow.instance.node.EventSubProcessNodeInstance;
 import org.jbpm.workflow.instance.node.FaultNodeInstance;
+import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.kie.api.definition.process.Node;
 import org.kie.api.definition.process.NodeContainer;
 import org.kie.api.definition.process.WorkflowProcess;
@@ -68,6 +69,7 @@ import org.kie.api.runtime.process.EventListener;
 import org.kie.api.runtime.process.NodeInstanceContainer;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.internal.process.CorrelationKey;
+import org.kie.kogito.services.id.IdGenerators;
 import org.kie.services.time.manager.TimerInstance;
 import org.mvel2.integration.VariableResolverFactory;
 import org.slf4j.Logger;
@@ -86,6 +88,8 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
     private static final Logger logger = LoggerFactory.getLogger(WorkflowProcessInstanceImpl.class);
 
     private final List<NodeInstance> nodeInstances = new ArrayList<>();
+    // active work item node instances (including nested ones) indexed by work item id
+    private final Map<String, WorkItemNodeInstance> workItemNodeInstances = new LinkedHashMap<>();
 
     private Map<String, List<EventListener>> eventListeners = new HashMap<>();
     private Map<String, List<EventListener>> externalEventListeners = new HashMap<>();
@@ -122,7 +126,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
         if (nodeInstance.getId() == null) {
             // assign new id only if it does not exist as it might already be set by marshalling
             // it's important to keep same ids of node instances as they might be references e.g. exclusive group
-            ((NodeInstanceImpl) nodeInstance).setId(UUID.randomUUID().toString());
+            ((NodeInstanceImpl) nodeInstance).setId(IdGenerators.generate());
         }
         this.nodeInstances.add(nodeInstance);
     }
@@ -178,6 +182,22 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
         return Collections.unmodifiableCollection(result);
     }
 
+    public void internalAddWorkItemNodeInstance(WorkItemNodeInstance nodeInstance) {
+        this.workItemNodeInstances.put(nodeInstance.getWorkItemId(), nodeInstance);
+    }
+
+    public void internalRemoveWorkItemNodeInstance(String workItemId) {
+        this.workItemNodeInstances.remove(workItemId);
+    }
+
+    public WorkItemNodeInstance getWorkItemNodeInstance(String workItemId) {
+        return this.workItemNodeInstances.get(workItemId);
+    }
+
+    public Collection<WorkItemNodeInstance> getWorkItemNodeInstances() {
+        return Collections.unmodifiableCollection(this.workItemNodeInstances.values());
+    }
+
     @Override
     public NodeInstance getNodeInstance(String nodeInstanceId) {
         for (NodeInstance nodeInstance : nodeInstances) {
@@ -963,7 +983,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 
     @Override
     public void setErrorState(NodeInstance nodeInstanceInError, Exception e) {
-        String errorId = UUID.randomUUID().toString();
+        String errorId = IdGenerators.generate();
         this.nodeIdInError = nodeInstanceInError.getNodeDefinitionId();
         Throwable rootException = getRootException(e);
         this.errorMessage = errorId + " - " + rootException.getClass().getCanonicalName() + " - " + rootException.getMessage();
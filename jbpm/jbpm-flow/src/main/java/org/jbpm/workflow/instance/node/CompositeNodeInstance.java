@@ -26,7 +26,6 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 import org.jbpm.process.instance.ProcessInstance;
 import org.jbpm.workflow.core.node.ActionNode;
@@ -46,6 +45,7 @@ import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.kie.api.definition.process.Connection;
 import org.kie.api.definition.process.Node;
 import org.kie.api.definition.process.NodeContainer;
+import org.kie.kogito.services.id.IdGenerators;
 
 /**
  * Runtime counterpart of a composite node.
@@ -185,7 +185,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
         if (nodeInstance.getId() == null) {
             // assign new id only if it does not exist as it might already be set by marshalling 
             // it's important to keep same ids of node instances as they might be references e.g. exclusive group
-            ((NodeInstanceImpl) nodeInstance).setId(UUID.randomUUID().toString());
+            ((NodeInstanceImpl) nodeInstance).setId(IdGenerators.generate());
         }
         this.nodeInstances.add(nodeInstance);
     }
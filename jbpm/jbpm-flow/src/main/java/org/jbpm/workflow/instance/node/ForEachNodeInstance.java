@@ -49,6 +49,14 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
     private static final long serialVersionUID = 510L;
 
     private static final String TEMP_OUTPUT_VAR = "foreach_output";
+    // index of the next collection item to iterate over when iterations are executed in batches
+    private static final String NEXT_ITEM_VAR = "foreach_next_item";
+    // copy of the collection taken by the split, the items left are not affected by later changes of the collection.
+    // It is only stored when iterations run in batches and holds a second reference to every item, so the
+    // node instance state grows with the collection size (the items themselves are shared, not cloned)
+    private static final String BATCH_COLLECTION_VAR = "foreach_collection";
+
+    private transient boolean triggeringBatch;
 
     public ForEachNode getForEachNode() {
         return (ForEachNode) getNode();
@@ -122,6 +130,69 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                 "Unexpected collection type: " + collection.getClass());
     }
 
+    private VariableScopeInstance getForEachVariableScopeInstance() {
+        return (VariableScopeInstance) getContextInstance(VariableScope.VARIABLE_SCOPE);
+    }
+
+    private boolean isBatched() {
+        return getForEachVariableScopeInstance().getVariable(NEXT_ITEM_VAR) != null;
+    }
+
+    private boolean hasPendingItems() {
+        Integer nextItem = (Integer) getForEachVariableScopeInstance().getVariable(NEXT_ITEM_VAR);
+        return nextItem != null && nextItem < getBatchCollection().size();
+    }
+
+    private List<?> getBatchCollection() {
+        return (List<?>) getForEachVariableScopeInstance().getVariable(BATCH_COLLECTION_VAR);
+    }
+
+    private int countRunningIterations() {
+        int running = 0;
+        for (org.kie.api.runtime.process.NodeInstance nodeInstance : getNodeInstances()) {
+            if (!(nodeInstance instanceof ForEachJoinNodeInstance) && !(nodeInstance instanceof ForEachSplitNodeInstance)) {
+                running++;
+            }
+        }
+        return running;
+    }
+
+    /**
+     * Triggers the iterations over the next collection items until the batch size of iterations is running.
+     * Iterations that complete while triggering leave their slot to the next item in the same loop,
+     * so that iterations completing synchronously do not nest one into the other.
+     */
+    private void triggerBatch(NodeInstance from) {
+        if (triggeringBatch) {
+            return;
+        }
+        triggeringBatch = true;
+        try {
+            List<?> collection = getBatchCollection();
+            int batchSize = getForEachNode().getBatchSize();
+            VariableScopeInstance variableScopeInstance = getForEachVariableScopeInstance();
+            int nextItem = (Integer) variableScopeInstance.getVariable(NEXT_ITEM_VAR);
+            while (nextItem < collection.size() && countRunningIterations() < batchSize && getNodeInstanceContainer().getNodeInstance(getId()) != null) {
+                variableScopeInstance.internalSetVariable(NEXT_ITEM_VAR, nextItem + 1);
+                triggerIteration(from, collection.get(nextItem));
+                nextItem = (Integer) variableScopeInstance.getVariable(NEXT_ITEM_VAR);
+            }
+        } finally {
+            triggeringBatch = false;
+        }
+    }
+
+    private void triggerIteration(NodeInstance from, Object item) {
+        ForEachSplitNode splitNode = getForEachNode().getForEachSplitNode();
+        String variableName = getForEachNode().getVariableName();
+        NodeInstance nodeInstance = getNodeInstance(splitNode.getTo().getTo());
+        VariableScopeInstance variableScopeInstance = (VariableScopeInstance)
+                nodeInstance.resolveContextInstance(VariableScope.VARIABLE_SCOPE, variableName);
+        variableScopeInstance.setVariable(variableName, item);
+        logger.debug("Triggering [{}] in multi-instance loop.", nodeInstance.getNodeId());
+        nodeInstance.trigger(from, splitNode.getTo().getToType());
+    }
+
     public class ForEachSplitNodeInstance extends NodeInstanceImpl {
 
         private static final long serialVersionUID = 510l;
@@ -138,6 +209,18 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
             ((NodeInstanceContainer) getNodeInstanceContainer()).removeNodeInstance(this);
             if (collection.isEmpty()) {
                 ForEachNodeInstance.this.triggerCompleted(org.jbpm.workflow.core.Node.CONNECTION_DEFAULT_TYPE, true);
+            } else if (getForEachNode().getBatchSize() > 0 && getForEachNode().getBatchSize() < collection.size()) {
+                // only a batch of iterations is running at once, the join triggers the next ones as they complete
+                VariableScopeInstance variableScopeInstance = getForEachVariableScopeInstance();
+                variableScopeInstance.internalSetVariable(BATCH_COLLECTION_VAR, new ArrayList<>(collection));
+                variableScopeInstance.internalSetVariable(NEXT_ITEM_VAR, 0);
+                if (getForEachNode().getOutputVariableName() != null) {
+                    variableScopeInstance.internalSetVariable(TEMP_OUTPUT_VAR, new ArrayList<>(collection.size()));
+                }
+                triggerBatch(this);
+                if (!getForEachNode().isWaitForCompletion()) {
+                    ForEachNodeInstance.this.triggerCompleted(org.jbpm.workflow.core.Node.CONNECTION_DEFAULT_TYPE, false);
+                }
             } else {
                 List<NodeInstance> nodeInstances = new ArrayList<>();
                 for (Object o : collection) {
@@ -179,6 +262,8 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                 Collection<Object> outputCollection = (Collection<Object>) subprocessVariableScopeInstance.getVariable(TEMP_OUTPUT_VAR);
                 if (outputCollection == null) {
                     outputCollection = new ArrayList<>();
+                    // outputs are added in place, the output collection variable is set once when the loop completes
+                    subprocessVariableScopeInstance.internalSetVariable(TEMP_OUTPUT_VAR, outputCollection);
                 }
 
                 VariableScopeInstance variableScopeInstance = (VariableScopeInstance)
@@ -189,14 +274,24 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                 }
                 outputCollection.add(outputVariable);
 
-                subprocessVariableScopeInstance.setVariable(TEMP_OUTPUT_VAR, outputCollection);
                 // add temp collection under actual mi output name for completion condition evaluation
                 tempVariables.put(getForEachNode().getOutputVariableName(), outputVariable);
                 String outputCollectionName = getForEachNode().getOutputCollectionExpression();
                 tempVariables.put(outputCollectionName, outputCollection);
             }
             boolean isCompletionConditionMet = evaluateCompletionCondition(getForEachNode().getCompletionConditionExpression(), tempVariables);
-            if (getNodeInstanceContainer().getNodeInstances().size() == 1 || isCompletionConditionMet) {
+            boolean isBatched = isBatched();
+            if (isBatched && !isCompletionConditionMet) {
+                triggerBatch(null);
+                if (((NodeInstanceContainer) getNodeInstanceContainer()).getNodeInstance(getId()) == null) {
+                    // the iterations triggered by the batch already completed the for each
+                    return;
+                }
+            }
+            boolean allIterationsCompleted = isBatched ?
+                    !hasPendingItems() && countRunningIterations() == 0 :
+                    getNodeInstanceContainer().getNodeInstances().size() == 1;
+            if (allIterationsCompleted || isCompletionConditionMet) {
                 String outputCollection = getForEachNode().getOutputCollectionExpression();
                 if (outputCollection != null) {
                     VariableScopeInstance variableScopeInstance = (VariableScopeInstance) resolveContextInstance(VariableScope.VARIABLE_SCOPE, outputCollection);
@@ -121,6 +121,7 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
     public void internalRegisterWorkItem() {
         ((WorkItemManager) ((ProcessInstance) getProcessInstance())
                 .getKnowledgeRuntime().getWorkItemManager()).internalAddWorkItem(workItem);
+        ((WorkflowProcessInstanceImpl) getProcessInstance()).internalAddWorkItemNodeInstance(this);
     }
 
     @Override
@@ -173,6 +174,12 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
             triggerCompleted();
         }
         this.workItemId = workItem.getId();
+        // index only work items that are still awaiting completion
+        if (workItemNode.isWaitForCompletion() && 
+                workItem.getState() != WorkItem.COMPLETED && 
+                workItem.getState() != WorkItem.ABORTED) {
+            ((WorkflowProcessInstanceImpl) getProcessInstance()).internalAddWorkItemNodeInstance(this);
+        }
     }
     
     protected WorkItem newWorkItem() {
@@ -276,6 +283,7 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
 
     public void triggerCompleted(WorkItem workItem) {
         this.workItem = workItem;
+        ((WorkflowProcessInstanceImpl) getProcessInstance()).internalRemoveWorkItemNodeInstance(workItem.getId());
         WorkItemNode workItemNode = getWorkItemNode();
 
         if (workItemNode != null && workItem.getState() == WorkItem.COMPLETED) {
@@ -368,6 +376,9 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
                 throw wihnfe;
             }
         }
+        if (workItemId != null) {
+            ((WorkflowProcessInstanceImpl) getProcessInstance()).internalRemoveWorkItemNodeInstance(workItemId);
+        }
         
         if (exceptionHandlingProcessInstanceId != null) {
             ProcessInstance processInstance = null;
@@ -15,7 +15,20 @@
 
 package org.kie.kogito.process.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.jbpm.process.instance.LightProcessRuntime;
 import org.jbpm.process.instance.LightProcessRuntimeContext;
@@ -28,19 +41,26 @@ import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.process.ProcessInstanceArchive;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.ProcessInstancesFactory;
 import org.kie.kogito.process.Signal;
+import org.kie.kogito.uow.UnitOfWorkManager;
 
 public abstract class AbstractProcess<T extends Model> implements Process<T> {
 
     protected ProcessInstancesFactory processInstancesFactory;
 
     protected MutableProcessInstances<T> instances;
+    
+    protected ProcessInstanceArchive<T> archive;
 
     protected final ProcessRuntimeServiceProvider services;
 
     protected CompletionEventListener completionEventListener = new CompletionEventListener();
+    
+    protected int bulkPartitions = Runtime.getRuntime().availableProcessors();
 
     protected AbstractProcess() {
         this(new LightProcessRuntimeServiceProvider());
@@ -77,18 +97,84 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
     public ProcessInstances<T> instances() {
         return instances;
     }
+    
+    @Override
+    public Optional<ProcessInstanceArchive<T>> archive() {
+        return Optional.ofNullable(archive);
+    }
 
     @Override
     public <S> void send(Signal<S> signal) {
         instances().values().forEach(pi -> pi.send(signal));
     }
     
+    @Override
+    public Collection<? extends ProcessInstance<T>> executeInBulk(Map<String, Consumer<ProcessInstance<T>>> actions) {
+        List<ProcessInstance<T>> loaded = new ArrayList<>(instances().findByIds(actions.keySet()));
+        if (loaded.size() != actions.size()) {
+            Set<String> found = loaded.stream().map(ProcessInstance::id).collect(Collectors.toSet());
+            String missing = actions.keySet().stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+            throw new ProcessInstanceNotFoundException(missing);
+        }
+        
+        UnitOfWorkManager unitOfWorkManager = services.getUnitOfWorkManager();
+        // all partitions contribute to the unit of work of the caller, process instances are stored with one bulk write
+        BulkUnitOfWork<T> unitOfWork = new BulkUnitOfWork<>(unitOfWorkManager.currentUnitOfWork(), instances, loaded);
+        int partitions = Math.max(1, Math.min(bulkPartitions, loaded.size()));
+        
+        List<Future<?>> futures = new ArrayList<>(partitions);
+        for (int p = 0; p < partitions; p++) {
+            int partition = p;
+            futures.add(BulkExecutorHolder.executor.submit(() -> unitOfWorkManager.executeWithin(unitOfWork, () -> {
+                for (int i = partition; i < loaded.size(); i += partitions) {
+                    ProcessInstance<T> pi = loaded.get(i);
+                    actions.get(pi.id()).accept(pi);
+                }
+                return null;
+            })));
+        }
+        // every partition must be done before the unit of work is ended or aborted
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            unitOfWork.abort();
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            throw new IllegalStateException("Bulk execution failed", failure);
+        }
+        unitOfWork.end();
+        
+        return loaded;
+    }
+    
     @SuppressWarnings("unchecked")
     public Process<T> configure() {
 
         registerListeners();
         if (isProcessFactorySet()) {
             this.instances = (MutableProcessInstances<T>) processInstancesFactory.createProcessInstances(this);
+            this.archive = (ProcessInstanceArchive<T>) processInstancesFactory.createArchive(this);
         }
         //services.getWorkItemManager().registerWorkItemHandler(name, handlerConfig.forName(name)
         //services.getEventSupport().addEventListener(listener)
@@ -117,6 +203,15 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
         this.processInstancesFactory = processInstancesFactory;
     }
     
+    private static class BulkExecutorHolder {
+        private static final AtomicInteger counter = new AtomicInteger();
+        private static final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "kogito-bulk-executor-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
     private class CompletionEventListener implements EventListener {
         
         @Override
@@ -16,6 +16,8 @@
 package org.kie.kogito.process.impl;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +34,7 @@ import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.kie.api.runtime.process.EventListener;
+import org.kie.api.runtime.process.HumanTaskWorkItem;
 import org.kie.api.runtime.process.ProcessRuntime;
 import org.kie.api.runtime.process.WorkItemNotFoundException;
 import org.kie.kogito.Model;
@@ -39,12 +42,15 @@ import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessError;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
 import org.kie.kogito.process.Signal;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.workitem.Policy;
+import org.kie.kogito.process.workitem.TaskInfo;
 import org.kie.kogito.process.workitem.Transition;
 import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.uow.WorkUnit;
 
 public abstract class AbstractProcessInstance<T extends Model> implements ProcessInstance<T> {
 
@@ -55,14 +61,22 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
     
     private Integer status;
     private String id;
+    private String correlationKey;
     
     private ProcessError processError;
     
     private Supplier<org.kie.api.runtime.process.ProcessInstance> reloadSupplier;
     
     private CompletionEventListener completionEventListener = new CompletionEventListener();
+    
+    // tasks of the process instance as last written to or read from the store
+    private List<TaskInfo> storedTasks = Collections.emptyList();
 
     public AbstractProcessInstance(AbstractProcess<T> process, T variables, ProcessRuntime rt) {
+        this(process, variables, null, rt);
+    }
+    
+    public AbstractProcessInstance(AbstractProcess<T> process, T variables, String correlationKey, ProcessRuntime rt) {
         this.process = process;
         this.rt = rt;
         this.variables = variables;
@@ -71,7 +85,27 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         String processId = process.legacyProcess().getId();
         this.legacyProcessInstance = rt.createProcessInstance(processId, map);
         this.id = legacyProcessInstance.getId();
+        this.correlationKey = correlationKey;
         this.status = ProcessInstance.STATE_PENDING;
+        
+        if (correlationKey != null) {
+            correlate(correlationKey);
+            ((WorkflowProcessInstanceImpl) this.legacyProcessInstance).setCorrelationKey(correlationKey);
+        }
+        ((WorkflowProcessInstanceImpl) this.legacyProcessInstance).setMetaData("KogitoProcessInstance", this);
+    }
+    
+    /*
+     * correlation key is claimed atomically by the store when the instance is created, the claim is
+     * released if the unit of work that creates the instance is aborted and once the instance is removed
+     */
+    private void correlate(String correlationKey) {
+        MutableProcessInstances<T> instances = (MutableProcessInstances<T>) process.instances();
+        if (!instances.correlate(correlationKey, id)) {
+            throw new ProcessInstanceDuplicatedException(correlationKey);
+        }
+        ((InternalProcessRuntime) rt).getUnitOfWorkManager().currentUnitOfWork().intercept(
+                WorkUnit.create(this, pi -> {}, instances::remove));
     }
     
     // for marshaller/persistence only
@@ -82,13 +116,15 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.legacyProcessInstance = legacyProcessInstance;
         this.status = legacyProcessInstance.getState();
         this.id = legacyProcessInstance.getId();
+        this.correlationKey = ((WorkflowProcessInstanceImpl) this.legacyProcessInstance).getCorrelationKey();
         ((WorkflowProcessInstanceImpl) this.legacyProcessInstance).setKnowledgeRuntime( ((InternalProcessRuntime)rt).getInternalKieRuntime() );
         ((WorkflowProcessInstanceImpl) this.legacyProcessInstance).reconnect();
         
         ((WorkflowProcessInstanceImpl) this.legacyProcessInstance).setMetaData("KogitoProcessInstance", this);
         ((WorkflowProcessInstance)legacyProcessInstance).addEventListener("processInstanceCompleted:"+this.id, completionEventListener, false);
         
-        for (org.kie.api.runtime.process.NodeInstance nodeInstance : ((WorkflowProcessInstance)legacyProcessInstance).getNodeInstances()) {
+        // registers work items of all (including nested) node instances and rebuilds work item index
+        for (NodeInstance nodeInstance : ((WorkflowProcessInstanceImpl) legacyProcessInstance).getNodeInstances(true)) {
             if (nodeInstance instanceof WorkItemNodeInstance) {
                 ((WorkItemNodeInstance) nodeInstance).internalRegisterWorkItem();
             }
@@ -102,12 +138,23 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         return legacyProcessInstance;
     }
     
+    // for persistence only, allows stores to write only the tasks that changed since the process instance was stored
+    public List<TaskInfo> internalGetStoredTasks() {
+        return storedTasks;
+    }
+    
+    public void internalSetStoredTasks(List<TaskInfo> storedTasks) {
+        this.storedTasks = storedTasks;
+    }
+    
     public void internalRemoveProcessInstance(Supplier<org.kie.api.runtime.process.ProcessInstance> reloadSupplier) {
         this.reloadSupplier = reloadSupplier;
         this.status = legacyProcessInstance.getState();
         if (this.status == STATE_ERROR) {
             this.processError = buildProcessError();
         }
+        // process instance might be reused by another instance once reloaded from a cache
+        ((WorkflowProcessInstance) legacyProcessInstance).removeEventListener("processInstanceCompleted:" + this.id, completionEventListener, false);
         this.legacyProcessInstance = null;
     }
 
@@ -137,7 +184,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         unbind(variables, legacyProcessInstance().getVariables());        
         this.rt.abortProcessInstance(pid);
         this.status = legacyProcessInstance.getState();
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>)process.instances()).remove(pi.id()));
+        addToUnitOfWork(this::archiveAndRemove);
     }
 
     @Override
@@ -166,6 +213,11 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         return this.id;
     }
     
+    @Override
+    public String correlationKey() {
+        return this.correlationKey;
+    }
+    
     @Override
     public void updateVariables(T updates) {
         Map<String, Object> map = bind(updates);
@@ -199,35 +251,51 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public WorkItem workItem(String workItemId, Policy<?>... policies) {
-        WorkItemNodeInstance workItemInstance = (WorkItemNodeInstance) ((WorkflowProcessInstance)legacyProcessInstance()).getNodeInstances()
-                .stream()
-                .filter(ni -> ni instanceof WorkItemNodeInstance && ((WorkItemNodeInstance) ni).getWorkItemId().equals(workItemId) && ((WorkItemNodeInstance)ni).getWorkItem().enforce(policies))
-                .findFirst()
-                .orElseThrow(() -> new WorkItemNotFoundException("Work item with id " + workItemId + " was not found in process instance " + id(), workItemId));
-        return new BaseWorkItem(workItemInstance.getWorkItem().getId(), 
-                                (String)workItemInstance.getWorkItem().getParameters().getOrDefault("TaskName", workItemInstance.getNodeName()), 
-                                workItemInstance.getWorkItem().getState(),
-                                workItemInstance.getWorkItem().getPhaseId(),
-                                workItemInstance.getWorkItem().getPhaseStatus(),
-                                workItemInstance.getWorkItem().getParameters(),
-                                workItemInstance.getWorkItem().getResults());
+        WorkItemNodeInstance workItemInstance = ((WorkflowProcessInstanceImpl) legacyProcessInstance()).getWorkItemNodeInstance(workItemId);
+        if (workItemInstance == null || !workItemInstance.getWorkItem().enforce(policies)) {
+            throw new WorkItemNotFoundException("Work item with id " + workItemId + " was not found in process instance " + id(), workItemId);
+        }
+        return toWorkItem(workItemInstance);
     }
 
     @Override
     public List<WorkItem> workItems(Policy<?>... policies) {
-        return ((WorkflowProcessInstance)legacyProcessInstance()).getNodeInstances()
+        return ((WorkflowProcessInstanceImpl) legacyProcessInstance()).getWorkItemNodeInstances()
                 .stream()
-                .filter(ni -> ni instanceof WorkItemNodeInstance && ((WorkItemNodeInstance)ni).getWorkItem().enforce(policies))
-                .map(ni -> new BaseWorkItem(((WorkItemNodeInstance)ni).getWorkItemId(), 
-                                            (String)((WorkItemNodeInstance)ni).getWorkItem().getParameters().getOrDefault("TaskName", ni.getNodeName()), 
-                                            ((WorkItemNodeInstance)ni).getWorkItem().getState(),
-                                            ((WorkItemNodeInstance)ni).getWorkItem().getPhaseId(),
-                                            ((WorkItemNodeInstance)ni).getWorkItem().getPhaseStatus(),
-                                            ((WorkItemNodeInstance)ni).getWorkItem().getParameters(),
-                                            ((WorkItemNodeInstance)ni).getWorkItem().getResults()))
+                .filter(ni -> ni.getWorkItem().enforce(policies))
+                .map(this::toWorkItem)
                 .collect(Collectors.toList());
         
     }
+    
+    @Override
+    public List<TaskInfo> tasks() {
+        List<TaskInfo> tasks = new ArrayList<>();
+        for (WorkItemNodeInstance workItemInstance : ((WorkflowProcessInstanceImpl) legacyProcessInstance()).getWorkItemNodeInstances()) {
+            if (workItemInstance.getWorkItem() instanceof HumanTaskWorkItem) {
+                HumanTaskWorkItem workItem = (HumanTaskWorkItem) workItemInstance.getWorkItem();
+                tasks.add(new BaseTaskInfo(id(),
+                                           workItemInstance.getWorkItemId(),
+                                           (String) workItem.getParameters().getOrDefault("TaskName", workItemInstance.getNodeName()),
+                                           workItem.getPhaseId(),
+                                           workItem.getActualOwner(),
+                                           workItem.getPotentialUsers(),
+                                           workItem.getPotentialGroups(),
+                                           workItem.getExcludedUsers()));
+            }
+        }
+        return tasks;
+    }
+    
+    protected WorkItem toWorkItem(WorkItemNodeInstance workItemInstance) {
+        return new BaseWorkItem(workItemInstance.getWorkItemId(), 
+                                (String)workItemInstance.getWorkItem().getParameters().getOrDefault("TaskName", workItemInstance.getNodeName()), 
+                                workItemInstance.getWorkItem().getState(),
+                                workItemInstance.getWorkItem().getPhaseId(),
+                                workItemInstance.getWorkItem().getPhaseStatus(),
+                                workItemInstance.getWorkItem().getParameters(),
+                                workItemInstance.getWorkItem().getResults());
+    }
 
     @Override
     public void completeWorkItem(String id, Map<String, Object> variables, Policy<?>... policies) {
@@ -241,12 +309,34 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         removeOnFinish();
     }
     
+    /**
+     * Puts the process instance in error because the execution of the given work item failed
+     * after the process instance was left waiting for its completion, e.g. an asynchronous work item handler.
+     * @param id identifier of the work item
+     * @param error cause of the failure
+     */
+    public void failWorkItem(String id, Throwable error) {
+        WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) legacyProcessInstance();
+        WorkItemNodeInstance workItemInstance = processInstance.getWorkItemNodeInstance(id);
+        if (workItemInstance == null) {
+            throw new WorkItemNotFoundException("Work item with id " + id + " was not found in process instance " + id(), id);
+        }
+        processInstance.internalRemoveWorkItemNodeInstance(id);
+        processInstance.setErrorState(workItemInstance, error instanceof Exception ? (Exception) error : new RuntimeException(error));
+        removeOnFinish();
+    }
+    
     @Override
     public void transitionWorkItem(String id, Transition<?> transition) {
         this.rt.getWorkItemManager().transitionWorkItem(id, transition);
         removeOnFinish();
     }
 
+    protected void archiveAndRemove(ProcessInstance<T> instance) {
+        process.archive().ifPresent(archive -> archive.archive(instance));
+        ((MutableProcessInstances<T>)process.instances()).remove(instance);
+    }
+    
     protected void removeOnFinish() {
 
         if (legacyProcessInstance.getState() != ProcessInstance.STATE_ACTIVE && legacyProcessInstance.getState() != ProcessInstance.STATE_ERROR) {            
@@ -255,7 +345,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             this.status = legacyProcessInstance.getState();
             this.id = legacyProcessInstance.getId();
             
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>)process.instances()).remove(pi.id()));
+            addToUnitOfWork(this::archiveAndRemove);
             
         } else {
             addToUnitOfWork(pi -> ((MutableProcessInstances<T>)process.instances()).update(pi.id(), pi));
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process.impl;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+import org.kie.kogito.process.workitem.TaskInfo;
+
+public class BaseTaskInfo implements TaskInfo {
+
+    private final String processInstanceId;
+    private final String id;
+    private final String name;
+    private final String phase;
+    private final String actualOwner;
+    private final Set<String> potentialUsers;
+    private final Set<String> potentialGroups;
+    private final Set<String> excludedUsers;
+
+    public BaseTaskInfo(String processInstanceId, String id, String name, String phase, String actualOwner, Set<String> potentialUsers, Set<String> potentialGroups, Set<String> excludedUsers) {
+        this.processInstanceId = processInstanceId;
+        this.id = id;
+        this.name = name;
+        this.phase = phase;
+        this.actualOwner = actualOwner;
+        this.potentialUsers = potentialUsers == null ? Collections.emptySet() : potentialUsers;
+        this.potentialGroups = potentialGroups == null ? Collections.emptySet() : potentialGroups;
+        this.excludedUsers = excludedUsers == null ? Collections.emptySet() : excludedUsers;
+    }
+
+    @Override
+    public String getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getPhase() {
+        return phase;
+    }
+
+    @Override
+    public String getActualOwner() {
+        return actualOwner;
+    }
+
+    @Override
+    public Set<String> getPotentialUsers() {
+        return potentialUsers;
+    }
+
+    @Override
+    public Set<String> getPotentialGroups() {
+        return potentialGroups;
+    }
+
+    @Override
+    public Set<String> getExcludedUsers() {
+        return excludedUsers;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(processInstanceId, id, name, phase, actualOwner, potentialUsers, potentialGroups, excludedUsers);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BaseTaskInfo)) {
+            return false;
+        }
+        BaseTaskInfo other = (BaseTaskInfo) obj;
+        return Objects.equals(processInstanceId, other.processInstanceId)
+                && Objects.equals(id, other.id)
+                && Objects.equals(name, other.name)
+                && Objects.equals(phase, other.phase)
+                && Objects.equals(actualOwner, other.actualOwner)
+                && potentialUsers.equals(other.potentialUsers)
+                && potentialGroups.equals(other.potentialGroups)
+                && excludedUsers.equals(other.excludedUsers);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskInfo [processInstanceId=" + processInstanceId + ", id=" + id + ", name=" + name + ", phase=" + phase + ", actualOwner=" + actualOwner + "]";
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.kogito.process.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.WorkUnit;
+
+/**
+ * Unit of work used while actions are executed in bulk. Work of the process instances of the bulk
+ * is collected and handed to the enclosing unit of work as single work unit that stores process
+ * instances still active with one bulk write, any other work is passed to the enclosing unit of work as is.
+ */
+class BulkUnitOfWork<T> implements UnitOfWork {
+
+    private final UnitOfWork delegate;
+    private final MutableProcessInstances<T> instances;
+    private final Set<String> bulk = new HashSet<>();
+    
+    // keyed by process instance id as process instance equality depends on its status
+    private final Map<String, WorkUnit<ProcessInstance<T>>> collectedWork = new LinkedHashMap<>();
+
+    BulkUnitOfWork(UnitOfWork delegate, MutableProcessInstances<T> instances, Collection<? extends ProcessInstance<T>> bulk) {
+        this.delegate = delegate;
+        this.instances = instances;
+        bulk.forEach(pi -> this.bulk.add(pi.id()));
+    }
+
+    @Override
+    public void start() {
+        
+    }
+
+    /**
+     * Hands collected work to the enclosing unit of work.
+     */
+    @Override
+    public synchronized void end() {
+        if (collectedWork.isEmpty()) {
+            return;
+        }
+        List<WorkUnit<ProcessInstance<T>>> work = new ArrayList<>(collectedWork.values());
+        collectedWork.clear();
+        delegate.intercept(new BulkWorkUnit<>(work, instances));
+    }
+
+    @Override
+    public synchronized void abort() {
+        for (WorkUnit<ProcessInstance<T>> work : collectedWork.values()) {
+            work.abort();
+        }
+        collectedWork.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void intercept(WorkUnit work) {
+        String id = work instanceof ProcessInstanceWorkUnit ? ((ProcessInstance<T>) work.data()).id() : null;
+        if (id != null && bulk.contains(id)) {
+            synchronized (this) {
+                // same as collecting unit of work, the latest work of process instance replaces the earlier one
+                collectedWork.remove(id);
+                collectedWork.put(id, work);
+            }
+        } else {
+            delegate.intercept(work);
+        }
+    }
+
+    private static class BulkWorkUnit<T> implements WorkUnit<Collection<ProcessInstance<T>>> {
+
+        private final List<WorkUnit<ProcessInstance<T>>> work;
+        private final MutableProcessInstances<T> instances;
+
+        BulkWorkUnit(List<WorkUnit<ProcessInstance<T>>> work, MutableProcessInstances<T> instances) {
+            this.work = work;
+            this.instances = instances;
+        }
+
+        @Override
+        public Collection<ProcessInstance<T>> data() {
+            List<ProcessInstance<T>> data = new ArrayList<>();
+            work.forEach(w -> data.add(w.data()));
+            return data;
+        }
+
+        @Override
+        public void perform() {
+            List<ProcessInstance<T>> active = new ArrayList<>();
+            for (WorkUnit<ProcessInstance<T>> w : work) {
+                // work of active process instances is their update, finished ones are removed by their own work
+                if (instances.isActive(w.data())) {
+                    active.add(w.data());
+                } else {
+                    w.perform();
+                }
+            }
+            instances.updateAll(active);
+        }
+
+        @Override
+        public void abort() {
+            work.forEach(WorkUnit::abort);
+        }
+    }
+}
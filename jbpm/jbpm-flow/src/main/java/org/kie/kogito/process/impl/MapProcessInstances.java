@@ -16,15 +16,21 @@
 package org.kie.kogito.process.impl;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.workitem.TaskInfo;
+import org.kie.kogito.process.workitem.TaskQuery;
 
 class MapProcessInstances<T> implements MutableProcessInstances<T> {
 
     private final ConcurrentHashMap<String, ProcessInstance<T>> instances = new ConcurrentHashMap<>();
+    // secondary index of correlation keys to process instance ids
+    private final ConcurrentHashMap<String, String> correlations = new ConcurrentHashMap<>();
+    private final UserTaskIndex tasks = new UserTaskIndex();
 
     @Override
     public Optional<? extends ProcessInstance<T>> findById(String id) {
@@ -36,15 +42,51 @@ class MapProcessInstances<T> implements MutableProcessInstances<T> {
         return instances.values();
     }
 
+    @Override
+    public Optional<? extends ProcessInstance<T>> findByCorrelationKey(String correlationKey) {
+        if (correlationKey == null) {
+            return Optional.empty();
+        }
+        String id = correlations.get(correlationKey);
+        if (id == null) {
+            return Optional.empty();
+        }
+        return findById(id);
+    }
+
+    @Override
+    public List<TaskInfo> findTasks(TaskQuery query) {
+        return tasks.find(query);
+    }
+
     @Override
     public void update(String id, ProcessInstance<T> instance) {
         if (isActive(instance)) {
             instances.put(id, instance);
+            tasks.update(id, instance.tasks());
         }
     }
 
     @Override
     public void remove(String id) {
-        instances.remove(id);
+        ProcessInstance<T> removed = instances.remove(id);
+        tasks.remove(id);
+        if (removed != null && removed.correlationKey() != null) {
+            correlations.remove(removed.correlationKey(), id);
+        }
+    }
+
+    @Override
+    public void remove(ProcessInstance<T> instance) {
+        remove(instance.id());
+        if (instance.correlationKey() != null) {
+            correlations.remove(instance.correlationKey(), instance.id());
+        }
+    }
+
+    @Override
+    public boolean correlate(String correlationKey, String id) {
+        String correlated = correlations.putIfAbsent(correlationKey, id);
+        return correlated == null || correlated.equals(id);
     }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.kie.kogito.process.workitem.TaskInfo;
+import org.kie.kogito.process.workitem.TaskQuery;
+
+/**
+ * In memory index of active user tasks across process instances. Tasks are indexed
+ * by actual owner, potential users and potential groups so that inbox queries only
+ * visit tasks that can possibly match instead of all tasks of all process instances.
+ */
+public class UserTaskIndex {
+
+    private static final Comparator<TaskInfo> ORDER = Comparator.comparing(TaskInfo::getProcessInstanceId).thenComparing(TaskInfo::getId);
+
+    private final Map<String, List<TaskInfo>> byInstance = new HashMap<>();
+    private final Map<String, Set<String>> byUser = new HashMap<>();
+    private final Map<String, Set<String>> byGroup = new HashMap<>();
+
+    /**
+     * Replaces all tasks indexed for given process instance
+     * @param processInstanceId id of the process instance
+     * @param tasks active tasks of the process instance
+     */
+    public synchronized void update(String processInstanceId, Collection<TaskInfo> tasks) {
+        remove(processInstanceId);
+        if (tasks.isEmpty()) {
+            return;
+        }
+        byInstance.put(processInstanceId, new ArrayList<>(tasks));
+        for (TaskInfo task : tasks) {
+            if (task.getActualOwner() != null) {
+                link(byUser, task.getActualOwner(), processInstanceId);
+            }
+            task.getPotentialUsers().forEach(user -> link(byUser, user, processInstanceId));
+            task.getPotentialGroups().forEach(group -> link(byGroup, group, processInstanceId));
+        }
+    }
+
+    public synchronized void remove(String processInstanceId) {
+        List<TaskInfo> removed = byInstance.remove(processInstanceId);
+        if (removed == null) {
+            return;
+        }
+        for (TaskInfo task : removed) {
+            if (task.getActualOwner() != null) {
+                unlink(byUser, task.getActualOwner(), processInstanceId);
+            }
+            task.getPotentialUsers().forEach(user -> unlink(byUser, user, processInstanceId));
+            task.getPotentialGroups().forEach(group -> unlink(byGroup, group, processInstanceId));
+        }
+    }
+
+    public synchronized List<TaskInfo> find(TaskQuery query) {
+        Collection<String> candidates;
+        if (query.getUser() == null) {
+            candidates = byInstance.keySet();
+        } else {
+            candidates = new HashSet<>(byUser.getOrDefault(query.getUser(), Collections.emptySet()));
+            for (String group : query.getGroups()) {
+                candidates.addAll(byGroup.getOrDefault(group, Collections.emptySet()));
+            }
+        }
+
+        return filter(candidates.stream().flatMap(id -> byInstance.get(id).stream()).collect(Collectors.toList()), query);
+    }
+
+    /**
+     * Applies given query, including paging, to given tasks
+     * @param tasks tasks to be filtered
+     * @param query query to apply
+     * @return matching tasks ordered by process instance id and task id
+     */
+    public static List<TaskInfo> filter(Collection<TaskInfo> tasks, TaskQuery query) {
+        return tasks.stream()
+                .filter(query::matches)
+                .sorted(ORDER)
+                .skip(query.getOffset())
+                .limit(query.getLimit())
+                .collect(Collectors.toList());
+    }
+
+    private static void link(Map<String, Set<String>> index, String key, String processInstanceId) {
+        index.computeIfAbsent(key, k -> new HashSet<>()).add(processInstanceId);
+    }
+
+    private static void unlink(Map<String, Set<String>> index, String key, String processInstanceId) {
+        Set<String> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(processInstanceId);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl.marshalling;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+public class DeflatePayloadCompressor implements PayloadCompressor {
+
+    public static final byte FORMAT = 1;
+
+    private final int level;
+
+    public DeflatePayloadCompressor() {
+        // favours speed, marshalled process instances are compressed on every update
+        this(Deflater.BEST_SPEED);
+    }
+
+    public DeflatePayloadCompressor(int level) {
+        this.level = level;
+    }
+
+    @Override
+    public byte format() {
+        return FORMAT;
+    }
+
+    @Override
+    public String name() {
+        return "deflate";
+    }
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+        Deflater deflater = new Deflater(level);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+            try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+                deflaterOut.write(data);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public InputStream decompress(InputStream compressed) throws IOException {
+        Inflater inflater = new Inflater();
+        return new InflaterInputStream(compressed, inflater) {
+
+            @Override
+            public void close() throws IOException {
+                super.close();
+                inflater.end();
+            }
+        };
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl.marshalling;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Compresses marshalled process instances larger than the threshold. Compressed payloads start with the
+ * format byte of their compressor while uncompressed ones start with the serialization stream magic,
+ * so payloads stored before compression was enabled, or below the threshold, stay readable.
+ */
+public class PayloadCompression {
+
+    // first byte of java serialization stream header, starts every uncompressed payload
+    private static final byte UNCOMPRESSED = (byte) 0xAC;
+
+    private static final Map<Byte, PayloadCompressor> COMPRESSORS = new HashMap<>();
+
+    static {
+        register(new DeflatePayloadCompressor());
+        for (PayloadCompressor compressor : ServiceLoader.load(PayloadCompressor.class)) {
+            register(compressor);
+        }
+    }
+
+    private final PayloadCompressor compressor;
+    private final int threshold;
+
+    /**
+     * @param compressor compressor applied to payloads
+     * @param threshold minimum size in bytes of payloads to compress
+     */
+    public PayloadCompression(PayloadCompressor compressor, int threshold) {
+        this.compressor = compressor;
+        this.threshold = threshold;
+        register(compressor);
+    }
+
+    /**
+     * Creates compression using compressor of given name.
+     * @throws IllegalArgumentException if no such compressor is available
+     */
+    public static PayloadCompression of(String compressorName, int threshold) {
+        synchronized (COMPRESSORS) {
+            for (PayloadCompressor compressor : COMPRESSORS.values()) {
+                if (compressor.name().equals(compressorName)) {
+                    return new PayloadCompression(compressor, threshold);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown payload compressor " + compressorName);
+    }
+
+    public byte[] compress(byte[] data) {
+        if (data.length < threshold) {
+            return data;
+        }
+        try {
+            byte[] compressed = compressor.compress(data);
+            if (compressed.length + 1 >= data.length) {
+                // not worth decompressing on every read
+                return data;
+            }
+            byte[] payload = new byte[compressed.length + 1];
+            payload[0] = compressor.format();
+            System.arraycopy(compressed, 0, payload, 1, compressed.length);
+            return payload;
+        } catch (IOException e) {
+            throw new RuntimeException("Error while compressing process instance", e);
+        }
+    }
+
+    /**
+     * Opens given payload, decompressing it if needed.
+     */
+    public static InputStream open(byte[] payload) throws IOException {
+        if (payload.length == 0 || payload[0] == UNCOMPRESSED) {
+            return new ByteArrayInputStream(payload);
+        }
+        PayloadCompressor compressor;
+        synchronized (COMPRESSORS) {
+            compressor = COMPRESSORS.get(payload[0]);
+        }
+        if (compressor == null) {
+            throw new IOException("Unknown compression format " + payload[0] + " of process instance");
+        }
+        return compressor.decompress(new ByteArrayInputStream(payload, 1, payload.length - 1));
+    }
+
+    private static void register(PayloadCompressor compressor) {
+        if (compressor.format() == UNCOMPRESSED) {
+            throw new IllegalArgumentException("Format byte of " + compressor.name() + " compressor is reserved for uncompressed payloads");
+        }
+        synchronized (COMPRESSORS) {
+            PayloadCompressor existing = COMPRESSORS.putIfAbsent(compressor.format(), compressor);
+            if (existing != null && !existing.getClass().equals(compressor.getClass())) {
+                throw new IllegalArgumentException("Compressors " + existing.name() + " and " + compressor.name() + " use the same format byte");
+            }
+        }
+    }
+}
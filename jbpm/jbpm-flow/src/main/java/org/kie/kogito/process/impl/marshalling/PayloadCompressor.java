@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl.marshalling;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Compression algorithm applied to marshalled process instances, additional algorithms are
+ * discovered with {@link java.util.ServiceLoader}.
+ */
+public interface PayloadCompressor {
+
+    /**
+     * Format byte written in front of payloads compressed by this compressor, must be unique and
+     * must not collide with the format bytes reserved by {@link PayloadCompression}.
+     */
+    byte format();
+
+    String name();
+
+    byte[] compress(byte[] data) throws IOException;
+
+    InputStream decompress(InputStream compressed) throws IOException;
+}
@@ -15,19 +15,24 @@
 
 package org.kie.kogito.process.impl.marshalling;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.drools.core.impl.EnvironmentImpl;
 import org.drools.core.marshalling.impl.ClassObjectMarshallingStrategyAcceptor;
 import org.drools.core.marshalling.impl.MarshallerReaderContext;
 import org.drools.core.marshalling.impl.PersisterHelper;
 import org.drools.core.marshalling.impl.ProcessMarshallerWriteContext;
+import org.drools.core.marshalling.impl.ProtobufMessages.Header;
 import org.drools.core.marshalling.impl.SerializablePlaceholderResolverStrategy;
 import org.jbpm.marshalling.impl.JBPMMessages;
 import org.jbpm.marshalling.impl.ProcessMarshallerRegistry;
+import org.jbpm.marshalling.impl.ProtobufProcessMarshaller;
 import org.jbpm.marshalling.impl.ProtobufRuleFlowProcessInstanceMarshaller;
 import org.jbpm.process.instance.impl.ProcessInstanceImpl;
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
@@ -40,9 +45,15 @@ import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.impl.AbstractProcess;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.WireFormat;
+
 public class ProcessInstanceMarshaller {
     
     private Environment env = new EnvironmentImpl();
+    // optional compression of marshalled process instances, null when disabled
+    private PayloadCompression compression;
     
     public ProcessInstanceMarshaller(ObjectMarshallingStrategy... strategies) {
         ObjectMarshallingStrategy[] strats = null;
@@ -60,6 +71,14 @@ public class ProcessInstanceMarshaller {
         
         env.set( EnvironmentName.OBJECT_MARSHALLING_STRATEGIES, strats );
     }
+    
+    /**
+     * Enables compression of marshalled process instances, compressed as well as uncompressed
+     * process instances are always read.
+     */
+    public void setCompression(PayloadCompression compression) {
+        this.compression = compression;
+    }
 
     public byte[] marhsallProcessInstance(ProcessInstance<?> processInstance) {
         
@@ -90,7 +109,7 @@ public class ProcessInstanceMarshaller {
             }
             context.close();
             ((WorkflowProcessInstanceImpl) legacyProcessInstance).disconnect();
-            return baos.toByteArray();
+            return compression == null ? baos.toByteArray() : compression.compress(baos.toByteArray());
         } catch (Exception e) {
             throw new RuntimeException("Error while marshalling process instance", e);
         }
@@ -107,7 +126,7 @@ public class ProcessInstanceMarshaller {
     public ProcessInstance<?> unmarshallProcessInstance(byte[] data, Process<?> process, AbstractProcessInstance<?> processInstance) {
         
         org.kie.api.runtime.process.ProcessInstance legacyProcessInstance = null;
-        try (ByteArrayInputStream bais = new ByteArrayInputStream( data )) {
+        try (InputStream bais = PayloadCompression.open( data )) {
             MarshallerReaderContext context = new MarshallerReaderContext( bais,
                                                                            Collections.singletonMap(process.id(), ((AbstractProcess<?>)process).legacyProcess()),
                                                                            null,
@@ -131,4 +150,47 @@ public class ProcessInstanceMarshaller {
             throw new RuntimeException("Error while unmarshalling process instance", e);
         }
     }
+
+    /**
+     * Reads given variables of the marshalled process instance without unmarshalling the process instance.
+     * Variables are embedded messages of the process instance message, so node instances and other
+     * variables are skipped on the wire and only values of the requested variables are decoded.
+     * @param data marshalled process instance
+     * @param names names of the variables to read
+     * @return values of the variables found, keyed by variable name
+     */
+    public Map<String, Object> readVariables(byte[] data, Collection<String> names) {
+        Map<String, Object> variables = new HashMap<>();
+        try (InputStream bais = PayloadCompression.open( data )) {
+            MarshallerReaderContext context = new MarshallerReaderContext( bais,
+                                                                           Collections.emptyMap(),
+                                                                           null,
+                                                                           null,
+                                                                           null,
+                                                                           this.env
+                                                                          );
+            // process type
+            context.stream.readUTF();
+            ExtensionRegistry registry = PersisterHelper.buildRegistry( context, null );
+            Header _header = PersisterHelper.readFromStreamWithHeaderPreloaded( context, registry );
+
+            CodedInputStream input = _header.getPayload().newCodedInput();
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                if (WireFormat.getTagFieldNumber(tag) == JBPMMessages.ProcessInstance.VARIABLE_FIELD_NUMBER) {
+                    JBPMMessages.Variable _variable = input.readMessage( JBPMMessages.Variable.parser(), registry );
+                    if (names.contains(_variable.getName())) {
+                        variables.put(_variable.getName(), ProtobufProcessMarshaller.unmarshallVariableValue( context, _variable ));
+                    }
+                } else {
+                    input.skipField(tag);
+                }
+            }
+            context.close();
+
+            return variables;
+        } catch (Exception e) {
+            throw new RuntimeException("Error while reading variables of process instance", e);
+        }
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process.impl.marshalling;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.kie.kogito.process.impl.BaseTaskInfo;
+import org.kie.kogito.process.workitem.TaskInfo;
+
+/**
+ * Compact binary form of task summaries of a single process instance, used by persistence
+ * to keep task index next to marshalled process instances.
+ */
+public class TaskInfoMarshaller {
+
+    public byte[] marshallTasks(Collection<TaskInfo> tasks) {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(baos)) {
+            out.writeInt(tasks.size());
+            for (TaskInfo task : tasks) {
+                out.writeUTF(task.getProcessInstanceId());
+                out.writeUTF(task.getId());
+                writeNullable(out, task.getName());
+                writeNullable(out, task.getPhase());
+                writeNullable(out, task.getActualOwner());
+                writeSet(out, task.getPotentialUsers());
+                writeSet(out, task.getPotentialGroups());
+                writeSet(out, task.getExcludedUsers());
+            }
+            out.flush();
+            return baos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while marshalling tasks", e);
+        }
+    }
+
+    public List<TaskInfo> unmarshallTasks(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int size = in.readInt();
+            List<TaskInfo> tasks = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                tasks.add(new BaseTaskInfo(in.readUTF(),
+                                           in.readUTF(),
+                                           readNullable(in),
+                                           readNullable(in),
+                                           readNullable(in),
+                                           readSet(in),
+                                           readSet(in),
+                                           readSet(in)));
+            }
+            return tasks;
+        } catch (IOException e) {
+            throw new RuntimeException("Error while unmarshalling tasks", e);
+        }
+    }
+
+    private void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private void writeSet(DataOutputStream out, Set<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private Set<String> readSet(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Set<String> values = new HashSet<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+}
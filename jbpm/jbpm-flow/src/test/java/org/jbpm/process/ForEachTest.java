@@ -17,17 +17,27 @@
 package org.jbpm.process;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
+import org.jbpm.process.test.TestWorkItemHandler;
 import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
 import org.jbpm.test.util.AbstractBaseTest;
 import org.junit.jupiter.api.Test;
+import org.kie.api.event.process.DefaultProcessEventListener;
+import org.kie.api.event.process.ProcessVariableChangedEvent;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.api.runtime.process.WorkItem;
 import org.slf4j.LoggerFactory;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class ForEachTest extends AbstractBaseTest {
     
     public void addLogger() { 
@@ -91,4 +101,122 @@ public class ForEachTest extends AbstractBaseTest {
         ksession.startProcess("ParentProcess", parameters);
     }
 
+    @Test
+    public void testBatchedIterations() {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("BatchedProcess");
+        factory.variable("list", new ObjectDataType("java.util.List"));
+        factory.variable("listOut", new ObjectDataType("java.util.List"));
+        factory.name("Batched Process");
+        factory.packageName("org.drools.bpmn2");
+        factory.dynamic(false);
+        factory.version("1.0");
+        factory.visibility("Private");
+        factory.startNode(1).name("StartProcess").done();
+        org.jbpm.ruleflow.core.factory.ForEachNodeFactory forEachNode2 = factory.forEachNode(2);
+        forEachNode2.metaData("UniqueId", "_2");
+        forEachNode2.collectionExpression("list");
+        forEachNode2.variable("x", new ObjectDataType("java.lang.String"));
+        forEachNode2.outputCollectionExpression("listOut");
+        forEachNode2.outputVariable("y", new ObjectDataType("java.lang.String"));
+        forEachNode2.batchSize(2);
+
+        forEachNode2.workItemNode(5).name("Task").workName("Batch Task").inMapping("Item", "x").outMapping("Result", "y").done();
+        forEachNode2.linkIncomingConnections(5);
+        forEachNode2.linkOutgoingConnections(5);
+
+        forEachNode2.done();
+        factory.endNode(3).name("EndProcess").terminate(true).done();
+        factory.connection(1, 2, "_1-_2");
+        factory.connection(2, 3, "_2-_3");
+        factory.validate();
+
+        List<String> list = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            list.add("item" + i);
+        }
+        List<String> listOut = new ArrayList<String>();
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("list", list);
+        parameters.put("listOut", listOut);
+
+        KieSession ksession = createKieSession(factory.getProcess());
+        TestWorkItemHandler handler = new TestWorkItemHandler();
+        ksession.getWorkItemManager().registerWorkItemHandler("Batch Task", handler);
+
+        ProcessInstance processInstance = ksession.startProcess("BatchedProcess", parameters);
+        // only a batch of iterations is running at once
+        assertEquals(2, handler.getWorkItems().size());
+
+        for (int i = 0; i < list.size(); i++) {
+            assertTrue(handler.getWorkItems().size() <= 2);
+            WorkItem workItem = handler.getWorkItems().poll();
+            ksession.getWorkItemManager().completeWorkItem(workItem.getId(), Collections.singletonMap("Result", workItem.getParameter("Item") + "-done"));
+        }
+
+        assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.getState());
+        assertEquals(Arrays.asList("item0-done", "item1-done", "item2-done", "item3-done", "item4-done"), listOut);
+    }
+
+    @Test
+    public void testOutputsFireVariableChanges() {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("OutputProcess");
+        factory.variable("list", new ObjectDataType("java.util.List"));
+        factory.variable("listOut", new ObjectDataType("java.util.List"));
+        factory.name("Output Process");
+        factory.packageName("org.drools.bpmn2");
+        factory.dynamic(false);
+        factory.version("1.0");
+        factory.visibility("Private");
+        factory.startNode(1).name("StartProcess").done();
+        org.jbpm.ruleflow.core.factory.ForEachNodeFactory forEachNode2 = factory.forEachNode(2);
+        forEachNode2.metaData("UniqueId", "_2");
+        forEachNode2.collectionExpression("list");
+        forEachNode2.variable("x", new ObjectDataType("java.lang.String"));
+        forEachNode2.outputCollectionExpression("listOut");
+        forEachNode2.outputVariable("y", new ObjectDataType("java.lang.String"));
+
+        forEachNode2.workItemNode(5).name("Task").workName("Output Task").inMapping("Item", "x").outMapping("Result", "y").done();
+        forEachNode2.linkIncomingConnections(5);
+        forEachNode2.linkOutgoingConnections(5);
+
+        forEachNode2.done();
+        factory.endNode(3).name("EndProcess").terminate(true).done();
+        factory.connection(1, 2, "_1-_2");
+        factory.connection(2, 3, "_2-_3");
+        factory.validate();
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("list", Arrays.asList("item0", "item1", "item2"));
+        List<String> listOut = new ArrayList<String>();
+        parameters.put("listOut", listOut);
+
+        KieSession ksession = createKieSession(factory.getProcess());
+        TestWorkItemHandler handler = new TestWorkItemHandler();
+        ksession.getWorkItemManager().registerWorkItemHandler("Output Task", handler);
+        List<String> changedVariables = new ArrayList<>();
+        ksession.addEventListener(new DefaultProcessEventListener() {
+
+            @Override
+            public void afterVariableChanged(ProcessVariableChangedEvent event) {
+                changedVariables.add(event.getVariableId());
+            }
+        });
+
+        ProcessInstance processInstance = ksession.startProcess("OutputProcess", parameters);
+        assertEquals(3, handler.getWorkItems().size());
+        changedVariables.clear();
+
+        WorkItem workItem;
+        while ((workItem = handler.getWorkItems().poll()) != null) {
+            ksession.getWorkItemManager().completeWorkItem(workItem.getId(), Collections.singletonMap("Result", workItem.getParameter("Item") + "-done"));
+        }
+
+        assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.getState());
+        // iteration outputs are collected without variable changes, the output collection changes once
+        assertEquals(0, changedVariables.stream().filter(id -> id.endsWith("foreach_output")).count());
+        assertEquals(1, changedVariables.stream().filter("listOut"::equals).count());
+        assertEquals(Arrays.asList("item0-done", "item1-done", "item2-done"), listOut);
+    }
+
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workflow.instance.node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
+import org.jbpm.process.instance.impl.humantask.HumanTaskTransition;
+import org.jbpm.process.instance.impl.humantask.HumanTaskWorkItemHandler;
+import org.jbpm.process.instance.impl.humantask.phases.Claim;
+import org.jbpm.process.instance.impl.workitem.Complete;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
+import org.jbpm.ruleflow.core.factory.ForEachNodeFactory;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.process.NodeInstance;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkItemNodeInstanceTest extends AbstractBaseTest {
+
+    private KieSession ksession;
+    private WorkflowProcessInstanceImpl processInstance;
+
+    public void addLogger() {
+        logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    @BeforeEach
+    public void startProcess() {
+        ksession = createKieSession(createProcess());
+        ksession.getWorkItemManager().registerWorkItemHandler("Human Task", new HumanTaskWorkItemHandler());
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("list", Arrays.asList("first", "second", "third"));
+        processInstance = (WorkflowProcessInstanceImpl) ksession.startProcess("WorkItemIndexProcess", parameters);
+        assertEquals(ProcessInstance.STATE_ACTIVE, processInstance.getState());
+    }
+
+    @Test
+    public void testIndexesNestedWorkItems() {
+        Set<String> workItemIds = new HashSet<>();
+        for (NodeInstance nodeInstance : processInstance.getNodeInstances(true)) {
+            if (nodeInstance instanceof WorkItemNodeInstance) {
+                workItemIds.add(((WorkItemNodeInstance) nodeInstance).getWorkItemId());
+            }
+        }
+        assertEquals(3, workItemIds.size());
+        assertEquals(3, processInstance.getWorkItemNodeInstances().size());
+
+        for (String workItemId : workItemIds) {
+            WorkItemNodeInstance nodeInstance = processInstance.getWorkItemNodeInstance(workItemId);
+            assertNotNull(nodeInstance);
+            assertEquals(workItemId, nodeInstance.getWorkItemId());
+            assertTrue(processInstance.getWorkItemNodeInstances().contains(nodeInstance));
+        }
+    }
+
+    @Test
+    public void testWorkItemTransitions() {
+        String workItemId = firstWorkItemId();
+        WorkItemNodeInstance nodeInstance = processInstance.getWorkItemNodeInstance(workItemId);
+
+        // a transition to a non terminating phase keeps the work item indexed
+        ksession.getWorkItemManager().transitionWorkItem(workItemId, new HumanTaskTransition(Claim.ID));
+        assertSame(nodeInstance, processInstance.getWorkItemNodeInstance(workItemId));
+        assertEquals(Claim.ID, processInstance.getWorkItemNodeInstance(workItemId).getWorkItem().getPhaseId());
+        assertEquals(3, processInstance.getWorkItemNodeInstances().size());
+
+        ksession.getWorkItemManager().transitionWorkItem(workItemId, new HumanTaskTransition(Complete.ID));
+        assertNull(processInstance.getWorkItemNodeInstance(workItemId));
+        assertEquals(2, processInstance.getWorkItemNodeInstances().size());
+    }
+
+    @Test
+    public void testCompletedWorkItems() {
+        List<String> workItemIds = new ArrayList<>();
+        processInstance.getWorkItemNodeInstances().forEach(ni -> workItemIds.add(ni.getWorkItemId()));
+
+        for (int i = 0; i < workItemIds.size(); i++) {
+            ksession.getWorkItemManager().completeWorkItem(workItemIds.get(i), null);
+            assertNull(processInstance.getWorkItemNodeInstance(workItemIds.get(i)));
+            assertEquals(workItemIds.size() - i - 1, processInstance.getWorkItemNodeInstances().size());
+        }
+        assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.getState());
+    }
+
+    @Test
+    public void testAbortedWorkItem() {
+        String workItemId = firstWorkItemId();
+
+        ksession.getWorkItemManager().abortWorkItem(workItemId);
+        assertNull(processInstance.getWorkItemNodeInstance(workItemId));
+        assertEquals(2, processInstance.getWorkItemNodeInstances().size());
+    }
+
+    @Test
+    public void testAbortedProcessInstance() {
+        ksession.abortProcessInstance(processInstance.getId());
+
+        assertEquals(ProcessInstance.STATE_ABORTED, processInstance.getState());
+        assertTrue(processInstance.getWorkItemNodeInstances().isEmpty());
+    }
+
+    private String firstWorkItemId() {
+        return processInstance.getWorkItemNodeInstances().iterator().next().getWorkItemId();
+    }
+
+    private RuleFlowProcess createProcess() {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("WorkItemIndexProcess");
+        factory.variable("list", new ObjectDataType("java.util.List"));
+        factory.name("Work Item Index Process");
+        factory.packageName("org.jbpm");
+        factory.dynamic(false);
+        factory.version("1.0");
+        factory.visibility("Private");
+        factory.startNode(1).name("StartProcess").done();
+        ForEachNodeFactory forEachNode = factory.forEachNode(2);
+        forEachNode.metaData("UniqueId", "_2");
+        forEachNode.collectionExpression("list");
+        forEachNode.variable("x", new ObjectDataType("java.lang.String"));
+
+        forEachNode.humanTaskNode(5).name("Task").taskName("Task").done();
+        forEachNode.linkIncomingConnections(5);
+        forEachNode.linkOutgoingConnections(5);
+
+        forEachNode.done();
+        factory.endNode(3).name("EndProcess").terminate(true).done();
+        factory.connection(1, 2, "_1-_2");
+        factory.connection(2, 3, "_2-_3");
+        factory.validate();
+        return factory.getProcess();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.ProcessInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MapProcessInstancesTest {
+
+    @Test
+    public void testCorrelationKeyIsClaimedOnce() {
+        MapProcessInstances<Object> instances = new MapProcessInstances<>();
+
+        assertThat(instances.correlate("ORDER-1", "1")).isTrue();
+        // the same instance may claim its key again, another one may not
+        assertThat(instances.correlate("ORDER-1", "1")).isTrue();
+        assertThat(instances.correlate("ORDER-1", "2")).isFalse();
+        assertThat(instances.correlate("ORDER-2", "2")).isTrue();
+    }
+
+    @Test
+    public void testFindByCorrelationKey() {
+        MapProcessInstances<Object> instances = new MapProcessInstances<>();
+        ProcessInstance<Object> instance = instance("1", "ORDER-1");
+
+        assertThat(instances.correlate("ORDER-1", "1")).isTrue();
+        // claimed but not yet stored
+        assertThat(instances.findByCorrelationKey("ORDER-1")).isNotPresent();
+
+        instances.update("1", instance);
+        assertThat(instances.findByCorrelationKey("ORDER-1")).containsSame(instance);
+        assertThat(instances.findByCorrelationKey("ORDER-2")).isNotPresent();
+        assertThat(instances.findByCorrelationKey(null)).isNotPresent();
+    }
+
+    @Test
+    public void testRemoveReleasesCorrelationKey() {
+        MapProcessInstances<Object> instances = new MapProcessInstances<>();
+        ProcessInstance<Object> instance = instance("1", "ORDER-1");
+        instances.correlate("ORDER-1", "1");
+        instances.update("1", instance);
+
+        instances.remove(instance);
+        assertThat(instances.findById("1")).isNotPresent();
+        assertThat(instances.findByCorrelationKey("ORDER-1")).isNotPresent();
+        assertThat(instances.correlate("ORDER-1", "2")).isTrue();
+
+        // key of an instance that was never stored is released as well
+        instances.remove(instance("3", "ORDER-1"));
+        assertThat(instances.correlate("ORDER-1", "3")).isFalse();
+        instances.remove(instance("2", "ORDER-1"));
+        assertThat(instances.correlate("ORDER-1", "3")).isTrue();
+    }
+
+    @Test
+    public void testCompletedInstanceIsNotStored() {
+        MapProcessInstances<Object> instances = new MapProcessInstances<>();
+        ProcessInstance<Object> instance = instance("1", null);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_COMPLETED);
+
+        instances.update("1", instance);
+        assertThat(instances.findById("1")).isNotPresent();
+        assertThat(instances.values()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProcessInstance<Object> instance(String id, String correlationKey) {
+        ProcessInstance<Object> instance = mock(ProcessInstance.class);
+        when(instance.id()).thenReturn(id);
+        when(instance.correlationKey()).thenReturn(correlationKey);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        return instance;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.workitem.TaskInfo;
+import org.kie.kogito.process.workitem.TaskQuery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserTaskIndexTest {
+
+    @Test
+    public void testFindByUserAndGroups() {
+        UserTaskIndex index = new UserTaskIndex();
+        index.update("1", Arrays.asList(task("1", "a", null, users("john"), users(), users()),
+                                        task("1", "b", null, users(), users("managers"), users())));
+        index.update("2", Collections.singletonList(task("2", "a", null, users("mary"), users("managers"), users())));
+
+        assertThat(ids(index.find(TaskQuery.forUser("john", Collections.emptyList())))).containsExactly("1/a");
+        assertThat(ids(index.find(TaskQuery.forUser("mary", Collections.emptyList())))).containsExactly("2/a");
+        assertThat(ids(index.find(TaskQuery.forUser("peter", Collections.singletonList("managers"))))).containsExactly("1/b", "2/a");
+        assertThat(ids(index.find(TaskQuery.forUser("peter", Collections.emptyList())))).isEmpty();
+        assertThat(ids(index.find(TaskQuery.all()))).containsExactly("1/a", "1/b", "2/a");
+    }
+
+    @Test
+    public void testAuthorizationRules() {
+        UserTaskIndex index = new UserTaskIndex();
+        index.update("1", Arrays.asList(task("1", "claimed", "mary", users("john", "mary"), users(), users()),
+                                        task("1", "excluded", null, users(), users("managers"), users("john")),
+                                        task("1", "owned", "john", users(), users(), users())));
+
+        // claimed by another user, excluded or owned without being potential owner
+        assertThat(index.find(TaskQuery.forUser("john", Collections.singletonList("managers")))).isEmpty();
+        assertThat(ids(index.find(TaskQuery.forUser("mary", Collections.emptyList())))).containsExactly("1/claimed");
+        assertThat(ids(index.find(TaskQuery.forUser("peter", Collections.singletonList("managers"))))).containsExactly("1/excluded");
+    }
+
+    @Test
+    public void testUnassigned() {
+        UserTaskIndex index = new UserTaskIndex();
+        index.update("1", Arrays.asList(task("1", "open", null, users(), users(), users()),
+                                        task("1", "users", null, users("john"), users(), users()),
+                                        task("1", "groups", null, users(), users("managers"), users()),
+                                        task("1", "owned", "john", users(), users(), users())));
+
+        assertThat(ids(index.find(TaskQuery.unassigned()))).containsExactly("1/open");
+        assertThat(index.find(TaskQuery.all())).hasSize(4);
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        UserTaskIndex index = new UserTaskIndex();
+        index.update("1", Collections.singletonList(task("1", "a", null, users("john"), users(), users())));
+
+        index.update("1", Collections.singletonList(task("1", "b", null, users("mary"), users(), users())));
+        assertThat(index.find(TaskQuery.forUser("john", Collections.emptyList()))).isEmpty();
+        assertThat(ids(index.find(TaskQuery.forUser("mary", Collections.emptyList())))).containsExactly("1/b");
+
+        index.update("1", Collections.emptyList());
+        assertThat(index.find(TaskQuery.all())).isEmpty();
+
+        index.update("1", Collections.singletonList(task("1", "a", null, users("john"), users(), users())));
+        index.remove("1");
+        assertThat(index.find(TaskQuery.forUser("john", Collections.emptyList()))).isEmpty();
+    }
+
+    @Test
+    public void testNameAndPaging() {
+        UserTaskIndex index = new UserTaskIndex();
+        for (int i = 0; i < 5; i++) {
+            index.update(String.valueOf(i), Arrays.asList(task(String.valueOf(i), "a", null, users("john"), users(), users()),
+                                                          task(String.valueOf(i), "b", null, users("john"), users(), users())));
+        }
+
+        List<TaskInfo> named = index.find(TaskQuery.forUser("john", Collections.emptyList()).withName("Task b"));
+        assertThat(ids(named)).containsExactly("0/b", "1/b", "2/b", "3/b", "4/b");
+        assertThat(ids(index.find(TaskQuery.all().withName("Task b").page(1, 2)))).containsExactly("1/b", "2/b");
+        assertThat(ids(index.find(TaskQuery.all().page(8, 10)))).containsExactly("4/a", "4/b");
+        assertThat(index.find(TaskQuery.all().withPhase("completed"))).isEmpty();
+    }
+
+    private static TaskInfo task(String processInstanceId, String id, String actualOwner, HashSet<String> potentialUsers, HashSet<String> potentialGroups, HashSet<String> excludedUsers) {
+        return new BaseTaskInfo(processInstanceId, id, "Task " + id, "active", actualOwner, potentialUsers, potentialGroups, excludedUsers);
+    }
+
+    private static HashSet<String> users(String... users) {
+        return new HashSet<>(Arrays.asList(users));
+    }
+
+    private static String[] ids(List<TaskInfo> tasks) {
+        return tasks.stream().map(task -> task.getProcessInstanceId() + "/" + task.getId()).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl.marshalling;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PayloadCompressionTest {
+
+    @Test
+    public void testCompressLargePayload() throws Exception {
+        byte[] payload = payload(1000);
+        byte[] compressed = PayloadCompression.of("deflate", 128).compress(payload);
+
+        assertThat(compressed.length).isLessThan(payload.length);
+        assertThat(compressed[0]).isEqualTo(DeflatePayloadCompressor.FORMAT);
+        assertThat(read(compressed)).isEqualTo("{\"name\":\"item-0\"}");
+    }
+
+    @Test
+    public void testSmallPayloadStaysUncompressed() throws Exception {
+        byte[] payload = payload(1);
+        byte[] compressed = PayloadCompression.of("deflate", 1024).compress(payload);
+
+        assertThat(compressed).isSameAs(payload);
+        assertThat(read(compressed)).isEqualTo("{\"name\":\"item-0\"}");
+    }
+
+    @Test
+    public void testUncompressedPayloadIsReadable() throws Exception {
+        // payloads stored before compression was enabled
+        assertThat(read(payload(1000))).isEqualTo("{\"name\":\"item-0\"}");
+    }
+
+    @Test
+    public void testUnknownCompressor() {
+        assertThatThrownBy(() -> PayloadCompression.of("unknown", 1024)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PayloadCompression.open(new byte[] {42, 1, 2})).isInstanceOf(IOException.class);
+    }
+
+    private byte[] payload(int items) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+            for (int i = 0; i < items; i++) {
+                stream.writeUTF("{\"name\":\"item-" + (i % 10) + "\"}");
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private String read(byte[] payload) throws IOException {
+        try (InputStream in = PayloadCompression.open(payload); ObjectInputStream stream = new ObjectInputStream(in)) {
+            return stream.readUTF();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.kie.kogito.codegen.process;
 
 import static com.github.javaparser.StaticJavaParser.parse;
+import static com.github.javaparser.StaticJavaParser.parseBlock;
 import static org.kie.kogito.codegen.process.CodegenUtils.interpolateArguments;
 import static org.kie.kogito.codegen.process.CodegenUtils.interpolateTypes;
 import static org.kie.kogito.codegen.process.CodegenUtils.isApplicationField;
@@ -18,6 +19,7 @@ import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 
 public class MessageConsumerGenerator {
@@ -84,7 +86,15 @@ public class MessageConsumerGenerator {
         
         template.findAll(ClassOrInterfaceType.class).forEach(cls -> interpolateTypes(cls, dataClazzName));
         template.findAll(MethodDeclaration.class).stream().filter(md -> md.getNameAsString().equals("consume")).forEach(md -> interpolateArguments(md, trigger.getDataType()));
+        template.findAll(MethodDeclaration.class).stream().filter(md -> md.getNameAsString().equals("correlationKey")).forEach(md -> {
+            interpolateArguments(md, trigger.getDataType());
+            if (!StringUtils.isEmpty(trigger.getCorrelation())) {
+                md.setBody(parseBlock("{ Object correlation = eventData == null ? null : eventData.get" + StringUtils.capitalize(trigger.getCorrelation()) + "();"
+                                      + " return correlation == null ? null : correlation.toString(); }"));
+            }
+        });
         template.findAll(MethodCallExpr.class).forEach(this::interpolateStrings);
+        template.findAll(StringLiteralExpr.class).forEach(this::interpolateStrings);
         
         if (useInjection()) {
             annotator.withApplicationComponent(template);
@@ -121,6 +131,13 @@ public class MessageConsumerGenerator {
         vv.setName(interpolated);
     }
     
+    private void interpolateStrings(StringLiteralExpr vv) {
+        String s = vv.getValue();
+        String interpolated =
+                s.replace("$SignalName$", "Message-" + trigger.getName());
+        vv.setString(interpolated);
+    }
+    
     private void annotateFields(FieldDeclaration fd) {       
         annotator.withNamedInjection(fd, processId);
     }
@@ -15,8 +15,11 @@
 
 package org.kie.kogito.codegen.process;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -24,9 +27,12 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -43,6 +49,9 @@ import org.jbpm.compiler.canonical.ProcessToExecModelGenerator;
 import org.jbpm.compiler.canonical.TriggerMetaData;
 import org.jbpm.compiler.canonical.UserTaskModelMetaData;
 import org.jbpm.compiler.xml.XmlProcessReader;
+import org.jbpm.workflow.core.node.SubProcessNode;
+import org.kie.api.definition.process.Node;
+import org.kie.api.definition.process.NodeContainer;
 import org.kie.api.definition.process.Process;
 import org.kie.api.definition.process.WorkflowProcess;
 import org.kie.api.io.Resource;
@@ -54,6 +63,8 @@ import org.kie.kogito.codegen.GeneratedFile;
 import org.kie.kogito.codegen.GeneratedFile.Type;
 import org.kie.kogito.codegen.di.DependencyInjectionAnnotator;
 import org.kie.kogito.codegen.process.config.ProcessConfigGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
 
 import static org.kie.kogito.codegen.ApplicationGenerator.log;
@@ -63,13 +74,7 @@ import static org.kie.kogito.codegen.ApplicationGenerator.log;
  */
 public class ProcessCodegen extends AbstractGenerator {
 
-    private static final SemanticModules BPMN_SEMANTIC_MODULES = new SemanticModules();
-
-    static {
-        BPMN_SEMANTIC_MODULES.addSemanticModule(new BPMNSemanticModule());
-        BPMN_SEMANTIC_MODULES.addSemanticModule(new BPMNExtensionsSemanticModule());
-        BPMN_SEMANTIC_MODULES.addSemanticModule(new BPMNDISemanticModule());
-    }
+    private static final Logger logger = LoggerFactory.getLogger(ProcessCodegen.class);
 
     private ClassLoader contextClassLoader;
 
@@ -85,32 +90,70 @@ public class ProcessCodegen extends AbstractGenerator {
     }
 
     public static ProcessCodegen ofFiles(Collection<File> processFiles) throws IOException {
-        List<Process> allProcesses = parseProcesses(processFiles);
-        return ofProcesses(allProcesses);
+        Map<String, String> sourceHashes = new HashMap<>();
+        List<Process> allProcesses = parseProcesses(processFiles, sourceHashes);
+        ProcessCodegen codegen = ofProcesses(allProcesses);
+        codegen.sourceHashes.putAll(sourceHashes);
+        return codegen;
     }
 
     private static ProcessCodegen ofProcesses(List<Process> processes) {
         return new ProcessCodegen(processes);
     }
 
-    private static List<Process> parseProcesses(Collection<File> processFiles) throws IOException {
-        List<Process> processes = new ArrayList<>();
-        for (File bpmnFile : processFiles) {
-            FileSystemResource r = new FileSystemResource(bpmnFile);
-            Collection<? extends Process> ps = parseProcessFile(r);
-            processes.addAll(ps);
+    private static List<Process> parseProcesses(Collection<File> processFiles, Map<String, String> sourceHashes) throws IOException {
+        // files are parsed in parallel, the worker threads do not inherit the context class loader
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            List<ParsedFile> parsedFiles = processFiles.parallelStream()
+                    .map(bpmnFile -> parseProcessFile(bpmnFile, classLoader))
+                    .collect(Collectors.toList());
+
+            List<Process> processes = new ArrayList<>();
+            for (ParsedFile parsedFile : parsedFiles) {
+                for (Process process : parsedFile.processes) {
+                    sourceHashes.put(process.getId(), parsedFile.hash);
+                }
+                processes.addAll(parsedFile.processes);
+            }
+            return processes;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return processes;
     }
 
-    private static Collection<? extends Process> parseProcessFile(Resource r) throws IOException {
+    private static ParsedFile parseProcessFile(File bpmnFile, ClassLoader classLoader) {
+        Resource r = new FileSystemResource(bpmnFile);
         try {
+            byte[] content = Files.readAllBytes(bpmnFile.toPath());
+            // each parser gets its own semantic modules rather than sharing them between parsing threads
             XmlProcessReader xmlReader = new XmlProcessReader(
-                    BPMN_SEMANTIC_MODULES,
-                    Thread.currentThread().getContextClassLoader());
-            return xmlReader.read(r.getReader());
+                    bpmnSemanticModules(),
+                    classLoader);
+            return new ParsedFile(xmlReader.read(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)), ProcessGenerationState.hash(content));
         } catch (SAXException e) {
             throw new ProcessParsingException("Could not parse file " + r.getSourcePath(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SemanticModules bpmnSemanticModules() {
+        SemanticModules semanticModules = new SemanticModules();
+        semanticModules.addSemanticModule(new BPMNSemanticModule());
+        semanticModules.addSemanticModule(new BPMNExtensionsSemanticModule());
+        semanticModules.addSemanticModule(new BPMNDISemanticModule());
+        return semanticModules;
+    }
+
+    private static class ParsedFile {
+
+        private final Collection<? extends Process> processes;
+        private final String hash;
+
+        ParsedFile(Collection<? extends Process> processes, String hash) {
+            this.processes = processes;
+            this.hash = hash;
         }
     }
 
@@ -122,10 +165,14 @@ public class ProcessCodegen extends AbstractGenerator {
     private ProcessesContainerGenerator moduleGenerator;
 
     private final Map<String, WorkflowProcess> processes;
+    // hashes of the definition files of the processes, keyed by process id
+    private final Map<String, String> sourceHashes = new HashMap<>();
     private final Map<String, String> labels = new HashMap<>();
     private final List<GeneratedFile> generatedFiles = new ArrayList<>();
     
     private boolean persistence;
+    private boolean reactive;
+    private ProcessGenerationState generationState;
 
     public ProcessCodegen(
             Collection<? extends Process> processes) {
@@ -167,180 +214,195 @@ public class ProcessCodegen extends AbstractGenerator {
         return this;
     }
 
+    public ProcessCodegen withReactive(boolean reactive) {
+        this.reactive = reactive;
+        return this;
+    }
+
     public ProcessCodegen withClassLoader(ClassLoader projectClassLoader) {
         this.contextClassLoader = projectClassLoader;
         return this;
     }
 
+    /**
+     * Enables incremental generation: processes whose definition and generation settings did not change
+     * since the previous build are not generated again, their files generated by that build are kept.
+     * Project classes resolved through the class loader, such as rule units, are not part of the state
+     * so changes to them alone do not regenerate the processes. The state is only saved by {@link #commit()}.
+     * @param generatedSources directory the generated files are written to
+     * @param stateFile file keeping the hashes of the processes between builds
+     */
+    public ProcessCodegen withIncremental(Path generatedSources, Path stateFile) {
+        this.generationState = ProcessGenerationState.load(stateFile, generatedSources);
+        return this;
+    }
+
+    /**
+     * Saves the state of incremental generation, to be called once the files returned by {@link #generate()}
+     * have been written so that a failed build generates them again.
+     */
+    public void commit() {
+        if (generationState != null) {
+            generationState.save();
+        }
+    }
+
     public List<GeneratedFile> generate() {
         if (processes.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<ProcessGenerator> ps = new ArrayList<>();
-        List<ProcessInstanceGenerator> pis = new ArrayList<>();
-        List<ProcessExecutableModelGenerator> processExecutableModelGenerators = new ArrayList<>();
-        List<ResourceGenerator> rgs = new ArrayList<>(); // REST resources
-        List<MessageConsumerGenerator> megs = new ArrayList<>(); // message endpoints/consumers
-        List<MessageProducerGenerator> mpgs = new ArrayList<>(); // message producers
-
-        List<String> publicProcesses = new ArrayList<>();
-
-        Map<String, ModelMetaData> processIdToModel = new HashMap<>();
-        Map<String, ModelClassGenerator> processIdToModelGenerator = new HashMap<>();
-        
-        Map<String, List<UserTaskModelMetaData>> processIdToUserTaskModel = new HashMap<>();
-        Map<String, ProcessMetaData> processIdToMetadata = new HashMap<>();
-
-        // first we generate all the data classes from variable declarations
-        for (WorkflowProcess workFlowProcess : processes.values()) {
-            ModelClassGenerator mcg = new ModelClassGenerator(workFlowProcess);
-            processIdToModelGenerator.put(workFlowProcess.getId(), mcg);
-            processIdToModel.put(workFlowProcess.getId(), mcg.generate());
-        }
-        
-        // then we generate user task inputs and outputs if any
-        for (WorkflowProcess workFlowProcess : processes.values()) {
-            UserTasksModelClassGenerator utcg = new UserTasksModelClassGenerator(workFlowProcess);
-            processIdToUserTaskModel.put(workFlowProcess.getId(), utcg.generate());
-        }
-
-        // then we can instantiate the exec model generator
-        // with the data classes that we have already resolved
+        // exec model generator is shared, it resolves the data classes with the project class loader
         ProcessToExecModelGenerator execModelGenerator =
                 new ProcessToExecModelGenerator(contextClassLoader);
 
-        // collect all process descriptors (exec model)
-        for (WorkflowProcess workFlowProcess : processes.values()) {
-            ProcessExecutableModelGenerator execModelGen =
-                    new ProcessExecutableModelGenerator(workFlowProcess, execModelGenerator);
-            processIdToMetadata.put(workFlowProcess.getId(), execModelGen.generate());
-            processExecutableModelGenerators.add(execModelGen);
-        }
-        
-        
-
-        // generate Process, ProcessInstance classes and the REST resource
-        for (ProcessExecutableModelGenerator execModelGen : processExecutableModelGenerators) {
-            String classPrefix = StringUtils.capitalize(execModelGen.extractedProcessId());
-            WorkflowProcess workFlowProcess = execModelGen.process();
-            ModelClassGenerator modelClassGenerator =
-                    processIdToModelGenerator.get(execModelGen.getProcessId());
-
-            ProcessGenerator p = new ProcessGenerator(
-                    workFlowProcess,
-                    execModelGen,
-                    classPrefix,
-                    modelClassGenerator.className(),
-                    applicationCanonicalName
-            )
-                    .withDependencyInjection(annotator)
-                    .withPersistence(persistence);
-
-            ProcessInstanceGenerator pi = new ProcessInstanceGenerator(
-                    workFlowProcess.getPackageName(),
-                    classPrefix,
-                    modelClassGenerator.generate());
+        String settings = ProcessGenerationState.hash(packageName,
+                                                      annotator == null ? null : annotator.getClass().getName(),
+                                                      String.valueOf(persistence),
+                                                      String.valueOf(reactive),
+                                                      ProcessCodegen.class.getPackage().getImplementationVersion());
+
+        // all processes are registered in the application, in a stable order
+        List<ProcessUnit> units = new ArrayList<>();
+        List<ProcessUnit> outdated = new ArrayList<>();
+        List<WorkflowProcess> sortedProcesses = new ArrayList<>(processes.values());
+        sortedProcesses.sort(Comparator.comparing(WorkflowProcess::getId));
+        for (WorkflowProcess workFlowProcess : sortedProcesses) {
+            ProcessUnit unit = new ProcessUnit(workFlowProcess, execModelGenerator);
+            moduleGenerator.addProcess(unit.processGenerator);
+
+            if (unit.execModelGen.isPublic()) {
+                labels.put(unit.execModelGen.label(), "process");// add the label id of the process with value set to process as resource type
+            }
 
-            ProcessMetaData metaData = processIdToMetadata.get(workFlowProcess.getId());
-                        
-            // create REST resource class for process
-            ResourceGenerator resourceGenerator = new ResourceGenerator(
-                    workFlowProcess,
-                    modelClassGenerator.className(),
-                    execModelGen.className(),
-                    applicationCanonicalName)
-                    .withDependencyInjection(annotator)
-                    .withUserTasks(processIdToUserTaskModel.get(workFlowProcess.getId()))
-                    .withSignals(metaData.getSignals())
-                    .withTriggers(metaData.isStartable());
-            
-            rgs.add(resourceGenerator);
-            
-                        
-            if (metaData.getTriggers() != null) {
-                
-                for (TriggerMetaData trigger : metaData.getTriggers()) {
-                    // generate message consumers for processes with message start events
-                    if (trigger.getType().equals(TriggerMetaData.TriggerType.ConsumeMessage)) {
-                    
-                        megs.add(new MessageConsumerGenerator(
-                                    workFlowProcess,
-                                    modelClassGenerator.className(),
-                                    execModelGen.className(),
-                                    applicationCanonicalName,
-                                    trigger)
-                                        .withDependencyInjection(annotator));
-                    } else if (trigger.getType().equals(TriggerMetaData.TriggerType.ProduceMessage)) {
-                        mpgs.add(new MessageProducerGenerator(
-                                                              workFlowProcess,
-                                                              modelClassGenerator.className(),
-                                                              execModelGen.className(),
-                                                              trigger)
-                                                                  .withDependencyInjection(annotator));
-                    }
-                }
+            String sourceHash = sourceHashes.get(workFlowProcess.getId());
+            // generated classes of the process use the models of the processes it calls
+            unit.hash = sourceHash == null ? null : ProcessGenerationState.hash(sourceHash, settings, subProcessHashes(workFlowProcess));
+            if (generationState == null || unit.hash == null || !generationState.isUpToDate(workFlowProcess.getId(), unit.hash)) {
+                outdated.add(unit);
             }
+            units.add(unit);
+        }
 
-            moduleGenerator.addProcess(p);
+        // classes of the processes are generated in parallel, each process generates only its own files
+        Map<String, List<GeneratedFile>> processFiles = outdated.parallelStream()
+                .collect(Collectors.toConcurrentMap(unit -> unit.execModelGen.getProcessId(), this::generateProcess));
 
-            ps.add(p);
-            pis.add(pi);
+        for (ProcessUnit unit : outdated) {
+            List<GeneratedFile> files = processFiles.get(unit.execModelGen.getProcessId());
+            generatedFiles.addAll(files);
+            if (generationState != null && unit.hash != null) {
+                generationState.update(unit.execModelGen.getProcessId(), unit.hash, files.stream().map(GeneratedFile::relativePath).collect(Collectors.toList()));
+            }
         }
 
-        for (ModelClassGenerator modelClassGenerator : processIdToModelGenerator.values()) {
-            ModelMetaData mmd = modelClassGenerator.generate();
-            storeFile(Type.MODEL, modelClassGenerator.generatedFilePath(),
-                      mmd.generate());
+        if (generationState != null) {
+            generationState.retain(processes.keySet());
         }
-        
-        for (List<UserTaskModelMetaData> utmd : processIdToUserTaskModel.values()) {
-            
-            for (UserTaskModelMetaData ut : utmd) {
-                storeFile(Type.MODEL, UserTasksModelClassGenerator.generatedFilePath(ut.getInputModelClassName()), ut.generateInput());
-                
-                storeFile(Type.MODEL, UserTasksModelClassGenerator.generatedFilePath(ut.getOutputModelClassName()), ut.generateOutput());
+        logger.debug("Generated {} of {} processes", outdated.size(), units.size());
+
+        return generatedFiles;
+    }
+
+    /**
+     * Returns the hashes of the definitions of the processes called by given process, the same processes
+     * the generated classes register as sub processes
+     */
+    private String subProcessHashes(WorkflowProcess workFlowProcess) {
+        Set<String> subProcessIds = new TreeSet<>();
+        collectSubProcesses(workFlowProcess, subProcessIds);
+        return subProcessIds.stream()
+                .map(subProcessId -> subProcessId + "=" + sourceHashes.get(subProcessId))
+                .collect(Collectors.joining(","));
+    }
+
+    private static void collectSubProcesses(NodeContainer container, Set<String> subProcessIds) {
+        for (Node node : container.getNodes()) {
+            if (node instanceof SubProcessNode) {
+                subProcessIds.add(((SubProcessNode) node).getProcessId());
+            }
+            if (node instanceof NodeContainer) {
+                collectSubProcesses((NodeContainer) node, subProcessIds);
             }
         }
+    }
 
-        for (ResourceGenerator resourceGenerator : rgs) {
-            storeFile(Type.REST, resourceGenerator.generatedFilePath(),
-                      resourceGenerator.generate());
-        }
-        
-        for (MessageConsumerGenerator messageConsumerGenerator : megs) {
-            storeFile(Type.MESSAGE_CONSUMER, messageConsumerGenerator.generatedFilePath(),
-                      messageConsumerGenerator.generate());
-        }
-        
-        for (MessageProducerGenerator messageProducerGenerator : mpgs) {
-            storeFile(Type.MESSAGE_PRODUCER, messageProducerGenerator.generatedFilePath(),
-                      messageProducerGenerator.generate());
-        }
+    private List<GeneratedFile> generateProcess(ProcessUnit unit) {
+        List<GeneratedFile> files = new ArrayList<>();
+        WorkflowProcess workFlowProcess = unit.execModelGen.process();
+        ModelClassGenerator modelClassGenerator = unit.modelClassGenerator;
 
-        for (ProcessGenerator p : ps) {
-            storeFile(Type.PROCESS, p.generatedFilePath(), p.generate());
-            
-            p.getAdditionalClasses().forEach(cp -> {
-                String packageName = cp.getPackageDeclaration().map(pd -> pd.getName().toString()).orElse("");
-                String clazzName = cp.findFirst(ClassOrInterfaceDeclaration.class).map(cls -> cls.getName().toString()).get();
-                String path = (packageName + "." + clazzName).replace('.', '/') + ".java";
-                storeFile(Type.CLASS, path, cp.toString());
-            });
-        }
+        // first we generate the data class from variable declarations
+        ModelMetaData mmd = modelClassGenerator.generate();
+        files.add(file(Type.MODEL, modelClassGenerator.generatedFilePath(), mmd.generate()));
 
-        for (ProcessInstanceGenerator pi : pis) {
-            storeFile(Type.PROCESS_INSTANCE, pi.generatedFilePath(), pi.generate());
+        // then we generate user task inputs and outputs if any
+        List<UserTaskModelMetaData> userTasks = new UserTasksModelClassGenerator(workFlowProcess).generate();
+        for (UserTaskModelMetaData ut : userTasks) {
+            files.add(file(Type.MODEL, UserTasksModelClassGenerator.generatedFilePath(ut.getInputModelClassName()), ut.generateInput()));
+
+            files.add(file(Type.MODEL, UserTasksModelClassGenerator.generatedFilePath(ut.getOutputModelClassName()), ut.generateOutput()));
         }
 
-        for (ProcessExecutableModelGenerator legacyProcessGenerator : processExecutableModelGenerators) {
-            if (legacyProcessGenerator.isPublic()) {
-                publicProcesses.add(legacyProcessGenerator.extractedProcessId());
-                labels.put(legacyProcessGenerator.label(), "process");// add the label id of the process with value set to process as resource type
+        // collect the process descriptor (exec model)
+        ProcessMetaData metaData = unit.execModelGen.generate();
+
+        // create REST resource class for process
+        ResourceGenerator resourceGenerator = new ResourceGenerator(
+                workFlowProcess,
+                modelClassGenerator.className(),
+                unit.execModelGen.className(),
+                applicationCanonicalName)
+                .withDependencyInjection(annotator)
+                .withUserTasks(userTasks)
+                .withSignals(metaData.getSignals())
+                .withTriggers(metaData.isStartable())
+                .withReactive(reactive);
+        files.add(file(Type.REST, resourceGenerator.generatedFilePath(), resourceGenerator.generate()));
+
+        if (metaData.getTriggers() != null) {
+
+            for (TriggerMetaData trigger : metaData.getTriggers()) {
+                // generate message consumers for processes with message start events
+                if (trigger.getType().equals(TriggerMetaData.TriggerType.ConsumeMessage)) {
+
+                    MessageConsumerGenerator messageConsumerGenerator = new MessageConsumerGenerator(
+                            workFlowProcess,
+                            modelClassGenerator.className(),
+                            unit.execModelGen.className(),
+                            applicationCanonicalName,
+                            trigger)
+                                    .withDependencyInjection(annotator);
+                    files.add(file(Type.MESSAGE_CONSUMER, messageConsumerGenerator.generatedFilePath(), messageConsumerGenerator.generate()));
+                } else if (trigger.getType().equals(TriggerMetaData.TriggerType.ProduceMessage)) {
+                    MessageProducerGenerator messageProducerGenerator = new MessageProducerGenerator(
+                            workFlowProcess,
+                            modelClassGenerator.className(),
+                            unit.execModelGen.className(),
+                            trigger)
+                                    .withDependencyInjection(annotator);
+                    files.add(file(Type.MESSAGE_PRODUCER, messageProducerGenerator.generatedFilePath(), messageProducerGenerator.generate()));
+                }
             }
         }
 
-        return generatedFiles;
+        ProcessGenerator p = unit.processGenerator;
+        files.add(file(Type.PROCESS, p.generatedFilePath(), p.generate()));
+
+        p.getAdditionalClasses().forEach(cp -> {
+            String packageName = cp.getPackageDeclaration().map(pd -> pd.getName().toString()).orElse("");
+            String clazzName = cp.findFirst(ClassOrInterfaceDeclaration.class).map(cls -> cls.getName().toString()).get();
+            String path = (packageName + "." + clazzName).replace('.', '/') + ".java";
+            files.add(file(Type.CLASS, path, cp.toString()));
+        });
+
+        ProcessInstanceGenerator pi = new ProcessInstanceGenerator(
+                workFlowProcess.getPackageName(),
+                unit.classPrefix,
+                modelClassGenerator.generate());
+        files.add(file(Type.PROCESS_INSTANCE, pi.generatedFilePath(), pi.generate()));
+
+        return files;
     }
 
     @Override
@@ -351,8 +413,8 @@ public class ProcessCodegen extends AbstractGenerator {
         }
     }
 
-    private void storeFile(GeneratedFile.Type type, String path, String source) {
-        generatedFiles.add(new GeneratedFile(type, path, log( source ).getBytes( StandardCharsets.UTF_8 )));
+    private GeneratedFile file(GeneratedFile.Type type, String path, String source) {
+        return new GeneratedFile(type, path, log( source ).getBytes( StandardCharsets.UTF_8 ));
     }
 
     public List<GeneratedFile> getGeneratedFiles() {
@@ -368,4 +430,30 @@ public class ProcessCodegen extends AbstractGenerator {
         return moduleGenerator;
     }
 
+    /**
+     * Generators of a single process, created for every process while only outdated ones generate their files.
+     */
+    private class ProcessUnit {
+
+        private final ModelClassGenerator modelClassGenerator;
+        private final ProcessExecutableModelGenerator execModelGen;
+        private final ProcessGenerator processGenerator;
+        private final String classPrefix;
+        private String hash;
+
+        ProcessUnit(WorkflowProcess workFlowProcess, ProcessToExecModelGenerator execModelGenerator) {
+            this.modelClassGenerator = new ModelClassGenerator(workFlowProcess);
+            this.execModelGen = new ProcessExecutableModelGenerator(workFlowProcess, execModelGenerator);
+            this.classPrefix = StringUtils.capitalize(execModelGen.extractedProcessId());
+            this.processGenerator = new ProcessGenerator(
+                    workFlowProcess,
+                    execModelGen,
+                    classPrefix,
+                    modelClassGenerator.className(),
+                    applicationCanonicalName)
+                            .withDependencyInjection(annotator)
+                            .withPersistence(persistence);
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.codegen.process;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Hashes of the process definitions generated by the previous build, together with the files generated
+ * for each process. Used by incremental code generation to skip processes whose definition and generation
+ * settings did not change and whose generated files are still present.
+ */
+public class ProcessGenerationState {
+
+    private static final String SEPARATOR = "|";
+
+    private final Path stateFile;
+    private final Path generatedSources;
+    private final Properties entries = new Properties();
+
+    private ProcessGenerationState(Path stateFile, Path generatedSources) {
+        this.stateFile = stateFile;
+        this.generatedSources = generatedSources;
+    }
+
+    /**
+     * Loads state of the previous build, the state is empty if there was none.
+     * @param stateFile file the state is kept in
+     * @param generatedSources directory the generated files are written to
+     */
+    public static ProcessGenerationState load(Path stateFile, Path generatedSources) {
+        ProcessGenerationState state = new ProcessGenerationState(stateFile, generatedSources);
+        if (Files.exists(stateFile)) {
+            try (InputStream in = Files.newInputStream(stateFile)) {
+                state.entries.load(in);
+            } catch (IOException e) {
+                // state is only an optimization, everything is generated again
+                state.entries.clear();
+            }
+        }
+        return state;
+    }
+
+    public static String hash(byte[]... inputs) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] input : inputs) {
+                digest.update(input);
+            }
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String hash(String... inputs) {
+        return hash(Arrays.stream(inputs).map(input -> String.valueOf(input).getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new));
+    }
+
+    /**
+     * Returns true if given process was generated with the same hash and all its generated files still exist.
+     */
+    public boolean isUpToDate(String processId, String hash) {
+        String entry = entries.getProperty(processId);
+        if (entry == null || !entry.startsWith(hash + SEPARATOR)) {
+            return false;
+        }
+        return files(entry).stream().allMatch(file -> Files.exists(generatedSources.resolve(file)));
+    }
+
+    public void update(String processId, String hash, Collection<String> files) {
+        entries.setProperty(processId, hash + SEPARATOR + String.join(",", files));
+    }
+
+    /**
+     * Forgets processes not in given ones and deletes the files generated for them.
+     */
+    public void retain(Collection<String> processIds) {
+        Set<String> removed = new HashSet<>(entries.stringPropertyNames());
+        removed.removeAll(processIds);
+        for (String processId : removed) {
+            for (String file : files(entries.getProperty(processId))) {
+                try {
+                    Files.deleteIfExists(generatedSources.resolve(file));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to delete file generated for removed process " + processId, e);
+                }
+            }
+            entries.remove(processId);
+        }
+    }
+
+    public void save() {
+        try {
+            Files.createDirectories(stateFile.getParent());
+            try (OutputStream out = Files.newOutputStream(stateFile)) {
+                entries.store(out, "Kogito process code generation state");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to save process code generation state to " + stateFile, e);
+        }
+    }
+
+    private static List<String> files(String entry) {
+        String files = entry.substring(entry.indexOf(SEPARATOR) + 1);
+        return files.isEmpty() ? Collections.emptyList() : Arrays.asList(files.split(","));
+    }
+}
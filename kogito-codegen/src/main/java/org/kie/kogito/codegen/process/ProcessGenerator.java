@@ -155,6 +155,28 @@ public class ProcessGenerator {
         return methodDeclaration;
     }
     
+    private MethodDeclaration createInstanceWithCorrelationMethod(String processInstanceFQCN) {
+        MethodDeclaration methodDeclaration = new MethodDeclaration();
+
+        ReturnStmt returnStmt = new ReturnStmt(
+                new ObjectCreationExpr()
+                        .setType(processInstanceFQCN)
+                        .setArguments(NodeList.nodeList(
+                                new ThisExpr(),
+                                new NameExpr("value"),
+                                new NameExpr("correlationKey"),
+                                createProcessRuntime())));
+
+        methodDeclaration.setName("createInstance")
+                .addModifier(Modifier.Keyword.PUBLIC)
+                .addParameter(String.class.getCanonicalName(), "correlationKey")
+                .addParameter(modelTypeName, "value")
+                .setType(processInstanceFQCN)
+                .setBody(new BlockStmt()
+                                 .addStatement(returnStmt));
+        return methodDeclaration;
+    }
+    
     private MethodDeclaration createInstanceGenericMethod(String processInstanceFQCN) {
         MethodDeclaration methodDeclaration = new MethodDeclaration();
 
@@ -356,12 +378,14 @@ public class ProcessGenerator {
         ProcessMetaData processMetaData = legacyProcessGenerator.generate();
         
         MethodDeclaration methodDeclaration = createInstanceMethod(processInstanceFQCN);
+        MethodDeclaration correlationMethodDeclaration = createInstanceWithCorrelationMethod(processInstanceFQCN);
         MethodDeclaration genericMethodDeclaration = createInstanceGenericMethod(processInstanceFQCN);
         cls.addExtendedType(abstractProcessType(modelTypeName))
                 .addMember(fieldDeclaration)
                 .addMember(emptyConstructorDeclaration)
                 .addMember(constructorDeclaration)
                 .addMember(methodDeclaration)
+                .addMember(correlationMethodDeclaration)
                 .addMember(createModelMethod)
                 .addMember(genericMethodDeclaration)
                 .addMember(internalConfigure(processMetaData))
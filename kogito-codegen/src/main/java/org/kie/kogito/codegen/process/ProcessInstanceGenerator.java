@@ -83,6 +83,7 @@ public class ProcessInstanceGenerator {
                         new ClassOrInterfaceType(null, AbstractProcessInstance.class.getCanonicalName())
                                 .setTypeArguments(new ClassOrInterfaceType(null, model.getModelClassSimpleName())))
                 .addMember(constructorDecl())
+                .addMember(constructorWithCorrelationDecl())
                 .addMember(bind())
                 .addMember(unbind());
         classDecl.getMembers().sort(new BodyDeclarationComparator());
@@ -137,6 +138,22 @@ public class ProcessInstanceGenerator {
                         new NameExpr("processRuntime"))));
     }
 
+    private ConstructorDeclaration constructorWithCorrelationDecl() {
+        return new ConstructorDeclaration()
+                .setName(targetTypeName)
+                .addModifier(Modifier.Keyword.PUBLIC)
+                .addParameter(ProcessGenerator.processType(canonicalName), "process")
+                .addParameter(model.getModelClassSimpleName(), "value")
+                .addParameter(String.class.getCanonicalName(), "correlationKey")
+                .addParameter(ProcessRuntime.class.getCanonicalName(), "processRuntime")
+                .setBody(new BlockStmt().addStatement(new MethodCallExpr(
+                        "super",
+                        new NameExpr("process"),
+                        new NameExpr("value"),
+                        new NameExpr("correlationKey"),
+                        new NameExpr("processRuntime"))));
+    }
+
     public String targetTypeName() {
         return targetTypeName;
     }
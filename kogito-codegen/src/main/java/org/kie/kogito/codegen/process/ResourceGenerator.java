@@ -70,6 +70,7 @@ public class ResourceGenerator {
     private DependencyInjectionAnnotator annotator;
     
     private boolean startable;
+    private boolean reactive;
     private List<UserTaskModelMetaData> userTasks;
     private Map<String, String> signals;
 
@@ -110,6 +111,15 @@ public class ResourceGenerator {
         this.startable = startable;
         return this;
     }
+    
+    /**
+     * Generates resource methods returning <code>CompletionStage</code> with process execution
+     * offloaded from request threads to the process executor
+     */
+    public ResourceGenerator withReactive(boolean reactive) {
+        this.reactive = reactive;
+        return this;
+    }
 
     public String className() {
         return resourceClazzName;
@@ -117,7 +127,7 @@ public class ResourceGenerator {
 
     public String generate() {
         CompilationUnit clazz = parse(
-                this.getClass().getResourceAsStream("/class-templates/RestResourceTemplate.java"));
+                this.getClass().getResourceAsStream(reactive ? "/class-templates/ReactiveRestResourceTemplate.java" : "/class-templates/RestResourceTemplate.java"));
         clazz.setPackageDeclaration(process.getPackageName());
         clazz.addImport(modelfqcn);
 
@@ -130,7 +140,7 @@ public class ResourceGenerator {
         if (userTasks != null) {
 
             CompilationUnit userTaskClazz = parse(
-                                                     this.getClass().getResourceAsStream("/class-templates/RestResourceUserTaskTemplate.java"));
+                                                     this.getClass().getResourceAsStream(reactive ? "/class-templates/ReactiveRestResourceUserTaskTemplate.java" : "/class-templates/RestResourceUserTaskTemplate.java"));
             
             
             ClassOrInterfaceDeclaration userTaskTemplate = userTaskClazz
@@ -259,7 +269,8 @@ public class ResourceGenerator {
         String s = vv.getValue();
    
         String interpolated =
-                s.replace("$taskname$", userTask.getName().replaceAll("\\s", "_"));
+                s.replace("$taskname$", userTask.getName().replaceAll("\\s", "_"))
+                 .replace("$taskrawname$", userTask.getName());
         vv.setString(interpolated);
     }
     
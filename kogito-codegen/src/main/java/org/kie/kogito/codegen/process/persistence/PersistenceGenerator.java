@@ -1,5 +1,7 @@
 package org.kie.kogito.codegen.process.persistence;
 
+import static com.github.javaparser.StaticJavaParser.parseBlock;
+
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -38,11 +40,20 @@ import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.ExplicitConstructorInvocationStmt;
 import com.github.javaparser.ast.stmt.ReturnStmt;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.PrimitiveType;
+import com.github.javaparser.ast.type.Type;
 
 
 public class PersistenceGenerator extends AbstractGenerator {
     
     private static final String TEMPLATE_NAME = "templateName";
+    private static final String PATH_NAME = "path";
+    
+    public static final String INFINISPAN_PERSISTENCE_TYPE = "infinispan";
+    public static final String LOCAL_PERSISTENCE_TYPE = "local";
+    // classes that are only available when the given persistence addon is on the classpath
+    private static final String INFINISPAN_PERSISTENCE_CLASS = "org.kie.kogito.infinispan.CacheProcessInstances";
+    private static final String LOCAL_PERSISTENCE_CLASS = "org.kie.kogito.persistence.local.LogProcessInstances";
 
     private final File targetDirectory;
     private final Collection<?> modelClasses;    
@@ -107,6 +118,11 @@ public class PersistenceGenerator extends AbstractGenerator {
             
             persistenceProviderClazz.addConstructor(Keyword.PUBLIC).setBody(new BlockStmt().addStatement(new ExplicitConstructorInvocationStmt(false, null, NodeList.nodeList(new NullLiteralExpr()))));
             
+            if (LOCAL_PERSISTENCE_TYPE.equals(persistenceType())) {
+                generatedFiles.add(localPersistence(compilationUnit, persistenceProviderClazz));
+                return generatedFiles;
+            }
+            
             ConstructorDeclaration constructor = persistenceProviderClazz.addConstructor(Keyword.PUBLIC);
             
             List<Expression> paramNames = new ArrayList<>();
@@ -141,6 +157,17 @@ public class PersistenceGenerator extends AbstractGenerator {
                 
                 persistenceProviderClazz.addMember(templateNameField);
                 persistenceProviderClazz.addMember(templateNameMethod);
+                
+                configMethod(persistenceProviderClazz, "kogito.persistence.near-cache.size", "0", PrimitiveType.intType(), "nearCacheSize");
+                configMethod(persistenceProviderClazz, "kogito.persistence.near-cache.ttl", "60", PrimitiveType.longType(), "nearCacheTtl");
+                configMethod(persistenceProviderClazz, "kogito.persistence.write-behind.interval", "0", PrimitiveType.longType(), "writeBehindInterval");
+                configMethod(persistenceProviderClazz, "kogito.persistence.write-behind.threshold", "1000", PrimitiveType.intType(), "writeBehindThreshold");
+                configMethod(persistenceProviderClazz, "kogito.persistence.compression.threshold", "0", PrimitiveType.intType(), "compressionThreshold");
+                configMethod(persistenceProviderClazz, "kogito.persistence.compression", "deflate", new ClassOrInterfaceType(null, String.class.getCanonicalName()), "compressor");
+                configMethod(persistenceProviderClazz, "kogito.persistence.archive", "false", PrimitiveType.booleanType(), "archive");
+                // archive caches use the template of the process instance caches unless configured
+                configMethod(persistenceProviderClazz, "kogito.persistence.archive.template", "", new ClassOrInterfaceType(null, String.class.getCanonicalName()), "archiveTemplate")
+                        .setBody(parseBlock("{ return archiveTemplate == null || archiveTemplate.isEmpty() ? template() : archiveTemplate; }"));
             }
             List<String> variableMarshallers = new ArrayList<>();  
             // handler process variable marshallers
@@ -218,6 +245,72 @@ public class PersistenceGenerator extends AbstractGenerator {
         return generatedFiles;
     }   
 
+    protected GeneratedFile localPersistence(CompilationUnit compilationUnit, ClassOrInterfaceDeclaration persistenceProviderClazz) {
+        if (useInjection()) {
+            annotator.withApplicationComponent(persistenceProviderClazz);
+            
+            FieldDeclaration pathField = new FieldDeclaration().addVariable(new VariableDeclarator()
+                                                                             .setType(new ClassOrInterfaceType(null, String.class.getCanonicalName()))
+                                                                             .setName(PATH_NAME));
+            annotator.withConfigInjection("kogito.persistence.local.path", "kogito-store", pathField);
+            // allow to inject directory of the store
+            MethodDeclaration pathMethod = new MethodDeclaration()
+                    .addModifier(Keyword.PUBLIC)
+                    .setName("path")
+                    .setType(String.class)
+                    .setBody(new BlockStmt().addStatement(new ReturnStmt(new NameExpr(PATH_NAME))));
+            
+            persistenceProviderClazz.addMember(pathField);
+            persistenceProviderClazz.addMember(pathMethod);
+
+            configMethod(persistenceProviderClazz, "kogito.persistence.compression.threshold", "0", PrimitiveType.intType(), "compressionThreshold");
+            configMethod(persistenceProviderClazz, "kogito.persistence.compression", "deflate", new ClassOrInterfaceType(null, String.class.getCanonicalName()), "compressor");
+            configMethod(persistenceProviderClazz, "kogito.persistence.archive.path", "", new ClassOrInterfaceType(null, String.class.getCanonicalName()), "archivePath");
+        }
+        persistenceProviderClazz.getMembers().sort(new BodyDeclarationComparator());
+        
+        String packageName = compilationUnit.getPackageDeclaration().map(pd -> pd.getName().toString()).orElse("");
+        String clazzName = packageName + "." + persistenceProviderClazz.getName().toString();
+        return new GeneratedFile(GeneratedFile.Type.CLASS,
+                                 clazzName.replace('.', '/') + ".java",
+                                 compilationUnit.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /*
+     * overrides method of the factory with a method returning field injected with given configuration property
+     */
+    protected MethodDeclaration configMethod(ClassOrInterfaceDeclaration persistenceProviderClazz, String configKey, String defaultValue, Type type, String name) {
+        FieldDeclaration field = new FieldDeclaration().addVariable(new VariableDeclarator()
+                                                                     .setType(type)
+                                                                     .setName(name));
+        annotator.withConfigInjection(configKey, defaultValue, field);
+        
+        MethodDeclaration method = new MethodDeclaration()
+                .addModifier(Keyword.PUBLIC)
+                .setName(name)
+                .setType(type)
+                .setBody(new BlockStmt().addStatement(new ReturnStmt(new NameExpr(name))));
+        
+        persistenceProviderClazz.addMember(field);
+        persistenceProviderClazz.addMember(method);
+        return method;
+    }
+    
+    /**
+     * Returns the flavour of the persistence addon found on the classpath, either infinispan or local,
+     * infinispan is used when both or none of them are found
+     */
+    protected String persistenceType() {
+        if (!isAvailable(INFINISPAN_PERSISTENCE_CLASS) && isAvailable(LOCAL_PERSISTENCE_CLASS)) {
+            return LOCAL_PERSISTENCE_TYPE;
+        }
+        return INFINISPAN_PERSISTENCE_TYPE;
+    }
+    
+    private boolean isAvailable(String className) {
+        return classLoader.getResource(className.replace('.', '/') + ".class") != null;
+    }
+
     @Override
     public void updateConfig(ConfigGenerator cfg) {
     }
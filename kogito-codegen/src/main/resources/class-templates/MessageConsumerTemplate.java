@@ -1,8 +1,12 @@
 package com.myspace.demo;
 
+import java.util.Optional;
+
 import org.kie.kogito.Application;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.impl.Sig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,7 +23,22 @@ public class $Type$MessageConsumer {
     	    final $Type$ model = new $Type$();
             model.set$ModelRef$(eventData);
             org.kie.kogito.services.uow.UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
-                ProcessInstance<$Type$> pi = process.createInstance(model);
+                String correlationKey = correlationKey(eventData);
+                if (correlationKey != null) {
+                    Optional<? extends ProcessInstance<$Type$>> correlated = process.instances().findByCorrelationKey(correlationKey);
+                    if (correlated.isPresent()) {
+                        correlated.get().send(Sig.of("$SignalName$", eventData));
+                        return null;
+                    }
+                }
+                ProcessInstance<$Type$> pi;
+                try {
+                    pi = process.createInstance(correlationKey, model);
+                } catch (ProcessInstanceDuplicatedException e) {
+                    // another message with the same correlation key created the instance in the meantime
+                    process.instances().findByCorrelationKey(correlationKey).orElseThrow(() -> e).send(Sig.of("$SignalName$", eventData));
+                    return null;
+                }
                 pi.start();  
                 
                 return null;
@@ -28,5 +47,9 @@ public class $Type$MessageConsumer {
             LOGGER.error("Error when consuming message for process {}", process.id(), e);
         }
     }
+	
+	protected String correlationKey($MessageType$ eventData) {
+	    return null;
+	}
 	    
-}
\ No newline at end of file
+}
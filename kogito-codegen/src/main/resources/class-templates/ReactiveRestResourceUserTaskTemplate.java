@@ -0,0 +1,116 @@
+package com.myspace.demo;
+
+import java.util.List;
+
+import org.drools.core.WorkItemNotFoundException;
+
+
+public class $Type$Resource {
+
+    
+    @POST()
+    @Path("/{id}/$taskname$/{workItemId}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public java.util.concurrent.CompletionStage<$Type$> completeTask(@PathParam("id") final String id, @PathParam("workItemId") final String workItemId, @QueryParam("phase") @DefaultValue("complete") final String phase, @QueryParam("user") final String user, @QueryParam("group") final List<String> groups, final $TaskOutput$ model) {
+        return org.kie.kogito.services.uow.UnitOfWorkExecutor.executeInUnitOfWorkAsync(application.unitOfWorkManager(), () -> {
+            ProcessInstance<$Type$> pi = process.instances().findById(id).orElse(null);
+            if (pi == null) {
+                return null;
+            } else {
+                org.kie.kogito.auth.IdentityProvider identity = null;
+                if (user != null) {
+                    identity = new org.kie.kogito.services.identity.StaticIdentityProvider(user, groups);
+                }
+                org.jbpm.process.instance.impl.humantask.HumanTaskTransition transition = new org.jbpm.process.instance.impl.humantask.HumanTaskTransition(phase, model.toMap(), identity);
+                try {
+                    pi.transitionWorkItem(workItemId, transition);
+                } catch (WorkItemNotFoundException e) {
+                    return null;
+                }
+                
+                return getModel(pi);
+            }
+        }, executor);
+    }
+    
+    @POST()
+    @Path("/bulk/$taskname$")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public java.util.concurrent.CompletionStage<List<$Type$>> completeTasks(@QueryParam("phase") @DefaultValue("complete") final String phase, @QueryParam("user") final String user, @QueryParam("group") final List<String> groups, final Map<String, Map<String, $TaskOutput$>> models) {
+        return org.kie.kogito.services.uow.UnitOfWorkExecutor.executeInUnitOfWorkAsync(application.unitOfWorkManager(), () -> {
+            org.kie.kogito.auth.IdentityProvider identity = null;
+            if (user != null) {
+                identity = new org.kie.kogito.services.identity.StaticIdentityProvider(user, groups);
+            }
+            final org.kie.kogito.auth.IdentityProvider actor = identity;
+            // models are keyed by process instance id and then by work item id
+            Map<String, java.util.function.Consumer<ProcessInstance<$Type$>>> actions = new java.util.HashMap<>();
+            models.forEach((id, workItems) -> actions.put(id, pi -> workItems.forEach((workItemId, model) -> {
+                org.jbpm.process.instance.impl.humantask.HumanTaskTransition transition = new org.jbpm.process.instance.impl.humantask.HumanTaskTransition(phase, model == null ? null : model.toMap(), actor);
+                pi.transitionWorkItem(workItemId, transition);
+            })));
+            try {
+                return process.executeInBulk(actions).stream()
+                        .map(this::getModel)
+                        .collect(Collectors.toList());
+            } catch (WorkItemNotFoundException | org.kie.kogito.process.ProcessInstanceNotFoundException e) {
+                return null;
+            }
+        }, executor);
+    }
+    
+    @GET()
+    @Path("/$taskname$")
+    @Produces(MediaType.APPLICATION_JSON)
+    public java.util.concurrent.CompletionStage<List<org.kie.kogito.process.workitem.TaskInfo>> getTaskInbox(@QueryParam("user") final String user, @QueryParam("group") final List<String> groups, @QueryParam("phase") final String phase, @QueryParam("page") @DefaultValue("0") final int page, @QueryParam("size") @DefaultValue("10") final int size) {
+        // without user only tasks anyone is allowed to work on are listed
+        org.kie.kogito.process.workitem.TaskQuery query = user == null ? org.kie.kogito.process.workitem.TaskQuery.unassigned() : org.kie.kogito.process.workitem.TaskQuery.forUser(user, groups);
+        
+        return java.util.concurrent.CompletableFuture.supplyAsync(() -> process.instances().findTasks(query.withName("$taskrawname$").withPhase(phase).page(page * size, size)), executor);
+    }
+    
+    @GET()
+    @Path("/{id}/$taskname$/{workItemId}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public java.util.concurrent.CompletionStage<$TaskInput$> getTask(@PathParam("id") String id, @PathParam("workItemId") String workItemId, @QueryParam("user") final String user, @QueryParam("group") final List<String> groups) {
+        return process.instances().findByIdAsync(id).thenApply(found -> {
+            ProcessInstance<$Type$> pi = found.orElse(null);
+            if (pi == null) {
+                return null;
+            }
+            try {
+                WorkItem workItem = pi.workItem(workItemId, policies(user, groups));
+                return $TaskInput$.fromMap(workItem.getId(), workItem.getName(), workItem.getParameters());
+            } catch (WorkItemNotFoundException e) {
+                return null;
+            }
+        });
+    }
+    
+    @DELETE()
+    @Path("/{id}/$taskname$/{workItemId}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public java.util.concurrent.CompletionStage<$Type$> abortTask(@PathParam("id") final String id, @PathParam("workItemId") final String workItemId, @QueryParam("phase") @DefaultValue("abort") final String phase, @QueryParam("user") final String user, @QueryParam("group") final List<String> groups) {
+        return org.kie.kogito.services.uow.UnitOfWorkExecutor.executeInUnitOfWorkAsync(application.unitOfWorkManager(), () -> {
+            ProcessInstance<$Type$> pi = process.instances().findById(id).orElse(null);
+            if (pi == null) {
+                return null;
+            } else {
+                org.kie.kogito.auth.IdentityProvider identity = null;
+                if (user != null) {
+                    identity = new org.kie.kogito.services.identity.StaticIdentityProvider(user, groups);
+                }
+                org.jbpm.process.instance.impl.humantask.HumanTaskTransition transition = new org.jbpm.process.instance.impl.humantask.HumanTaskTransition(phase, null, identity);
+                try {
+                    pi.transitionWorkItem(workItemId, transition);
+                } catch (WorkItemNotFoundException e) {
+                    return null;
+                }
+                
+                return getModel(pi);
+            }
+        }, executor);
+    }
+}
@@ -34,6 +34,43 @@ public class $Type$Resource {
         }
     }
     
+    @POST()
+    @Path("/bulk/$taskname$")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<$Type$> completeTasks(@QueryParam("phase") @DefaultValue("complete") final String phase, @QueryParam("user") final String user, @QueryParam("group") final List<String> groups, final Map<String, Map<String, $TaskOutput$>> models) {
+        try {
+            return org.kie.kogito.services.uow.UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+                org.kie.kogito.auth.IdentityProvider identity = null;
+                if (user != null) {
+                    identity = new org.kie.kogito.services.identity.StaticIdentityProvider(user, groups);
+                }
+                final org.kie.kogito.auth.IdentityProvider actor = identity;
+                // models are keyed by process instance id and then by work item id
+                Map<String, java.util.function.Consumer<ProcessInstance<$Type$>>> actions = new java.util.HashMap<>();
+                models.forEach((id, workItems) -> actions.put(id, pi -> workItems.forEach((workItemId, model) -> {
+                    org.jbpm.process.instance.impl.humantask.HumanTaskTransition transition = new org.jbpm.process.instance.impl.humantask.HumanTaskTransition(phase, model == null ? null : model.toMap(), actor);
+                    pi.transitionWorkItem(workItemId, transition);
+                })));
+                
+                return process.executeInBulk(actions).stream()
+                        .map(this::getModel)
+                        .collect(Collectors.toList());
+            });
+        } catch (WorkItemNotFoundException | org.kie.kogito.process.ProcessInstanceNotFoundException e) {
+            return null;
+        }
+    }
+    
+    @GET()
+    @Path("/$taskname$")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<org.kie.kogito.process.workitem.TaskInfo> getTaskInbox(@QueryParam("user") final String user, @QueryParam("group") final List<String> groups, @QueryParam("phase") final String phase, @QueryParam("page") @DefaultValue("0") final int page, @QueryParam("size") @DefaultValue("10") final int size) {
+        // without user only tasks anyone is allowed to work on are listed
+        org.kie.kogito.process.workitem.TaskQuery query = user == null ? org.kie.kogito.process.workitem.TaskQuery.unassigned() : org.kie.kogito.process.workitem.TaskQuery.forUser(user, groups);
+        
+        return process.instances().findTasks(query.withName("$taskrawname$").withPhase(phase).page(page * size, size));
+    }
     
     @GET()
     @Path("/{id}/$taskname$/{workItemId}")
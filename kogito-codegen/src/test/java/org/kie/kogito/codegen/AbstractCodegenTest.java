@@ -45,6 +45,9 @@ public class AbstractCodegenTest {
     private static final Logger logger = LoggerFactory.getLogger(AbstractCodegenTest.class);
     
     private TestClassLoader classloader;
+    
+    // generates reactive REST resources for processes
+    protected boolean reactive;
 
     @SuppressWarnings("deprecation")
     private static final JavaCompiler JAVA_COMPILER = JavaCompilerFactory.getInstance().loadCompiler(JavaDialectConfiguration.CompilerType.NATIVE, "1.8");
@@ -78,7 +81,8 @@ public class AbstractCodegenTest {
             appGen.withGenerator(ProcessCodegen.ofFiles(processResources
                                                                         .stream()
                                                                         .map(resource -> new File("src/test/resources", resource))
-                                                                        .collect(Collectors.toList())));
+                                                                        .collect(Collectors.toList()))
+                                       .withReactive(reactive));
         }
 
         Collection<GeneratedFile> generatedFiles = appGen.generate();
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.codegen.process;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.codegen.GeneratedFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProcessCodegenTest {
+
+    private Path directory;
+    private Path generatedSources;
+    private Path stateFile;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("process-codegen");
+        generatedSources = directory.resolve("generated-sources");
+        stateFile = directory.resolve("process-codegen.state");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testIncrementalGeneration() throws IOException {
+        Path userTasks = copy("usertask/UserTasksProcess.bpmn2");
+        Path gateway = copy("gateway/ExclusiveSplit.bpmn2");
+
+        List<GeneratedFile> generated = generate(userTasks, gateway);
+        assertThat(generated).isNotEmpty();
+        Set<String> generatedPaths = paths(generated);
+
+        // nothing changed, nothing is generated again
+        assertThat(generate(userTasks, gateway)).isEmpty();
+
+        // only the changed process is generated again
+        Files.write(gateway, "\n<!-- changed -->\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        List<GeneratedFile> regenerated = generate(userTasks, gateway);
+        assertThat(regenerated).isNotEmpty();
+        assertThat(regenerated.size()).isLessThan(generated.size());
+        assertThat(generatedPaths).containsAll(paths(regenerated));
+
+        // process whose generated file is missing is generated again
+        Files.delete(generatedSources.resolve(regenerated.get(0).relativePath()));
+        assertThat(paths(generate(userTasks, gateway))).containsExactlyInAnyOrderElementsOf(paths(regenerated));
+
+        // files of removed process are deleted
+        assertThat(generate(userTasks)).isEmpty();
+        for (String path : paths(regenerated)) {
+            assertThat(generatedSources.resolve(path)).doesNotExist();
+        }
+    }
+
+    @Test
+    public void testParallelGenerationOfAllProcesses() throws IOException {
+        List<GeneratedFile> generated = ProcessCodegen.ofFiles(Arrays.asList(copy("usertask/UserTasksProcess.bpmn2").toFile(),
+                                                                             copy("gateway/ExclusiveSplit.bpmn2").toFile(),
+                                                                             copy("servicetask/ServiceProcess.bpmn2").toFile()))
+                .generate();
+
+        assertThat(paths(generated)).hasSize(generated.size());
+        assertThat(generated).filteredOn(file -> file.getType() == GeneratedFile.Type.PROCESS).hasSize(3);
+    }
+
+    @Test
+    public void testIncrementalGenerationWithoutCommit() throws IOException {
+        Path userTasks = copy("usertask/UserTasksProcess.bpmn2");
+
+        // files that were not written are not recorded as generated
+        ProcessCodegen.ofFiles(Collections.singletonList(userTasks.toFile()))
+                .withIncremental(generatedSources, stateFile)
+                .generate();
+        assertThat(stateFile).doesNotExist();
+
+        assertThat(generate(userTasks)).isNotEmpty();
+        assertThat(stateFile).exists();
+    }
+
+    @Test
+    public void testIncrementalGenerationOfCallingProcess() throws IOException {
+        Path callActivity = copy("subprocess/CallActivity.bpmn2");
+        Path subProcess = copy("subprocess/CallActivitySubProcess.bpmn2");
+
+        assertThat(generate(callActivity, subProcess)).filteredOn(file -> file.getType() == GeneratedFile.Type.PROCESS).hasSize(2);
+        assertThat(generate(callActivity, subProcess)).isEmpty();
+
+        // calling process is generated again together with the process it calls
+        Files.write(subProcess, "\n<!-- changed -->\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertThat(generate(callActivity, subProcess)).filteredOn(file -> file.getType() == GeneratedFile.Type.PROCESS).hasSize(2);
+    }
+
+    private List<GeneratedFile> generate(Path... processFiles) throws IOException {
+        ProcessCodegen codegen = ProcessCodegen.ofFiles(Stream.of(processFiles).map(Path::toFile).collect(Collectors.toList()))
+                .withIncremental(generatedSources, stateFile);
+        List<GeneratedFile> generated = codegen.generate();
+        for (GeneratedFile file : generated) {
+            Path path = generatedSources.resolve(file.relativePath());
+            Files.createDirectories(path.getParent());
+            Files.write(path, file.contents());
+        }
+        codegen.commit();
+        return generated;
+    }
+
+    private Path copy(String resource) throws IOException {
+        Path target = directory.resolve(Paths.get(resource).getFileName());
+        Files.copy(Paths.get("src/test/resources", resource), target);
+        return target;
+    }
+
+    private static Set<String> paths(List<GeneratedFile> files) {
+        return files.stream().map(GeneratedFile::relativePath).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.codegen.process.persistence;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.codegen.GeneratedFile;
+import org.kie.kogito.codegen.di.CDIDependencyInjectionAnnotator;
+import org.kie.kogito.codegen.process.persistence.proto.ReflectionProtoGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistenceGeneratorTest {
+
+    private static final String INFINISPAN_PERSISTENCE_CLASS = "org.kie.kogito.infinispan.CacheProcessInstances";
+    private static final String LOCAL_PERSISTENCE_CLASS = "org.kie.kogito.persistence.local.LogProcessInstances";
+
+    private Path directory;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("persistence-codegen");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testLocalPersistence() {
+        PersistenceGenerator generator = generator(LOCAL_PERSISTENCE_CLASS);
+        assertThat(generator.persistenceType()).isEqualTo(PersistenceGenerator.LOCAL_PERSISTENCE_TYPE);
+
+        Collection<GeneratedFile> generated = generator.generate();
+        assertThat(generated).extracting(GeneratedFile::relativePath).containsExactly("org/kie/kogito/persistence/KogitoProcessInstancesFactoryImpl.java");
+
+        String content = new String(generated.iterator().next().contents(), StandardCharsets.UTF_8);
+        assertThat(content)
+                .contains("extends org.kie.kogito.persistence.KogitoProcessInstancesFactory")
+                .contains("kogito.persistence.local.path")
+                .contains("public String path()")
+                .contains("kogito.persistence.archive.path")
+                .contains("public String archivePath()")
+                .contains("kogito.persistence.compression.threshold")
+                .contains("public int compressionThreshold()")
+                .contains("public String compressor()")
+                .doesNotContain("template");
+    }
+
+    @Test
+    public void testInfinispanPersistence() {
+        PersistenceGenerator generator = generator(INFINISPAN_PERSISTENCE_CLASS);
+        assertThat(generator.persistenceType()).isEqualTo(PersistenceGenerator.INFINISPAN_PERSISTENCE_TYPE);
+
+        Collection<GeneratedFile> generated = generator.generate();
+        assertThat(generated).extracting(GeneratedFile::relativePath).containsExactly("org/kie/kogito/persistence/KogitoProcessInstancesFactoryImpl.java");
+
+        String content = new String(generated.iterator().next().contents(), StandardCharsets.UTF_8);
+        assertThat(content)
+                .contains("extends org.kie.kogito.persistence.KogitoProcessInstancesFactory")
+                .contains("org.infinispan.client.hotrod.RemoteCacheManager param0")
+                .contains("kogito.persistence.infinispan.template")
+                .contains("public String template()")
+                .contains("kogito.persistence.near-cache.size")
+                .contains("public int nearCacheSize()")
+                .contains("kogito.persistence.near-cache.ttl")
+                .contains("public long nearCacheTtl()")
+                .contains("kogito.persistence.write-behind.interval")
+                .contains("public long writeBehindInterval()")
+                .contains("kogito.persistence.write-behind.threshold")
+                .contains("public int writeBehindThreshold()")
+                .contains("kogito.persistence.archive.template")
+                .contains("public boolean archive()")
+                .contains("public String archiveTemplate()")
+                .contains("kogito.persistence.compression.threshold")
+                .contains("public int compressionThreshold()")
+                .contains("public String compressor()")
+                .doesNotContain("kogito.persistence.local.path");
+    }
+
+    @Test
+    public void testInfinispanPersistenceWhenBothAddonsAvailable() {
+        assertThat(generator(INFINISPAN_PERSISTENCE_CLASS, LOCAL_PERSISTENCE_CLASS).persistenceType()).isEqualTo(PersistenceGenerator.INFINISPAN_PERSISTENCE_TYPE);
+    }
+
+    @Test
+    public void testInfinispanPersistenceWhenNoAddonAvailable() {
+        assertThat(generator().persistenceType()).isEqualTo(PersistenceGenerator.INFINISPAN_PERSISTENCE_TYPE);
+    }
+
+    private PersistenceGenerator generator(String... availableClasses) {
+        // reports the given classes as available on top of the classes of the test
+        ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {
+
+            @Override
+            public URL getResource(String name) {
+                for (String availableClass : availableClasses) {
+                    if (name.equals(availableClass.replace('.', '/') + ".class")) {
+                        return getParent().getResource(PersistenceGeneratorTest.class.getName().replace('.', '/') + ".class");
+                    }
+                }
+                return super.getResource(name);
+            }
+        };
+        PersistenceGenerator generator = new PersistenceGenerator(directory.resolve("target").toFile(), Collections.emptyList(), true, new ReflectionProtoGenerator(), classLoader,
+                                                                  Collections.singletonList("org.infinispan.client.hotrod.RemoteCacheManager"));
+        generator.setPackageName("org.kie.kogito.test");
+        generator.setDependencyInjection(new CDIDependencyInjectionAnnotator());
+        return generator;
+    }
+}
@@ -18,18 +18,31 @@ package org.kie.kogito.codegen.tests;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
 import org.kie.kogito.codegen.AbstractCodegenTest;
+import org.kie.kogito.codegen.data.Person;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.Signal;
 
 public class MessageStartEventTest extends AbstractCodegenTest {
     
@@ -117,4 +130,62 @@ public class MessageStartEventTest extends AbstractCodegenTest {
         Method[] methods = resourceClazz.getMethods();
         assertThat(methods).haveAtLeast(1, new Condition<Method>(m -> m.getName().equals("produce"), "Must have method with name 'produce'"));
     }
+
+    @Test
+    public void testCorrelatedMessageConsumer() throws Exception {
+        
+        Application app = generateCodeProcessesOnly("messagestartevent/CorrelatedMessageStartEvent.bpmn2");        
+        assertThat(app).isNotNull();
+        
+        Process<? extends Model> p = app.processes().processById("CorrelatedMessageStartEvent");
+        Object consumer = createConsumer(app, p);
+        Method consume = consumer.getClass().getMethod("consume", Person.class);
+        
+        consume.invoke(consumer, new Person("john", 20));
+        assertThat(p.instances().values()).hasSize(1);
+        ProcessInstance<?> correlated = p.instances().findByCorrelationKey("john").get();
+        assertThat(correlated.status()).isEqualTo(ProcessInstance.STATE_ACTIVE);
+        
+        // message with the same correlation key is routed to the existing instance
+        consume.invoke(consumer, new Person("john", 21));
+        assertThat(p.instances().values()).hasSize(1);
+        
+        consume.invoke(consumer, new Person("mary", 30));
+        assertThat(p.instances().values()).hasSize(2);
+        assertThat(p.instances().findByCorrelationKey("mary").get().id()).isNotEqualTo(correlated.id());
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    public void testCorrelatedMessageConsumerSignalsConcurrentlyCreatedInstance() throws Exception {
+        
+        Application app = generateCodeProcessesOnly("messagestartevent/CorrelatedMessageStartEvent.bpmn2");        
+        assertThat(app).isNotNull();
+        
+        // the instance is created by another message between the lookup and the creation
+        ProcessInstance created = mock(ProcessInstance.class);
+        ProcessInstances instances = mock(ProcessInstances.class);
+        when(instances.findByCorrelationKey("john")).thenReturn(Optional.empty(), Optional.of(created));
+        Process process = mock(Process.class);
+        doReturn(instances).when(process).instances();
+        doThrow(new ProcessInstanceDuplicatedException("john")).when(process).createInstance(eq("john"), any());
+        
+        Object consumer = createConsumer(app, process);
+        consumer.getClass().getMethod("consume", Person.class).invoke(consumer, new Person("john", 20));
+        
+        verify(created).send(any(Signal.class));
+    }
+    
+    private Object createConsumer(Application app, Process<?> process) throws Exception {
+        // class name is with suffix that represents node id of the start event
+        Class<?> consumerClazz = Class.forName("org.kie.kogito.test.CorrelatedMessageStartEventMessageConsumer_1", true, testClassLoader());
+        Object consumer = consumerClazz.newInstance();
+        Field processField = consumerClazz.getDeclaredField("process");
+        processField.setAccessible(true);
+        processField.set(consumer, process);
+        Field applicationField = consumerClazz.getDeclaredField("application");
+        applicationField.setAccessible(true);
+        applicationField.set(consumer, app);
+        return consumer;
+    }
 }
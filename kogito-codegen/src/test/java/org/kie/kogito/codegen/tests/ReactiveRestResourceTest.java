@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.kogito.codegen.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Application;
+import org.kie.kogito.Model;
+import org.kie.kogito.codegen.AbstractCodegenTest;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+
+public class ReactiveRestResourceTest extends AbstractCodegenTest {
+
+    @Test
+    public void testReactiveUserTaskResource() throws Exception {
+        reactive = true;
+        Application app = generateCodeProcessesOnly("usertask/UserTasksProcess.bpmn2");
+        assertThat(app).isNotNull();
+        Process<? extends Model> p = app.processes().processById("UserTasksProcess");
+
+        Class<?> resourceClass = Class.forName("org.kie.kogito.test.UserTasksProcessResource", true, testClassLoader());
+        // endpoints of the process and of its user tasks do not block, signals stay synchronous
+        for (Method method : resourceClass.getDeclaredMethods()) {
+            if (Modifier.isPublic(method.getModifiers()) && !method.getName().startsWith("signal_")) {
+                assertThat(method.getReturnType()).as(method.getName()).isEqualTo(CompletionStage.class);
+            }
+        }
+
+        Object resource = resourceClass.newInstance();
+        setField(resource, "process", p);
+        setField(resource, "application", app);
+
+        Model model = p.createModel();
+        Method create = resourceClass.getMethod("createResource_UserTasksProcess", model.getClass());
+        assertThat(((CompletionStage<?>) create.invoke(resource, model)).toCompletableFuture().get()).isNotNull();
+
+        assertThat(p.instances().values()).hasSize(1);
+        ProcessInstance<?> processInstance = p.instances().values().iterator().next();
+        assertThat(processInstance.status()).isEqualTo(ProcessInstance.STATE_ACTIVE);
+
+        Method getResource = resourceClass.getMethod("getResource_UserTasksProcess", String.class);
+        assertThat(((CompletionStage<?>) getResource.invoke(resource, processInstance.id())).toCompletableFuture().get()).isNotNull();
+        assertThat(((CompletionStage<?>) getResource.invoke(resource, "not-existing")).toCompletableFuture().get()).isNull();
+
+        Method getTasks = resourceClass.getMethod("getTasks_UserTasksProcess", String.class, String.class, List.class);
+        Map<?, ?> tasks = (Map<?, ?>) ((CompletionStage<?>) getTasks.invoke(resource, processInstance.id(), null, null)).toCompletableFuture().get();
+        assertThat(tasks).hasSize(1).containsValue("FirstTask");
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
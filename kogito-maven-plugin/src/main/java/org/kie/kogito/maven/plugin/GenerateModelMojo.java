@@ -99,9 +99,26 @@ public class GenerateModelMojo extends AbstractKieMojo {
     
     @Parameter(property = "kogito.persistence.enabled", defaultValue = "false")
     private boolean persistence;
+    
+    /**
+     * Generates REST resources that return <code>CompletionStage</code> and execute processes
+     * on a dedicated executor (virtual threads when available) instead of request threads
+     */
+    @Parameter(property = "kogito.codegen.reactive", defaultValue = "false")
+    private boolean reactive;
+    
+    /**
+     * Skips generation of processes whose definition and generation settings did not change
+     * since the previous build, their previously generated sources are kept. Project classes used by
+     * the processes, such as rule units, are not taken into account, a clean build is needed when they change
+     */
+    @Parameter(property = "kogito.codegen.incremental", defaultValue = "false")
+    private boolean incremental;
 
     @Parameter(required = true, defaultValue = "${project.basedir}/src/main/resources")
     private File kieSourcesDirectory;
+    
+    private ProcessCodegen processCodegen;
 
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
@@ -135,6 +152,11 @@ public class GenerateModelMojo extends AbstractKieMojo {
         for (GeneratedFile generatedFile : generatedFiles) {
             writeGeneratedFile(generatedFile);
         }
+        
+        // state of incremental generation is only kept once all generated files are written
+        if (processCodegen != null) {
+            processCodegen.commit();
+        }
 
         if (!keepSources) {
             deleteDrlFiles();
@@ -190,10 +212,13 @@ public class GenerateModelMojo extends AbstractKieMojo {
         }
 
         if (generateProcesses) {
-            appGen.withGenerator(ProcessCodegen.ofPath(kieSourcesDirectory.toPath()))                    
+            processCodegen = appGen.withGenerator(ProcessCodegen.ofPath(kieSourcesDirectory.toPath()))                    
                     .withPersistence(usePersistence)
-                    .withClassLoader(projectClassLoader)
-            ;
+                    .withReactive(reactive)
+                    .withClassLoader(projectClassLoader);
+            if (incremental) {
+                processCodegen.withIncremental(generatedSources.toPath(), targetDirectory.toPath().resolve("kogito-process-codegen.state"));
+            }
         }
 
         if (generateDecisions) {